@@ -15,7 +15,13 @@ dependencies {
     testRuntimeOnly(libs.sqlite)
 }
 
+tasks.withType<JavaCompile> {
+    // The pure Java BLAS provider uses the incubating Vector API.
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
 tasks.withType<Javadoc> {
     // Exclude generated packages from Javadoc generation
     exclude("smile/linalg/arpack/**", "smile/linalg/blas/**", "smile/linalg/lapack/**")
+    (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector")
 }
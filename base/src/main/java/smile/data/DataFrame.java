@@ -17,6 +17,7 @@
 package smile.data;
 
 import java.io.Serializable;
+import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
@@ -35,6 +36,7 @@ import smile.math.MathEx;
 import smile.tensor.DenseMatrix;
 import smile.util.Index;
 import smile.util.Strings;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
 import static smile.tensor.ScalarType.*;
 
 /**
@@ -479,6 +481,8 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
                 vector.fillna(value);
             } else if (column instanceof NullablePrimitiveVector vector) {
                 vector.fillna(value);
+            } else if (column instanceof OffHeapVector vector) {
+                vector.fillna(value);
             } else if (column instanceof NumberVector<?> vector) {
                 vector.fillna(value);
             }
@@ -798,6 +802,36 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
         return left.merge(other);
     }
 
+    /**
+     * Inner joins two data frames on key columns.
+     * @param other the data frame to join.
+     * @param on the key columns, which must exist in both data frames.
+     * @return the joined data frame.
+     */
+    public DataFrame join(DataFrame other, String... on) {
+        return join(other, Join.INNER, on);
+    }
+
+    /**
+     * Joins two data frames on key columns. The key columns appear once
+     * in the result, followed by the other columns of this data frame and
+     * those of the other one. If there are columns with the same name,
+     * the latter ones will be renamed with suffix _2. Unmatched rows of
+     * outer joins have nulls in the columns of the other side.
+     * <p>
+     * If both data frames are sorted by the keys, the rows are matched
+     * by a sort-merge join. Otherwise, a hash table is built on the
+     * other data frame, which should be the smaller one.
+     *
+     * @param other the data frame to join.
+     * @param how the type of join.
+     * @param on the key columns, which must exist in both data frames.
+     * @return the joined data frame.
+     */
+    public DataFrame join(DataFrame other, Join how, String... on) {
+        return Joins.join(this, other, how, on);
+    }
+
     /**
      * Merges data frames horizontally by columns. If there are columns
      * with the same name, the latter ones will be renamed with suffix
@@ -834,7 +868,9 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
     }
 
     /**
-     * Concatenates data frames vertically by rows.
+     * Concatenates data frames vertically by rows. The off-heap columns
+     * of same type are copied column by column into a new segment, and
+     * stay off-heap. Other columns are copied by rows.
      * @param dataframes the data frames to concatenate.
      * @return a new data frame that combines all the rows.
      */
@@ -847,9 +883,38 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
             hasIndex &= df.index != null;
         }
 
-        var rows = Stream.concat(Stream.of(this), Stream.of(dataframes))
-                .flatMap(DataFrame::stream);
-        var df = DataFrame.of(schema, rows);
+        DataFrame[] frames = Stream.concat(Stream.of(this), Stream.of(dataframes)).toArray(DataFrame[]::new);
+        ValueVector[] vectors = new ValueVector[ncol()];
+        List<Integer> rowwise = new ArrayList<>();
+        for (int j = 0; j < vectors.length; j++) {
+            Class<?> clazz = columns.get(j).getClass();
+            OffHeapVector[] parts = new OffHeapVector[frames.length];
+            for (int k = 0; k < frames.length; k++) {
+                if (frames[k].column(j) instanceof OffHeapVector vector && vector.getClass() == clazz) {
+                    parts[k] = vector;
+                } else {
+                    parts = null;
+                    break;
+                }
+            }
+
+            if (parts != null) {
+                vectors[j] = OffHeapVector.concat(parts);
+            } else {
+                rowwise.add(j);
+            }
+        }
+
+        if (!rowwise.isEmpty()) {
+            int[] cols = rowwise.stream().mapToInt(Integer::intValue).toArray();
+            var rows = Arrays.stream(frames).flatMap(data -> data.select(cols).stream());
+            var df = DataFrame.of(select(cols).schema(), rows);
+            for (int k = 0; k < cols.length; k++) {
+                vectors[cols[k]] = df.column(k);
+            }
+        }
+
+        var df = new DataFrame(vectors);
 
         if (hasIndex) {
             var index = Stream.concat(Stream.of(this), Stream.of(dataframes))
@@ -859,6 +924,21 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
         return df;
     }
 
+    /**
+     * Groups the rows by the values of key columns for aggregation.
+     * <pre>{@code
+     *     import static smile.data.GroupBy.*;
+     *
+     *     df.groupBy("sex").agg(count(), mean("age"), max("fare"));
+     * }</pre>
+     *
+     * @param keys the key columns.
+     * @return the groups of rows.
+     */
+    public GroupBy groupBy(String... keys) {
+        return new GroupBy(this, keys);
+    }
+
     /**
      * Returns a new DataFrame with given columns converted to nominal.
      *
@@ -1006,6 +1086,22 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
         return toMatrix(false, CategoricalEncoder.LEVEL, null);
     }
 
+    /**
+     * Returns a matrix view of the data frame without copy if all columns
+     * are non-null off-heap double vectors laid out contiguously in one
+     * writable native segment, e.g. created by
+     * {@link #of(MemorySegment, int, String...)}. The matrix shares the
+     * memory with the columns so that in-place operations on the matrix,
+     * e.g. {@code lu()}, {@code qr()}, {@code cholesky()} and
+     * {@code scale()}, also overwrite the data frame. Otherwise, the data
+     * are copied as {@link #toMatrix()}.
+     * @return the numeric matrix, which may share the memory with the data frame.
+     */
+    public DenseMatrix asMatrix() {
+        DenseMatrix matrix = wrap();
+        return matrix != null ? matrix : toMatrix();
+    }
+
     /**
      * Return a matrix obtained by converting all the variables
      * in a data frame to numeric mode and then binding them together
@@ -1099,6 +1195,43 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
         return matrix;
     }
 
+    /**
+     * Returns the matrix backed by the memory of columns without copy
+     * if all columns are non-null off-heap double vectors contiguous
+     * in the same writable native segment, e.g. created by
+     * {@link #of(MemorySegment, int, String...)}. Read-only segments,
+     * e.g. read-only file mappings, are never wrapped as BLAS and LAPACK
+     * may write to the matrix.
+     * @return the matrix or null if the columns are not contiguous.
+     */
+    private DenseMatrix wrap() {
+        if (isEmpty()) return null;
+
+        MemorySegment memory = null;
+        long bytes = size() * JAVA_DOUBLE.byteSize();
+        for (int j = 0; j < columns.size(); j++) {
+            if (!(columns.get(j) instanceof OffHeapDoubleVector column) || column.getNullCount() > 0) {
+                return null;
+            }
+
+            MemorySegment segment = column.memory();
+            if (j == 0) {
+                if (!segment.isNative() || segment.isReadOnly()) return null;
+                memory = segment;
+            } else if (!segment.isNative() || !segment.scope().equals(memory.scope())
+                    || segment.address() != memory.address() + j * bytes) {
+                return null;
+            }
+        }
+
+        if (memory == null) return null;
+        // The columns are contiguous in the same scope so that
+        // the extended segment is within the original allocation.
+        DenseMatrix matrix = DenseMatrix.of(memory.reinterpret(bytes * columns.size()), size(), columns.size(), size());
+        matrix.withColNames(names());
+        return matrix;
+    }
+
     /**
      * Returns the data structure and statistics.
      * @return the data structure and statistics.
@@ -1401,6 +1534,36 @@ public record DataFrame(StructType schema, List<ValueVector> columns, RowIndex i
         return new DataFrame(columns);
     }
 
+    /**
+     * Creates a DataFrame of double columns from a memory segment, which
+     * stores the data in column major without copy. The segment may be
+     * allocated by an arena or mapped from a file. As the columns are
+     * contiguous, {@link #asMatrix()} wraps the segment without copy too.
+     * @param memory the memory segment of data in column major.
+     * @param nrow the number of rows.
+     * @param names the name of columns.
+     * @return the data frame.
+     */
+    public static DataFrame of(MemorySegment memory, int nrow, String... names) {
+        long bytes = nrow * JAVA_DOUBLE.byteSize();
+        if (nrow <= 0 || memory.byteSize() % bytes != 0) {
+            throw new IllegalArgumentException(String.format("Invalid number of rows %d for %d bytes", nrow, memory.byteSize()));
+        }
+
+        int p = Math.toIntExact(memory.byteSize() / bytes);
+        if (names == null || names.length == 0) {
+            names = IntStream.range(1, p+1).mapToObj(i -> "V"+i).toArray(String[]::new);
+        } else if (names.length != p) {
+            throw new IllegalArgumentException(String.format("Expect %d column names, but got %d", p, names.length));
+        }
+
+        OffHeapDoubleVector[] columns = new OffHeapDoubleVector[p];
+        for (int j = 0; j < p; j++) {
+            columns[j] = new OffHeapDoubleVector(names[j], memory.asSlice(j * bytes, bytes));
+        }
+        return new DataFrame(columns);
+    }
+
     /**
      * Creates a DataFrame from a collection of objects.
      * @param data The data collection.
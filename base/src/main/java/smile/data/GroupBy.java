@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import smile.data.type.DataType;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.ValueVector;
+import smile.util.Index;
+import smile.util.IntArrayList;
+import smile.util.LongIntHashMap;
+
+/**
+ * The rows of data frame grouped by the values of key columns, which
+ * supports split-apply-combine aggregation in the manner of SQL
+ * {@code GROUP BY}.
+ * <pre>{@code
+ *     import static smile.data.GroupBy.*;
+ *
+ *     df.groupBy("store", "month").agg(count(), sum("sales"), quantile("price", 0.9));
+ * }</pre>
+ * Each key column is encoded to primitive long codes, which are mapped
+ * to dense group ids by open addressing hash tables. The rows are hash
+ * partitioned across the cores so that every partition owns its own
+ * table without synchronization. The aggregates are accumulated in
+ * primitive arrays, one per chunk of rows, and merged at the end.
+ * No values are boxed except the dictionary encoding of object keys
+ * such as strings.
+ * <p>
+ * Nulls in the key columns form their own group as in SQL. Nulls in
+ * the aggregated columns are ignored. The groups are ordered by their
+ * first occurrence in the data frame.
+ *
+ * @author Haifeng Li
+ */
+public class GroupBy {
+    /** The number of rows to process in parallel. */
+    private static final int PARALLEL_THRESHOLD = 65536;
+    /** The maximum number of hash partitions. */
+    private static final int MAX_PARTITIONS = 64;
+    /** Magic number for hash partitioning. */
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The aggregate operations.
+     */
+    public enum Op {
+        /** The number of non-null values, or rows if no column is given. */
+        COUNT,
+        /** The sum of values. */
+        SUM,
+        /** The mean of values. */
+        MEAN,
+        /** The minimum of values. */
+        MIN,
+        /** The maximum of values. */
+        MAX,
+        /** The quantile of values with linear interpolation. */
+        QUANTILE,
+        /** The number of distinct non-null values. */
+        NUNIQUE
+    }
+
+    /**
+     * An aggregate function on a column.
+     * @param op the aggregate operation.
+     * @param column the column name, which may be null for {@code COUNT}.
+     * @param q the probability of quantile.
+     * @param name the name of output column.
+     */
+    public record Aggregation(Op op, String column, double q, String name) {
+        /**
+         * Returns a copy with a new output column name.
+         * @param name the name of output column.
+         * @return the aggregate function.
+         */
+        public Aggregation as(String name) {
+            return new Aggregation(op, column, q, name);
+        }
+    }
+
+    /**
+     * The group ids and the first row of each group.
+     * @param id the group id of each row.
+     * @param first the first row of each group.
+     */
+    record Groups(int[] id, int[] first) {
+        /**
+         * Returns the number of groups.
+         * @return the number of groups.
+         */
+        int size() {
+            return first.length;
+        }
+
+        /**
+         * Returns the groups of the values of a column.
+         * @param column the column.
+         * @return the groups.
+         */
+        static Groups of(ValueVector column) {
+            return hash(encode(column), column.anyNull() ? column.isNull() : null);
+        }
+
+        /**
+         * Returns the groups of the Cartesian product of two groupings.
+         * @param other the other grouping on the same rows.
+         * @return the groups.
+         */
+        Groups cross(Groups other) {
+            int n = id.length;
+            long k = other.size();
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = id[i] * k + other.id[i];
+            }
+            return hash(keys, null);
+        }
+    }
+
+    /** The data frame. */
+    private final DataFrame data;
+    /** The key columns. */
+    private final String[] keys;
+    /** The groups of rows. */
+    private final Groups groups;
+
+    /**
+     * Constructor.
+     * @param data the data frame.
+     * @param keys the key columns.
+     */
+    GroupBy(DataFrame data, String... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("No group keys");
+        }
+
+        Groups groups = null;
+        for (var key : keys) {
+            var g = Groups.of(data.column(key));
+            groups = groups == null ? g : groups.cross(g);
+        }
+
+        this.data = data;
+        this.keys = keys;
+        this.groups = groups;
+    }
+
+    /**
+     * Returns the number of groups.
+     * @return the number of groups.
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Returns the group id of each row.
+     * @return the group id of each row.
+     */
+    public int[] group() {
+        return groups.id.clone();
+    }
+
+    /**
+     * Aggregates each group. The result data frame has the key columns
+     * followed by one column per aggregate function.
+     * @param aggs the aggregate functions.
+     * @return the aggregates of groups.
+     */
+    public DataFrame agg(Aggregation... aggs) {
+        Index index = Index.of(groups.first);
+        List<ValueVector> columns = new ArrayList<>();
+        for (var key : keys) {
+            columns.add(data.column(key).get(index));
+        }
+
+        for (var agg : aggs) {
+            if (agg.op == Op.COUNT && agg.column == null) {
+                columns.add(new IntVector(agg.name, counts(null)));
+                continue;
+            }
+
+            ValueVector column = data.column(agg.column);
+            boolean[] nulls = column.anyNull() ? column.isNull() : null;
+            columns.add(switch (agg.op) {
+                case COUNT -> new IntVector(agg.name, counts(nulls));
+                case NUNIQUE -> new IntVector(agg.name, nunique(column, nulls));
+                case QUANTILE -> new DoubleVector(agg.name, quantile(values(column, nulls), nulls, agg.q));
+                default -> new DoubleVector(agg.name, reduce(agg.op, values(column, nulls), nulls));
+            });
+        }
+
+        return new DataFrame(columns.toArray(new ValueVector[0]));
+    }
+
+    /**
+     * Returns the aggregate function of number of rows.
+     * @return the aggregate function.
+     */
+    public static Aggregation count() {
+        return new Aggregation(Op.COUNT, null, Double.NaN, "count");
+    }
+
+    /**
+     * Returns the aggregate function of number of non-null values.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation count(String column) {
+        return of(Op.COUNT, column);
+    }
+
+    /**
+     * Returns the aggregate function of sum.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation sum(String column) {
+        return of(Op.SUM, column);
+    }
+
+    /**
+     * Returns the aggregate function of mean.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation mean(String column) {
+        return of(Op.MEAN, column);
+    }
+
+    /**
+     * Returns the aggregate function of minimum.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation min(String column) {
+        return of(Op.MIN, column);
+    }
+
+    /**
+     * Returns the aggregate function of maximum.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation max(String column) {
+        return of(Op.MAX, column);
+    }
+
+    /**
+     * Returns the aggregate function of number of distinct values.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation nunique(String column) {
+        return of(Op.NUNIQUE, column);
+    }
+
+    /**
+     * Returns the aggregate function of median.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    public static Aggregation median(String column) {
+        return quantile(column, 0.5).as("median(" + column + ")");
+    }
+
+    /**
+     * Returns the aggregate function of quantile, which interpolates
+     * linearly between the closest ranks.
+     * @param column the column name.
+     * @param q the probability in [0, 1].
+     * @return the aggregate function.
+     */
+    public static Aggregation quantile(String column, double q) {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Invalid quantile probability: " + q);
+        }
+        return new Aggregation(Op.QUANTILE, column, q, String.format("quantile(%s, %s)", column, q));
+    }
+
+    /**
+     * Returns an aggregate function with default output column name.
+     * @param op the aggregate operation.
+     * @param column the column name.
+     * @return the aggregate function.
+     */
+    private static Aggregation of(Op op, String column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Null column name");
+        }
+        return new Aggregation(op, column, Double.NaN, op.name().toLowerCase() + "(" + column + ")");
+    }
+
+    /**
+     * Encodes the values of column to long codes.
+     * @param column the column.
+     * @return the codes.
+     */
+    private static long[] encode(ValueVector column) {
+        DataType dtype = column.dtype();
+        if (dtype.isIntegral() || dtype.isBoolean() || dtype.isChar()) {
+            return column.toLongArray();
+        }
+
+        int n = column.size();
+        long[] keys = new long[n];
+        if (dtype.isFloating()) {
+            double[] x = column.toDoubleArray();
+            for (int i = 0; i < n; i++) {
+                // 0.0 and -0.0 are the same key.
+                keys[i] = x[i] == 0.0 ? 0L : Double.doubleToLongBits(x[i]);
+            }
+        } else {
+            HashMap<Object, Integer> dict = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Object value = column.get(i);
+                if (value != null) {
+                    Integer code = dict.putIfAbsent(value, dict.size());
+                    keys[i] = code == null ? dict.size() - 1 : code;
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the number of hash partitions or row chunks.
+     * @param n the number of rows.
+     * @return the number of partitions, a power of 2.
+     */
+    static int partitions(int n) {
+        if (n < PARALLEL_THRESHOLD) return 1;
+        int cores = Math.min(MAX_PARTITIONS, Runtime.getRuntime().availableProcessors());
+        return Integer.highestOneBit(cores);
+    }
+
+    /**
+     * Maps the keys to dense group ids. The rows are hash partitioned
+     * by the high bits of key hash, and each partition is processed by
+     * a thread with its own hash table. The groups are then renumbered
+     * in the order of their first occurrence so that the result is
+     * independent of the number of partitions.
+     * @param keys the keys.
+     * @param nulls the null mask of keys, which may be null.
+     * @return the groups.
+     */
+    static Groups hash(long[] keys, boolean[] nulls) {
+        int n = keys.length;
+        int p = partitions(n);
+        int shift = 64 - Integer.numberOfTrailingZeros(p);
+
+        // Scatters the row indices by partition in one pass so that each
+        // partition task visits only its own rows. The rows of a partition
+        // stay in ascending order. Nulls and Long.MIN_VALUE, which is
+        // reserved by the hash table, are in no partition.
+        int[] part = new int[n];
+        int[] rows = new int[n];
+        int[] start = new int[p + 1];
+        int chunk = (n + p - 1) / p;
+        int[][] count = new int[p][p];
+        IntStream.range(0, p).parallel().forEach(c -> {
+            int end = Math.min(n, (c + 1) * chunk);
+            for (int i = c * chunk; i < end; i++) {
+                long key = keys[i];
+                if (key == Long.MIN_VALUE || (nulls != null && nulls[i])) {
+                    part[i] = -1;
+                } else {
+                    part[i] = p > 1 ? (int) ((key * LONG_PHI) >>> shift) : 0;
+                    count[c][part[i]]++;
+                }
+            }
+        });
+
+        int[][] pos = new int[p][p];
+        for (int h = 0; h < p; h++) {
+            start[h + 1] = start[h];
+            for (int c = 0; c < p; c++) {
+                pos[c][h] = start[h + 1];
+                start[h + 1] += count[c][h];
+            }
+        }
+
+        IntStream.range(0, p).parallel().forEach(c -> {
+            int end = Math.min(n, (c + 1) * chunk);
+            for (int i = c * chunk; i < end; i++) {
+                if (part[i] >= 0) {
+                    rows[pos[c][part[i]]++] = i;
+                }
+            }
+        });
+
+        int[] id = new int[n];
+        IntArrayList[] firsts = new IntArrayList[p];
+        IntStream.range(0, p).parallel().forEach(h -> {
+            var map = new LongIntHashMap();
+            var first = new IntArrayList();
+            for (int r = start[h]; r < start[h + 1]; r++) {
+                int i = rows[r];
+                long key = keys[i];
+                int g = map.putIfAbsent(key, first.size());
+                if (g == Integer.MIN_VALUE) {
+                    g = first.size();
+                    first.add(i);
+                }
+                id[i] = g;
+            }
+            firsts[h] = first;
+        });
+
+        // The provisional group id is the partition offset plus the local id.
+        int[] offset = new int[p + 1];
+        for (int h = 0; h < p; h++) {
+            offset[h + 1] = offset[h] + firsts[h].size();
+        }
+
+        int size = offset[p];
+        int minGroup = -1, nullGroup = -1;
+        IntArrayList special = new IntArrayList();
+        for (int i = 0; i < n; i++) {
+            if (nulls != null && nulls[i]) {
+                if (nullGroup < 0) {
+                    nullGroup = size + special.size();
+                    special.add(i);
+                }
+                id[i] = nullGroup;
+            } else if (keys[i] == Long.MIN_VALUE) {
+                if (minGroup < 0) {
+                    minGroup = size + special.size();
+                    special.add(i);
+                }
+                id[i] = minGroup;
+            } else {
+                id[i] += offset[part[i]];
+            }
+        }
+
+        // Renumber the groups by the first occurrence.
+        int k = size + special.size();
+        long[] order = new long[k];
+        for (int h = 0; h < p; h++) {
+            var first = firsts[h];
+            for (int j = 0; j < first.size(); j++) {
+                order[offset[h] + j] = ((long) first.get(j) << 32) | (offset[h] + j);
+            }
+        }
+        for (int j = 0; j < special.size(); j++) {
+            order[size + j] = ((long) special.get(j) << 32) | (size + j);
+        }
+        Arrays.sort(order);
+
+        int[] first = new int[k];
+        int[] rank = new int[k];
+        for (int g = 0; g < k; g++) {
+            first[g] = (int) (order[g] >>> 32);
+            rank[(int) order[g]] = g;
+        }
+
+        IntStream.range(0, n).parallel().forEach(i -> id[i] = rank[id[i]]);
+        return new Groups(id, first);
+    }
+
+    /**
+     * Returns the number of row chunks for aggregation. Each chunk has
+     * its own accumulators so that we fall back to one chunk for high
+     * cardinality groups to bound the memory.
+     * @return the number of row chunks.
+     */
+    private int chunks() {
+        int n = groups.id.length;
+        return size() > n / 4 ? 1 : partitions(n);
+    }
+
+    /**
+     * Returns the values of a numeric column.
+     * @param column the column.
+     * @param nulls the null mask, which may be null.
+     * @return the values.
+     */
+    private static double[] values(ValueVector column, boolean[] nulls) {
+        DataType dtype = column.dtype();
+        if (dtype.isPrimitive()) {
+            return column.toDoubleArray();
+        }
+
+        if (!dtype.isNumeric()) {
+            throw new IllegalArgumentException("Column '" + column.name() + "' is not numeric: " + dtype);
+        }
+
+        int n = column.size();
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = nulls != null && nulls[i] ? Double.NaN : column.getDouble(i);
+        }
+        return x;
+    }
+
+    /**
+     * Counts the non-null rows of each group.
+     * @param nulls the null mask, which may be null.
+     * @return the counts.
+     */
+    private int[] counts(boolean[] nulls) {
+        int[] id = groups.id;
+        int n = id.length;
+        int k = size();
+        int p = chunks();
+        int[][] partial = new int[p][];
+        IntStream.range(0, p).parallel().forEach(chunk -> {
+            int[] count = new int[k];
+            int end = (int) ((long) n * (chunk + 1) / p);
+            for (int i = (int) ((long) n * chunk / p); i < end; i++) {
+                if (nulls == null || !nulls[i]) count[id[i]]++;
+            }
+            partial[chunk] = count;
+        });
+
+        int[] count = partial[0];
+        for (int chunk = 1; chunk < p; chunk++) {
+            int[] c = partial[chunk];
+            for (int g = 0; g < k; g++) count[g] += c[g];
+        }
+        return count;
+    }
+
+    /**
+     * Computes sum, mean, min or max of each group.
+     * @param op the aggregate operation.
+     * @param x the values.
+     * @param nulls the null mask, which may be null.
+     * @return the aggregates.
+     */
+    private double[] reduce(Op op, double[] x, boolean[] nulls) {
+        int[] id = groups.id;
+        int n = id.length;
+        int k = size();
+        int p = chunks();
+        double init = switch (op) {
+            case MIN -> Double.POSITIVE_INFINITY;
+            case MAX -> Double.NEGATIVE_INFINITY;
+            default -> 0.0;
+        };
+
+        double[][] partial = new double[p][];
+        IntStream.range(0, p).parallel().forEach(chunk -> {
+            double[] acc = new double[k];
+            if (init != 0.0) Arrays.fill(acc, init);
+            int start = (int) ((long) n * chunk / p);
+            int end = (int) ((long) n * (chunk + 1) / p);
+            switch (op) {
+                case MIN -> {
+                    for (int i = start; i < end; i++) {
+                        if (nulls == null || !nulls[i]) acc[id[i]] = Math.min(acc[id[i]], x[i]);
+                    }
+                }
+                case MAX -> {
+                    for (int i = start; i < end; i++) {
+                        if (nulls == null || !nulls[i]) acc[id[i]] = Math.max(acc[id[i]], x[i]);
+                    }
+                }
+                default -> {
+                    for (int i = start; i < end; i++) {
+                        if (nulls == null || !nulls[i]) acc[id[i]] += x[i];
+                    }
+                }
+            }
+            partial[chunk] = acc;
+        });
+
+        double[] acc = partial[0];
+        for (int chunk = 1; chunk < p; chunk++) {
+            double[] a = partial[chunk];
+            for (int g = 0; g < k; g++) {
+                acc[g] = switch (op) {
+                    case MIN -> Math.min(acc[g], a[g]);
+                    case MAX -> Math.max(acc[g], a[g]);
+                    default -> acc[g] + a[g];
+                };
+            }
+        }
+
+        if (op != Op.SUM) {
+            int[] count = counts(nulls);
+            for (int g = 0; g < k; g++) {
+                if (count[g] == 0) {
+                    acc[g] = Double.NaN;
+                } else if (op == Op.MEAN) {
+                    acc[g] /= count[g];
+                }
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Computes the quantile of each group. The values are bucketed by
+     * group with a counting sort, and each bucket is sorted in parallel.
+     * @param x the values.
+     * @param nulls the null mask, which may be null.
+     * @param q the probability.
+     * @return the quantiles.
+     */
+    private double[] quantile(double[] x, boolean[] nulls, double q) {
+        int[] id = groups.id;
+        int n = id.length;
+        int k = size();
+        int[] count = counts(nulls);
+        int[] offset = new int[k + 1];
+        for (int g = 0; g < k; g++) {
+            offset[g + 1] = offset[g] + count[g];
+        }
+
+        double[] bucket = new double[offset[k]];
+        int[] pos = Arrays.copyOf(offset, k);
+        for (int i = 0; i < n; i++) {
+            if (nulls == null || !nulls[i]) bucket[pos[id[i]]++] = x[i];
+        }
+
+        double[] quantile = new double[k];
+        IntStream.range(0, k).parallel().forEach(g -> {
+            int from = offset[g];
+            int length = count[g];
+            if (length == 0) {
+                quantile[g] = Double.NaN;
+                return;
+            }
+
+            Arrays.sort(bucket, from, from + length);
+            double h = q * (length - 1);
+            int lo = (int) h;
+            double a = bucket[from + lo];
+            quantile[g] = lo + 1 < length ? a + (h - lo) * (bucket[from + lo + 1] - a) : a;
+        });
+        return quantile;
+    }
+
+    /**
+     * Counts the distinct non-null values of each group.
+     * @param column the column.
+     * @param nulls the null mask, which may be null.
+     * @return the number of distinct values.
+     */
+    private int[] nunique(ValueVector column, boolean[] nulls) {
+        Groups pairs = groups.cross(Groups.of(column));
+        int[] count = new int[size()];
+        for (int row : pairs.first) {
+            if (nulls == null || !nulls[row]) count[groups.id[row]]++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data;
+
+/**
+ * The type of join on key columns.
+ *
+ * @author Haifeng Li
+ */
+public enum Join {
+    /** Returns the rows that have matching keys in both data frames. */
+    INNER,
+    /** Returns all rows of the left data frame and the matching rows of the right one. */
+    LEFT,
+    /** Returns all rows of the right data frame and the matching rows of the left one. */
+    RIGHT,
+    /** Returns all rows of both data frames, matched when possible. */
+    OUTER
+}
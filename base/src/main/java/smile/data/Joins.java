@@ -0,0 +1,583 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.IntStream;
+import smile.data.type.DataType;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.*;
+import smile.util.Index;
+import smile.util.IntArrayList;
+import smile.util.LongIntHashMap;
+
+/**
+ * Equi-join of data frames on key columns. The join first computes
+ * the pairs of matching row indices and then gathers the columns of
+ * both sides by the indices, so that no rows are materialized.
+ * <p>
+ * If all keys are primitive and both sides are already sorted by the
+ * keys, the rows are matched by a linear sort-merge join. Otherwise,
+ * a hash table is built on the right side, which should be the
+ * smaller one, and probed by the left rows in parallel. As in SQL,
+ * null keys never match.
+ *
+ * @author Haifeng Li
+ */
+final class Joins {
+    /** Private constructor to prevent object creation. */
+    private Joins() {
+
+    }
+
+    /**
+     * The encoded keys of both sides.
+     * @param left the codes of left keys, one array per key column.
+     * @param right the codes of right keys, one array per key column.
+     * @param leftNulls the flags if any key of left row is null.
+     * @param rightNulls the flags if any key of right row is null.
+     * @param ordered true if the codes preserve the order of keys.
+     */
+    private record Keys(long[][] left, long[][] right, boolean[] leftNulls, boolean[] rightNulls, boolean ordered) {
+        /**
+         * Returns true if the keys are sorted in both sides.
+         * @return true if the keys are sorted in both sides.
+         */
+        boolean sorted() {
+            return ordered && leftNulls == null && rightNulls == null && sorted(left) && sorted(right);
+        }
+
+        /**
+         * Returns true if the keys are sorted in lexicographic order.
+         * @param keys the key codes.
+         * @return true if the keys are sorted.
+         */
+        static boolean sorted(long[][] keys) {
+            int n = keys[0].length;
+            for (int i = 1; i < n; i++) {
+                if (compare(keys, i - 1, keys, i) > 0) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Compares two rows in lexicographic order of keys.
+         * @param a the keys of first row.
+         * @param i the index of first row.
+         * @param b the keys of second row.
+         * @param j the index of second row.
+         * @return the comparison result.
+         */
+        static int compare(long[][] a, int i, long[][] b, int j) {
+            for (int k = 0; k < a.length; k++) {
+                int c = Long.compare(a[k][i], b[k][j]);
+                if (c != 0) return c;
+            }
+            return 0;
+        }
+
+        /**
+         * Returns a single code for each row of both sides by
+         * hashing the combination of multiple keys.
+         * @return the codes of left and right rows.
+         */
+        long[][] combine() {
+            if (left.length == 1) {
+                return new long[][]{left[0], right[0]};
+            }
+
+            int nl = left[0].length;
+            int nr = right[0].length;
+            GroupBy.Groups groups = null;
+            for (int k = 0; k < left.length; k++) {
+                long[] keys = Arrays.copyOf(left[k], nl + nr);
+                System.arraycopy(right[k], 0, keys, nl, nr);
+                var g = GroupBy.hash(keys, null);
+                groups = groups == null ? g : groups.cross(g);
+            }
+
+            int[] id = groups.id();
+            long[] l = new long[nl];
+            long[] r = new long[nr];
+            for (int i = 0; i < nl; i++) l[i] = id[i];
+            for (int j = 0; j < nr; j++) r[j] = id[nl + j];
+            return new long[][]{l, r};
+        }
+    }
+
+    /**
+     * Joins two data frames on key columns.
+     * @param left the left data frame.
+     * @param right the right data frame.
+     * @param how the type of join.
+     * @param on the key columns, which must exist in both data frames.
+     * @return the joined data frame.
+     */
+    static DataFrame join(DataFrame left, DataFrame right, Join how, String... on) {
+        if (on.length == 0) {
+            throw new IllegalArgumentException("No join keys");
+        }
+
+        if (how == Join.RIGHT) {
+            int[][] index = match(right, left, Join.LEFT, on);
+            return gather(left, right, index[1], index[0], how, on);
+        }
+
+        int[][] index = match(left, right, how, on);
+        return gather(left, right, index[0], index[1], how, on);
+    }
+
+    /**
+     * Returns the indices of matching rows. An index of -1 denotes
+     * an unmatched row of the other side.
+     * @param left the left data frame.
+     * @param right the right data frame.
+     * @param how the type of join, one of INNER, LEFT, and OUTER.
+     * @param on the key columns.
+     * @return the row indices of left and right data frames.
+     */
+    private static int[][] match(DataFrame left, DataFrame right, Join how, String... on) {
+        Keys keys = encode(left, right, on);
+        if (keys.sorted()) {
+            return mergeJoin(keys.left, keys.right, how);
+        }
+
+        long[][] codes = keys.combine();
+        return hashJoin(codes[0], keys.leftNulls, codes[1], keys.rightNulls, how);
+    }
+
+    /**
+     * Encodes the key columns of both sides to long codes. Integral
+     * values are used as is. Floating values are mapped to longs that
+     * preserve their order. Other values are dictionary encoded.
+     * @param left the left data frame.
+     * @param right the right data frame.
+     * @param on the key columns.
+     * @return the encoded keys.
+     */
+    private static Keys encode(DataFrame left, DataFrame right, String... on) {
+        int nl = left.size();
+        int nr = right.size();
+        long[][] l = new long[on.length][];
+        long[][] r = new long[on.length][];
+        boolean[] leftNulls = null;
+        boolean[] rightNulls = null;
+        boolean ordered = true;
+        for (int k = 0; k < on.length; k++) {
+            ValueVector x = left.column(on[k]);
+            ValueVector y = right.column(on[k]);
+            DataType a = x.dtype();
+            DataType b = y.dtype();
+            if (integral(a) && integral(b)) {
+                l[k] = x.toLongArray();
+                r[k] = y.toLongArray();
+            } else if ((integral(a) || a.isFloating()) && (integral(b) || b.isFloating())) {
+                l[k] = floating(x.toDoubleArray());
+                r[k] = floating(y.toDoubleArray());
+            } else if (a.isPrimitive() || b.isPrimitive()) {
+                throw new IllegalArgumentException(String.format("Incompatible types of key '%s': %s vs %s", on[k], a, b));
+            } else {
+                ordered = false;
+                HashMap<Object, Integer> dict = new HashMap<>();
+                l[k] = dictionary(x, dict);
+                r[k] = dictionary(y, dict);
+            }
+
+            if (x.anyNull()) leftNulls = or(leftNulls, x.isNull());
+            if (y.anyNull()) rightNulls = or(rightNulls, y.isNull());
+        }
+
+        return new Keys(l, r, leftNulls, rightNulls, ordered);
+    }
+
+    /**
+     * Returns true if the values of data type can be encoded as long.
+     * @param dtype the data type.
+     * @return true if the values of data type can be encoded as long.
+     */
+    private static boolean integral(DataType dtype) {
+        return dtype.isIntegral() || dtype.isBoolean() || dtype.isChar();
+    }
+
+    /**
+     * Maps floating numbers to longs that preserve the order.
+     * @param x the floating numbers.
+     * @return the codes.
+     */
+    private static long[] floating(double[] x) {
+        long[] codes = new long[x.length];
+        for (int i = 0; i < x.length; i++) {
+            // 0.0 and -0.0 are the same key.
+            long bits = x[i] == 0.0 ? 0L : Double.doubleToLongBits(x[i]);
+            codes[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        return codes;
+    }
+
+    /**
+     * Encodes the objects with a dictionary shared by both sides.
+     * @param x the vector.
+     * @param dict the dictionary.
+     * @return the codes.
+     */
+    private static long[] dictionary(ValueVector x, HashMap<Object, Integer> dict) {
+        int n = x.size();
+        long[] codes = new long[n];
+        for (int i = 0; i < n; i++) {
+            Object value = x.get(i);
+            if (value != null) {
+                Integer code = dict.putIfAbsent(value, dict.size());
+                codes[i] = code == null ? dict.size() - 1 : code;
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the element-wise OR of two flag arrays.
+     * @param a the flags, which may be null.
+     * @param b the flags.
+     * @return the combined flags.
+     */
+    private static boolean[] or(boolean[] a, boolean[] b) {
+        if (a == null) return b;
+        for (int i = 0; i < a.length; i++) {
+            a[i] |= b[i];
+        }
+        return a;
+    }
+
+    /**
+     * Matches the rows of sorted keys by a single linear merge pass.
+     * @param left the sorted keys of left rows.
+     * @param right the sorted keys of right rows.
+     * @param how the type of join, one of INNER, LEFT, and OUTER.
+     * @return the row indices of left and right data frames.
+     */
+    private static int[][] mergeJoin(long[][] left, long[][] right, Join how) {
+        int nl = left[0].length;
+        int nr = right[0].length;
+        IntArrayList li = new IntArrayList(Math.max(nl, nr));
+        IntArrayList ri = new IntArrayList(Math.max(nl, nr));
+
+        int i = 0, j = 0;
+        while (i < nl && j < nr) {
+            int c = Keys.compare(left, i, right, j);
+            if (c < 0) {
+                if (how != Join.INNER) {
+                    li.add(i);
+                    ri.add(-1);
+                }
+                i++;
+            } else if (c > 0) {
+                if (how == Join.OUTER) {
+                    li.add(-1);
+                    ri.add(j);
+                }
+                j++;
+            } else {
+                int iend = i + 1;
+                while (iend < nl && Keys.compare(left, iend, right, j) == 0) iend++;
+                int jend = j + 1;
+                while (jend < nr && Keys.compare(left, i, right, jend) == 0) jend++;
+                for (int a = i; a < iend; a++) {
+                    for (int b = j; b < jend; b++) {
+                        li.add(a);
+                        ri.add(b);
+                    }
+                }
+                i = iend;
+                j = jend;
+            }
+        }
+
+        if (how != Join.INNER) {
+            for (; i < nl; i++) {
+                li.add(i);
+                ri.add(-1);
+            }
+        }
+
+        if (how == Join.OUTER) {
+            for (; j < nr; j++) {
+                li.add(-1);
+                ri.add(j);
+            }
+        }
+
+        return new int[][]{li.toArray(), ri.toArray()};
+    }
+
+    /**
+     * Builds a hash table on the right keys and probes it with the
+     * left keys. The probe runs in parallel over chunks of left rows
+     * in two passes, the first to count the matches and the second
+     * to write them at the offsets of chunks in the output.
+     * @param left the keys of left rows.
+     * @param leftNulls the null flags of left keys, which may be null.
+     * @param right the keys of right rows.
+     * @param rightNulls the null flags of right keys, which may be null.
+     * @param how the type of join, one of INNER, LEFT, and OUTER.
+     * @return the row indices of left and right data frames.
+     */
+    private static int[][] hashJoin(long[] left, boolean[] leftNulls, long[] right, boolean[] rightNulls, Join how) {
+        int nl = left.length;
+        int nr = right.length;
+
+        // Build. The rows of same key are chained in ascending order.
+        // Long.MIN_VALUE is reserved by the hash table.
+        var table = new LongIntHashMap(Math.max(nr, 1), 0.75f);
+        int[] next = new int[nr];
+        int minHead = -1;
+        for (int j = nr; j-- > 0; ) {
+            if (rightNulls != null && rightNulls[j]) continue;
+            if (right[j] == Long.MIN_VALUE) {
+                next[j] = minHead;
+                minHead = j;
+            } else {
+                int head = table.put(right[j], j);
+                next[j] = head == Integer.MIN_VALUE ? -1 : head;
+            }
+        }
+
+        // Probe pass 1: find the head of chain and count the matches.
+        boolean unmatched = how != Join.INNER;
+        int[] heads = new int[nl];
+        int p = GroupBy.partitions(nl);
+        int[] offset = new int[p + 1];
+        final int min = minHead;
+        IntStream.range(0, p).parallel().forEach(chunk -> {
+            int count = 0;
+            int end = (int) ((long) nl * (chunk + 1) / p);
+            for (int i = (int) ((long) nl * chunk / p); i < end; i++) {
+                int head = -1;
+                if (leftNulls == null || !leftNulls[i]) {
+                    head = left[i] == Long.MIN_VALUE ? min : table.get(left[i]);
+                    if (head == Integer.MIN_VALUE) head = -1;
+                }
+                heads[i] = head;
+
+                if (head < 0) {
+                    if (unmatched) count++;
+                } else {
+                    for (int j = head; j >= 0; j = next[j]) count++;
+                }
+            }
+            offset[chunk + 1] = count;
+        });
+
+        for (int chunk = 0; chunk < p; chunk++) {
+            offset[chunk + 1] += offset[chunk];
+        }
+
+        // Probe pass 2: write the pairs of matching rows.
+        int size = offset[p];
+        boolean[] matched = how == Join.OUTER ? new boolean[nr] : null;
+        int[] li = new int[size];
+        int[] ri = new int[size];
+        IntStream.range(0, p).parallel().forEach(chunk -> {
+            int pos = offset[chunk];
+            int end = (int) ((long) nl * (chunk + 1) / p);
+            for (int i = (int) ((long) nl * chunk / p); i < end; i++) {
+                int head = heads[i];
+                if (head < 0) {
+                    if (unmatched) {
+                        li[pos] = i;
+                        ri[pos++] = -1;
+                    }
+                } else {
+                    for (int j = head; j >= 0; j = next[j]) {
+                        li[pos] = i;
+                        ri[pos++] = j;
+                        if (matched != null) matched[j] = true;
+                    }
+                }
+            }
+        });
+
+        if (matched == null) {
+            return new int[][]{li, ri};
+        }
+
+        IntArrayList rest = new IntArrayList();
+        for (int j = 0; j < nr; j++) {
+            if (!matched[j]) rest.add(j);
+        }
+
+        int[] l = Arrays.copyOf(li, size + rest.size());
+        int[] r = Arrays.copyOf(ri, size + rest.size());
+        Arrays.fill(l, size, l.length, -1);
+        for (int k = 0; k < rest.size(); k++) {
+            r[size + k] = rest.get(k);
+        }
+        return new int[][]{l, r};
+    }
+
+    /**
+     * Gathers the columns of joined data frame. The key columns come
+     * first and appear once, followed by the other columns of left and
+     * right data frames. The latter ones will be renamed with suffix
+     * _2 if there are columns with the same name.
+     * @param left the left data frame.
+     * @param right the right data frame.
+     * @param li the row indices of left data frame.
+     * @param ri the row indices of right data frame.
+     * @param how the type of join.
+     * @param on the key columns.
+     * @return the joined data frame.
+     */
+    private static DataFrame gather(DataFrame left, DataFrame right, int[] li, int[] ri, Join how, String... on) {
+        List<ValueVector> columns = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (var key : on) {
+            ValueVector column = how == Join.RIGHT ? gather(right.column(key), ri) : gather(left.column(key), li);
+            if (how == Join.OUTER) {
+                // Fills the keys of unmatched right rows.
+                ValueVector y = right.column(key);
+                for (int i = 0; i < li.length; i++) {
+                    if (li[i] < 0) column.set(i, y.get(ri[i]));
+                }
+            }
+            columns.add(column);
+            keys.add(key);
+            names.add(key);
+        }
+
+        for (var column : left.columns()) {
+            if (!keys.contains(column.name())) {
+                columns.add(gather(column, li));
+                names.add(column.name());
+            }
+        }
+
+        for (var column : right.columns()) {
+            if (!keys.contains(column.name())) {
+                var name = column.name();
+                var x = gather(column, ri);
+                if (names.contains(name)) {
+                    name = name + "_2";
+                    x = x.withName(name);
+                }
+                columns.add(x);
+                names.add(name);
+            }
+        }
+
+        return new DataFrame(columns.toArray(new ValueVector[0]));
+    }
+
+    /**
+     * Gathers the elements of vector by the indices. An index of -1
+     * produces a null element.
+     * @param x the vector.
+     * @param index the indices.
+     * @return the vector of gathered elements.
+     */
+    private static ValueVector gather(ValueVector x, int[] index) {
+        int n = index.length;
+        BitSet nulls = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            if (index[i] < 0) nulls.set(i);
+        }
+
+        if (nulls.isEmpty()) {
+            return x.get(Index.of(index));
+        }
+
+        StructField field = x.field();
+        DataType dtype = field.dtype();
+        if (!dtype.isPrimitive()) {
+            // All elements are null if the other side is empty.
+            if (x.size() == 0) {
+                return switch (dtype.id()) {
+                    case String -> new StringVector(field, new String[n]);
+                    case Decimal -> new NumberVector<>(field, new BigDecimal[n]);
+                    default -> new ObjectVector<>(field, new Object[n]);
+                };
+            }
+
+            // Object vectors store nulls in place.
+            int[] rows = index.clone();
+            for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) rows[i] = 0;
+            ValueVector y = x.get(Index.of(rows));
+            for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) y.set(i, null);
+            return y;
+        }
+
+        if (x.anyNull()) {
+            for (int i = 0; i < n; i++) {
+                if (index[i] >= 0 && x.isNullAt(index[i])) nulls.set(i);
+            }
+        }
+
+        return switch (dtype.id()) {
+            case Boolean -> {
+                boolean[] a = new boolean[n];
+                for (int i = 0; i < n; i++) if (!nulls.get(i)) a[i] = x.getBoolean(index[i]);
+                yield new NullableBooleanVector(nullable(field, DataTypes.NullableBooleanType), a, nulls);
+            }
+            case Char -> {
+                char[] a = new char[n];
+                for (int i = 0; i < n; i++) if (!nulls.get(i)) a[i] = x.getChar(index[i]);
+                yield new NullableCharVector(nullable(field, DataTypes.NullableCharType), a, nulls);
+            }
+            case Byte -> {
+                byte[] a = new byte[n];
+                for (int i = 0; i < n; i++) if (!nulls.get(i)) a[i] = x.getByte(index[i]);
+                yield new NullableByteVector(nullable(field, DataTypes.NullableByteType), a, nulls);
+            }
+            case Short -> {
+                short[] a = new short[n];
+                for (int i = 0; i < n; i++) if (!nulls.get(i)) a[i] = x.getShort(index[i]);
+                yield new NullableShortVector(nullable(field, DataTypes.NullableShortType), a, nulls);
+            }
+            case Int -> {
+                int[] a = new int[n];
+                for (int i = 0; i < n; i++) a[i] = nulls.get(i) ? Integer.MIN_VALUE : x.getInt(index[i]);
+                yield new NullableIntVector(nullable(field, DataTypes.NullableIntType), a, nulls);
+            }
+            case Long -> {
+                long[] a = new long[n];
+                for (int i = 0; i < n; i++) a[i] = nulls.get(i) ? Long.MIN_VALUE : x.getLong(index[i]);
+                yield new NullableLongVector(nullable(field, DataTypes.NullableLongType), a, nulls);
+            }
+            case Float -> {
+                float[] a = new float[n];
+                for (int i = 0; i < n; i++) a[i] = nulls.get(i) ? Float.NaN : x.getFloat(index[i]);
+                yield new NullableFloatVector(nullable(field, DataTypes.NullableFloatType), a, nulls);
+            }
+            default -> {
+                double[] a = new double[n];
+                for (int i = 0; i < n; i++) a[i] = nulls.get(i) ? Double.NaN : x.getDouble(index[i]);
+                yield new NullableDoubleVector(nullable(field, DataTypes.NullableDoubleType), a, nulls);
+            }
+        };
+    }
+
+    /**
+     * Returns the field with nullable data type.
+     * @param field the field.
+     * @param dtype the nullable data type.
+     * @return the nullable field.
+     */
+    private static StructField nullable(StructField field, DataType dtype) {
+        return new StructField(field.name(), dtype, field.measure());
+    }
+}
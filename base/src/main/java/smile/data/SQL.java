@@ -20,6 +20,7 @@ import java.sql.*;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import smile.io.BatchReader;
 import smile.util.Strings;
 
 /**
@@ -65,7 +66,7 @@ public class SQL implements AutoCloseable {
      * @throws SQLException if fail to create an in-memory database.
      */
     public SQL() throws SQLException {
-        db = DriverManager.getConnection("jdbc:duckdb:");
+        db = DriverManager.getConnection("jdbc:duckdb:", properties());
     }
 
     /**
@@ -74,7 +75,19 @@ public class SQL implements AutoCloseable {
      * @throws SQLException if fail to open or create the persistent database.
      */
     public SQL(String path) throws SQLException {
-        db = DriverManager.getConnection("jdbc:duckdb:" + path);
+        db = DriverManager.getConnection("jdbc:duckdb:" + path, properties());
+    }
+
+    /**
+     * Returns the connection properties. The query results are streamed
+     * in chunks rather than materialized at once so that large results
+     * can be read in batches.
+     * @return the connection properties.
+     */
+    private static Properties properties() {
+        Properties props = new Properties();
+        props.setProperty("jdbc_stream_results", "true");
+        return props;
     }
 
     @Override
@@ -533,6 +546,28 @@ public class SQL implements AutoCloseable {
         }
     }
 
+    /**
+     * Executes a SELECT statement and returns the result in batches,
+     * which are fetched from the database incrementally. The reader
+     * should be closed before executing other statements.
+     *
+     * @param sql a SELECT statement.
+     * @param batchSize the maximum number of rows per batch.
+     * @return the batch reader of query result.
+     * @throws SQLException if the statement is syntactically invalid or fails
+     *         to execute.
+     */
+    public BatchReader query(String sql, int batchSize) throws SQLException {
+        logger.info(sql);
+        var stmt = db.prepareStatement(requireSingleStatement(sql));
+        try {
+            return BatchReader.of(stmt.executeQuery(), batchSize);
+        } catch (SQLException | RuntimeException ex) {
+            stmt.close();
+            throw ex;
+        }
+    }
+
     /**
      * Executes an ad-hoc INSERT, UPDATE, or DELETE statement.
      *
@@ -17,11 +17,14 @@
 package smile.data.formula;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.type.DataType;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.ValueVector;
 
 /**
  * The term of abs function.
@@ -91,6 +94,35 @@ public class Abs extends AbstractFunction {
                 public double applyAsDouble(Tuple o) {
                     return Math.abs(feature.applyAsDouble(o));
                 }
+
+                @Override
+                public ValueVector apply(DataFrame data) {
+                    ValueVector x = feature.apply(data);
+                    BitSet nulls = Columns.nulls(x);
+                    int n = x.size();
+                    return switch (field.dtype().id()) {
+                        case Int -> {
+                            int[] values = x.toIntArray();
+                            for (int i = 0; i < n; i++) values[i] = Math.abs(values[i]);
+                            yield Columns.of(field, values, nulls);
+                        }
+                        case Long -> {
+                            long[] values = x.toLongArray();
+                            for (int i = 0; i < n; i++) values[i] = Math.abs(values[i]);
+                            yield Columns.of(field, values, nulls);
+                        }
+                        case Float -> {
+                            float[] values = Columns.floats(x);
+                            for (int i = 0; i < n; i++) values[i] = Math.abs(values[i]);
+                            yield Columns.of(field, values, nulls);
+                        }
+                        default -> {
+                            double[] values = x.toDoubleArray();
+                            for (int i = 0; i < n; i++) values[i] = Math.abs(values[i]);
+                            yield Columns.of(field, values, nulls);
+                        }
+                    };
+                }
             });
         }
 
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data.formula;
+
+import java.util.BitSet;
+import smile.data.type.StructField;
+import smile.data.vector.*;
+
+/**
+ * Column-at-a-time evaluation helpers of features. The operations
+ * run as tight loops over primitive arrays, which the JIT compiler
+ * unrolls and vectorizes, instead of boxing values of every row
+ * through tuples.
+ *
+ * @author Haifeng Li
+ */
+final class Columns {
+    /** Private constructor to prevent object creation. */
+    private Columns() {
+
+    }
+
+    /**
+     * Returns the null bitmap of a vector.
+     * @param x the vector.
+     * @return the null bitmap, which is empty if there are no nulls.
+     */
+    static BitSet nulls(ValueVector x) {
+        return switch (x) {
+            case NullablePrimitiveVector v -> (BitSet) v.getNullMask().clone();
+            case OffHeapVector v -> v.isNullable() ? (BitSet) v.getNullMask().clone() : new BitSet();
+            default -> {
+                BitSet mask = new BitSet();
+                if (!x.dtype().isPrimitive()) {
+                    int n = x.size();
+                    for (int i = 0; i < n; i++) {
+                        if (x.isNullAt(i)) mask.set(i);
+                    }
+                }
+                yield mask;
+            }
+        };
+    }
+
+    /**
+     * Returns the union of null bitmaps of two vectors.
+     * @param x the vector.
+     * @param y the other vector.
+     * @return the null bitmap, which is empty if there are no nulls.
+     */
+    static BitSet nulls(ValueVector x, ValueVector y) {
+        BitSet mask = nulls(x);
+        mask.or(nulls(y));
+        return mask;
+    }
+
+    /**
+     * Returns the values of vector as float array.
+     * @param x the vector.
+     * @return the float array.
+     */
+    static float[] floats(ValueVector x) {
+        int n = x.size();
+        float[] values = new float[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = x.getFloat(i);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the int vector of feature.
+     * @param field the feature field.
+     * @param values the feature values.
+     * @param nulls the null bitmap.
+     * @return the vector.
+     */
+    static ValueVector of(StructField field, int[] values, BitSet nulls) {
+        if (!field.dtype().isNullable()) {
+            return new IntVector(field, values);
+        }
+
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            values[i] = Integer.MIN_VALUE;
+        }
+        return new NullableIntVector(field, values, nulls);
+    }
+
+    /**
+     * Returns the long vector of feature.
+     * @param field the feature field.
+     * @param values the feature values.
+     * @param nulls the null bitmap.
+     * @return the vector.
+     */
+    static ValueVector of(StructField field, long[] values, BitSet nulls) {
+        if (!field.dtype().isNullable()) {
+            return new LongVector(field, values);
+        }
+
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            values[i] = Long.MIN_VALUE;
+        }
+        return new NullableLongVector(field, values, nulls);
+    }
+
+    /**
+     * Returns the float vector of feature.
+     * @param field the feature field.
+     * @param values the feature values.
+     * @param nulls the null bitmap.
+     * @return the vector.
+     */
+    static ValueVector of(StructField field, float[] values, BitSet nulls) {
+        if (!field.dtype().isNullable()) {
+            return new FloatVector(field, values);
+        }
+
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            values[i] = Float.NaN;
+        }
+        return new NullableFloatVector(field, values, nulls);
+    }
+
+    /**
+     * Returns the double vector of feature.
+     * @param field the feature field.
+     * @param values the feature values.
+     * @param nulls the null bitmap.
+     * @return the vector.
+     */
+    static ValueVector of(StructField field, double[] values, BitSet nulls) {
+        if (!field.dtype().isNullable()) {
+            return new DoubleVector(field, values);
+        }
+
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            values[i] = Double.NaN;
+        }
+        return new NullableDoubleVector(field, values, nulls);
+    }
+
+    /**
+     * Sets the divisor of null elements to 1 to avoid the division by zero.
+     * @param b the divisor.
+     * @param nulls the null bitmap.
+     */
+    private static void divisor(int[] b, BitSet nulls) {
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            b[i] = 1;
+        }
+    }
+
+    /**
+     * Sets the divisor of null elements to 1 to avoid the division by zero.
+     * @param b the divisor.
+     * @param nulls the null bitmap.
+     */
+    private static void divisor(long[] b, BitSet nulls) {
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            b[i] = 1;
+        }
+    }
+
+    /**
+     * Applies an arithmetic operator element-wise. The operands are
+     * converted to the data type of result field first.
+     * @param op the operator, one of '+', '-', '*' and '/'.
+     * @param field the result field.
+     * @param x the left operand.
+     * @param y the right operand.
+     * @return the result vector.
+     */
+    static ValueVector arithmetic(char op, StructField field, ValueVector x, ValueVector y) {
+        BitSet nulls = nulls(x, y);
+        int n = x.size();
+        return switch (field.dtype().id()) {
+            case Int -> {
+                int[] a = x.toIntArray();
+                int[] b = y.toIntArray();
+                int[] c = new int[n];
+                if (op == '/') divisor(b, nulls);
+                switch (op) {
+                    case '+' -> { for (int i = 0; i < n; i++) c[i] = a[i] + b[i]; }
+                    case '-' -> { for (int i = 0; i < n; i++) c[i] = a[i] - b[i]; }
+                    case '*' -> { for (int i = 0; i < n; i++) c[i] = a[i] * b[i]; }
+                    default -> { for (int i = 0; i < n; i++) c[i] = a[i] / b[i]; }
+                }
+                yield of(field, c, nulls);
+            }
+            case Long -> {
+                long[] a = x.toLongArray();
+                long[] b = y.toLongArray();
+                long[] c = new long[n];
+                if (op == '/') divisor(b, nulls);
+                switch (op) {
+                    case '+' -> { for (int i = 0; i < n; i++) c[i] = a[i] + b[i]; }
+                    case '-' -> { for (int i = 0; i < n; i++) c[i] = a[i] - b[i]; }
+                    case '*' -> { for (int i = 0; i < n; i++) c[i] = a[i] * b[i]; }
+                    default -> { for (int i = 0; i < n; i++) c[i] = a[i] / b[i]; }
+                }
+                yield of(field, c, nulls);
+            }
+            case Float -> {
+                float[] a = floats(x);
+                float[] b = floats(y);
+                float[] c = new float[n];
+                switch (op) {
+                    case '+' -> { for (int i = 0; i < n; i++) c[i] = a[i] + b[i]; }
+                    case '-' -> { for (int i = 0; i < n; i++) c[i] = a[i] - b[i]; }
+                    case '*' -> { for (int i = 0; i < n; i++) c[i] = a[i] * b[i]; }
+                    default -> { for (int i = 0; i < n; i++) c[i] = a[i] / b[i]; }
+                }
+                yield of(field, c, nulls);
+            }
+            default -> {
+                double[] a = x.toDoubleArray();
+                double[] b = y.toDoubleArray();
+                double[] c = new double[n];
+                switch (op) {
+                    case '+' -> { for (int i = 0; i < n; i++) c[i] = a[i] + b[i]; }
+                    case '-' -> { for (int i = 0; i < n; i++) c[i] = a[i] - b[i]; }
+                    case '*' -> { for (int i = 0; i < n; i++) c[i] = a[i] * b[i]; }
+                    default -> { for (int i = 0; i < n; i++) c[i] = a[i] / b[i]; }
+                }
+                yield of(field, c, nulls);
+            }
+        };
+    }
+}
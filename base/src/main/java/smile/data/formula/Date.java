@@ -22,6 +22,7 @@ import java.time.LocalTime;
 import java.time.temporal.IsoFields;
 import java.time.temporal.WeekFields;
 import java.util.*;
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.measure.Measure;
 import smile.data.measure.NominalScale;
@@ -29,6 +30,8 @@ import smile.data.type.DataType;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.IntVector;
+import smile.data.vector.ValueVector;
 
 /**
  * Date/time feature extractor.
@@ -118,7 +121,27 @@ public class Date implements Term {
 
                 @Override
                 public Object apply(Tuple o) {
-                    Object x = o.get(index);
+                    return extract(o.get(index));
+                }
+
+                @Override
+                public ValueVector apply(DataFrame data) {
+                    ValueVector column = data.column(index);
+                    int n = column.size();
+                    int[] values = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        Object x = extract(column.get(i));
+                        values[i] = x == null ? -1 : (int) x;
+                    }
+                    return new IntVector(field, values);
+                }
+
+                /**
+                 * Extracts the feature from a date/time value.
+                 * @param x the date/time value.
+                 * @return the feature value.
+                 */
+                private Object extract(Object x) {
                     if (x == null) return null;
 
                     WeekFields weekFields = WeekFields.of(Locale.ROOT);
@@ -18,10 +18,12 @@ package smile.data.formula;
 
 import java.util.ArrayList;
 import java.util.List;
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.type.DataType;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.ValueVector;
 
 /**
  * The term of {@code a / b} expression.
@@ -105,6 +107,11 @@ public class Div extends Operator {
                 public double applyAsDouble(Tuple o) {
                     return a.applyAsDouble(o) / b.applyAsDouble(o);
                 }
+
+                @Override
+                public ValueVector apply(DataFrame data) {
+                    return Columns.arithmetic('/', field, a.apply(data), b.apply(data));
+                }
             });
         }
 
@@ -18,12 +18,15 @@ package smile.data.formula;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.measure.CategoricalMeasure;
 import smile.data.measure.NominalScale;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.IntVector;
+import smile.data.vector.ValueVector;
 
 /**
  * The interaction of all the factors appearing in the term.
@@ -96,7 +99,10 @@ public class FactorInteraction implements Term {
                     .toList();
         }
 
-        return Collections.singletonList(new InteractionFeature(levels));
+        CategoricalMeasure[] measures = fields.stream()
+                .map(field -> (CategoricalMeasure) field.measure())
+                .toArray(CategoricalMeasure[]::new);
+        return Collections.singletonList(new InteractionFeature(levels, measures));
     }
 
     /**
@@ -105,8 +111,11 @@ public class FactorInteraction implements Term {
     private class InteractionFeature implements Feature {
         final NominalScale measure ;
         final StructField field;
+        /** The measures of factors. */
+        final CategoricalMeasure[] measures;
 
-        InteractionFeature(List<String> levels) {
+        InteractionFeature(List<String> levels, CategoricalMeasure[] measures) {
+            this.measures = measures;
             measure = new NominalScale(levels);
             field = new StructField(
                     String.join(":", factors),
@@ -136,5 +145,25 @@ public class FactorInteraction implements Term {
             String level = factors.stream().map(o::getString).collect(Collectors.joining(":"));
             return measure.valueOf(level);
         }
+
+        /**
+         * Since the levels of interaction are the cartesian product of
+         * factor levels in order, the interaction value is computed
+         * column-wise as the mixed radix number of factor values.
+         */
+        @Override
+        public ValueVector apply(DataFrame data) {
+            int n = data.size();
+            int[] values = new int[n];
+            for (int k = 0; k < measures.length; k++) {
+                ValueVector column = data.column(factors.get(k));
+                CategoricalMeasure cat = measures[k];
+                int radix = cat.size();
+                for (int i = 0; i < n; i++) {
+                    values[i] = values[i] * radix + cat.factor(column.getInt(i));
+                }
+            }
+            return new IntVector(field, values);
+        }
     }
 }
@@ -16,13 +16,16 @@
  */
 package smile.data.formula;
 
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.type.DataType;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.ValueVector;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -79,6 +82,17 @@ public class IntFunction extends AbstractFunction {
                 public int applyAsInt(Tuple o) {
                     return lambda.apply(feature.applyAsInt(o));
                 }
+
+                @Override
+                public ValueVector apply(DataFrame data) {
+                    ValueVector x = feature.apply(data);
+                    BitSet nulls = Columns.nulls(x);
+                    int[] values = x.toIntArray();
+                    for (int i = 0; i < values.length; i++) {
+                        if (!nulls.get(i)) values[i] = lambda.apply(values[i]);
+                    }
+                    return Columns.of(field, values, nulls);
+                }
             });
         }
 
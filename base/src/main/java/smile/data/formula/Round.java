@@ -16,12 +16,15 @@
  */
 package smile.data.formula;
 
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.type.DataType;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.ValueVector;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -78,6 +81,22 @@ public class Round extends AbstractFunction {
                 public double applyAsDouble(Tuple o) {
                     return Math.round(feature.applyAsDouble(o));
                 }
+
+                @Override
+                public ValueVector apply(DataFrame data) {
+                    ValueVector x = feature.apply(data);
+                    BitSet nulls = Columns.nulls(x);
+                    int n = x.size();
+                    if (field.dtype().isFloat()) {
+                        float[] values = Columns.floats(x);
+                        for (int i = 0; i < n; i++) values[i] = Math.round(values[i]);
+                        return Columns.of(field, values, nulls);
+                    } else {
+                        double[] values = x.toDoubleArray();
+                        for (int i = 0; i < n; i++) values[i] = Math.round(values[i]);
+                        return Columns.of(field, values, nulls);
+                    }
+                }
             });
         }
 
@@ -17,17 +17,24 @@
 package smile.data.formula;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import smile.data.DataFrame;
 import smile.data.Tuple;
 import smile.data.type.DataType;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.FloatVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.LongVector;
+import smile.data.vector.ValueVector;
 
 /**
  * Predefined terms.
@@ -1121,6 +1128,13 @@ public interface Terms {
                     public Object apply(Tuple o) {
                         return x;
                     }
+
+                    @Override
+                    public ValueVector apply(DataFrame data) {
+                        int[] values = new int[data.size()];
+                        Arrays.fill(values, x);
+                        return new IntVector(field, values);
+                    }
                 };
 
                 return Collections.singletonList(feature);
@@ -1169,6 +1183,13 @@ public interface Terms {
                     public Object apply(Tuple o) {
                         return x;
                     }
+
+                    @Override
+                    public ValueVector apply(DataFrame data) {
+                        long[] values = new long[data.size()];
+                        Arrays.fill(values, x);
+                        return new LongVector(field, values);
+                    }
                 };
 
                 return Collections.singletonList(feature);
@@ -1212,6 +1233,13 @@ public interface Terms {
                     public Object apply(Tuple o) {
                         return x;
                     }
+
+                    @Override
+                    public ValueVector apply(DataFrame data) {
+                        float[] values = new float[data.size()];
+                        Arrays.fill(values, x);
+                        return new FloatVector(field, values);
+                    }
                 };
 
                 return Collections.singletonList(feature);
@@ -1250,6 +1278,13 @@ public interface Terms {
                     public Object apply(Tuple o) {
                         return x;
                     }
+
+                    @Override
+                    public ValueVector apply(DataFrame data) {
+                        double[] values = new double[data.size()];
+                        Arrays.fill(values, x);
+                        return new DoubleVector(field, values);
+                    }
                 };
 
                 return Collections.singletonList(feature);
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data.vector;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.stream.DoubleStream;
+import smile.data.measure.CategoricalMeasure;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.math.MathEx;
+import smile.util.Index;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+
+/**
+ * A double vector backed by a memory segment.
+ *
+ * @author Haifeng Li
+ */
+public class OffHeapDoubleVector extends OffHeapVector {
+    /**
+     * Constructor.
+     * @param name the name of vector.
+     * @param memory the memory segment of data.
+     */
+    public OffHeapDoubleVector(String name, MemorySegment memory) {
+        this(new StructField(name, DataTypes.DoubleType), memory, null);
+    }
+
+    /**
+     * Constructor.
+     * @param field the struct field of vector.
+     * @param memory the memory segment of data.
+     * @param nullMask the null bitmap, which is required if and only
+     *                 if the data type is nullable.
+     */
+    public OffHeapDoubleVector(StructField field, MemorySegment memory, BitSet nullMask) {
+        if (field.dtype() != DataTypes.DoubleType && field.dtype() != DataTypes.NullableDoubleType) {
+            throw new IllegalArgumentException("Invalid data type: " + field);
+        }
+        if (field.measure() instanceof CategoricalMeasure) {
+            throw new IllegalArgumentException("Invalid measure: " + field.measure());
+        }
+        super(field, memory, JAVA_DOUBLE, nullMask);
+    }
+
+    /**
+     * Allocates a zero-initialized double vector from the arena.
+     * @param name the name of vector.
+     * @param size the number of elements.
+     * @param arena the arena that manages the lifetime of memory.
+     * @return the vector.
+     */
+    public static OffHeapDoubleVector allocate(String name, int size, Arena arena) {
+        return new OffHeapDoubleVector(name, arena.allocate(JAVA_DOUBLE, size));
+    }
+
+    /**
+     * Maps a region of file as a read-only double vector. The elements
+     * are in the native byte order.
+     * @param name the name of vector.
+     * @param path the file path.
+     * @param offset the byte offset of data in the file.
+     * @param size the number of elements.
+     * @param arena the arena that manages the lifetime of mapping.
+     * @throws IOException when fails to map the file.
+     * @return the vector.
+     */
+    public static OffHeapDoubleVector map(String name, Path path, long offset, int size, Arena arena) throws IOException {
+        return new OffHeapDoubleVector(name, map(path, offset, size * JAVA_DOUBLE.byteSize(), arena));
+    }
+
+    @Override
+    OffHeapDoubleVector wrap(MemorySegment memory, BitSet nullMask) {
+        return new OffHeapDoubleVector(field, memory, nullMask);
+    }
+
+    @Override
+    public OffHeapDoubleVector withName(String name) {
+        return new OffHeapDoubleVector(field.withName(name), memory, nullMask);
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        return index().mapToDouble(this::getDouble);
+    }
+
+    @Override
+    public void set(int i, Object value) {
+        if (value == null && nullMask != null) {
+            nullMask.set(i);
+        } else if (value instanceof Number n) {
+            memory.setAtIndex(JAVA_DOUBLE, i, n.doubleValue());
+            if (nullMask != null) nullMask.clear(i);
+        } else {
+            throw new IllegalArgumentException("Invalid value: " + value);
+        }
+    }
+
+    @Override
+    public ValueVector get(Index index) {
+        double[] data = index.stream().mapToDouble(i -> memory.getAtIndex(JAVA_DOUBLE, i)).toArray();
+        return nullMask == null ? new DoubleVector(field, data) : new NullableDoubleVector(field, data, nullMask(index));
+    }
+
+    @Override
+    public boolean isNullAt(int i) {
+        return nullMask != null ? nullMask.get(i) : Double.isNaN(memory.getAtIndex(JAVA_DOUBLE, i));
+    }
+
+    @Override
+    public Double get(int i) {
+        return isNullable() && nullMask.get(i) ? null : memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public double getDouble(int i) {
+        return isNullable() && nullMask.get(i) ? Double.NaN : memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return !MathEx.isZero(memory.getAtIndex(JAVA_DOUBLE, i));
+    }
+
+    @Override
+    public char getChar(int i) {
+        return (char) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public byte getByte(int i) {
+        return (byte) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public short getShort(int i) {
+        return (short) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public int getInt(int i) {
+        return (int) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public long getLong(int i) {
+        return (long) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public float getFloat(int i) {
+        return isNullable() && nullMask.get(i) ? Float.NaN : (float) memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+}
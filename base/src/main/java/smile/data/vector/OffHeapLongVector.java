@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data.vector;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.util.Index;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * A long vector backed by a memory segment.
+ *
+ * @author Haifeng Li
+ */
+public class OffHeapLongVector extends OffHeapVector {
+    /**
+     * Constructor.
+     * @param name the name of vector.
+     * @param memory the memory segment of data.
+     */
+    public OffHeapLongVector(String name, MemorySegment memory) {
+        this(new StructField(name, DataTypes.LongType), memory, null);
+    }
+
+    /**
+     * Constructor.
+     * @param field the struct field of vector.
+     * @param memory the memory segment of data.
+     * @param nullMask the null bitmap, which is required if and only
+     *                 if the data type is nullable.
+     */
+    public OffHeapLongVector(StructField field, MemorySegment memory, BitSet nullMask) {
+        if (field.dtype() != DataTypes.LongType && field.dtype() != DataTypes.NullableLongType) {
+            throw new IllegalArgumentException("Invalid data type: " + field);
+        }
+        super(field, memory, JAVA_LONG, nullMask);
+    }
+
+    /**
+     * Allocates a zero-initialized long vector from the arena.
+     * @param name the name of vector.
+     * @param size the number of elements.
+     * @param arena the arena that manages the lifetime of memory.
+     * @return the vector.
+     */
+    public static OffHeapLongVector allocate(String name, int size, Arena arena) {
+        return new OffHeapLongVector(name, arena.allocate(JAVA_LONG, size));
+    }
+
+    /**
+     * Maps a region of file as a read-only long vector. The elements
+     * are in the native byte order.
+     * @param name the name of vector.
+     * @param path the file path.
+     * @param offset the byte offset of data in the file.
+     * @param size the number of elements.
+     * @param arena the arena that manages the lifetime of mapping.
+     * @throws IOException when fails to map the file.
+     * @return the vector.
+     */
+    public static OffHeapLongVector map(String name, Path path, long offset, int size, Arena arena) throws IOException {
+        return new OffHeapLongVector(name, map(path, offset, size * JAVA_LONG.byteSize(), arena));
+    }
+
+    @Override
+    OffHeapLongVector wrap(MemorySegment memory, BitSet nullMask) {
+        return new OffHeapLongVector(field, memory, nullMask);
+    }
+
+    @Override
+    public OffHeapLongVector withName(String name) {
+        return new OffHeapLongVector(field.withName(name), memory, nullMask);
+    }
+
+    @Override
+    public IntStream intStream() {
+        return index().map(this::getInt);
+    }
+
+    @Override
+    public LongStream longStream() {
+        return index().mapToLong(i -> isNullAt(i) ? Long.MIN_VALUE : memory.getAtIndex(JAVA_LONG, i));
+    }
+
+    @Override
+    public DoubleStream doubleStream() {
+        return index().mapToDouble(this::getDouble);
+    }
+
+    @Override
+    public void set(int i, Object value) {
+        if (value == null && nullMask != null) {
+            nullMask.set(i);
+        } else if (value instanceof Number n) {
+            memory.setAtIndex(JAVA_LONG, i, n.longValue());
+            if (nullMask != null) nullMask.clear(i);
+        } else {
+            throw new IllegalArgumentException("Invalid value: " + value);
+        }
+    }
+
+    @Override
+    public ValueVector get(Index index) {
+        long[] data = index.stream().mapToLong(i -> memory.getAtIndex(JAVA_LONG, i)).toArray();
+        return nullMask == null ? new LongVector(field, data) : new NullableLongVector(field, data, nullMask(index));
+    }
+
+    @Override
+    public Long get(int i) {
+        return isNullAt(i) ? null : memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public long getLong(int i) {
+        return memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return memory.getAtIndex(JAVA_LONG, i) != 0;
+    }
+
+    @Override
+    public char getChar(int i) {
+        return (char) memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public byte getByte(int i) {
+        return (byte) memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public short getShort(int i) {
+        return (short) memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public int getInt(int i) {
+        return (int) memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public float getFloat(int i) {
+        return isNullAt(i) ? Float.NaN : memory.getAtIndex(JAVA_LONG, i);
+    }
+
+    @Override
+    public double getDouble(int i) {
+        return isNullAt(i) ? Double.NaN : memory.getAtIndex(JAVA_LONG, i);
+    }
+}
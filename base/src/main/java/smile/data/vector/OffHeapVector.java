@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data.vector;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.stream.Stream;
+import smile.data.type.StructField;
+import smile.math.MathEx;
+import smile.util.Index;
+
+/**
+ * Abstract base class of primitive vectors backed by a memory segment,
+ * which is typically off-heap, e.g. the buffer of an Apache Arrow vector
+ * or a memory-mapped file. The vector doesn't copy the data so that the
+ * data may be shared with other libraries or processes. The lifetime of
+ * the memory is managed by the scope of segment.
+ * <p>
+ * If the data type is nullable, the vector has a null bitmap, in which
+ * the bit is 1 if the value is null, the same as
+ * {@link NullablePrimitiveVector}.
+ *
+ * @author Haifeng Li
+ */
+public abstract class OffHeapVector extends AbstractVector {
+    /** The memory segment of data. */
+    final MemorySegment memory;
+    /** The number of elements. */
+    final int size;
+    /** The null bitmap. The bit is 1 if the value is null. Null if the vector is not nullable. */
+    BitSet nullMask;
+
+    /**
+     * Constructor.
+     * @param field The struct field of the vector.
+     * @param memory the memory segment of data.
+     * @param layout the memory layout of elements.
+     * @param nullMask the null bitmap, which is required if and only
+     *                 if the data type is nullable.
+     */
+    OffHeapVector(StructField field, MemorySegment memory, ValueLayout layout, BitSet nullMask) {
+        super(field);
+        if (field.dtype().isNullable() != (nullMask != null)) {
+            throw new IllegalArgumentException("Null mask doesn't match the data type: " + field);
+        }
+
+        long n = memory.byteSize() / layout.byteSize();
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many elements: " + n);
+        }
+
+        this.memory = memory;
+        this.size = (int) n;
+        this.nullMask = nullMask;
+    }
+
+    /**
+     * Maps a region of file into memory in read-only mode. The offset
+     * should be a multiple of element size for aligned access.
+     * @param path the file path.
+     * @param offset the byte offset of region.
+     * @param bytes the byte size of region.
+     * @param arena the arena that manages the lifetime of mapping.
+     * @throws IOException when fails to map the file.
+     * @return the memory segment of mapped region.
+     */
+    static MemorySegment map(Path path, long offset, long bytes, Arena arena) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes, arena);
+        }
+    }
+
+    /**
+     * Returns a vector of the same type and field on the given memory.
+     * @param memory the memory segment of data.
+     * @param nullMask the null bitmap.
+     * @return the vector.
+     */
+    abstract OffHeapVector wrap(MemorySegment memory, BitSet nullMask);
+
+    /**
+     * Concatenates the vectors of the same type. The data are copied
+     * into one segment of the automatic arena, which is released by
+     * the garbage collector.
+     * @param vectors the vectors to concatenate.
+     * @return the concatenated vector.
+     */
+    public static OffHeapVector concat(OffHeapVector... vectors) {
+        if (vectors.length == 0) {
+            throw new IllegalArgumentException("Empty vector list");
+        }
+
+        OffHeapVector first = vectors[0];
+        long bytes = 0;
+        for (var vector : vectors) {
+            if (vector.getClass() != first.getClass() || !vector.field.dtype().equals(first.field.dtype())) {
+                throw new IllegalArgumentException(String.format("Concatenate %s with %s", first.field, vector.field));
+            }
+            bytes += vector.memory.byteSize();
+        }
+
+        MemorySegment memory = Arena.ofAuto().allocate(bytes, Long.BYTES);
+        BitSet nullMask = first.nullMask == null ? null : new BitSet();
+        long offset = 0;
+        int start = 0;
+        for (var vector : vectors) {
+            MemorySegment.copy(vector.memory, 0, memory, offset, vector.memory.byteSize());
+            offset += vector.memory.byteSize();
+            if (nullMask != null) {
+                BitSet mask = vector.nullMask;
+                for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+                    nullMask.set(start + i);
+                }
+            }
+            start += vector.size;
+        }
+
+        return first.wrap(memory, nullMask);
+    }
+
+    /**
+     * Returns the memory segment of data.
+     * @return the memory segment of data.
+     */
+    public MemorySegment memory() {
+        return memory;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Stream<?> stream() {
+        return index().mapToObj(this::get);
+    }
+
+    @Override
+    public boolean isNullable() {
+        return nullMask != null;
+    }
+
+    @Override
+    public boolean isNullAt(int i) {
+        return nullMask != null && nullMask.get(i);
+    }
+
+    @Override
+    public int getNullCount() {
+        return nullMask == null ? 0 : nullMask.cardinality();
+    }
+
+    /**
+     * Returns the null bitmap mask.
+     * @return the null bitmap mask, or null if the vector is not nullable.
+     */
+    public BitSet getNullMask() {
+        return nullMask;
+    }
+
+    /**
+     * Returns a copy of null bitmap for the selected elements.
+     * @param index the element indices.
+     * @return the null bitmap of selected elements.
+     */
+    BitSet nullMask(Index index) {
+        int n = index.size();
+        BitSet mask = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            mask.set(i, nullMask.get(index.apply(i)));
+        }
+        return mask;
+    }
+
+    /**
+     * Fills null/NaN/Inf values with the specified value.
+     * @param value the value to replace NAs.
+     */
+    public void fillna(double value) {
+        for (int i = 0; i < size; i++) {
+            double x = getDouble(i);
+            if (isNullAt(i) || Double.isNaN(x) || Double.isInfinite(x)) {
+                set(i, value);
+            }
+        }
+    }
+
+    /**
+     * Returns the mean.
+     * @return the mean.
+     */
+    public double mean() {
+        return doubleStream().filter(Double::isFinite).average().orElse(0);
+    }
+
+    /**
+     * Returns the standard deviation.
+     * @return the standard deviation.
+     */
+    public double stdev() {
+        double[] data = doubleStream().filter(Double::isFinite).toArray();
+        return MathEx.stdev(data);
+    }
+
+    /**
+     * Returns the minimal value.
+     * @return the minimal value.
+     */
+    public double min() {
+        return doubleStream().filter(Double::isFinite).min().orElse(0);
+    }
+
+    /**
+     * Returns the maximal value.
+     * @return the maximal value.
+     */
+    public double max() {
+        return doubleStream().filter(Double::isFinite).max().orElse(0);
+    }
+
+    /**
+     * Returns the median.
+     * @return the median.
+     */
+    public double median() {
+        double[] data = doubleStream().filter(Double::isFinite).toArray();
+        return MathEx.median(data);
+    }
+
+    /**
+     * Returns the sum of values.
+     * @return the sum of values.
+     */
+    public double sum() {
+        return doubleStream().filter(Double::isFinite).sum();
+    }
+
+    /**
+     * Returns the variance of values.
+     * @return the variance of values.
+     */
+    public double var() {
+        double[] data = doubleStream().filter(Double::isFinite).toArray();
+        return MathEx.var(data);
+    }
+}
@@ -20,7 +20,9 @@ import java.util.*;
 import java.util.stream.IntStream;
 import smile.math.MathEx;
 import smile.math.distance.Distance;
+import smile.math.distance.EuclideanDistance;
 import smile.math.distance.Metric;
+import smile.neighbor.LinearSearch;
 import smile.neighbor.RandomProjectionTree;
 
 /**
@@ -97,7 +99,8 @@ public record NearestNeighborGraph(int k, int[][] neighbors, double[][] distance
      * @return k-nearest neighbor graph.
      */
     public static NearestNeighborGraph of(double[][] data, int k) {
-        return of(data, MathEx::distance, k);
+        var knn = LinearSearch.of(data, new EuclideanDistance()).search(data, k);
+        return new NearestNeighborGraph(k, knn.index(), knn.distance());
     }
 
     /**
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import smile.data.DataFrame;
+import smile.data.type.StructType;
+
+/**
+ * The skeleton of batch readers, which reads one batch ahead
+ * to answer {@code hasNext()}.
+ *
+ * @author Haifeng Li
+ */
+abstract class AbstractBatchReader implements BatchReader {
+    /** The schema of batches. */
+    final StructType schema;
+    /** The maximum number of rows per batch. */
+    final int batchSize;
+    /** The batch read ahead. */
+    private DataFrame next;
+    /** True if the data source is exhausted. */
+    private boolean done = false;
+
+    /**
+     * Constructor.
+     * @param schema the schema of batches.
+     * @param batchSize the maximum number of rows per batch.
+     */
+    AbstractBatchReader(StructType schema, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        this.schema = schema;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the next batch.
+     * @throws Exception when fails to read the data source.
+     * @return the next batch, or null if the data source is exhausted.
+     */
+    abstract DataFrame read() throws Exception;
+
+    @Override
+    public StructType schema() {
+        return schema;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = read();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public DataFrame next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        DataFrame batch = next;
+        next = null;
+        return batch;
+    }
+}
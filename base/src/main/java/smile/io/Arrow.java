@@ -19,14 +19,18 @@ package smile.io;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
 import java.math.BigDecimal;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.*;
 import java.util.*;
 
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.*;
@@ -40,8 +44,13 @@ import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
 import smile.data.DataFrame;
 import smile.data.type.*;
+import smile.data.vector.OffHeapDoubleVector;
+import smile.data.vector.OffHeapFloatVector;
+import smile.data.vector.OffHeapIntVector;
+import smile.data.vector.OffHeapLongVector;
 
 import static org.apache.arrow.vector.types.FloatingPointPrecision.DOUBLE;
 import static org.apache.arrow.vector.types.FloatingPointPrecision.SINGLE;
@@ -56,6 +65,13 @@ import static org.apache.arrow.vector.types.FloatingPointPrecision.SINGLE;
  */
 public class Arrow {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Arrow.class);
+    /**
+     * The allocator of record batches to read. It is never closed as
+     * the data frames may wrap the buffers of record batches.
+     */
+    static final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+    /** The cleaner to release the buffers of wrapped columns. */
+    private static final Cleaner cleaner = Cleaner.create();
 
     /**
      * The number of records in a record batch.
@@ -141,103 +157,197 @@ public class Arrow {
      * @return the data frame.
      */
     public DataFrame read(InputStream input, int limit) throws IOException {
-        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
-             ArrowStreamReader reader = new ArrowStreamReader(input, allocator)) {
+        try (ArrowStreamReader reader = new ArrowStreamReader(input, allocator)) {
             List<DataFrame> frames = new ArrayList<>();
+            List<Cleaner.Cleanable> buffers = new ArrayList<>();
             int rowCount = 0;
-            while (reader.loadNextBatch() && rowCount < limit) {
-                try (VectorSchemaRoot root = reader.getVectorSchemaRoot()) {
-                    DataFrame frame = read(root);
-                    frames.add(frame);
-                    rowCount += frames.size();
-                }
+            while (rowCount < limit && reader.loadNextBatch()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                DataFrame frame = wrap(root, buffers);
+                frames.add(frame);
+                rowCount += frame.size();
             }
 
-            if (frames.isEmpty()) {
-                throw new IllegalStateException("No record batch");
-            } else if (frames.size() == 1) {
-                return frames.getFirst();
-            } else {
-                DataFrame df = frames.getFirst();
-                return df.concat(frames.subList(1, frames.size()).toArray(new DataFrame[frames.size() - 1]));
-            }
+            return concat(frames, buffers);
+        }
+    }
+
+    /**
+     * Concatenates the record batches. A single batch is returned as is.
+     * Otherwise, the off-heap columns are copied into one segment per
+     * column, and the Arrow buffers of batches are released immediately
+     * instead of waiting for the cleaner.
+     * @param frames the record batches.
+     * @param buffers the cleaning actions of Arrow buffers taken over by the batches.
+     * @return the data frame.
+     */
+    static DataFrame concat(List<DataFrame> frames, List<Cleaner.Cleanable> buffers) {
+        if (frames.isEmpty()) {
+            throw new IllegalStateException("No record batch");
+        } else if (frames.size() == 1) {
+            return frames.getFirst();
         }
+
+        DataFrame df = frames.getFirst();
+        df = df.concat(frames.subList(1, frames.size()).toArray(new DataFrame[frames.size() - 1]));
+        buffers.forEach(Cleaner.Cleanable::clean);
+        return df;
     }
 
+    /**
+     * Reads a record batch into a data frame by copying the data.
+     * @param root the record batch.
+     * @return the data frame.
+     */
     static DataFrame read(VectorSchemaRoot root) {
         List<FieldVector> fieldVectors = root.getFieldVectors();
         logger.info("read {} rows and {} columns", root.getRowCount(), fieldVectors.size());
 
         smile.data.vector.ValueVector[] vectors = new smile.data.vector.ValueVector[fieldVectors.size()];
         for (int j = 0; j < fieldVectors.size(); j++) {
-            FieldVector fieldVector = fieldVectors.get(j);
-            ArrowType type = fieldVector.getField().getType();
-            switch (type.getTypeID()) {
-                case Int:
-                    ArrowType.Int itype = (ArrowType.Int) type;
-                    int bitWidth = itype.getBitWidth();
-                    switch (bitWidth) {
-                        case 8:
-                            vectors[j] = readByteField(fieldVector);
-                            break;
-                        case 16:
-                            if (itype.getIsSigned())
-                                vectors[j] = readShortField(fieldVector);
-                            else
-                                vectors[j] = readCharField(fieldVector);
-                            break;
-                        case 32:
-                            vectors[j] = readIntField(fieldVector);
-                            break;
-                        case 64:
-                            vectors[j] = readLongField(fieldVector);
-                            break;
-                        default:
-                            throw new UnsupportedOperationException("Unsupported integer bit width: " + bitWidth);
-                    }
-                    break;
-                case FloatingPoint:
-                    FloatingPointPrecision precision = ((ArrowType.FloatingPoint) type).getPrecision();
-                    switch (precision) {
-                        case DOUBLE:
-                            vectors[j] = readDoubleField(fieldVector);
-                            break;
-                        case SINGLE:
-                            vectors[j] = readFloatField(fieldVector);
-                            break;
-                        case HALF:
-                            throw new UnsupportedOperationException("Unsupported float precision: " + precision);
-                    }
-                    break;
-                case Decimal:
-                    vectors[j] = readDecimalField(fieldVector);
-                    break;
-                case Bool:
-                    vectors[j] = readBitField(fieldVector);
-                    break;
-                case Date:
-                    vectors[j] = readDateField(fieldVector);
-                    break;
-                case Time:
-                    vectors[j] = readTimeField(fieldVector);
-                    break;
-                case Timestamp:
-                    vectors[j] = readDateTimeField(fieldVector);
-                    break;
-                case Binary:
-                case FixedSizeBinary:
-                    vectors[j] = readByteArrayField(fieldVector);
-                    break;
-                case Utf8:
-                    vectors[j] = readStringField(fieldVector);
-                    break;
-                default: throw new UnsupportedOperationException("Unsupported column type: " + fieldVector.getMinorType());
-            }
+            vectors[j] = readField(fieldVectors.get(j));
+        }
+
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Wraps a record batch as a data frame. The fixed-width numeric
+     * columns (double, float, int and long) take over the Arrow buffers
+     * without copy. The buffers are released once the columns are not
+     * reachable. Other columns are copied. The columns are transferred
+     * out of the record batch, which can be reused by the reader for
+     * the next batch.
+     * <p>
+     * The record batch must be allocated by {@link #allocator}.
+     * Otherwise, all columns are copied.
+     *
+     * @param root the record batch.
+     * @return the data frame.
+     */
+    static DataFrame wrap(VectorSchemaRoot root) {
+        return wrap(root, new ArrayList<>());
+    }
+
+    /**
+     * Wraps a record batch as a data frame, and collects the cleaning
+     * actions of the Arrow buffers taken over by the columns so that the
+     * caller may release them early.
+     *
+     * @param root the record batch.
+     * @param buffers the output cleaning actions of Arrow buffers.
+     * @return the data frame.
+     */
+    static DataFrame wrap(VectorSchemaRoot root, List<Cleaner.Cleanable> buffers) {
+        List<FieldVector> fieldVectors = root.getFieldVectors();
+        logger.info("wrap {} rows and {} columns", root.getRowCount(), fieldVectors.size());
+
+        smile.data.vector.ValueVector[] vectors = new smile.data.vector.ValueVector[fieldVectors.size()];
+        for (int j = 0; j < fieldVectors.size(); j++) {
+            vectors[j] = wrapField(fieldVectors.get(j), buffers);
         }
 
         return new DataFrame(vectors);
     }
 
+    /**
+     * Wraps a fixed-width numeric column without copy if possible.
+     * @param fieldVector the arrow column.
+     * @param buffers the output cleaning action of Arrow buffers if taken over.
+     * @return the column vector.
+     */
+    static smile.data.vector.ValueVector wrapField(FieldVector fieldVector, List<Cleaner.Cleanable> buffers) {
+        int width = switch (fieldVector.getMinorType()) {
+            case FLOAT8, BIGINT -> 8;
+            case FLOAT4, INT -> 4;
+            default -> 0;
+        };
+
+        int count = fieldVector.getValueCount();
+        long bytes = (long) count * width;
+        if (width == 0 || count == 0 || bytes > Integer.MAX_VALUE
+                || fieldVector.getAllocator().getRoot() != allocator) {
+            return readField(fieldVector);
+        }
+
+        // Take over the buffers so that the reader won't overwrite them.
+        TransferPair pair = fieldVector.getTransferPair(allocator);
+        pair.transfer();
+        FieldVector vector = (FieldVector) pair.getTo();
+
+        // The segment keeps the byte buffer reachable while it is in use.
+        ByteBuffer buffer = vector.getDataBuffer().nioBuffer(0, (int) bytes);
+        buffers.add(cleaner.register(buffer, vector::close));
+        MemorySegment memory = MemorySegment.ofBuffer(buffer);
+
+        StructField field = toStructField(vector.getField());
+        BitSet mask = field.dtype().isNullable() ? nullMask(vector.getValidityBuffer(), count) : null;
+        return switch (vector.getMinorType()) {
+            case FLOAT8 -> new OffHeapDoubleVector(field, memory, mask);
+            case FLOAT4 -> new OffHeapFloatVector(field, memory, mask);
+            case BIGINT -> new OffHeapLongVector(field, memory, mask);
+            default -> new OffHeapIntVector(field, memory, mask);
+        };
+    }
+
+    /**
+     * Converts the Arrow validity bitmap, in which the bit is 1 if the value
+     * is valid, to the null bitmap, in which the bit is 1 if the value is null.
+     * @param validity the validity bitmap.
+     * @param count the number of values.
+     * @return the null bitmap.
+     */
+    private static BitSet nullMask(ArrowBuf validity, int count) {
+        byte[] bits = new byte[(count + 7) / 8];
+        if (validity.capacity() < bits.length) {
+            // no validity buffer means that all values are valid.
+            return new BitSet(count);
+        }
+
+        validity.getBytes(0, bits);
+        BitSet mask = BitSet.valueOf(bits);
+        mask.flip(0, count);
+        return mask;
+    }
+
+    /**
+     * Reads a column by copying the data.
+     * @param fieldVector the arrow column.
+     * @return the column vector.
+     */
+    static smile.data.vector.ValueVector readField(FieldVector fieldVector) {
+        ArrowType type = fieldVector.getField().getType();
+        return switch (type.getTypeID()) {
+            case Int -> {
+                ArrowType.Int itype = (ArrowType.Int) type;
+                int bitWidth = itype.getBitWidth();
+                yield switch (bitWidth) {
+                    case 8 -> readByteField(fieldVector);
+                    case 16 -> itype.getIsSigned() ? readShortField(fieldVector) : readCharField(fieldVector);
+                    case 32 -> readIntField(fieldVector);
+                    case 64 -> readLongField(fieldVector);
+                    default -> throw new UnsupportedOperationException("Unsupported integer bit width: " + bitWidth);
+                };
+            }
+            case FloatingPoint -> {
+                FloatingPointPrecision precision = ((ArrowType.FloatingPoint) type).getPrecision();
+                yield switch (precision) {
+                    case DOUBLE -> readDoubleField(fieldVector);
+                    case SINGLE -> readFloatField(fieldVector);
+                    case HALF -> throw new UnsupportedOperationException("Unsupported float precision: " + precision);
+                };
+            }
+            case Decimal -> readDecimalField(fieldVector);
+            case Bool -> readBitField(fieldVector);
+            case Date -> readDateField(fieldVector);
+            case Time -> readTimeField(fieldVector);
+            case Timestamp -> readDateTimeField(fieldVector);
+            case Binary, FixedSizeBinary -> readByteArrayField(fieldVector);
+            case Utf8 -> readStringField(fieldVector);
+            default -> throw new UnsupportedOperationException("Unsupported column type: " + fieldVector.getMinorType());
+        };
+    }
+
     /**
      * Writes the data frame to an arrow file.
      *
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import org.apache.arrow.dataset.file.FileFormat;
+import org.apache.arrow.dataset.file.FileSystemDatasetFactory;
+import org.apache.arrow.dataset.jni.NativeMemoryPool;
+import org.apache.arrow.dataset.scanner.ScanOptions;
+import org.apache.arrow.dataset.scanner.Scanner;
+import org.apache.arrow.dataset.source.Dataset;
+import org.apache.arrow.dataset.source.DatasetFactory;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import smile.data.DataFrame;
+import smile.data.type.StructType;
+
+/**
+ * The batch reader of Arrow record batches, which may come from an
+ * Arrow IPC stream or a Parquet dataset scanner. The record batches
+ * larger than the batch size are split. The numeric columns wrap
+ * the Arrow buffers without copy.
+ *
+ * @author Haifeng Li
+ */
+class ArrowBatchReader extends AbstractBatchReader {
+    /** The arrow reader. */
+    private final ArrowReader reader;
+    /** The resources to close in order after the reader. */
+    private final AutoCloseable[] resources;
+    /** The record batch that is partially consumed. */
+    private DataFrame pending;
+    /** The number of rows consumed in the pending record batch. */
+    private int offset;
+
+    /**
+     * Constructor.
+     * @param schema the schema of batches.
+     * @param reader the arrow reader.
+     * @param batchSize the maximum number of rows per batch.
+     * @param resources the resources to close in order after the reader.
+     */
+    private ArrowBatchReader(StructType schema, ArrowReader reader, int batchSize, AutoCloseable... resources) {
+        super(schema, batchSize);
+        this.reader = reader;
+        this.resources = resources;
+    }
+
+    /**
+     * Returns the batch reader of an Arrow IPC stream.
+     * @param input the input stream.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the stream.
+     * @return the batch reader.
+     */
+    static ArrowBatchReader stream(InputStream input, int batchSize) throws IOException {
+        ArrowStreamReader reader = new ArrowStreamReader(input, Arrow.allocator);
+        try {
+            StructType schema = Arrow.toStructType(reader.getVectorSchemaRoot().getSchema());
+            return new ArrowBatchReader(schema, reader, batchSize);
+        } catch (IOException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the batch reader of a Parquet file.
+     * @param uri the file URI.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static ArrowBatchReader parquet(String uri, int batchSize) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+
+        DatasetFactory factory = new FileSystemDatasetFactory(Arrow.allocator, NativeMemoryPool.getDefault(), FileFormat.PARQUET, uri);
+        try {
+            StructType schema = Arrow.toStructType(factory.inspect());
+            Dataset dataset = factory.finish();
+            Scanner scanner = dataset.newScan(new ScanOptions(batchSize));
+            ArrowReader reader = scanner.scanBatches();
+            return new ArrowBatchReader(schema, reader, batchSize, scanner, dataset, factory);
+        } catch (RuntimeException ex) {
+            factory.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    DataFrame read() throws IOException {
+        while (pending == null) {
+            if (!reader.loadNextBatch()) {
+                return null;
+            }
+
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            if (root.getRowCount() > 0) {
+                pending = Arrow.wrap(root);
+                offset = 0;
+            }
+        }
+
+        int n = pending.size();
+        if (offset == 0 && n <= batchSize) {
+            DataFrame batch = pending;
+            pending = null;
+            return batch;
+        }
+
+        int end = Math.min(n, offset + batchSize);
+        DataFrame batch = pending.slice(offset, end);
+        offset = end;
+        if (offset == n) {
+            pending = null;
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+            for (AutoCloseable resource : resources) {
+                resource.close();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.commons.csv.CSVFormat;
+import smile.data.DataFrame;
+import smile.data.type.StructType;
+
+/**
+ * An iterator of data frame batches, which reads a large data source
+ * incrementally in bounded memory. All batches share the same schema.
+ * Each batch has at most the given number of rows. The batches are
+ * typically consumed by batch scoring or online learning algorithms.
+ * <p>
+ * The reader holds the file handle or database cursor until it is
+ * closed. It should be used in a try-with-resources block.
+ * <pre>{@code
+ * try (var batches = BatchReader.parquet(path, 10000)) {
+ *     while (batches.hasNext()) {
+ *         DataFrame batch = batches.next();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Haifeng Li
+ */
+public interface BatchReader extends Iterator<DataFrame>, AutoCloseable {
+    /**
+     * Returns the schema of batches.
+     * @return the schema of batches.
+     */
+    StructType schema();
+
+    /**
+     * Closes the underlying data source.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns a sequential stream of batches. Closing the stream
+     * closes this reader.
+     * @return the stream of batches.
+     */
+    default Stream<DataFrame> stream() {
+        var spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Returns a batch reader of a file. The file format is determined
+     * by the file extension, i.e. csv, arrow, feather, or parquet.
+     * @param path the file path.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader of(Path path, int batchSize) throws IOException {
+        String name = path.getFileName().toString();
+        int dotIndex = name.lastIndexOf(".");
+        String ext = dotIndex < 0 ? "csv" : name.substring(dotIndex + 1).toLowerCase();
+        return switch (ext) {
+            case "csv", "txt" -> csv(path, CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).get(), batchSize);
+            case "arrow", "feather" -> arrow(path, batchSize);
+            case "parquet" -> parquet(path, batchSize);
+            default -> throw new UnsupportedOperationException("Unsupported file format: " + ext);
+        };
+    }
+
+    /**
+     * Returns a batch reader of a CSV file. The schema is inferred from
+     * the top rows. As the missing values may show up in any batch, the
+     * inferred primitive columns are nullable.
+     * @param path the file path.
+     * @param format the CSV file format.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader csv(Path path, CSVFormat format, int batchSize) throws IOException {
+        return csv(path, format, null, batchSize);
+    }
+
+    /**
+     * Returns a batch reader of a CSV file.
+     * @param path the file path.
+     * @param format the CSV file format.
+     * @param schema the data schema. If null, the schema is inferred
+     *               from the top rows and the primitive columns are
+     *               nullable.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader csv(Path path, CSVFormat format, StructType schema, int batchSize) throws IOException {
+        return new CSVBatchReader(path, format, schema, batchSize);
+    }
+
+    /**
+     * Returns a batch reader of an Arrow IPC stream file. The batches
+     * follow the record batches of file, which are split if larger than
+     * the batch size.
+     * @param path the file path.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader arrow(Path path, int batchSize) throws IOException {
+        return ArrowBatchReader.stream(Files.newInputStream(path), batchSize);
+    }
+
+    /**
+     * Returns a batch reader of a Parquet file.
+     * @param path the file path.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader parquet(Path path, int batchSize) throws IOException {
+        String file = path.toAbsolutePath().toString();
+        // prefix slash on Windows
+        if (!file.startsWith("/")) file = "/" + file;
+        return parquet("file://" + file, batchSize);
+    }
+
+    /**
+     * Returns a batch reader of a Parquet file.
+     * @param uri the file URI.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     * @return the batch reader.
+     */
+    static BatchReader parquet(String uri, int batchSize) throws IOException {
+        return ArrowBatchReader.parquet(uri, batchSize);
+    }
+
+    /**
+     * Returns a batch reader of a JDBC result set. The result set
+     * and its statement are closed when the reader is closed.
+     * @param rs the JDBC result set.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws SQLException when JDBC operation fails.
+     * @return the batch reader.
+     */
+    static BatchReader of(ResultSet rs, int batchSize) throws SQLException {
+        return new JDBCBatchReader(rs, batchSize);
+    }
+}
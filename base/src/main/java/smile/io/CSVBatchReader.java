@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import smile.data.DataFrame;
+import smile.data.Tuple;
+import smile.data.type.StructField;
+import smile.data.type.StructType;
+
+/**
+ * The batch reader of CSV files.
+ *
+ * @author Haifeng Li
+ */
+class CSVBatchReader extends AbstractBatchReader {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(CSVBatchReader.class);
+    /** The CSV parser. */
+    private final CSVParser parser;
+    /** The record iterator. */
+    private final Iterator<CSVRecord> records;
+    /** The value parsers. */
+    private final List<Function<String, Object>> parsers;
+
+    /**
+     * Constructor.
+     * @param path the file path.
+     * @param format the CSV file format.
+     * @param schema the data schema. If null, the schema is inferred.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws IOException when fails to read the file.
+     */
+    CSVBatchReader(Path path, CSVFormat format, StructType schema, int batchSize) throws IOException {
+        super(schema != null ? schema : inferSchema(path, format), batchSize);
+        this.parsers = this.schema.parser();
+        this.parser = CSVParser.parse(Files.newBufferedReader(path, StandardCharsets.UTF_8), format);
+        this.records = parser.iterator();
+    }
+
+    /**
+     * Infers the schema from the top rows. The primitive
+     * columns are nullable.
+     * @param path the file path.
+     * @param format the CSV file format.
+     * @throws IOException when fails to read the file.
+     * @return the schema.
+     */
+    private static StructType inferSchema(Path path, CSVFormat format) throws IOException {
+        StructType schema = new CSV(format).inferSchema(Files.newBufferedReader(path, StandardCharsets.UTF_8), 1000);
+        return new StructType(schema.fields().stream().map(ColumnBuilder::nullable).toArray(StructField[]::new));
+    }
+
+    @Override
+    DataFrame read() {
+        int width = schema.length();
+        List<Tuple> rows = new ArrayList<>(Math.min(batchSize, 65536));
+        while (rows.size() < batchSize && records.hasNext()) {
+            CSVRecord record = records.next();
+            if (record.size() < width) {
+                logger.warn("Expected {} fields. Skip record with {} fields: {}", width, record.size(), record.values());
+                continue;
+            }
+
+            Object[] row = new Object[width];
+            for (int i = 0; i < width; i++) {
+                String s = record.get(i).trim();
+                if (!s.isEmpty()) {
+                    row[i] = parsers.get(i).apply(s);
+                }
+            }
+            rows.add(Tuple.of(schema, row));
+        }
+
+        return rows.isEmpty() ? null : DataFrame.of(schema, rows);
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import smile.data.type.DataType;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.*;
+
+/**
+ * A growable column buffer that parses text values directly into
+ * primitive arrays. A column is usually built in several pieces,
+ * e.g. one per chunk of file, which are concatenated into a single
+ * vector at the end.
+ *
+ * @author Haifeng Li
+ */
+abstract class ColumnBuilder {
+    /** The initial capacity of buffer. */
+    private static final int INITIAL_CAPACITY = 1024;
+    /** The struct field of column. */
+    final StructField field;
+    /** The charset to decode the text values. */
+    final Charset charset;
+    /** The null bitmap. The bit is 1 if the value is null. */
+    final BitSet nulls = new BitSet();
+    /** The number of values. */
+    int size = 0;
+
+    /**
+     * Constructor.
+     * @param field the struct field of column.
+     * @param charset the charset to decode the text values.
+     */
+    ColumnBuilder(StructField field, Charset charset) {
+        this.field = field;
+        this.charset = charset;
+    }
+
+    /**
+     * Returns a column builder of the field type.
+     * @param field the struct field of column.
+     * @param charset the charset to decode the text values.
+     * @return the column builder.
+     */
+    static ColumnBuilder of(StructField field, Charset charset) {
+        // Measures such as nominal scale need the generic parser.
+        if (field.measure() != null) {
+            return new Generic(field, charset);
+        }
+
+        return switch (field.dtype().id()) {
+            case Int -> new Int(field, charset);
+            case Long -> new Long(field, charset);
+            case Float -> new Float(field, charset);
+            case Double -> new Double(field, charset);
+            case String -> new Text(field, charset);
+            default -> new Generic(field, charset);
+        };
+    }
+
+    /**
+     * Appends a value.
+     * @param buf the text buffer.
+     * @param offset the offset of value in the buffer.
+     * @param length the length of value, which must be positive.
+     */
+    abstract void append(byte[] buf, int offset, int length);
+
+    /**
+     * Appends a null value.
+     */
+    void appendNull() {
+        nulls.set(size);
+        appendDefault();
+    }
+
+    /**
+     * Appends the placeholder of a null value.
+     */
+    abstract void appendDefault();
+
+    /**
+     * Returns the number of values.
+     * @return the number of values.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the new capacity to hold one more value.
+     * @param capacity the current capacity.
+     * @return the new capacity.
+     */
+    static int grow(int capacity) {
+        return Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+    }
+
+    /**
+     * Decodes a text value.
+     * @param buf the text buffer.
+     * @param offset the offset of value in the buffer.
+     * @param length the length of value.
+     * @return the string.
+     */
+    String decode(byte[] buf, int offset, int length) {
+        return new String(buf, offset, length, charset);
+    }
+
+    /**
+     * Parses a signed decimal integer. Falls back to the standard
+     * parser, which reports the error, if the text is not a plain
+     * integer or overflows.
+     * @param buf the text buffer.
+     * @param offset the offset of value in the buffer.
+     * @param length the length of value.
+     * @return the integer value.
+     */
+    static long parseLong(byte[] buf, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = buf[i] == '-';
+        if (negative || buf[i] == '+') i++;
+
+        // 18 digits never overflow.
+        if (i == end || end - i > 18) {
+            return java.lang.Long.parseLong(new String(buf, offset, length, StandardCharsets.ISO_8859_1));
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return java.lang.Long.parseLong(new String(buf, offset, length, StandardCharsets.ISO_8859_1));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the nullable version of a primitive field.
+     * @param field the struct field.
+     * @return the nullable field.
+     */
+    static StructField nullable(StructField field) {
+        DataType dtype = switch (field.dtype().id()) {
+            case Int -> DataTypes.NullableIntType;
+            case Long -> DataTypes.NullableLongType;
+            case Float -> DataTypes.NullableFloatType;
+            case Double -> DataTypes.NullableDoubleType;
+            case Boolean -> DataTypes.NullableBooleanType;
+            case Byte -> DataTypes.NullableByteType;
+            case Short -> DataTypes.NullableShortType;
+            case Char -> DataTypes.NullableCharType;
+            default -> field.dtype();
+        };
+        return dtype == field.dtype() ? field : new StructField(field.name(), dtype, field.measure());
+    }
+
+    /**
+     * Concatenates the pieces of a column into a vector. A primitive
+     * column becomes nullable if it has any null value.
+     * @param pieces the pieces of column in order.
+     * @param limit the maximum number of values.
+     * @return the column vector.
+     */
+    static ValueVector concat(List<ColumnBuilder> pieces, int limit) {
+        ColumnBuilder first = pieces.getFirst();
+        int n = 0;
+        BitSet nulls = new BitSet();
+        for (ColumnBuilder piece : pieces) {
+            if (n >= limit) break;
+            int size = Math.min(piece.size, limit - n);
+            BitSet mask = piece.nulls.get(0, size);
+            for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+                nulls.set(n + i);
+            }
+            n += size;
+        }
+
+        StructField field = first.field;
+        boolean nullable = field.dtype().isNullable() || !nulls.isEmpty();
+        if (nullable && field.dtype().isPrimitive()) {
+            field = nullable(field);
+        }
+        return first.build(field, pieces, n, nullable ? nulls : null);
+    }
+
+    /**
+     * Copies the values of pieces into an array.
+     * @param pieces the pieces of column in order.
+     * @param n the total number of values.
+     * @param array the destination array.
+     * @param <T> the array type.
+     * @return the destination array.
+     */
+    static <T> T copy(List<ColumnBuilder> pieces, int n, T array) {
+        int pos = 0;
+        for (ColumnBuilder piece : pieces) {
+            if (pos >= n) break;
+            int size = Math.min(piece.size, n - pos);
+            System.arraycopy(piece.array(), 0, array, pos, size);
+            pos += size;
+        }
+        return array;
+    }
+
+    /**
+     * Returns the backing array of values.
+     * @return the backing array of values.
+     */
+    abstract Object array();
+
+    /**
+     * Builds the vector of concatenated pieces.
+     * @param field the struct field of vector.
+     * @param pieces the pieces of column in order.
+     * @param n the total number of values.
+     * @param nulls the null bitmap, or null if the vector is not nullable.
+     * @return the column vector.
+     */
+    abstract ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls);
+
+    /** The builder of int column. */
+    static class Int extends ColumnBuilder {
+        int[] data = new int[0];
+
+        Int(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            long value = parseLong(buf, offset, length);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Value out of range: " + value);
+            }
+            add((int) value);
+        }
+
+        @Override
+        void appendDefault() {
+            add(Integer.MIN_VALUE);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            int[] values = copy(pieces, n, new int[n]);
+            return nulls != null ? new NullableIntVector(field, values, nulls) : new IntVector(field, values);
+        }
+    }
+
+    /** The builder of long column. */
+    static class Long extends ColumnBuilder {
+        long[] data = new long[0];
+
+        Long(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(long value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            add(parseLong(buf, offset, length));
+        }
+
+        @Override
+        void appendDefault() {
+            add(java.lang.Long.MIN_VALUE);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            long[] values = copy(pieces, n, new long[n]);
+            return nulls != null ? new NullableLongVector(field, values, nulls) : new LongVector(field, values);
+        }
+    }
+
+    /** The builder of float column. */
+    static class Float extends ColumnBuilder {
+        float[] data = new float[0];
+
+        Float(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(float value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            add(java.lang.Float.parseFloat(new String(buf, offset, length, StandardCharsets.ISO_8859_1)));
+        }
+
+        @Override
+        void appendDefault() {
+            add(java.lang.Float.NaN);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            float[] values = copy(pieces, n, new float[n]);
+            return nulls != null ? new NullableFloatVector(field, values, nulls) : new FloatVector(field, values);
+        }
+    }
+
+    /** The builder of double column. */
+    static class Double extends ColumnBuilder {
+        double[] data = new double[0];
+
+        Double(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(double value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            // Numbers are ASCII, for which Latin-1 decoding is the cheapest.
+            add(java.lang.Double.parseDouble(new String(buf, offset, length, StandardCharsets.ISO_8859_1)));
+        }
+
+        @Override
+        void appendDefault() {
+            add(java.lang.Double.NaN);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            double[] values = copy(pieces, n, new double[n]);
+            return nulls != null ? new NullableDoubleVector(field, values, nulls) : new DoubleVector(field, values);
+        }
+    }
+
+    /** The builder of string column. */
+    static class Text extends ColumnBuilder {
+        String[] data = new String[0];
+
+        Text(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(String value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            add(decode(buf, offset, length));
+        }
+
+        @Override
+        void appendDefault() {
+            add(null);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            return new StringVector(field, copy(pieces, n, new String[n]));
+        }
+    }
+
+    /**
+     * The builder of other data types, which parses the values with
+     * the field's parser and boxes them.
+     */
+    static class Generic extends ColumnBuilder {
+        Object[] data = new Object[0];
+
+        Generic(StructField field, Charset charset) {
+            super(field, charset);
+        }
+
+        /** Appends a value. */
+        private void add(Object value) {
+            if (size == data.length) data = Arrays.copyOf(data, grow(size));
+            data[size++] = value;
+        }
+
+        @Override
+        void append(byte[] buf, int offset, int length) {
+            add(field.valueOf(decode(buf, offset, length)));
+        }
+
+        @Override
+        void appendDefault() {
+            add(null);
+        }
+
+        @Override
+        Object array() {
+            return data;
+        }
+
+        @Override
+        ValueVector build(StructField field, List<ColumnBuilder> pieces, int n, BitSet nulls) {
+            Object[] values = copy(pieces, n, new Object[n]);
+            return switch (field.dtype().id()) {
+                case Int -> {
+                    int[] a = new int[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? Integer.MIN_VALUE : ((Number) values[i]).intValue();
+                    yield nulls != null ? new NullableIntVector(field, a, nulls) : new IntVector(field, a);
+                }
+                case Long -> {
+                    long[] a = new long[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? java.lang.Long.MIN_VALUE : ((Number) values[i]).longValue();
+                    yield nulls != null ? new NullableLongVector(field, a, nulls) : new LongVector(field, a);
+                }
+                case Float -> {
+                    float[] a = new float[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? java.lang.Float.NaN : ((Number) values[i]).floatValue();
+                    yield nulls != null ? new NullableFloatVector(field, a, nulls) : new FloatVector(field, a);
+                }
+                case Double -> {
+                    double[] a = new double[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? java.lang.Double.NaN : ((Number) values[i]).doubleValue();
+                    yield nulls != null ? new NullableDoubleVector(field, a, nulls) : new DoubleVector(field, a);
+                }
+                case Short -> {
+                    short[] a = new short[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? Short.MIN_VALUE : ((Number) values[i]).shortValue();
+                    yield nulls != null ? new NullableShortVector(field, a, nulls) : new ShortVector(field, a);
+                }
+                case Byte -> {
+                    byte[] a = new byte[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? Byte.MIN_VALUE : ((Number) values[i]).byteValue();
+                    yield nulls != null ? new NullableByteVector(field, a, nulls) : new ByteVector(field, a);
+                }
+                case Char -> {
+                    char[] a = new char[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] == null ? 0 : (Character) values[i];
+                    yield nulls != null ? new NullableCharVector(field, a, nulls) : new CharVector(field, a);
+                }
+                case Boolean -> {
+                    boolean[] a = new boolean[n];
+                    for (int i = 0; i < n; i++) a[i] = values[i] != null && (java.lang.Boolean) values[i];
+                    yield nulls != null ? new NullableBooleanVector(field, a, nulls) : new BooleanVector(field, a);
+                }
+                case String -> new StringVector(field, Arrays.copyOf(values, n, String[].class));
+                case Decimal -> new NumberVector<>(field, Arrays.copyOf(values, n, BigDecimal[].class));
+                default -> new ObjectVector<>(field, values);
+            };
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import smile.data.DataFrame;
+import smile.data.type.DataType;
+import smile.data.type.StructField;
+import smile.data.type.StructType;
+import smile.data.vector.*;
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * The native columnar file format of data frames. Compared to Java
+ * serialization, the file opens in constant time by memory mapping
+ * and the columns are loaded lazily on access, so that selecting a
+ * few columns touches only their bytes. The file layout is
+ * <pre>
+ *     magic "SMILECOL", version, number of rows, number of columns,
+ *     byte size of schema
+ *     column directory: (data offset, data size, aux offset, aux size) per column
+ *     schema
+ *     column payloads, each aligned to 64 bytes
+ * </pre>
+ * All numbers are little endian. The payload of primitive columns is
+ * the array of values, of which the aux section is the null bitmap
+ * if the column is nullable. Boolean values are stored as bytes. The
+ * string columns are dictionary encoded, of which the data section is
+ * the int codes (-1 for null) and the aux section is the dictionary.
+ * Other columns (decimal, date, time, object, etc.) are stored in
+ * Java serialization.
+ * <p>
+ * The double, float, int and long columns wrap the mapped memory without
+ * copy on little endian platforms. These columns are valid only until
+ * the file is closed.
+ *
+ * @author Haifeng Li
+ */
+public class Columnar implements AutoCloseable {
+    /** The magic number of file header. */
+    private static final long MAGIC = 0x4C4F43454C494D53L; // "SMILECOL" in little endian
+    /** The file format version. */
+    private static final int VERSION = 1;
+    /** The byte size of fixed header. */
+    private static final int HEADER = 32;
+    /** The byte size of column directory entry. */
+    private static final int ENTRY = 32;
+    /** The alignment of column payloads. */
+    private static final int ALIGNMENT = 64;
+    /** The little endian layouts. */
+    private static final ValueLayout.OfShort SHORT = JAVA_SHORT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfChar CHAR = JAVA_CHAR.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = JAVA_FLOAT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = JAVA_DOUBLE.withOrder(ByteOrder.LITTLE_ENDIAN);
+    /** True if the mapped columns can be wrapped without copy. */
+    private static final boolean ZERO_COPY = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    /** The arena of memory mapping. */
+    private final Arena arena;
+    /** The mapped file. */
+    private final MemorySegment memory;
+    /** The schema of data frame. */
+    private final StructType schema;
+    /** The number of rows. */
+    private final int size;
+    /** The columns that have been loaded. */
+    private final ValueVector[] columns;
+
+    /**
+     * Constructor.
+     * @param arena the arena of memory mapping.
+     * @param memory the mapped file.
+     * @throws IOException when the file is corrupted.
+     */
+    private Columnar(Arena arena, MemorySegment memory) throws IOException {
+        if (memory.byteSize() < HEADER || memory.get(LONG, 0) != MAGIC) {
+            throw new IOException("Not a Smile columnar file");
+        }
+
+        int version = memory.get(INT, 8);
+        if (version != VERSION) {
+            throw new IOException("Unsupported Smile columnar file version: " + version);
+        }
+
+        this.arena = arena;
+        this.memory = memory;
+        this.size = memory.get(INT, 12);
+        int ncol = memory.get(INT, 16);
+        int length = memory.get(INT, 20);
+        long offset = HEADER + (long) ENTRY * ncol;
+        byte[] bytes = memory.asSlice(offset, length).toArray(JAVA_BYTE);
+        try (var in = new SmileObjectInputStream(new ByteArrayInputStream(bytes))) {
+            this.schema = (StructType) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Invalid schema", ex);
+        }
+
+        if (schema.length() != ncol) {
+            throw new IOException("Schema doesn't match the number of columns");
+        }
+        this.columns = new ValueVector[ncol];
+    }
+
+    /**
+     * Opens a columnar file. Only the header is read. The file is
+     * mapped in a shared arena that is released by {@link #close()}.
+     * @param path the file path.
+     * @throws IOException when fails to open the file.
+     * @return the columnar file.
+     */
+    public static Columnar open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            return open(path, arena, arena);
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a columnar file.
+     * @param path the file path.
+     * @param arena the arena of memory mapping.
+     * @param owner the arena to close with the file, which may be null.
+     * @throws IOException when fails to open the file.
+     * @return the columnar file.
+     */
+    private static Columnar open(Path path, Arena arena, Arena owner) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new Columnar(owner, memory);
+        }
+    }
+
+    /**
+     * Reads a columnar file into a data frame. The file is mapped in
+     * an automatic arena, which is released when the data frame is not
+     * reachable.
+     * @param path the file path.
+     * @throws IOException when fails to read the file.
+     * @return the data frame.
+     */
+    public static DataFrame read(Path path) throws IOException {
+        return open(path, Arena.ofAuto(), null).toDataFrame();
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Returns the schema of data frame.
+     * @return the schema of data frame.
+     */
+    public StructType schema() {
+        return schema;
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return the number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the data frame of all columns.
+     * @return the data frame.
+     */
+    public DataFrame toDataFrame() {
+        return select(schema.names());
+    }
+
+    /**
+     * Returns the data frame of selected columns. Only the selected
+     * columns are loaded.
+     * @param names the column names.
+     * @return the data frame.
+     */
+    public DataFrame select(String... names) {
+        ValueVector[] vectors = new ValueVector[names.length];
+        for (int i = 0; i < names.length; i++) {
+            vectors[i] = column(names[i]);
+        }
+        return new DataFrame(vectors);
+    }
+
+    /**
+     * Returns the column of given name.
+     * @param name the column name.
+     * @return the column vector.
+     */
+    public ValueVector column(String name) {
+        int j = schema.indexOf(name);
+        if (j < 0) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return column(j);
+    }
+
+    /**
+     * Returns the j-th column, which is loaded on first access.
+     * @param j the column index.
+     * @return the column vector.
+     */
+    public synchronized ValueVector column(int j) {
+        if (columns[j] == null) {
+            try {
+                columns[j] = load(j);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return columns[j];
+    }
+
+    /**
+     * Loads the j-th column.
+     * @param j the column index.
+     * @throws IOException when the file is corrupted.
+     * @return the column vector.
+     */
+    private ValueVector load(int j) throws IOException {
+        StructField field = schema.field(j);
+        DataType dtype = field.dtype();
+        long entry = HEADER + (long) ENTRY * j;
+        MemorySegment data = memory.asSlice(memory.get(LONG, entry), memory.get(LONG, entry + 8));
+        MemorySegment aux = memory.asSlice(memory.get(LONG, entry + 16), memory.get(LONG, entry + 24));
+        BitSet mask = dtype.isNullable() && dtype.isPrimitive() ? BitSet.valueOf(aux.toArray(LONG)) : null;
+
+        int n = size;
+        return switch (dtype.id()) {
+            case Double -> ZERO_COPY ? new OffHeapDoubleVector(field, data, mask)
+                    : mask == null ? new DoubleVector(field, data.toArray(DOUBLE))
+                    : new NullableDoubleVector(field, data.toArray(DOUBLE), mask);
+            case Float -> ZERO_COPY ? new OffHeapFloatVector(field, data, mask)
+                    : mask == null ? new FloatVector(field, data.toArray(FLOAT))
+                    : new NullableFloatVector(field, data.toArray(FLOAT), mask);
+            case Int -> ZERO_COPY ? new OffHeapIntVector(field, data, mask)
+                    : mask == null ? new IntVector(field, data.toArray(INT))
+                    : new NullableIntVector(field, data.toArray(INT), mask);
+            case Long -> ZERO_COPY ? new OffHeapLongVector(field, data, mask)
+                    : mask == null ? new LongVector(field, data.toArray(LONG))
+                    : new NullableLongVector(field, data.toArray(LONG), mask);
+            case Short -> mask == null ? new ShortVector(field, data.toArray(SHORT))
+                    : new NullableShortVector(field, data.toArray(SHORT), mask);
+            case Char -> mask == null ? new CharVector(field, data.toArray(CHAR))
+                    : new NullableCharVector(field, data.toArray(CHAR), mask);
+            case Byte -> mask == null ? new ByteVector(field, data.toArray(JAVA_BYTE))
+                    : new NullableByteVector(field, data.toArray(JAVA_BYTE), mask);
+            case Boolean -> {
+                boolean[] values = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    values[i] = data.get(JAVA_BYTE, i) != 0;
+                }
+                yield mask == null ? new BooleanVector(field, values) : new NullableBooleanVector(field, values, mask);
+            }
+            case String -> {
+                String[] dictionary = dictionary(aux);
+                String[] values = new String[n];
+                for (int i = 0; i < n; i++) {
+                    int code = data.getAtIndex(INT, i);
+                    values[i] = code < 0 ? null : dictionary[code];
+                }
+                yield new StringVector(field, values);
+            }
+            default -> {
+                Object[] values;
+                try (var in = new SmileObjectInputStream(new ByteArrayInputStream(data.toArray(JAVA_BYTE)))) {
+                    values = (Object[]) in.readObject();
+                } catch (ClassNotFoundException | ClassCastException ex) {
+                    throw new IOException("Invalid column " + field.name(), ex);
+                }
+                yield dtype.id() == DataType.ID.Decimal
+                        ? new NumberVector<>(field, Arrays.copyOf(values, n, BigDecimal[].class))
+                        : new ObjectVector<>(field, values);
+            }
+        };
+    }
+
+    /**
+     * Decodes the string dictionary, which consists of the number of
+     * entries, the offsets of entries and the UTF-8 bytes.
+     * @param aux the dictionary section.
+     * @return the dictionary.
+     */
+    private static String[] dictionary(MemorySegment aux) {
+        int k = aux.get(INT, 0);
+        String[] dictionary = new String[k];
+        long base = 4L * (k + 2);
+        for (int i = 0; i < k; i++) {
+            int start = aux.getAtIndex(INT, i + 1);
+            int end = aux.getAtIndex(INT, i + 2);
+            byte[] bytes = aux.asSlice(base + start, end - start).toArray(JAVA_BYTE);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Writes a data frame to a columnar file.
+     * @param data the data frame.
+     * @param path the file path.
+     * @throws IOException when fails to write the file.
+     */
+    public static void write(DataFrame data, Path path) throws IOException {
+        StructType schema = data.schema();
+        int n = data.size();
+        int ncol = data.ncol();
+
+        // Encode the variable-length sections first to compute the layout.
+        byte[] header = serialize(schema);
+        byte[][] payloads = new byte[ncol][];
+        long[] dataSize = new long[ncol];
+        long[] auxSize = new long[ncol];
+        Map<Integer, int[]> codes = new HashMap<>();
+        for (int j = 0; j < ncol; j++) {
+            ValueVector column = data.column(j);
+            DataType dtype = column.dtype();
+            switch (dtype.id()) {
+                case Double, Long -> dataSize[j] = 8L * n;
+                case Float, Int -> dataSize[j] = 4L * n;
+                case Short, Char -> dataSize[j] = 2L * n;
+                case Byte, Boolean -> dataSize[j] = n;
+                case String -> {
+                    int[] code = new int[n];
+                    payloads[j] = encode(column, code);
+                    codes.put(j, code);
+                    dataSize[j] = 4L * n;
+                    auxSize[j] = payloads[j].length;
+                }
+                default -> {
+                    Object[] values = new Object[n];
+                    for (int i = 0; i < n; i++) {
+                        values[i] = column.get(i);
+                    }
+                    payloads[j] = serialize(values);
+                    dataSize[j] = payloads[j].length;
+                }
+            }
+
+            if (dtype.isNullable() && dtype.isPrimitive()) {
+                auxSize[j] = 8L * ((n + 63) / 64);
+            }
+        }
+
+        long[] dataOffset = new long[ncol];
+        long[] auxOffset = new long[ncol];
+        long offset = align(HEADER + (long) ENTRY * ncol + header.length);
+        for (int j = 0; j < ncol; j++) {
+            dataOffset[j] = offset;
+            offset = align(offset + dataSize[j]);
+            auxOffset[j] = offset;
+            offset = align(offset + auxSize[j]);
+        }
+
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, offset, arena);
+            memory.set(LONG, 0, MAGIC);
+            memory.set(INT, 8, VERSION);
+            memory.set(INT, 12, n);
+            memory.set(INT, 16, ncol);
+            memory.set(INT, 20, header.length);
+            MemorySegment.copy(header, 0, memory, JAVA_BYTE, HEADER + (long) ENTRY * ncol, header.length);
+
+            for (int j = 0; j < ncol; j++) {
+                long entry = HEADER + (long) ENTRY * j;
+                memory.set(LONG, entry, dataOffset[j]);
+                memory.set(LONG, entry + 8, dataSize[j]);
+                memory.set(LONG, entry + 16, auxOffset[j]);
+                memory.set(LONG, entry + 24, auxSize[j]);
+
+                ValueVector column = data.column(j);
+                DataType dtype = column.dtype();
+                MemorySegment segment = memory.asSlice(dataOffset[j], dataSize[j]);
+                switch (dtype.id()) {
+                    case Double -> { for (int i = 0; i < n; i++) segment.setAtIndex(DOUBLE, i, column.getDouble(i)); }
+                    case Float -> { for (int i = 0; i < n; i++) segment.setAtIndex(FLOAT, i, column.getFloat(i)); }
+                    case Long -> { for (int i = 0; i < n; i++) segment.setAtIndex(LONG, i, column.getLong(i)); }
+                    case Int -> { for (int i = 0; i < n; i++) segment.setAtIndex(INT, i, column.getInt(i)); }
+                    case Short -> { for (int i = 0; i < n; i++) segment.setAtIndex(SHORT, i, column.getShort(i)); }
+                    case Char -> { for (int i = 0; i < n; i++) segment.setAtIndex(CHAR, i, column.getChar(i)); }
+                    case Byte -> { for (int i = 0; i < n; i++) segment.set(JAVA_BYTE, i, column.getByte(i)); }
+                    case Boolean -> { for (int i = 0; i < n; i++) segment.set(JAVA_BYTE, i, (byte) (column.getBoolean(i) ? 1 : 0)); }
+                    case String -> {
+                        MemorySegment.copy(codes.get(j), 0, segment, INT, 0, n);
+                        MemorySegment.copy(payloads[j], 0, memory, JAVA_BYTE, auxOffset[j], payloads[j].length);
+                    }
+                    default -> MemorySegment.copy(payloads[j], 0, segment, JAVA_BYTE, 0, payloads[j].length);
+                }
+
+                if (dtype.isNullable() && dtype.isPrimitive()) {
+                    BitSet mask = new BitSet(n);
+                    for (int i = 0; i < n; i++) {
+                        if (column.isNullAt(i)) mask.set(i);
+                    }
+                    long[] words = mask.toLongArray();
+                    MemorySegment.copy(words, 0, memory, LONG, auxOffset[j], words.length);
+                }
+            }
+            memory.force();
+        }
+    }
+
+    /**
+     * Dictionary encodes a string column.
+     * @param column the string column.
+     * @param code the output codes, -1 for null.
+     * @return the encoded dictionary.
+     */
+    private static byte[] encode(ValueVector column, int[] code) {
+        Map<String, Integer> index = new HashMap<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] offsets = new int[16];
+        for (int i = 0; i < code.length; i++) {
+            String s = (String) column.get(i);
+            if (s == null) {
+                code[i] = -1;
+                continue;
+            }
+
+            Integer k = index.get(s);
+            if (k == null) {
+                k = index.size();
+                index.put(s, k);
+                bytes.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+                if (k + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+                }
+                offsets[k + 1] = bytes.size();
+            }
+            code[i] = k;
+        }
+
+        int k = index.size();
+        ByteBuffer dictionary = ByteBuffer.allocate(4 * (k + 2) + bytes.size()).order(ByteOrder.LITTLE_ENDIAN);
+        dictionary.putInt(k);
+        for (int i = 0; i <= k; i++) {
+            dictionary.putInt(offsets[i]);
+        }
+        dictionary.put(bytes.toByteArray());
+        return dictionary.array();
+    }
+
+    /**
+     * Serializes an object.
+     * @param o the object.
+     * @throws IOException when fails to serialize the object.
+     * @return the bytes.
+     */
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Aligns the offset to the payload alignment.
+     * @param offset the offset.
+     * @return the aligned offset.
+     */
+    private static long align(long offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
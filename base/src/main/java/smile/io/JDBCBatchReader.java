@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import smile.data.DataFrame;
+import smile.data.Tuple;
+import smile.data.type.StructType;
+
+/**
+ * The batch reader of JDBC result sets. The driver is hinted
+ * to fetch the rows in chunks of batch size.
+ *
+ * @author Haifeng Li
+ */
+class JDBCBatchReader extends AbstractBatchReader {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JDBCBatchReader.class);
+    /** The JDBC result set. */
+    private final ResultSet rs;
+
+    /**
+     * Constructor.
+     * @param rs the JDBC result set.
+     * @param batchSize the maximum number of rows per batch.
+     * @throws SQLException when JDBC operation fails.
+     */
+    JDBCBatchReader(ResultSet rs, int batchSize) throws SQLException {
+        super(StructType.of(rs), batchSize);
+        this.rs = rs;
+        try {
+            rs.setFetchSize(batchSize);
+        } catch (SQLException ex) {
+            // The fetch size is only a hint.
+            logger.debug("Failed to set fetch size: ", ex);
+        }
+    }
+
+    @Override
+    DataFrame read() throws SQLException {
+        List<Tuple> rows = new ArrayList<>(Math.min(batchSize, 65536));
+        while (rows.size() < batchSize && rs.next()) {
+            rows.add(Tuple.of(schema, rs));
+        }
+        return rows.isEmpty() ? null : DataFrame.of(schema, rows);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Statement stmt = rs.getStatement();
+            rs.close();
+            if (stmt != null) stmt.close();
+        } catch (SQLException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.commons.csv.CSVFormat;
+import smile.data.DataFrame;
+import smile.data.type.StructField;
+import smile.data.type.StructType;
+import smile.data.vector.ValueVector;
+
+/**
+ * Multithreaded reader of Comma Separated Value (CSV) files.
+ * The file is memory mapped and split into newline-aligned chunks,
+ * which are parsed in parallel. The values are appended directly
+ * into primitive column buffers without creating row objects, and
+ * the column pieces of chunks are concatenated at the end.
+ * <p>
+ * The file format is specified by a {@link CSVFormat}, of which the
+ * delimiter, quote character, comment marker, header and empty line
+ * handling are respected. The values are trimmed and empty values
+ * are treated as missing, the same as {@link CSV}. As the chunks are
+ * aligned to line breaks, quoted values must not contain line breaks.
+ * The charset must be ASCII compatible, e.g. UTF-8 or ISO-8859-1.
+ * <p>
+ * If the schema is not set, it is inferred from the top rows by
+ * {@link CSV#inferSchema}. The columns may be projected so that
+ * the values of other columns are skipped without being decoded.
+ *
+ * @author Haifeng Li
+ */
+public class ParallelCSV {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ParallelCSV.class);
+    /** The minimum size of chunks. */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    /** The maximum size of chunks. */
+    private static final int MAX_CHUNK_SIZE = 64 << 20;
+    /** The number of rows to infer the schema. */
+    private static final int INFER_SCHEMA_ROWS = 1000;
+
+    /** The CSV file format. */
+    private final CSVFormat format;
+    /** The schema of data structure. */
+    private StructType schema;
+    /** Charset of file. */
+    private Charset charset = StandardCharsets.UTF_8;
+    /** The names of columns to read. Null to read all columns. */
+    private String[] columns;
+    /** The chunk size in bytes. 0 to choose it by file size. */
+    private int chunkSize = 0;
+
+    /**
+     * Constructor.
+     * Standard Comma Separated Value format,
+     * as for RFC4180 but allowing empty lines.
+     */
+    public ParallelCSV() {
+        this(CSVFormat.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     * @param format the CSV file format.
+     */
+    public ParallelCSV(CSVFormat format) {
+        String delimiter = format.getDelimiterString();
+        if (delimiter.length() != 1 || delimiter.charAt(0) > 127) {
+            throw new IllegalArgumentException("Delimiter must be a single ASCII character: " + delimiter);
+        }
+
+        Character quote = format.getQuoteCharacter();
+        if (quote != null && quote > 127) {
+            throw new IllegalArgumentException("Quote must be an ASCII character: " + quote);
+        }
+
+        Character comment = format.getCommentMarker();
+        if (comment != null && comment > 127) {
+            throw new IllegalArgumentException("Comment marker must be an ASCII character: " + comment);
+        }
+
+        this.format = format;
+    }
+
+    /**
+     * Sets the schema of file. The schema describes all columns
+     * of file, regardless of projection.
+     * @param schema the data schema.
+     * @return this object.
+     */
+    public ParallelCSV schema(StructType schema) {
+        this.schema = schema;
+        return this;
+    }
+
+    /**
+     * Sets the charset.
+     * @param charset the charset of file.
+     * @return this object.
+     */
+    public ParallelCSV charset(Charset charset) {
+        if (!Arrays.equals("\r\n".getBytes(charset), new byte[] {'\r', '\n'})) {
+            throw new IllegalArgumentException("Charset is not ASCII compatible: " + charset);
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets the columns to read. The data frame will have the columns
+     * in the given order.
+     * @param columns the column names.
+     * @return this object.
+     */
+    public ParallelCSV select(String... columns) {
+        this.columns = columns.length == 0 ? null : columns;
+        return this;
+    }
+
+    /**
+     * Sets the chunk size. By default, the chunk size is chosen by
+     * the file size and the number of processors.
+     * @param bytes the chunk size in bytes.
+     * @return this object.
+     */
+    public ParallelCSV chunkSize(int bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size: " + bytes);
+        }
+        this.chunkSize = bytes;
+        return this;
+    }
+
+    /**
+     * Reads a CSV file.
+     * @param path the input file path.
+     * @throws IOException when fails to read the file.
+     * @return the data frame.
+     */
+    public DataFrame read(Path path) throws IOException {
+        return read(path, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads a limited number of records from a CSV file.
+     * @param path the input file path.
+     * @param limit the number of records to read.
+     * @throws IOException when fails to read the file.
+     * @return the data frame.
+     */
+    public DataFrame read(Path path, int limit) throws IOException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+
+        if (schema == null) {
+            // infer the schema from top 1000 rows.
+            CSV csv = new CSV(format).charset(charset);
+            schema = csv.inferSchema(Files.newBufferedReader(path, charset), Math.min(INFER_SCHEMA_ROWS, limit));
+        }
+
+        // The position of each column of file in the output, -1 if skipped.
+        int width = schema.length();
+        int[] target = new int[width];
+        StructField[] fields;
+        if (columns == null) {
+            fields = schema.fields().toArray(new StructField[0]);
+            for (int i = 0; i < width; i++) target[i] = i;
+        } else {
+            Arrays.fill(target, -1);
+            fields = new StructField[columns.length];
+            for (int j = 0; j < columns.length; j++) {
+                int i = schema.indexOf(columns[j]);
+                if (i < 0) {
+                    throw new IllegalArgumentException("Unknown column: " + columns[j]);
+                }
+                if (target[i] >= 0) {
+                    throw new IllegalArgumentException("Duplicate column: " + columns[j]);
+                }
+                target[i] = j;
+                fields[j] = schema.field(i);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            long size = channel.size();
+            MemorySegment file = size == 0 ? MemorySegment.NULL : channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            long start = skipHeader(file, size);
+            List<long[]> chunks = split(file, start, size);
+            logger.debug("Read {} bytes in {} chunks", size - start, chunks.size());
+
+            // Parse chunks in waves if the rows are limited so that
+            // we can stop once enough rows are read.
+            int wave = limit == Integer.MAX_VALUE ? Math.max(1, chunks.size()) : Runtime.getRuntime().availableProcessors();
+            List<Chunk> pieces = new ArrayList<>();
+            int rows = 0;
+            for (int w = 0; w < chunks.size() && rows < limit; w += wave) {
+                int remaining = limit - rows;
+                List<Chunk> batch = IntStream.range(w, Math.min(w + wave, chunks.size())).parallel()
+                        .mapToObj(i -> parse(file, chunks.get(i), width, target, fields, remaining))
+                        .toList();
+                for (Chunk chunk : batch) {
+                    pieces.add(chunk);
+                    rows += chunk.size;
+                }
+            }
+
+            if (pieces.isEmpty()) {
+                pieces.add(new Chunk(fields, charset));
+            }
+
+            int n = limit;
+            ValueVector[] vectors = IntStream.range(0, fields.length).parallel()
+                    .mapToObj(j -> ColumnBuilder.concat(pieces.stream().map(chunk -> chunk.columns[j]).toList(), n))
+                    .toArray(ValueVector[]::new);
+            return new DataFrame(vectors);
+        }
+    }
+
+    /**
+     * Returns the offset of first data record after the byte order
+     * mark and the header line.
+     * @param file the file content.
+     * @param size the file size.
+     * @return the offset of first data record.
+     */
+    private long skipHeader(MemorySegment file, long size) {
+        long pos = 0;
+        if (size >= 3 && file.get(ValueLayout.JAVA_BYTE, 0) == (byte) 0xEF
+                && file.get(ValueLayout.JAVA_BYTE, 1) == (byte) 0xBB
+                && file.get(ValueLayout.JAVA_BYTE, 2) == (byte) 0xBF) {
+            pos = 3;
+        }
+
+        // An empty header means that the first record is the header.
+        String[] header = format.getHeader();
+        if (header == null || (header.length > 0 && !format.getSkipHeaderRecord())) {
+            return pos;
+        }
+
+        Character comment = format.getCommentMarker();
+        while (pos < size) {
+            byte b = file.get(ValueLayout.JAVA_BYTE, pos);
+            boolean skip = b == '\n' || b == '\r' || (comment != null && b == comment);
+            pos = nextLine(file, pos, size);
+            if (!skip) break;
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the offset after the next line break.
+     * @param file the file content.
+     * @param pos the current offset.
+     * @param size the file size.
+     * @return the offset after the next line break.
+     */
+    private static long nextLine(MemorySegment file, long pos, long size) {
+        while (pos < size && file.get(ValueLayout.JAVA_BYTE, pos) != '\n') pos++;
+        return Math.min(pos + 1, size);
+    }
+
+    /**
+     * Splits the file into newline-aligned chunks.
+     * @param file the file content.
+     * @param start the offset of first record.
+     * @param size the file size.
+     * @return the byte ranges of chunks.
+     */
+    private List<long[]> split(MemorySegment file, long start, long size) {
+        long length = chunkSize;
+        if (length == 0) {
+            long threads = Runtime.getRuntime().availableProcessors();
+            length = Math.clamp((size - start) / (4 * threads), MIN_CHUNK_SIZE, MAX_CHUNK_SIZE);
+        }
+
+        List<long[]> chunks = new ArrayList<>();
+        long begin = start;
+        while (begin < size) {
+            long end = begin + length >= size ? size : nextLine(file, begin + length - 1, size);
+            chunks.add(new long[] {begin, end});
+            begin = end;
+        }
+        return chunks;
+    }
+
+    /** The column pieces parsed from a chunk. */
+    private static class Chunk {
+        /** The column builders. */
+        final ColumnBuilder[] columns;
+        /** The number of rows. */
+        int size = 0;
+
+        Chunk(StructField[] fields, Charset charset) {
+            columns = new ColumnBuilder[fields.length];
+            for (int j = 0; j < fields.length; j++) {
+                columns[j] = ColumnBuilder.of(fields[j], charset);
+            }
+        }
+    }
+
+    /**
+     * Parses a chunk.
+     * @param file the file content.
+     * @param range the byte range of chunk.
+     * @param width the number of columns in the file.
+     * @param target the position of each column of file in the output.
+     * @param fields the output fields.
+     * @param limit the maximum number of rows to parse.
+     * @return the column pieces.
+     */
+    private Chunk parse(MemorySegment file, long[] range, int width, int[] target, StructField[] fields, int limit) {
+        // Copy the chunk to heap, which is fast in bulk and allows
+        // unescaping the quoted values in place.
+        byte[] buf = file.asSlice(range[0], range[1] - range[0]).toArray(ValueLayout.JAVA_BYTE);
+        int n = buf.length;
+        Chunk chunk = new Chunk(fields, charset);
+        ColumnBuilder[] columns = chunk.columns;
+
+        byte delimiter = (byte) format.getDelimiterString().charAt(0);
+        Character q = format.getQuoteCharacter();
+        int quote = q == null ? -1 : q;
+        Character c = format.getCommentMarker();
+        int comment = c == null ? -1 : c;
+        boolean ignoreEmptyLines = format.getIgnoreEmptyLines();
+
+        int[] offset = new int[fields.length];
+        int[] length = new int[fields.length];
+        int skipped = 0;
+
+        int pos = 0;
+        while (pos < n && chunk.size < limit) {
+            int b = buf[pos];
+            if (comment >= 0 && b == comment) {
+                while (pos < n && buf[pos] != '\n') pos++;
+                pos++;
+                continue;
+            }
+
+            if (ignoreEmptyLines && (b == '\n' || (b == '\r' && pos + 1 < n && buf[pos + 1] == '\n'))) {
+                pos += b == '\n' ? 1 : 2;
+                continue;
+            }
+
+            int f = 0; // the field index
+            boolean eol = false;
+            while (!eol) {
+                int start = pos;
+                int end;
+                if (quote >= 0 && pos < n && buf[pos] == quote) {
+                    // Unescape the doubled quotes in place.
+                    int w = ++pos;
+                    start = w;
+                    while (pos < n) {
+                        if (buf[pos] == quote) {
+                            if (pos + 1 < n && buf[pos + 1] == quote) {
+                                buf[w++] = buf[pos];
+                                pos += 2;
+                            } else {
+                                pos++;
+                                break;
+                            }
+                        } else {
+                            buf[w++] = buf[pos++];
+                        }
+                    }
+                    end = w;
+                    // Ignore the characters between the closing quote and delimiter.
+                    while (pos < n && buf[pos] != delimiter && buf[pos] != '\n') pos++;
+                } else {
+                    while (pos < n && buf[pos] != delimiter && buf[pos] != '\n') pos++;
+                    end = pos;
+                }
+
+                if (pos >= n || buf[pos] == '\n') {
+                    eol = true;
+                }
+                pos++;
+
+                if (f < width && target[f] >= 0) {
+                    // Trim the white spaces and control characters.
+                    while (start < end && (buf[start] & 0xFF) <= ' ') start++;
+                    while (end > start && (buf[end - 1] & 0xFF) <= ' ') end--;
+                    offset[target[f]] = start;
+                    length[target[f]] = end - start;
+                }
+                f++;
+            }
+
+            if (f < width) {
+                skipped++;
+                continue;
+            }
+
+            for (int j = 0; j < columns.length; j++) {
+                if (length[j] == 0) {
+                    columns[j].appendNull();
+                } else {
+                    columns[j].append(buf, offset[j], length[j]);
+                }
+            }
+            chunk.size++;
+        }
+
+        if (skipped > 0) {
+            logger.warn("Expected {} fields. Skip {} records with fewer fields.", width, skipped);
+        }
+        return chunk;
+    }
+}
@@ -17,14 +17,13 @@
 package smile.io;
 
 import java.io.IOException;
+import java.lang.ref.Cleaner;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.arrow.memory.BufferAllocator;
-import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.dataset.file.FileFormat;
 import org.apache.arrow.dataset.file.FileSystemDatasetFactory;
 import org.apache.arrow.dataset.jni.NativeMemoryPool;
@@ -34,7 +33,6 @@ import org.apache.arrow.dataset.source.Dataset;
 import org.apache.arrow.dataset.source.DatasetFactory;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.ipc.ArrowReader;
-import org.apache.arrow.vector.types.pojo.Schema;
 import smile.data.DataFrame;
 import smile.data.type.*;
 
@@ -99,32 +97,24 @@ public class Parquet {
      */
     public static DataFrame read(String uri, int limit) throws Exception {
         ScanOptions options = new ScanOptions(32768); // batch size
-        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
-             DatasetFactory factory = new FileSystemDatasetFactory(allocator, NativeMemoryPool.getDefault(), FileFormat.PARQUET, uri);
+        // The numeric columns are wrapped without copy, which requires
+        // the buffers to be allocated by the shared allocator.
+        try (DatasetFactory factory = new FileSystemDatasetFactory(Arrow.allocator, NativeMemoryPool.getDefault(), FileFormat.PARQUET, uri);
              Dataset dataset = factory.finish();
              Scanner scanner = dataset.newScan(options);
              ArrowReader reader = scanner.scanBatches()) {
 
             int rowCount = 0;
-            Schema schema = factory.inspect();
-            StructType struct = Arrow.toStructType(schema);
             List<DataFrame> frames = new ArrayList<>();
-            while (reader.loadNextBatch() && rowCount < limit) {
-                try (VectorSchemaRoot root = reader.getVectorSchemaRoot()) {
-                    DataFrame frame = Arrow.read(root);
-                    frames.add(frame);
-                    rowCount += frames.size();
-                }
+            List<Cleaner.Cleanable> buffers = new ArrayList<>();
+            while (rowCount < limit && reader.loadNextBatch()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                DataFrame frame = Arrow.wrap(root, buffers);
+                frames.add(frame);
+                rowCount += frame.size();
             }
 
-            if (frames.isEmpty()) {
-                throw new IllegalStateException("No record batch");
-            } else if (frames.size() == 1) {
-                return frames.getFirst();
-            } else {
-                DataFrame df = frames.getFirst();
-                return df.concat(frames.subList(1, frames.size()).toArray(new DataFrame[frames.size() - 1]));
-            }
+            return Arrow.concat(frames, buffers);
         }
     }
 }
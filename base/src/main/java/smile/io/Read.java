@@ -427,6 +427,18 @@ public interface Read {
         return SAS.read(path);
     }
 
+    /**
+     * Reads a Smile columnar file. The numeric columns are memory mapped
+     * without copy. Use {@link Columnar#open(Path)} to load the columns
+     * lazily.
+     * @param path the input file path.
+     * @throws IOException when fails to read the file.
+     * @return the data frame.
+     */
+    static DataFrame columnar(Path path) throws IOException {
+        return Columnar.read(path);
+    }
+
     /**
      * Reads an Apache Arrow file.
      * Apache Arrow is a cross-language development platform for in-memory data.
@@ -98,6 +98,18 @@ public interface Write {
         arrow.write(data, path);
     }
 
+    /**
+     * Writes the data frame to a Smile columnar file, which can be
+     * opened by memory mapping with lazy column loading.
+     *
+     * @param data the data frame.
+     * @param path the output file path.
+     * @throws IOException when fails to write the file.
+     */
+    static void columnar(DataFrame data, Path path) throws IOException {
+        Columnar.write(data, path);
+    }
+
     /**
      * Writes the data frame to an ARFF file.
      *
@@ -61,7 +61,10 @@ public class clapack_h_1 {
         default -> "openblas"; // OpenBLAS
     };
     static final String LIBRARY_NAME = System.getProperty("smile.lib.lapack", DEFAULT_LIBRARY_NAME);
-    static final SymbolLookup SYMBOL_LOOKUP = SymbolLookup.libraryLookup(System.mapLibraryName(LIBRARY_NAME), LIBRARY_ARENA)
+    // An absolute path is loaded as is. Otherwise, it is the library name.
+    static final SymbolLookup SYMBOL_LOOKUP = (java.nio.file.Path.of(LIBRARY_NAME).isAbsolute()
+                ? SymbolLookup.libraryLookup(java.nio.file.Path.of(LIBRARY_NAME), LIBRARY_ARENA)
+                : SymbolLookup.libraryLookup(System.mapLibraryName(LIBRARY_NAME), LIBRARY_ARENA))
             .or(SymbolLookup.loaderLookup())
             .or(Linker.nativeLinker().defaultLookup());
 
@@ -65,7 +65,12 @@
  * <ul>
  *   <li>{@code smile.lib.blas} — overrides the BLAS library name
  *       (default: {@code openblas} on Linux, {@code blas} on macOS, {@code libopenblas} on Windows).</li>
+ *   <li>{@code smile.lib.lapack} — overrides the LAPACK library name
+ *       (default: {@code openblas} on Linux, {@code lapack} on macOS, {@code libopenblas} on Windows).</li>
  * </ul>
+ * A library name is searched in the system library path, e.g. {@code LD_LIBRARY_PATH}
+ * on Linux. An absolute path, e.g. {@code -Dsmile.lib.blas=/usr/lib/libopenblas.so},
+ * loads that file.
  *
  * @author Haifeng Li
  */
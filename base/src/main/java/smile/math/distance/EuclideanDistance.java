@@ -57,6 +57,14 @@ public class EuclideanDistance implements Metric<double[]> {
         this.weight = weight;
     }
 
+    /**
+     * Returns the weight vector.
+     * @return the weight vector, or null for the standard Euclidean distance.
+     */
+    public double[] weight() {
+        return weight;
+    }
+
     @Override
     public String toString() {
         if (weight != null) {
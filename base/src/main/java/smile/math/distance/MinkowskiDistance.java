@@ -75,6 +75,22 @@ public class MinkowskiDistance implements Metric<double[]> {
         this.weight = weight;
     }
 
+    /**
+     * Returns the order of Minkowski distance.
+     * @return the order of Minkowski distance.
+     */
+    public int p() {
+        return p;
+    }
+
+    /**
+     * Returns the weight vector.
+     * @return the weight vector, or null for the standard Minkowski distance.
+     */
+    public double[] weight() {
+        return weight;
+    }
+
     @Override
     public String toString() {
         if (weight != null) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import smile.math.MathEx;
+
+/**
+ * The codebook of vector quantization, learned by k-means with
+ * k-means++ seeding and Lloyd's iterations. The assignment step
+ * runs in parallel.
+ *
+ * @author Haifeng Li
+ */
+final class Codebook {
+    /** Private constructor to prevent object creation. */
+    private Codebook() {
+
+    }
+
+    /**
+     * Learns the codewords by k-means.
+     * @param data the training vectors.
+     * @param k the number of codewords.
+     * @param maxIter the maximum number of Lloyd's iterations.
+     * @return the codewords.
+     */
+    static double[][] learn(double[][] data, int k, int maxIter) {
+        int n = data.length;
+        int d = data[0].length;
+        if (k >= n) {
+            double[][] codewords = new double[k][];
+            for (int i = 0; i < k; i++) {
+                codewords[i] = data[i % n].clone();
+            }
+            return codewords;
+        }
+
+        // k-means++ seeding.
+        double[][] codewords = new double[k][];
+        codewords[0] = data[MathEx.randomInt(n)].clone();
+        double[] D = new double[n];
+        Arrays.fill(D, Double.MAX_VALUE);
+        for (int i = 1; i < k; i++) {
+            double[] center = codewords[i - 1];
+            IntStream.range(0, n).parallel().forEach(j -> {
+                double dist = MathEx.squaredDistance(data[j], center);
+                if (dist < D[j]) D[j] = dist;
+            });
+
+            double cutoff = MathEx.random() * MathEx.sum(D);
+            double cost = 0.0;
+            int index = 0;
+            for (; index < n - 1; index++) {
+                cost += D[index];
+                if (cost >= cutoff) break;
+            }
+            codewords[i] = data[index].clone();
+        }
+
+        int[] group = new int[n];
+        int[] size = new int[k];
+        for (int iter = 0; iter < maxIter; iter++) {
+            boolean changed = IntStream.range(0, n).parallel().map(i -> {
+                int g = quantize(codewords, data[i]);
+                if (g == group[i]) return 0;
+                group[i] = g;
+                return 1;
+            }).sum() > 0;
+
+            if (!changed && iter > 0) break;
+
+            Arrays.fill(size, 0);
+            for (double[] codeword : codewords) {
+                Arrays.fill(codeword, 0.0);
+            }
+
+            for (int i = 0; i < n; i++) {
+                size[group[i]]++;
+                double[] codeword = codewords[group[i]];
+                double[] x = data[i];
+                for (int j = 0; j < d; j++) {
+                    codeword[j] += x[j];
+                }
+            }
+
+            for (int i = 0; i < k; i++) {
+                if (size[i] > 0) {
+                    double[] codeword = codewords[i];
+                    for (int j = 0; j < d; j++) {
+                        codeword[j] /= size[i];
+                    }
+                } else {
+                    // Reseeds the empty cluster with a random sample.
+                    codewords[i] = data[MathEx.randomInt(n)].clone();
+                }
+            }
+        }
+
+        return codewords;
+    }
+
+    /**
+     * Returns the index of the nearest codeword.
+     * @param codewords the codewords.
+     * @param x the vector.
+     * @return the index of the nearest codeword.
+     */
+    static int quantize(double[][] codewords, double[] x) {
+        int nearest = 0;
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < codewords.length; i++) {
+            double dist = MathEx.squaredDistance(x, codewords[i]);
+            if (dist < min) {
+                min = dist;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+}
@@ -21,6 +21,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import smile.math.MathEx;
 import smile.math.distance.Metric;
 import smile.sort.DoubleHeapSelect;
@@ -590,27 +591,91 @@ public class CoverTree<K, V> implements KNNSearch<K, V>, RNNSearch<K, V>, Serial
             return a1;
         }
 
-        // Use parallel arrays of (distance, node) pairs to avoid DistanceNode
-        // object allocation on every level expansion.
-        int initCap = 64;
-        double[] curDist = new double[initCap];
-        // Object[] instead of Node[] to avoid generic array creation restriction
-        Object[] curNodes = new Object[initCap];
-        int curSize = 0;
+        Workspace w = new Workspace(k);
+        double upperBound = search(q, d, w);
 
-        double[] nextDist = new double[initCap];
-        Object[] nextNodes = new Object[initCap];
-        int nextSize = 0;
+        ArrayList<Neighbor<K, V>> list = new ArrayList<>();
+        for (int i = 0; i < w.zeroSize; i++) {
+            @SuppressWarnings("unchecked")
+            Node zn = (Node) w.zeroNodes[i];
+            double zd = w.zeroDist[i];
+            if (zd <= upperBound && zn.getKey() != q) {
+                list.add(new Neighbor<>(zn.getKey(), zn.getValue(), zn.idx, zd));
+            }
+        }
 
-        double[] zeroDist = new double[initCap];
-        Object[] zeroNodes = new Object[initCap];
+        Neighbor<K, V>[] neighbors = list.toArray(a1);
+        if (neighbors.length < k) {
+            logger.warn("CoverTree.knn({}) returns only {} neighbors", k, neighbors.length);
+        }
+
+        Arrays.sort(neighbors);
+
+        if (neighbors.length > k) {
+            neighbors = Arrays.copyOf(neighbors, k);
+        }
+
+        MathEx.reverse(neighbors);
+
+        return neighbors;
+    }
+
+    /**
+     * The reusable workspace of kNN search. It holds the parallel arrays
+     * of (distance, node) pairs to avoid DistanceNode object allocation
+     * on every level expansion.
+     */
+    private static class Workspace {
+        /** The heap of k smallest distances. */
+        final DoubleHeapSelect heap;
+        /** The distance of nodes at current level. */
+        double[] curDist = new double[64];
+        /** The nodes at current level. Object[] to avoid generic array creation. */
+        Object[] curNodes = new Object[64];
+        /** The distance of nodes at next level. */
+        double[] nextDist = new double[64];
+        /** The nodes at next level. */
+        Object[] nextNodes = new Object[64];
+        /** The distance of candidate leaves. */
+        double[] zeroDist = new double[64];
+        /** The candidate leaves. */
+        Object[] zeroNodes = new Object[64];
+        /** The number of candidate leaves. */
+        int zeroSize;
+
+        /**
+         * Constructor.
+         * @param k the number of nearest neighbors.
+         */
+        Workspace(int k) {
+            heap = new DoubleHeapSelect(k);
+        }
+    }
+
+    /**
+     * Traverses the tree for the k nearest neighbors. The candidate leaves
+     * are left in the workspace.
+     *
+     * @param q the query key.
+     * @param d the distance between the query and root.
+     * @param w the workspace.
+     * @return the upper bound of the distance of k nearest neighbors.
+     */
+    private double search(K q, double d, Workspace w) {
+        double[] curDist = w.curDist;
+        Object[] curNodes = w.curNodes;
+        double[] nextDist = w.nextDist;
+        Object[] nextNodes = w.nextNodes;
+        double[] zeroDist = w.zeroDist;
+        Object[] zeroNodes = w.zeroNodes;
         int zeroSize = 0;
 
         curDist[0] = d;
         curNodes[0] = root;
-        curSize = 1;
+        int curSize = 1;
 
-        DoubleHeapSelect heap = new DoubleHeapSelect(k);
+        DoubleHeapSelect heap = w.heap;
+        heap.clear();
         heap.add(Double.MAX_VALUE);
 
         boolean emptyHeap = true;
@@ -620,7 +685,7 @@ public class CoverTree<K, V> implements KNNSearch<K, V>, RNNSearch<K, V>, Serial
         }
 
         while (curSize > 0) {
-            nextSize = 0;
+            int nextSize = 0;
             for (int pi = 0; pi < curSize; pi++) {
                 @SuppressWarnings("unchecked")
                 Node parent = (Node) curNodes[pi];
@@ -671,31 +736,63 @@ public class CoverTree<K, V> implements KNNSearch<K, V>, RNNSearch<K, V>, Serial
             curSize = nextSize;
         }
 
-        ArrayList<Neighbor<K, V>> list = new ArrayList<>();
-        double upperBound = heap.peek();
-        for (int i = 0; i < zeroSize; i++) {
-            @SuppressWarnings("unchecked")
-            Node zn = (Node) zeroNodes[i];
-            double zd = zeroDist[i];
-            if (zd <= upperBound && zn.getKey() != q) {
-                list.add(new Neighbor<>(zn.getKey(), zn.getValue(), zn.idx, zd));
-            }
-        }
+        // Keeps the grown arrays for the next query.
+        w.curDist = curDist;
+        w.curNodes = curNodes;
+        w.nextDist = nextDist;
+        w.nextNodes = nextNodes;
+        w.zeroDist = zeroDist;
+        w.zeroNodes = zeroNodes;
+        w.zeroSize = zeroSize;
+        return heap.peek();
+    }
 
-        Neighbor<K, V>[] neighbors = list.toArray(a1);
-        if (neighbors.length < k) {
-            logger.warn("CoverTree.knn({}) returns only {} neighbors", k, neighbors.length);
+    /**
+     * Retrieves the k nearest neighbors of a batch of queries in parallel.
+     * The queries are split into chunks, each of which reuses the traversal
+     * workspace and heap.
+     *
+     * @param queries the query keys.
+     * @param k the number of nearest neighbors to search for.
+     * @return the k nearest neighbors of queries.
+     */
+    @Override
+    public Result search(K[] queries, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
         }
 
-        Arrays.sort(neighbors);
-
-        if (neighbors.length > k) {
-            neighbors = Arrays.copyOf(neighbors, k);
+        if (k > data.size()) {
+            throw new IllegalArgumentException("Neighbor array length is larger than the dataset size");
         }
 
-        MathEx.reverse(neighbors);
-
-        return neighbors;
+        int n = queries.length;
+        int[][] neighbors = new int[n][k];
+        double[][] distances = new double[n][k];
+        int[] chunks = KNNSearch.chunks(n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(chunk -> {
+            Workspace w = new Workspace(k);
+            KNNHeap heap = new KNNHeap(k);
+            for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+                K q = queries[i];
+                double d = distance.d(root.getKey(), q);
+                if (root.children == null) {
+                    if (root.getKey() != q) heap.add(root.idx, d);
+                } else {
+                    double upperBound = search(q, d, w);
+                    for (int j = 0; j < w.zeroSize; j++) {
+                        @SuppressWarnings("unchecked")
+                        Node zn = (Node) w.zeroNodes[j];
+                        double zd = w.zeroDist[j];
+                        if (zd <= upperBound && zn.getKey() != q) {
+                            heap.add(zn.idx, zd);
+                        }
+                    }
+                }
+                heap.drain(neighbors[i], distances[i], false);
+            }
+        });
+        return new Result(neighbors, distances);
     }
 
     @Override
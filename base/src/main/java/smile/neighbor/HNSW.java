@@ -0,0 +1,675 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import smile.math.MathEx;
+import smile.sort.QuickSort;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+/**
+ * Hierarchical Navigable Small World graphs for approximate nearest neighbor
+ * search. HNSW builds a multi-layer proximity graph, where each layer is a
+ * subset of the layer below and the layer of an element is drawn from an
+ * exponentially decaying distribution. The search starts from the top layer
+ * and greedily descends to the bottom layer, which contains all elements,
+ * where a beam search of width {@code efSearch} returns the nearest
+ * neighbors. With the neighbor selection heuristic, the search complexity
+ * scales logarithmically with the data size.
+ * <p>
+ * The parameter {@code M} is the number of links per element on the
+ * upper layers (2M on the bottom layer). Larger M improves the recall
+ * on high dimensional data at the cost of memory and construction time.
+ * The parameter {@code efConstruction} is the width of beam search
+ * during construction. The parameter {@code efSearch} trades off the
+ * recall and latency of queries, and can be tuned at any time.
+ * <p>
+ * The index supports incremental insertion and concurrent queries.
+ * Queries run in parallel with each other while insertions are serialized.
+ * The index can be saved to a binary file. Loading reads the file through
+ * a memory mapping but copies the keys and links into the heap, so that
+ * the loaded index takes as much memory as the original one and is still
+ * updatable. Queries are not served from the mapped file.
+ * <p>
+ * The distance is the Euclidean distance. By default, the query object
+ * (reference equality) is excluded from the neighborhood.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li> Yu. A. Malkov and D. A. Yashunin. Efficient and robust approximate nearest neighbor search using Hierarchical Navigable Small World graphs. IEEE Transactions on Pattern Analysis and Machine Intelligence, 42(4):824-836, 2020.</li>
+ * </ol>
+ *
+ * @param <E> the type of data objects.
+ *
+ * @author Haifeng Li
+ */
+public class HNSW<E> implements KNNSearch<double[], E>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /** The magic number of index file. */
+    private static final int MAGIC = 0x484E5357;
+    /** The version of index file format. */
+    private static final int VERSION = 1;
+    /** The size of index file header. */
+    private static final long HEADER_SIZE = 40;
+    /** The visited marks of search, reused by each thread. */
+    private static final ThreadLocal<Visited> visited = ThreadLocal.withInitial(Visited::new);
+
+    /** The dimension of keys. */
+    private final int d;
+    /** The number of links per element on the upper layers. */
+    private final int M;
+    /** The number of links per element on the bottom layer. */
+    private final int M0;
+    /** The width of beam search during construction. */
+    private final int efConstruction;
+    /** The normalization factor of level generation. */
+    private final double mL;
+    /** The width of beam search of queries. */
+    private volatile int efSearch;
+    /** The object keys. */
+    private double[][] keys;
+    /** The data objects. */
+    private Object[] data;
+    /**
+     * The links of elements. {@code links[i][l]} is the neighbors of
+     * element i on layer l, where the first value is the number of
+     * neighbors.
+     */
+    private int[][][] links;
+    /** The number of elements. */
+    private int size;
+    /** The entry point. */
+    private int entry = -1;
+    /** The top layer. */
+    private int maxLevel = -1;
+    /** The lock to serialize insertions with queries. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The visited marks of elements. A mark is the epoch of search
+     * so that the marks don't have to be cleared between searches.
+     */
+    private static class Visited {
+        /** The epoch of elements. */
+        int[] marks = new int[1024];
+        /** The epoch of current search. */
+        int epoch;
+
+        /**
+         * Starts a new search.
+         * @param n the number of elements.
+         */
+        void reset(int n) {
+            if (marks.length < n) {
+                marks = new int[Math.max(n, 2 * marks.length)];
+                epoch = 0;
+            }
+
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        /**
+         * Marks an element as visited.
+         * @param i the element.
+         * @return false if the element was visited.
+         */
+        boolean visit(int i) {
+            if (marks[i] == epoch) return false;
+            marks[i] = epoch;
+            return true;
+        }
+    }
+
+    /**
+     * The min-heap of candidates by distance.
+     */
+    private static class Candidates {
+        /** The candidate elements. */
+        int[] index = new int[64];
+        /** The distance of candidates. */
+        double[] distance = new double[64];
+        /** The number of candidates. */
+        int size;
+
+        /**
+         * Adds a candidate.
+         * @param i the element.
+         * @param d the distance.
+         */
+        void push(int i, double d) {
+            if (size == index.length) {
+                index = Arrays.copyOf(index, 2 * size);
+                distance = Arrays.copyOf(distance, 2 * size);
+            }
+
+            int child = size++;
+            while (child > 0) {
+                int parent = (child - 1) / 2;
+                if (distance[parent] <= d) break;
+                index[child] = index[parent];
+                distance[child] = distance[parent];
+                child = parent;
+            }
+            index[child] = i;
+            distance[child] = d;
+        }
+
+        /**
+         * Removes the nearest candidate.
+         * @return the nearest candidate.
+         */
+        int pop() {
+            int top = index[0];
+            int i = index[--size];
+            double d = distance[size];
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= size) break;
+                if (child + 1 < size && distance[child + 1] < distance[child]) child++;
+                if (distance[child] >= d) break;
+                index[parent] = index[child];
+                distance[parent] = distance[child];
+                parent = child;
+            }
+            index[parent] = i;
+            distance[parent] = d;
+            return top;
+        }
+    }
+
+    /**
+     * Constructor of an empty index.
+     * @param d the dimension of keys.
+     * @param M the number of links per element on the upper layers.
+     *          The bottom layer has 2M links per element.
+     * @param efConstruction the width of beam search during construction.
+     */
+    public HNSW(int d, int M, int efConstruction) {
+        if (d < 1) {
+            throw new IllegalArgumentException("Invalid dimension: " + d);
+        }
+
+        if (M < 2) {
+            throw new IllegalArgumentException("Invalid number of links: " + M);
+        }
+
+        if (efConstruction < 1) {
+            throw new IllegalArgumentException("Invalid efConstruction: " + efConstruction);
+        }
+
+        this.d = d;
+        this.M = M;
+        this.M0 = 2 * M;
+        this.efConstruction = efConstruction;
+        this.efSearch = Math.max(efConstruction / 2, 10);
+        this.mL = 1.0 / Math.log(M);
+        this.keys = new double[16][];
+        this.data = new Object[16];
+        this.links = new int[16][][];
+    }
+
+    /**
+     * Constructor with M = 16 and efConstruction = 200.
+     * @param keys the object keys.
+     * @param data the data objects.
+     */
+    public HNSW(double[][] keys, E[] data) {
+        this(keys, data, 16, 200);
+    }
+
+    /**
+     * Constructor.
+     * @param keys the object keys.
+     * @param data the data objects.
+     * @param M the number of links per element on the upper layers.
+     *          The bottom layer has 2M links per element.
+     * @param efConstruction the width of beam search during construction.
+     */
+    public HNSW(double[][] keys, E[] data, int M, int efConstruction) {
+        this(keys[0].length, M, efConstruction);
+        if (keys.length != data.length) {
+            throw new IllegalArgumentException("Different size of keys and data objects");
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], data[i]);
+        }
+    }
+
+    /**
+     * Returns an index of which the data objects are the keys.
+     * @param data the data objects, which are also used as key.
+     * @return the index.
+     */
+    public static HNSW<double[]> of(double[][] data) {
+        return new HNSW<>(data, data);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HNSW(M = %d, efConstruction = %d, efSearch = %d)", M, efConstruction, efSearch);
+    }
+
+    /**
+     * Returns the number of data objects.
+     * @return the number of data objects.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the width of beam search of queries.
+     * @return the width of beam search of queries.
+     */
+    public int efSearch() {
+        return efSearch;
+    }
+
+    /**
+     * Sets the width of beam search of queries. Larger value improves
+     * the recall at the cost of latency. The effective width is at
+     * least the number of neighbors to search for.
+     * @param ef the width of beam search.
+     */
+    public void setEfSearch(int ef) {
+        if (ef < 1) {
+            throw new IllegalArgumentException("Invalid efSearch: " + ef);
+        }
+        this.efSearch = ef;
+    }
+
+    /** Returns the squared distance between the query and an element. */
+    private double distance(double[] q, int i) {
+        return MathEx.squaredDistance(q, keys[i]);
+    }
+
+    /**
+     * Returns the nearest element on a layer by greedy search.
+     * @param q the query.
+     * @param ep the entry point.
+     * @param level the layer.
+     * @return the nearest element found.
+     */
+    private int greedy(double[] q, int ep, int level) {
+        double best = distance(q, ep);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] neighbors = links[ep][level];
+            for (int j = 1; j <= neighbors[0]; j++) {
+                int e = neighbors[j];
+                double dist = distance(q, e);
+                if (dist < best) {
+                    best = dist;
+                    ep = e;
+                    changed = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    /**
+     * Beam search on a layer.
+     * @param q the query.
+     * @param ep the entry point.
+     * @param ef the width of beam search.
+     * @param level the layer.
+     * @param index the output elements in ascending order of distance.
+     * @param dist the output squared distances.
+     * @return the number of elements found.
+     */
+    private int search(double[] q, int ep, int ef, int level, int[] index, double[] dist) {
+        Visited visited = HNSW.visited.get();
+        visited.reset(size);
+        visited.visit(ep);
+
+        double epDist = distance(q, ep);
+        Candidates candidates = new Candidates();
+        candidates.push(ep, epDist);
+        KNNHeap heap = new KNNHeap(ef);
+        heap.add(ep, epDist);
+
+        while (candidates.size > 0) {
+            if (candidates.distance[0] > heap.peek()) break;
+            int[] neighbors = links[candidates.pop()][level];
+            for (int j = 1; j <= neighbors[0]; j++) {
+                int e = neighbors[j];
+                if (visited.visit(e)) {
+                    double de = distance(q, e);
+                    if (de < heap.peek()) {
+                        candidates.push(e, de);
+                        heap.add(e, de);
+                    }
+                }
+            }
+        }
+
+        int n = heap.size();
+        heap.drain(index, dist, false);
+        return n;
+    }
+
+    /**
+     * Selects the neighbors by the heuristic that a candidate is
+     * selected only if it is closer to the base element than to any
+     * selected neighbor, which keeps the links of diverse directions.
+     * @param index the candidates in ascending order of distance.
+     * @param dist the squared distance of candidates.
+     * @param n the number of candidates.
+     * @param m the maximum number of neighbors.
+     * @param neighbors the output neighbors, the first value is the
+     *                  number of neighbors.
+     */
+    private void select(int[] index, double[] dist, int n, int m, int[] neighbors) {
+        int count = 0;
+        for (int i = 0; i < n && count < m; i++) {
+            int c = index[i];
+            double[] key = keys[c];
+            boolean good = true;
+            for (int j = 1; j <= count; j++) {
+                if (distance(key, neighbors[j]) < dist[i]) {
+                    good = false;
+                    break;
+                }
+            }
+
+            if (good) {
+                neighbors[++count] = c;
+            }
+        }
+        neighbors[0] = count;
+    }
+
+    /**
+     * Adds a link to an element. If the element has too many links,
+     * its links are pruned by the selection heuristic.
+     * @param i the element.
+     * @param j the new neighbor.
+     * @param level the layer.
+     */
+    private void link(int i, int j, int level) {
+        int[] neighbors = links[i][level];
+        int m = neighbors.length - 1;
+        if (neighbors[0] < m) {
+            neighbors[++neighbors[0]] = j;
+            return;
+        }
+
+        int[] index = new int[m + 1];
+        double[] dist = new double[m + 1];
+        double[] key = keys[i];
+        for (int k = 0; k < m; k++) {
+            index[k] = neighbors[k + 1];
+            dist[k] = distance(key, index[k]);
+        }
+        index[m] = j;
+        dist[m] = distance(key, j);
+        QuickSort.sort(dist, index, m + 1);
+        select(index, dist, m + 1, m, neighbors);
+    }
+
+    /**
+     * Inserts an element to the index.
+     * @param key the key.
+     * @param value the data object.
+     */
+    public void put(double[] key, E value) {
+        if (key.length != d) {
+            throw new IllegalArgumentException(String.format("Invalid key dimension: %d, expected: %d", key.length, d));
+        }
+
+        int level = (int) (-Math.log(1.0 - MathEx.random()) * mL);
+        lock.writeLock().lock();
+        try {
+            int id = size;
+            if (id == keys.length) {
+                int capacity = 2 * id;
+                keys = Arrays.copyOf(keys, capacity);
+                data = Arrays.copyOf(data, capacity);
+                links = Arrays.copyOf(links, capacity);
+            }
+
+            keys[id] = key;
+            data[id] = value;
+            links[id] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[id][l] = new int[(l == 0 ? M0 : M) + 1];
+            }
+            size++;
+
+            if (entry < 0) {
+                entry = id;
+                maxLevel = level;
+                return;
+            }
+
+            int ep = entry;
+            for (int l = maxLevel; l > level; l--) {
+                ep = greedy(key, ep, l);
+            }
+
+            int[] index = new int[efConstruction];
+            double[] dist = new double[efConstruction];
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                int n = search(key, ep, efConstruction, l, index, dist);
+                int[] neighbors = links[id][l];
+                select(index, dist, n, l == 0 ? M0 : M, neighbors);
+                for (int j = 1; j <= neighbors[0]; j++) {
+                    link(neighbors[j], id, l);
+                }
+                ep = index[0];
+            }
+
+            if (level > maxLevel) {
+                entry = id;
+                maxLevel = level;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Neighbor<double[], E>[] search(double[] q, int k) {
+        if (q.length != d) {
+            throw new IllegalArgumentException(String.format("Invalid query dimension: %d, expected: %d", q.length, d));
+        }
+
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (k > size) {
+                throw new IllegalArgumentException("Neighbor array length is larger than the dataset size");
+            }
+
+            int ep = entry;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedy(q, ep, l);
+            }
+
+            // One more slot in case that the query is in the index.
+            int ef = Math.max(efSearch, k) + 1;
+            int[] index = new int[ef];
+            double[] dist = new double[ef];
+            int n = search(q, ep, ef, 0, index, dist);
+
+            Neighbor<double[], E>[] neighbors = new Neighbor[Math.min(k, n)];
+            for (int i = 0, j = 0; i < n && j < neighbors.length; i++) {
+                int e = index[i];
+                if (keys[e] != q) {
+                    neighbors[j++] = new Neighbor<>(keys[e], (E) data[e], e, Math.sqrt(dist[i]));
+                }
+            }
+
+            if (neighbors.length > 0 && neighbors[neighbors.length - 1] == null) {
+                neighbors = Arrays.copyOf(neighbors, neighbors.length - 1);
+            }
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the index to a file. The data objects are not saved. The file
+     * starts with a header of 10 integers (magic number, version, dimension,
+     * size, M, efConstruction, efSearch, entry point, top layer, reserved),
+     * followed by the keys in row-major order and the links of elements.
+     * The links of an element are the number of layers followed by, for each
+     * layer, the number of neighbors and the neighbors. All values are in
+     * the native byte order.
+     *
+     * @param path the file path.
+     * @throws IOException if fail to write the file.
+     */
+    public void save(Path path) throws IOException {
+        lock.readLock().lock();
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long bytes = HEADER_SIZE + (long) size * d * Double.BYTES;
+            for (int i = 0; i < size; i++) {
+                bytes += Integer.BYTES;
+                for (int[] neighbors : links[i]) {
+                    bytes += (long) (neighbors[0] + 1) * Integer.BYTES;
+                }
+            }
+
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+            int[] header = {MAGIC, VERSION, d, size, M, efConstruction, efSearch, entry, maxLevel, 0};
+            MemorySegment.copy(header, 0, file, JAVA_INT, 0, header.length);
+
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < size; i++) {
+                MemorySegment.copy(keys[i], 0, file, JAVA_DOUBLE, offset, d);
+                offset += (long) d * Double.BYTES;
+            }
+
+            for (int i = 0; i < size; i++) {
+                file.set(JAVA_INT, offset, links[i].length);
+                offset += Integer.BYTES;
+                for (int[] neighbors : links[i]) {
+                    int n = neighbors[0] + 1;
+                    MemorySegment.copy(neighbors, 0, file, JAVA_INT, offset, n);
+                    offset += (long) n * Integer.BYTES;
+                }
+            }
+            file.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads an index from a file, of which the data objects are the keys.
+     * The keys and links are copied into the heap.
+     * @param path the file path.
+     * @throws IOException if fail to read the file.
+     * @return the index.
+     */
+    public static HNSW<double[]> load(Path path) throws IOException {
+        return load(path, null);
+    }
+
+    /**
+     * Loads an index from a file. The keys and links are copied into
+     * the heap and the file is unmapped before returning.
+     * @param path the file path.
+     * @param data the data objects in the order of insertion. If null,
+     *             the data objects are the keys.
+     * @param <E> the type of data objects.
+     * @throws IOException if fail to read the file.
+     * @return the index.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> HNSW<E> load(Path path, E[] data) throws IOException {
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            int[] header = new int[10];
+            MemorySegment.copy(file, JAVA_INT, 0, header, 0, header.length);
+            if (header[0] != MAGIC) {
+                throw new IOException("Invalid HNSW index file: " + path);
+            }
+
+            if (header[1] != VERSION) {
+                throw new IOException("Unsupported HNSW index file version: " + header[1]);
+            }
+
+            int d = header[2];
+            int size = header[3];
+            if (data != null && data.length != size) {
+                throw new IllegalArgumentException(String.format("The size of data objects %d doesn't match the index size %d", data.length, size));
+            }
+
+            HNSW<E> index = new HNSW<>(d, header[4], header[5]);
+            index.efSearch = header[6];
+            index.entry = header[7];
+            index.maxLevel = header[8];
+            index.size = size;
+            int capacity = Math.max(size, 16);
+            index.keys = new double[capacity][];
+            index.data = new Object[capacity];
+            index.links = new int[capacity][][];
+
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < size; i++) {
+                double[] key = new double[d];
+                MemorySegment.copy(file, JAVA_DOUBLE, offset, key, 0, d);
+                offset += (long) d * Double.BYTES;
+                index.keys[i] = key;
+                index.data[i] = data == null ? key : data[i];
+            }
+
+            for (int i = 0; i < size; i++) {
+                int levels = file.get(JAVA_INT, offset);
+                offset += Integer.BYTES;
+                int[][] layers = new int[levels][];
+                for (int l = 0; l < levels; l++) {
+                    int[] neighbors = new int[(l == 0 ? index.M0 : index.M) + 1];
+                    int n = file.get(JAVA_INT, offset) + 1;
+                    MemorySegment.copy(file, JAVA_INT, offset, neighbors, 0, n);
+                    offset += (long) n * Integer.BYTES;
+                    layers[l] = neighbors;
+                }
+                index.links[i] = layers;
+            }
+            return index;
+        }
+    }
+}
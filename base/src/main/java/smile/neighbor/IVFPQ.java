@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import smile.math.MathEx;
+import smile.sort.QuickSort;
+
+/**
+ * Inverted file index with product quantization (IVF-PQ) for approximate
+ * nearest neighbor search of large-scale vectors. The vectors are first
+ * partitioned by a coarse quantizer of k-means centroids into inverted
+ * lists. The residual of a vector to its coarse centroid is split into
+ * m sub-vectors, each of which is quantized by its own codebook of 256
+ * codewords. Therefore, each vector is compressed to m bytes.
+ * <p>
+ * A query probes the {@code nprobe} inverted lists of nearest coarse
+ * centroids. In each list, the distances between the query residual and
+ * all codewords are precomputed in a lookup table so that the asymmetric
+ * distance (ADC) to an encoded vector is the sum of m table entries.
+ * If the original vectors are kept, the candidates are re-ranked by
+ * exact distances.
+ * <p>
+ * By default, the query object (reference equality) is excluded from
+ * the neighborhood if the original vectors are kept.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li> Herve Jegou, Matthijs Douze, and Cordelia Schmid. Product Quantization for Nearest Neighbor Search. IEEE Transactions on Pattern Analysis and Machine Intelligence, 33(1):117-128, 2011.</li>
+ * </ol>
+ *
+ * @param <E> the type of data objects.
+ *
+ * @author Haifeng Li
+ */
+public class IVFPQ<E> implements KNNSearch<double[], E>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /** The number of codewords per subspace. */
+    private static final int K = 256;
+    /** The maximum number of training samples of codebooks. */
+    private static final int MAX_TRAIN = 65536;
+    /** The maximum number of k-means iterations. */
+    private static final int MAX_ITER = 25;
+
+    /** The dimension of vectors. */
+    private final int d;
+    /** The number of subspaces, i.e. the bytes per code. */
+    private final int m;
+    /** The boundaries of subspaces. */
+    private final int[] subspace;
+    /** The coarse centroids. */
+    private final double[][] centroids;
+    /** The codebooks of subspaces. {@code codebooks[j][c]} is the c-th codeword of j-th subspace. */
+    private final double[][][] codebooks;
+    /** The ids of vectors in each inverted list. */
+    private final int[][] ids;
+    /** The codes of vectors in each inverted list, m bytes per vector. */
+    private final byte[][] codes;
+    /** The number of vectors in each inverted list. */
+    private final int[] count;
+    /** The original vectors for exact re-ranking, or null. */
+    private double[][] keys;
+    /** The data objects. */
+    private Object[] data;
+    /** The number of vectors. */
+    private int size;
+    /** The number of inverted lists to probe. */
+    private volatile int nprobe;
+    /** The number of candidates per neighbor to re-rank. */
+    private volatile int rerank = 4;
+    /** The lock to serialize insertions with queries. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor. The vectors are compressed and the original vectors
+     * are not kept.
+     * @param keys the vectors.
+     * @param data the data objects.
+     * @param nlist the number of inverted lists.
+     * @param m the number of subspaces, i.e. the bytes per compressed vector.
+     */
+    public IVFPQ(double[][] keys, E[] data, int nlist, int m) {
+        this(keys, data, nlist, m, false);
+    }
+
+    /**
+     * Constructor.
+     * @param keys the vectors.
+     * @param data the data objects.
+     * @param nlist the number of inverted lists.
+     * @param m the number of subspaces, i.e. the bytes per compressed vector.
+     * @param exact if true, keep the original vectors to re-rank the candidates
+     *              by exact distances.
+     */
+    public IVFPQ(double[][] keys, E[] data, int nlist, int m, boolean exact) {
+        if (keys.length != data.length) {
+            throw new IllegalArgumentException("Different size of keys and data objects");
+        }
+
+        int n = keys.length;
+        this.d = keys[0].length;
+        if (nlist < 1 || nlist > n) {
+            throw new IllegalArgumentException("Invalid number of inverted lists: " + nlist);
+        }
+
+        if (m < 1 || m > d) {
+            throw new IllegalArgumentException("Invalid number of subspaces: " + m);
+        }
+
+        this.m = m;
+        this.subspace = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            subspace[j] = j * d / m;
+        }
+        this.nprobe = Math.max(1, nlist / 16);
+
+        double[][] sample = keys;
+        if (n > MAX_TRAIN) {
+            int[] permutation = MathEx.permutate(n);
+            sample = new double[MAX_TRAIN][];
+            for (int i = 0; i < MAX_TRAIN; i++) {
+                sample[i] = keys[permutation[i]];
+            }
+        }
+
+        centroids = Codebook.learn(sample, nlist, MAX_ITER);
+        double[][] residuals = new double[sample.length][];
+        double[][] train = sample;
+        IntStream.range(0, sample.length).parallel().forEach(i -> {
+            double[] x = train[i];
+            residuals[i] = residual(x, centroids[Codebook.quantize(centroids, x)]);
+        });
+
+        codebooks = new double[m][][];
+        IntStream.range(0, m).parallel().forEach(j -> {
+            int from = subspace[j];
+            int to = subspace[j + 1];
+            double[][] sub = new double[residuals.length][];
+            for (int i = 0; i < sub.length; i++) {
+                sub[i] = Arrays.copyOfRange(residuals[i], from, to);
+            }
+            codebooks[j] = Codebook.learn(sub, K, MAX_ITER);
+        });
+
+        ids = new int[nlist][];
+        codes = new byte[nlist][];
+        count = new int[nlist];
+        this.keys = exact ? new double[Math.max(n, 16)][] : null;
+        this.data = new Object[Math.max(n, 16)];
+
+        int[] list = new int[n];
+        byte[][] encoded = new byte[n][];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double[] x = keys[i];
+            list[i] = Codebook.quantize(centroids, x);
+            encoded[i] = encode(residual(x, centroids[list[i]]));
+        });
+
+        for (int i = 0; i < n; i++) {
+            add(list[i], encoded[i], keys[i], data[i]);
+        }
+    }
+
+    /**
+     * Returns an index of which the data objects are the keys.
+     * The original vectors are kept for exact re-ranking.
+     * @param data the data objects, which are also used as key.
+     * @param nlist the number of inverted lists.
+     * @param m the number of subspaces, i.e. the bytes per compressed vector.
+     * @return the index.
+     */
+    public static IVFPQ<double[]> of(double[][] data, int nlist, int m) {
+        return new IVFPQ<>(data, data, nlist, m, true);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IVF-PQ(nlist = %d, m = %d, nprobe = %d, exact = %b)", centroids.length, m, nprobe, keys != null);
+    }
+
+    /**
+     * Returns the number of data objects.
+     * @return the number of data objects.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes per compressed vector.
+     * @return the number of bytes per compressed vector.
+     */
+    public int codeSize() {
+        return m;
+    }
+
+    /**
+     * Returns the number of inverted lists to probe.
+     * @return the number of inverted lists to probe.
+     */
+    public int nprobe() {
+        return nprobe;
+    }
+
+    /**
+     * Sets the number of inverted lists to probe. Larger value improves
+     * the recall at the cost of latency.
+     * @param nprobe the number of inverted lists to probe.
+     */
+    public void setNprobe(int nprobe) {
+        if (nprobe < 1 || nprobe > centroids.length) {
+            throw new IllegalArgumentException("Invalid nprobe: " + nprobe);
+        }
+        this.nprobe = nprobe;
+    }
+
+    /**
+     * Sets the number of candidates per neighbor to re-rank by exact
+     * distances. It is effective only if the original vectors are kept.
+     * @param rerank the number of candidates per neighbor to re-rank.
+     */
+    public void setRerank(int rerank) {
+        if (rerank < 1) {
+            throw new IllegalArgumentException("Invalid rerank: " + rerank);
+        }
+        this.rerank = rerank;
+    }
+
+    /**
+     * Returns the residual of a vector to a centroid.
+     * @param x the vector.
+     * @param centroid the centroid.
+     * @return the residual.
+     */
+    private static double[] residual(double[] x, double[] centroid) {
+        double[] r = new double[x.length];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = x[i] - centroid[i];
+        }
+        return r;
+    }
+
+    /**
+     * Encodes a residual vector by product quantization.
+     * @param r the residual vector.
+     * @return the code.
+     */
+    private byte[] encode(double[] r) {
+        byte[] code = new byte[m];
+        for (int j = 0; j < m; j++) {
+            double[][] codebook = codebooks[j];
+            int from = subspace[j];
+            int to = subspace[j + 1];
+            int nearest = 0;
+            double min = Double.MAX_VALUE;
+            for (int c = 0; c < codebook.length; c++) {
+                double[] codeword = codebook[c];
+                double dist = 0.0;
+                for (int i = from; i < to; i++) {
+                    double diff = r[i] - codeword[i - from];
+                    dist += diff * diff;
+                }
+                if (dist < min) {
+                    min = dist;
+                    nearest = c;
+                }
+            }
+            code[j] = (byte) nearest;
+        }
+        return code;
+    }
+
+    /**
+     * Returns the approximate vector reconstructed from its code.
+     * @param list the inverted list.
+     * @param offset the offset of code in the list.
+     * @return the reconstructed vector.
+     */
+    private double[] decode(int list, int offset) {
+        double[] x = centroids[list].clone();
+        byte[] code = codes[list];
+        for (int j = 0; j < m; j++) {
+            double[] codeword = codebooks[j][code[offset + j] & 0xFF];
+            for (int i = subspace[j]; i < subspace[j + 1]; i++) {
+                x[i] += codeword[i - subspace[j]];
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Appends an encoded vector to an inverted list.
+     * @param list the inverted list.
+     * @param code the code.
+     * @param key the original vector.
+     * @param value the data object.
+     */
+    private void add(int list, byte[] code, double[] key, Object value) {
+        int id = size++;
+        if (id == data.length) {
+            data = Arrays.copyOf(data, 2 * id);
+            if (keys != null) keys = Arrays.copyOf(keys, 2 * id);
+        }
+        data[id] = value;
+        if (keys != null) keys[id] = key;
+
+        int c = count[list]++;
+        if (ids[list] == null) {
+            ids[list] = new int[16];
+            codes[list] = new byte[16 * m];
+        } else if (c == ids[list].length) {
+            ids[list] = Arrays.copyOf(ids[list], 2 * c);
+            codes[list] = Arrays.copyOf(codes[list], 2 * c * m);
+        }
+        ids[list][c] = id;
+        System.arraycopy(code, 0, codes[list], c * m, m);
+    }
+
+    /**
+     * Inserts a vector to the index with the trained quantizers.
+     * @param key the vector.
+     * @param value the data object.
+     */
+    public void put(double[] key, E value) {
+        if (key.length != d) {
+            throw new IllegalArgumentException(String.format("Invalid key dimension: %d, expected: %d", key.length, d));
+        }
+
+        int list = Codebook.quantize(centroids, key);
+        byte[] code = encode(residual(key, centroids[list]));
+        lock.writeLock().lock();
+        try {
+            add(list, code, key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Neighbor<double[], E>[] search(double[] q, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (k > size) {
+                throw new IllegalArgumentException("Neighbor array length is larger than the dataset size");
+            }
+
+            // The nearest coarse centroids.
+            int nlist = centroids.length;
+            double[] dist = new double[nlist];
+            int[] order = new int[nlist];
+            for (int i = 0; i < nlist; i++) {
+                dist[i] = MathEx.squaredDistance(q, centroids[i]);
+                order[i] = i;
+            }
+            QuickSort.sort(dist, order);
+
+            // The candidates are identified by the global slot,
+            // i.e. the offset of list plus the position in list.
+            int[] start = new int[nlist + 1];
+            for (int i = 0; i < nlist; i++) {
+                start[i + 1] = start[i] + count[i];
+            }
+
+            // One more candidate in case that the query is in the index.
+            int candidates = (keys == null ? k : k * rerank) + 1;
+            KNNHeap heap = new KNNHeap(candidates);
+            double[] table = new double[m * K];
+            for (int p = 0; p < nprobe; p++) {
+                int list = order[p];
+                int n = count[list];
+                if (n == 0) continue;
+
+                // ADC lookup table of the query residual.
+                double[] r = residual(q, centroids[list]);
+                for (int j = 0; j < m; j++) {
+                    double[][] codebook = codebooks[j];
+                    int from = subspace[j];
+                    int to = subspace[j + 1];
+                    for (int c = 0; c < K; c++) {
+                        double[] codeword = codebook[c];
+                        double sum = 0.0;
+                        for (int i = from; i < to; i++) {
+                            double diff = r[i] - codeword[i - from];
+                            sum += diff * diff;
+                        }
+                        table[j * K + c] = sum;
+                    }
+                }
+
+                byte[] code = codes[list];
+                for (int i = 0, offset = 0; i < n; i++) {
+                    double sum = 0.0;
+                    for (int j = 0; j < m; j++, offset++) {
+                        sum += table[j * K + (code[offset] & 0xFF)];
+                    }
+
+                    if (sum < heap.peek()) {
+                        heap.add(start[list] + i, sum);
+                    }
+                }
+            }
+
+            int found = heap.size();
+            int[] slot = new int[candidates];
+            double[] distance = new double[candidates];
+            heap.drain(slot, distance, false);
+
+            int[] list = new int[found];
+            int[] id = new int[found];
+            for (int i = 0; i < found; i++) {
+                int l = Arrays.binarySearch(start, slot[i]);
+                // Skips empty lists of the same start.
+                if (l < 0) l = -l - 2;
+                else while (count[l] == 0) l++;
+                list[i] = l;
+                slot[i] -= start[l];
+                id[i] = ids[l][slot[i]];
+            }
+
+            if (keys != null) {
+                // Re-ranks by exact distances.
+                KNNHeap exact = new KNNHeap(k);
+                for (int i = 0; i < found; i++) {
+                    double[] key = keys[id[i]];
+                    if (key != q) {
+                        exact.add(id[i], MathEx.squaredDistance(q, key));
+                    }
+                }
+
+                found = exact.size();
+                id = new int[k];
+                exact.drain(id, distance, false);
+            }
+
+            Neighbor<double[], E>[] neighbors = new Neighbor[Math.min(k, found)];
+            for (int i = 0; i < neighbors.length; i++) {
+                double[] key = keys != null ? keys[id[i]] : decode(list[i], slot[i] * m);
+                neighbors[i] = new Neighbor<>(key, (E) data[id[i]], id[i], Math.sqrt(distance[i]));
+            }
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -19,6 +19,7 @@ package smile.neighbor;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import smile.math.MathEx;
 import smile.sort.HeapSelect;
@@ -265,7 +266,7 @@ public class KDTree <E> implements KNNSearch<double[], E>, RNNSearch<double[], E
         for (int i = 0; i < d; i++) {
             double diff = q[i] - p[i];
             sum += diff * diff;
-            if (sum >= limit) return sum;   // early exit
+            if (sum > limit) return sum;    // early exit
         }
         return sum;
     }
@@ -354,6 +355,44 @@ public class KDTree <E> implements KNNSearch<double[], E>, RNNSearch<double[], E
         }
     }
 
+    /**
+     * kNN search of batch queries with a reusable heap of squared distances.
+     *
+     * @param q    the query key.
+     * @param node the root of subtree.
+     * @param heap the max-heap of k current best neighbors (distance = squared).
+     */
+    private void search(double[] q, Node node, KNNHeap heap) {
+        if (node.isLeaf()) {
+            for (int idx = node.index; idx < node.index + node.count; idx++) {
+                int i = index[idx];
+                if (q != keys[i]) {
+                    double limit = heap.peek();
+                    double sd = squaredDistanceEarlyExit(q, keys[i], limit);
+                    if (sd < limit) {
+                        heap.add(i, sd);
+                    }
+                }
+            }
+        } else {
+            Node nearer, further;
+            double diff = q[node.split] - node.cutoff;
+            if (diff < 0) {
+                nearer = node.lower;
+                further = node.upper;
+            } else {
+                nearer = node.upper;
+                further = node.lower;
+            }
+
+            search(q, nearer, heap);
+
+            if (heap.peek() >= diff * diff) {
+                search(q, further, heap);
+            }
+        }
+    }
+
     /**
      * Range search – radius is the true Euclidean radius; internally we compare
      * against {@code radius²} to avoid computing sqrt for every candidate.
@@ -442,6 +481,39 @@ public class KDTree <E> implements KNNSearch<double[], E>, RNNSearch<double[], E
         return result;
     }
 
+    /**
+     * Retrieves the k nearest neighbors of a batch of queries in parallel.
+     * The queries are split into chunks, each of which reuses a heap so
+     * that no neighbor objects are created.
+     *
+     * @param queries the query keys.
+     * @param k the number of nearest neighbors to search for.
+     * @return the k nearest neighbors of queries.
+     */
+    @Override
+    public Result search(double[][] queries, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+
+        if (k > keys.length) {
+            throw new IllegalArgumentException("Neighbor array length is larger than the dataset size");
+        }
+
+        int n = queries.length;
+        int[][] neighbors = new int[n][k];
+        double[][] distances = new double[n][k];
+        int[] chunks = KNNSearch.chunks(n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(chunk -> {
+            KNNHeap heap = new KNNHeap(k);
+            for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+                search(queries[i], root, heap);
+                heap.drain(neighbors[i], distances[i], true);
+            }
+        });
+        return new Result(neighbors, distances);
+    }
+
     @Override
     public void search(double[] q, double radius, List<Neighbor<double[], E>> neighbors) {
         if (radius <= 0.0) {
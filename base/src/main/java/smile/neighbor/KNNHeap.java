@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import java.util.Arrays;
+
+/**
+ * The bounded max-heap of k nearest neighbors by index and distance.
+ * The root is the farthest of current neighbors, which is the bound
+ * of pruning. The heap is reset and reused between the queries of
+ * a batch search so that no objects are created per query.
+ *
+ * @author Haifeng Li
+ */
+final class KNNHeap {
+    /** The number of neighbors. */
+    private final int k;
+    /** The index of neighbors. */
+    private final int[] index;
+    /** The distance of neighbors. */
+    private final double[] distance;
+    /** The number of neighbors in the heap. */
+    private int size;
+
+    /**
+     * Constructor.
+     * @param k the number of neighbors.
+     */
+    KNNHeap(int k) {
+        this.k = k;
+        this.index = new int[k];
+        this.distance = new double[k];
+    }
+
+    /**
+     * Removes all neighbors.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of neighbors in the heap.
+     * @return the number of neighbors in the heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the distance of the k-th nearest neighbor, or infinity
+     * if there are fewer than k neighbors.
+     * @return the distance bound of neighbors.
+     */
+    double peek() {
+        return size < k ? Double.POSITIVE_INFINITY : distance[0];
+    }
+
+    /**
+     * Adds a neighbor if it is nearer than the k-th nearest neighbor.
+     * @param i the index of neighbor.
+     * @param d the distance of neighbor.
+     */
+    void add(int i, double d) {
+        if (size < k) {
+            int child = size++;
+            while (child > 0) {
+                int parent = (child - 1) / 2;
+                if (distance[parent] >= d) break;
+                index[child] = index[parent];
+                distance[child] = distance[parent];
+                child = parent;
+            }
+            index[child] = i;
+            distance[child] = d;
+        } else if (d < distance[0]) {
+            siftDown(i, d, k);
+        }
+    }
+
+    /**
+     * Places an element at the root and sifts it down.
+     * @param i the index of neighbor.
+     * @param d the distance of neighbor.
+     * @param n the size of heap.
+     */
+    private void siftDown(int i, double d, int n) {
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= n) break;
+            if (child + 1 < n && distance[child + 1] > distance[child]) child++;
+            if (distance[child] <= d) break;
+            index[parent] = index[child];
+            distance[parent] = distance[child];
+            parent = child;
+        }
+        index[parent] = i;
+        distance[parent] = d;
+    }
+
+    /**
+     * Copies the neighbors in ascending order of distance. The heap
+     * is emptied. If there are fewer than k neighbors, the remaining
+     * slots are filled with index -1 and infinite distance.
+     * @param neighbors the output index of neighbors.
+     * @param distances the output distance of neighbors.
+     * @param sqrt if true, the distances are squared distances and
+     *             converted to the distances.
+     */
+    void drain(int[] neighbors, double[] distances, boolean sqrt) {
+        Arrays.fill(neighbors, size, k, -1);
+        Arrays.fill(distances, size, k, Double.POSITIVE_INFINITY);
+        // Pops the farthest to the end.
+        for (int n = size; n > 0; n--) {
+            neighbors[n - 1] = index[0];
+            distances[n - 1] = sqrt ? Math.sqrt(distance[0]) : distance[0];
+            if (n > 1) siftDown(index[n - 1], distance[n - 1], n - 1);
+        }
+        size = 0;
+    }
+}
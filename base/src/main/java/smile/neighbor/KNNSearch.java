@@ -16,6 +16,10 @@
  */
 package smile.neighbor;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
 /**
  * Retrieves the top k nearest neighbors to the query. This technique is
  * commonly used in predictive analytics to estimate or classify a point
@@ -51,4 +55,59 @@ public interface KNNSearch<K, V> {
      * @return the k nearest neighbors
      */
     Neighbor<K, V>[] search(K q, int k);
+
+    /**
+     * The k nearest neighbors of a batch of queries in packed arrays.
+     * The neighbors of each query are sorted by ascending distance.
+     * If a query has fewer than k neighbors, the remaining slots are
+     * filled with index -1 and infinite distance.
+     *
+     * @param index the index of neighbors in the dataset. {@code index[i][j]}
+     *              is the j-th nearest neighbor of i-th query.
+     * @param distance the distance of neighbors.
+     */
+    record Result(int[][] index, double[][] distance) {
+
+    }
+
+    /**
+     * Retrieves the k nearest neighbors of a batch of queries in parallel.
+     * As {@link #search(Object, int)}, the query object (reference equality)
+     * is excluded from its neighbors.
+     *
+     * @param queries the query keys.
+     * @param k the number of nearest neighbors to search for.
+     * @return the k nearest neighbors of queries.
+     */
+    default Result search(K[] queries, int k) {
+        int n = queries.length;
+        int[][] index = new int[n][k];
+        double[][] distance = new double[n][k];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Neighbor<K, V>[] neighbors = search(queries[i], k);
+            Arrays.sort(neighbors);
+            Arrays.fill(index[i], -1);
+            Arrays.fill(distance[i], Double.POSITIVE_INFINITY);
+            for (int j = 0; j < Math.min(k, neighbors.length); j++) {
+                index[i][j] = neighbors[j].index();
+                distance[i][j] = neighbors[j].distance();
+            }
+        });
+        return new Result(index, distance);
+    }
+
+    /**
+     * Returns the boundaries of query chunks for the batch search. Each
+     * chunk is processed by a task with its own reusable workspace.
+     * @param n the number of queries.
+     * @return the boundaries of chunks.
+     */
+    static int[] chunks(int n) {
+        int k = Math.max(1, Math.min(n / 16, 8 * ForkJoinPool.getCommonPoolParallelism()));
+        int[] chunks = new int[k + 1];
+        for (int i = 1; i <= k; i++) {
+            chunks[i] = (int) ((long) n * i / k);
+        }
+        return chunks;
+    }
 }
@@ -21,10 +21,14 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
+import smile.linalg.Transpose;
 import smile.math.MathEx;
 import smile.math.distance.Distance;
+import smile.math.distance.EuclideanDistance;
 import smile.sort.HeapSelect;
+import smile.tensor.DenseMatrix;
 
 /**
  * Brute force linear nearest neighbor search. This simplest solution computes
@@ -55,6 +59,11 @@ import smile.sort.HeapSelect;
 public class LinearSearch<K, V> implements KNNSearch<K, V>, RNNSearch<K, V>, Serializable {
     @Serial
     private static final long serialVersionUID = 2L;
+    /**
+     * The block size of queries and data in the batch search
+     * with Euclidean distance.
+     */
+    private static final int BLOCK_SIZE = 256;
 
     /**
      * The object keys.
@@ -206,6 +215,189 @@ public class LinearSearch<K, V> implements KNNSearch<K, V>, RNNSearch<K, V>, Ser
         return Arrays.stream(heap.toArray()).map(NeighborBuilder::toNeighbor).toArray(Neighbor[]::new);
     }
 
+    /**
+     * Retrieves the k nearest neighbors of a batch of queries in parallel.
+     * For the standard Euclidean distance on double arrays, the squared
+     * distances are computed by blocks as
+     * {@code ||q||<sup>2</sup> + ||x||<sup>2</sup> - 2 q'x}, where the
+     * inner products of a block of queries and a block of data are one
+     * matrix multiplication. For other distance functions, the queries
+     * are split into chunks, each of which reuses a heap.
+     *
+     * @param queries the query keys.
+     * @param k the number of nearest neighbors to search for.
+     * @return the k nearest neighbors of queries.
+     */
+    @Override
+    public Result search(K[] queries, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+
+        if (k > data.size()) {
+            throw new IllegalArgumentException("Neighbor array length is larger than the data size");
+        }
+
+        if (distance instanceof EuclideanDistance euclidean && euclidean.weight() == null
+                && queries instanceof double[][] q && keys.get(0) instanceof double[]) {
+            return search(euclidean, q, k);
+        }
+
+        int n = queries.length;
+        int[][] neighbors = new int[n][k];
+        double[][] distances = new double[n][k];
+        int size = keys.size();
+        int[] chunks = KNNSearch.chunks(n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(chunk -> {
+            KNNHeap heap = new KNNHeap(k);
+            for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+                K q = queries[i];
+                for (int j = 0; j < size; j++) {
+                    K x = keys.get(j);
+                    if (q != x) {
+                        double d = distance.d(x, q);
+                        if (d < heap.peek()) {
+                            heap.add(j, d);
+                        }
+                    }
+                }
+                heap.drain(neighbors[i], distances[i], false);
+            }
+        });
+        return new Result(neighbors, distances);
+    }
+
+    /**
+     * The batch search with the standard Euclidean distance by blocked
+     * matrix multiplications. The squared distances |q|^2 + |x|^2 - 2 q'x
+     * are computed on the data centered by the mean of keys, which reduces
+     * the cancellation error when the data are far from the origin. They
+     * are only used to select the candidates. The distances of the k
+     * nearest neighbors are then recomputed exactly by the distance function.
+     * @param distance the Euclidean distance.
+     * @param queries the query vectors.
+     * @param k the number of nearest neighbors to search for.
+     * @return the k nearest neighbors of queries.
+     */
+    private Result search(EuclideanDistance distance, double[][] queries, int k) {
+        int n = queries.length;
+        int size = keys.size();
+        double[][] x = new double[size][];
+        for (int j = 0; j < size; j++) {
+            x[j] = (double[]) keys.get(j);
+        }
+
+        // The column means, skipping missing values.
+        int p = x[0].length;
+        double[] mu = new double[p];
+        int[] count = new int[p];
+        for (double[] xj : x) {
+            for (int l = 0; l < p; l++) {
+                if (!Double.isNaN(xj[l])) {
+                    mu[l] += xj[l];
+                    count[l]++;
+                }
+            }
+        }
+        for (int l = 0; l < p; l++) {
+            if (count[l] > 0) mu[l] /= count[l];
+        }
+
+        double[] xx = new double[size];
+        DenseMatrix[] blocks = new DenseMatrix[(size + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        IntStream.range(0, blocks.length).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            double[][] block = new double[to - from][];
+            for (int j = from; j < to; j++) {
+                block[j - from] = center(x[j], mu);
+                xx[j] = MathEx.dot(block[j - from], block[j - from]);
+            }
+            blocks[b] = DenseMatrix.of(block);
+        });
+
+        int[][] neighbors = new int[n][k];
+        double[][] distances = new double[n][k];
+        IntStream.range(0, (n + BLOCK_SIZE - 1) / BLOCK_SIZE).parallel().forEach(chunk -> {
+            int from = chunk * BLOCK_SIZE;
+            int to = Math.min(n, from + BLOCK_SIZE);
+            int m = to - from;
+            double[][] query = new double[m][];
+            double[] qq = new double[m];
+            KNNHeap[] heaps = new KNNHeap[m];
+            for (int i = 0; i < m; i++) {
+                query[i] = center(queries[from + i], mu);
+                qq[i] = MathEx.dot(query[i], query[i]);
+                heaps[i] = new KNNHeap(k);
+            }
+            DenseMatrix Q = DenseMatrix.of(query);
+
+            DenseMatrix G = null;
+            for (int b = 0; b < blocks.length; b++) {
+                DenseMatrix X = blocks[b];
+                int nb = X.nrow();
+                if (G == null || G.ncol() != nb) {
+                    G = DenseMatrix.zeros(Q.scalarType(), m, nb);
+                }
+                DenseMatrix.mm(-2.0, Transpose.NO_TRANSPOSE, Q, Transpose.TRANSPOSE, X, 0.0, G);
+
+                int offset = b * BLOCK_SIZE;
+                for (int j = 0; j < nb; j++) {
+                    double[] xj = x[offset + j];
+                    for (int i = 0; i < m; i++) {
+                        double[] q = queries[from + i];
+                        if (q == xj) continue;
+                        double d = qq[i] + xx[offset + j] + G.get(i, j);
+                        if (Double.isNaN(d)) {
+                            // Missing values are handled by the distance function.
+                            d = distance.d(q, xj);
+                            d *= d;
+                        }
+                        // Rounding errors may result in tiny negative values.
+                        heaps[i].add(offset + j, Math.max(d, 0.0));
+                    }
+                }
+            }
+
+            for (int i = 0; i < m; i++) {
+                int[] neighbor = neighbors[from + i];
+                double[] dist = distances[from + i];
+                heaps[i].drain(neighbor, dist, false);
+                double[] q = queries[from + i];
+                for (int j = 0; j < k && neighbor[j] >= 0; j++) {
+                    dist[j] = distance.d(q, x[neighbor[j]]);
+                }
+                // The exact distances may swap nearly tied neighbors.
+                for (int j = 1; j < k && neighbor[j] >= 0; j++) {
+                    int index = neighbor[j];
+                    double d = dist[j];
+                    int l = j - 1;
+                    for (; l >= 0 && dist[l] > d; l--) {
+                        neighbor[l + 1] = neighbor[l];
+                        dist[l + 1] = dist[l];
+                    }
+                    neighbor[l + 1] = index;
+                    dist[l + 1] = d;
+                }
+            }
+        });
+        return new Result(neighbors, distances);
+    }
+
+    /**
+     * Returns the vector minus the mean.
+     * @param x the vector.
+     * @param mu the mean vector.
+     * @return the centered vector.
+     */
+    private static double[] center(double[] x, double[] mu) {
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = x[i] - mu[i];
+        }
+        return y;
+    }
+
     @Override
     public void search(K q, double radius, List<Neighbor<K, V>> neighbors) {
         if (radius <= 0.0) {
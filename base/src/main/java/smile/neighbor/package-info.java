@@ -53,6 +53,14 @@
  * The cover tree has a theoretical bound that is based on the dataset's
  * doubling constant. The bound on search time is O(c12 log n) where c is
  * the expansion constant of the dataset.
+ * <p>
+ * Proximity graphs such as hierarchical navigable small world graphs (HNSW)
+ * link each point to its nearby points and answer queries by greedy
+ * traversal of the graph, which achieves high recall at low latency
+ * on high dimensional data. For very large datasets, product quantization
+ * compresses vectors to a few bytes each and estimates distances by table
+ * lookups, which is combined with an inverted file of coarse clusters to
+ * search only the few clusters nearest to the query.
  * 
  * @author Haifeng Li
  */
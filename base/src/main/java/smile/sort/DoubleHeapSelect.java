@@ -73,6 +73,14 @@ public class DoubleHeapSelect {
         }
     }
 
+    /**
+     * Removes all values so that the heap can be reused.
+     */
+    public void clear() {
+        n = 0;
+        sorted = false;
+    }
+
     /**
      * Returns the number of objects that have been added into heap.
      * @return the number of objects that have been added into heap.
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.lang.foreign.MemorySegment;
+import smile.linalg.*;
+
+/**
+ * The service provider interface of basic linear algebra subprograms.
+ * The dense vectors and matrices dispatch the level-1, level-2 and
+ * level-3 BLAS routines that they use through this interface so that
+ * the implementation can be selected at runtime. The methods follow
+ * CBLAS conventions, e.g. the leading dimensions and increments are
+ * in elements, and {@code i?amax} returns the 0-based index.
+ * <p>
+ * Two providers are built in:
+ * <ul>
+ * <li>{@code native} calls OpenBLAS, MKL or Accelerate through the
+ *     foreign function interface. It is the default when the native
+ *     library is available.</li>
+ * <li>{@code java} is a pure Java implementation with the SIMD
+ *     instructions of Vector API. It requires the JVM option
+ *     {@code --add-modules jdk.incubator.vector} and is the fallback
+ *     when the native library is not available.</li>
+ * </ul>
+ * Other providers may be registered with {@link java.util.ServiceLoader}.
+ * The default provider is chosen by the system property
+ * {@code smile.blas}, e.g. {@code -Dsmile.blas=java}, or changed
+ * at runtime with {@link #setInstance(BLAS)}.
+ * <p>
+ * Note that LAPACK routines always call the native library.
+ *
+ * @author Haifeng Li
+ */
+public interface BLAS {
+    /**
+     * Returns the name of provider.
+     * @return the name of provider.
+     */
+    String name();
+
+    /**
+     * Returns the BLAS provider in use.
+     * @return the BLAS provider in use.
+     */
+    static BLAS getInstance() {
+        return BLASProvider.get();
+    }
+
+    /**
+     * Sets the BLAS provider in use.
+     * @param blas the BLAS provider.
+     */
+    static void setInstance(BLAS blas) {
+        BLASProvider.set(blas);
+    }
+
+    /**
+     * Returns the BLAS provider of given name.
+     * @param name the name of provider, e.g. {@code native} or {@code java}.
+     * @return the BLAS provider.
+     */
+    static BLAS of(String name) {
+        return BLASProvider.of(name);
+    }
+
+    /**
+     * Computes the sum of absolute values of vector elements.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the sum of absolute values.
+     */
+    double dasum(int n, MemorySegment x, int incx);
+
+    /**
+     * Computes the sum of absolute values of vector elements.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the sum of absolute values.
+     */
+    float sasum(int n, MemorySegment x, int incx);
+
+    /**
+     * Computes {@code y = alpha * x + y}.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void daxpy(int n, double alpha, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Computes {@code y = alpha * x + y}.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void saxpy(int n, float alpha, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Computes the dot product of two vectors.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     * @return the dot product.
+     */
+    double ddot(int n, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Computes the dot product of two vectors.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     * @return the dot product.
+     */
+    float sdot(int n, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Computes the Euclidean norm of a vector.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the Euclidean norm.
+     */
+    double dnrm2(int n, MemorySegment x, int incx);
+
+    /**
+     * Computes the Euclidean norm of a vector.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the Euclidean norm.
+     */
+    float snrm2(int n, MemorySegment x, int incx);
+
+    /**
+     * Computes {@code x = alpha * x}.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     */
+    void dscal(int n, double alpha, MemorySegment x, int incx);
+
+    /**
+     * Computes {@code x = alpha * x}.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     */
+    void sscal(int n, float alpha, MemorySegment x, int incx);
+
+    /**
+     * Swaps two vectors.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void dswap(int n, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Swaps two vectors.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void sswap(int n, MemorySegment x, int incx, MemorySegment y, int incy);
+
+    /**
+     * Returns the index of the first element with maximum absolute value.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the 0-based index of maximum absolute value.
+     */
+    int idamax(int n, MemorySegment x, int incx);
+
+    /**
+     * Returns the index of the first element with maximum absolute value.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the 0-based index of maximum absolute value.
+     */
+    int isamax(int n, MemorySegment x, int incx);
+
+    /**
+     * Computes {@code y = alpha * op(A) * x + beta * y}.
+     * @param layout the matrix layout.
+     * @param trans normal or transpose operation on the matrix.
+     * @param m the number of rows of A.
+     * @param n the number of columns of A.
+     * @param alpha the scalar alpha.
+     * @param A the matrix.
+     * @param lda the leading dimension of A.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param beta the scalar beta. When beta is 0, y need not be set on input.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void dgemv(Order layout, Transpose trans, int m, int n, double alpha, MemorySegment A, int lda,
+               MemorySegment x, int incx, double beta, MemorySegment y, int incy);
+
+    /**
+     * Computes {@code y = alpha * op(A) * x + beta * y}.
+     * @param layout the matrix layout.
+     * @param trans normal or transpose operation on the matrix.
+     * @param m the number of rows of A.
+     * @param n the number of columns of A.
+     * @param alpha the scalar alpha.
+     * @param A the matrix.
+     * @param lda the leading dimension of A.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param beta the scalar beta. When beta is 0, y need not be set on input.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void sgemv(Order layout, Transpose trans, int m, int n, float alpha, MemorySegment A, int lda,
+               MemorySegment x, int incx, float beta, MemorySegment y, int incy);
+
+    /**
+     * Computes {@code y = alpha * A * x + beta * y} with a symmetric matrix.
+     * @param layout the matrix layout.
+     * @param uplo the triangular part of A that is referenced.
+     * @param n the order of A.
+     * @param alpha the scalar alpha.
+     * @param A the symmetric matrix.
+     * @param lda the leading dimension of A.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param beta the scalar beta. When beta is 0, y need not be set on input.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void dsymv(Order layout, UPLO uplo, int n, double alpha, MemorySegment A, int lda,
+               MemorySegment x, int incx, double beta, MemorySegment y, int incy);
+
+    /**
+     * Computes {@code y = alpha * A * x + beta * y} with a symmetric matrix.
+     * @param layout the matrix layout.
+     * @param uplo the triangular part of A that is referenced.
+     * @param n the order of A.
+     * @param alpha the scalar alpha.
+     * @param A the symmetric matrix.
+     * @param lda the leading dimension of A.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param beta the scalar beta. When beta is 0, y need not be set on input.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     */
+    void ssymv(Order layout, UPLO uplo, int n, float alpha, MemorySegment A, int lda,
+               MemorySegment x, int incx, float beta, MemorySegment y, int incy);
+
+    /**
+     * Computes {@code x = op(A) * x} with a triangular matrix.
+     * @param layout the matrix layout.
+     * @param uplo the triangular part of A that is referenced.
+     * @param trans normal or transpose operation on the matrix.
+     * @param diag unit or non-unit triangular matrix.
+     * @param n the order of A.
+     * @param A the triangular matrix.
+     * @param lda the leading dimension of A.
+     * @param x the input and output vector.
+     * @param incx the increment of x elements.
+     */
+    void dtrmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+               MemorySegment x, int incx);
+
+    /**
+     * Computes {@code x = op(A) * x} with a triangular matrix.
+     * @param layout the matrix layout.
+     * @param uplo the triangular part of A that is referenced.
+     * @param trans normal or transpose operation on the matrix.
+     * @param diag unit or non-unit triangular matrix.
+     * @param n the order of A.
+     * @param A the triangular matrix.
+     * @param lda the leading dimension of A.
+     * @param x the input and output vector.
+     * @param incx the increment of x elements.
+     */
+    void strmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+               MemorySegment x, int incx);
+
+    /**
+     * Computes the rank-1 update {@code A = alpha * x * y' + A}.
+     * @param layout the matrix layout.
+     * @param m the number of rows of A.
+     * @param n the number of columns of A.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     * @param A the matrix.
+     * @param lda the leading dimension of A.
+     */
+    void dger(Order layout, int m, int n, double alpha, MemorySegment x, int incx,
+              MemorySegment y, int incy, MemorySegment A, int lda);
+
+    /**
+     * Computes the rank-1 update {@code A = alpha * x * y' + A}.
+     * @param layout the matrix layout.
+     * @param m the number of rows of A.
+     * @param n the number of columns of A.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param incx the increment of x elements.
+     * @param y the vector y.
+     * @param incy the increment of y elements.
+     * @param A the matrix.
+     * @param lda the leading dimension of A.
+     */
+    void sger(Order layout, int m, int n, float alpha, MemorySegment x, int incx,
+              MemorySegment y, int incy, MemorySegment A, int lda);
+
+    /**
+     * Computes {@code C = alpha * op(A) * op(B) + beta * C}.
+     * @param layout the matrix layout.
+     * @param transA normal or transpose operation on A.
+     * @param transB normal or transpose operation on B.
+     * @param m the number of rows of op(A) and C.
+     * @param n the number of columns of op(B) and C.
+     * @param k the number of columns of op(A) and rows of op(B).
+     * @param alpha the scalar alpha.
+     * @param A the matrix A.
+     * @param lda the leading dimension of A.
+     * @param B the matrix B.
+     * @param ldb the leading dimension of B.
+     * @param beta the scalar beta. When beta is 0, C need not be set on input.
+     * @param C the matrix C.
+     * @param ldc the leading dimension of C.
+     */
+    void dgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+               double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+               double beta, MemorySegment C, int ldc);
+
+    /**
+     * Computes {@code C = alpha * op(A) * op(B) + beta * C}.
+     * @param layout the matrix layout.
+     * @param transA normal or transpose operation on A.
+     * @param transB normal or transpose operation on B.
+     * @param m the number of rows of op(A) and C.
+     * @param n the number of columns of op(B) and C.
+     * @param k the number of columns of op(A) and rows of op(B).
+     * @param alpha the scalar alpha.
+     * @param A the matrix A.
+     * @param lda the leading dimension of A.
+     * @param B the matrix B.
+     * @param ldb the leading dimension of B.
+     * @param beta the scalar beta. When beta is 0, C need not be set on input.
+     * @param C the matrix C.
+     * @param ldc the leading dimension of C.
+     */
+    void sgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+               float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+               float beta, MemorySegment C, int ldc);
+
+    /**
+     * Computes {@code C = alpha * A * B + beta * C} or
+     * {@code C = alpha * B * A + beta * C} with a symmetric matrix A.
+     * @param layout the matrix layout.
+     * @param side A on the left or right side of the product.
+     * @param uplo the triangular part of A that is referenced.
+     * @param m the number of rows of C.
+     * @param n the number of columns of C.
+     * @param alpha the scalar alpha.
+     * @param A the symmetric matrix.
+     * @param lda the leading dimension of A.
+     * @param B the matrix B.
+     * @param ldb the leading dimension of B.
+     * @param beta the scalar beta. When beta is 0, C need not be set on input.
+     * @param C the matrix C.
+     * @param ldc the leading dimension of C.
+     */
+    void dsymm(Order layout, Side side, UPLO uplo, int m, int n,
+               double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+               double beta, MemorySegment C, int ldc);
+
+    /**
+     * Computes {@code C = alpha * A * B + beta * C} or
+     * {@code C = alpha * B * A + beta * C} with a symmetric matrix A.
+     * @param layout the matrix layout.
+     * @param side A on the left or right side of the product.
+     * @param uplo the triangular part of A that is referenced.
+     * @param m the number of rows of C.
+     * @param n the number of columns of C.
+     * @param alpha the scalar alpha.
+     * @param A the symmetric matrix.
+     * @param lda the leading dimension of A.
+     * @param B the matrix B.
+     * @param ldb the leading dimension of B.
+     * @param beta the scalar beta. When beta is 0, C need not be set on input.
+     * @param C the matrix C.
+     * @param ldc the leading dimension of C.
+     */
+    void ssymm(Order layout, Side side, UPLO uplo, int m, int n,
+               float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+               float beta, MemorySegment C, int ldc);
+}
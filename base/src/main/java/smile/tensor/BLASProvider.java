@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.util.ServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of BLAS providers.
+ *
+ * @author Haifeng Li
+ */
+final class BLASProvider {
+    private static final Logger logger = LoggerFactory.getLogger(BLASProvider.class);
+
+    /** The BLAS provider in use. */
+    private static volatile BLAS instance;
+
+    /** Private constructor to prevent object creation. */
+    private BLASProvider() {
+
+    }
+
+    /**
+     * Returns the BLAS provider in use. On the first call, the provider
+     * is chosen by the system property {@code smile.blas}. If the
+     * property is not set, the native provider is used if available.
+     * Otherwise, it falls back to the Java provider.
+     * @return the BLAS provider in use.
+     */
+    static BLAS get() {
+        BLAS blas = instance;
+        if (blas == null) {
+            synchronized (BLASProvider.class) {
+                blas = instance;
+                if (blas == null) {
+                    String name = System.getProperty("smile.blas");
+                    if (name != null) {
+                        blas = of(name);
+                    } else if (NativeBLAS.isAvailable()) {
+                        blas = NativeBLAS.INSTANCE;
+                    } else {
+                        logger.warn("Native BLAS library is not available. Fall back to Java BLAS.");
+                        blas = of("java");
+                    }
+                    instance = blas;
+                }
+            }
+        }
+        return blas;
+    }
+
+    /**
+     * Sets the BLAS provider in use.
+     * @param blas the BLAS provider.
+     */
+    static void set(BLAS blas) {
+        if (blas == null) {
+            throw new IllegalArgumentException("BLAS provider is null");
+        }
+        logger.info("Use BLAS provider: {}", blas.name());
+        instance = blas;
+    }
+
+    /**
+     * Returns the BLAS provider of given name.
+     * @param name the name of provider.
+     * @return the BLAS provider.
+     */
+    static BLAS of(String name) {
+        switch (name) {
+            case "native" -> {
+                if (!NativeBLAS.isAvailable()) {
+                    throw new UnsupportedOperationException("Native BLAS library is not available");
+                }
+                return NativeBLAS.INSTANCE;
+            }
+            case "java" -> {
+                if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                    throw new UnsupportedOperationException("Java BLAS requires the JVM option --add-modules jdk.incubator.vector");
+                }
+                return JavaBLAS.INSTANCE;
+            }
+            default -> {
+                for (BLAS blas : ServiceLoader.load(BLAS.class)) {
+                    if (blas.name().equals(name)) {
+                        return blas;
+                    }
+                }
+                throw new IllegalArgumentException("Unknown BLAS provider: " + name);
+            }
+        }
+    }
+}
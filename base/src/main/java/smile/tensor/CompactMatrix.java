@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import smile.linalg.Transpose;
+import static smile.linalg.Transpose.*;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * A column major matrix in low precision storage. The elements are
+ * stored in half precision ({@code Float16} or {@code BFloat16}) or
+ * as 8-bit integers with a scale factor per column ({@code QInt8}),
+ * which takes 1/4 or 1/8 of the memory of double precision. The
+ * elements are converted to double on the fly in the hot loops of
+ * matrix-vector multiplication, matrix multiplication and distance
+ * computation, which are bound by the memory bandwidth. It suits
+ * read-mostly data such as the model weights, projections and
+ * embedding tables.
+ * <p>
+ * The element-wise updates are supported but lose precision. The
+ * update of int8 matrix re-quantizes the column if the new value
+ * is out of the range of current scale.
+ *
+ * @author Haifeng Li
+ */
+public abstract class CompactMatrix implements Matrix, Serializable {
+    /** The number of columns to convert to double at once in mm. */
+    private static final int PANEL = 64;
+    /** The number of elements to process in parallel. */
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * The number of rows.
+     */
+    final int m;
+    /**
+     * The number of columns.
+     */
+    final int n;
+
+    /**
+     * Constructor.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     */
+    CompactMatrix(int m, int n) {
+        if (m <= 0 || n <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid matrix size: %d x %d", m, n));
+        }
+        this.m = m;
+        this.n = n;
+    }
+
+    /**
+     * Returns the low precision copy of a matrix.
+     * @param A the matrix.
+     * @param scalarType the scalar type of storage, which is
+     *                   {@code Float16}, {@code BFloat16} or {@code QInt8}.
+     * @return the low precision copy.
+     */
+    public static CompactMatrix of(Matrix A, ScalarType scalarType) {
+        return switch (scalarType) {
+            case Float16, BFloat16 -> HalfMatrix.of(A, scalarType);
+            case QInt8 -> QuantizedMatrix.of(A);
+            default -> throw new IllegalArgumentException("Unsupported scalar type: " + scalarType);
+        };
+    }
+
+    @Override
+    public int nrow() {
+        return m;
+    }
+
+    @Override
+    public int ncol() {
+        return n;
+    }
+
+    @Override
+    public void add(int i, int j, double x) {
+        set(i, j, get(i, j) + x);
+    }
+
+    @Override
+    public void sub(int i, int j, double x) {
+        set(i, j, get(i, j) - x);
+    }
+
+    @Override
+    public void mul(int i, int j, double x) {
+        set(i, j, get(i, j) * x);
+    }
+
+    @Override
+    public void div(int i, int j, double x) {
+        set(i, j, get(i, j) / x);
+    }
+
+    @Override
+    public CompactMatrix transpose() {
+        return of(toDense().transpose(), scalarType());
+    }
+
+    /**
+     * Converts a column to double precision.
+     * @param j the column index.
+     * @param column the output array of length {@code nrow()}.
+     */
+    public abstract void column(int j, double[] column);
+
+    /**
+     * Computes the dot product of a column and a vector.
+     * @param j the column index.
+     * @param x the vector of length {@code nrow()}.
+     * @return the dot product.
+     */
+    public abstract double dot(int j, double[] x);
+
+    /**
+     * Computes the squared Euclidean distance between a column and a vector.
+     * @param j the column index.
+     * @param x the vector of length {@code nrow()}.
+     * @return the squared distance.
+     */
+    public abstract double squaredDistance(int j, double[] x);
+
+    /**
+     * Computes {@code y[from:to] += alpha * A[from:to, j]}.
+     * @param j the column index.
+     * @param alpha the scalar alpha.
+     * @param y the output vector.
+     * @param from the inclusive index of first row.
+     * @param to the exclusive index of last row.
+     */
+    abstract void axpy(int j, double alpha, double[] y, int from, int to);
+
+    /**
+     * Returns the double precision copy of matrix.
+     * @return the double precision copy.
+     */
+    public DenseMatrix toDense() {
+        DenseMatrix A = DenseMatrix.zeros(Float64, m, n);
+        double[] column = new double[m];
+        for (int j = 0; j < n; j++) {
+            column(j, column);
+            for (int i = 0; i < m; i++) {
+                A.set(i, j, column[i]);
+            }
+        }
+        return A;
+    }
+
+    @Override
+    public void mv(Transpose trans, double alpha, Vector x, double beta, Vector y) {
+        int k = trans == NO_TRANSPOSE ? n : m;
+        int l = trans == NO_TRANSPOSE ? m : n;
+        if (x.size() != k) {
+            throw new IllegalArgumentException(String.format("Incompatible x vector size: %d != %d", k, x.size()));
+        }
+
+        if (y.size() != l) {
+            throw new IllegalArgumentException(String.format("Incompatible y vector size: %d != %d", l, y.size()));
+        }
+
+        double[] xa = x.toArray(new double[k]);
+        double[] ya = y.toArray(new double[l]);
+        boolean parallel = (long) m * n >= PARALLEL_THRESHOLD;
+        if (trans == NO_TRANSPOSE) {
+            // Each task updates its own rows with all columns.
+            int chunks = parallel ? Math.min(m / 64 + 1, 4 * ForkJoinPool.getCommonPoolParallelism()) : 1;
+            IntStream tasks = IntStream.range(0, chunks);
+            if (parallel) tasks = tasks.parallel();
+            tasks.forEach(c -> {
+                int from = (int) ((long) m * c / chunks);
+                int to = (int) ((long) m * (c + 1) / chunks);
+                for (int i = from; i < to; i++) {
+                    ya[i] = beta == 0.0 ? 0.0 : beta * ya[i];
+                }
+                for (int j = 0; j < n; j++) {
+                    double t = alpha * xa[j];
+                    if (t != 0.0) axpy(j, t, ya, from, to);
+                }
+            });
+        } else {
+            IntStream columns = IntStream.range(0, n);
+            if (parallel) columns = columns.parallel();
+            columns.forEach(j -> {
+                double yj = beta == 0.0 ? 0.0 : beta * ya[j];
+                ya[j] = yj + alpha * dot(j, xa);
+            });
+        }
+
+        for (int i = 0; i < l; i++) {
+            y.set(i, ya[i]);
+        }
+    }
+
+    /**
+     * Returns the matrix multiplication {@code A * B}. The panels of
+     * columns are converted to the scalar type of B and multiplied
+     * by BLAS.
+     * @param B the operand.
+     * @return the multiplication.
+     */
+    public DenseMatrix mm(DenseMatrix B) {
+        if (B.nrow() != n) {
+            throw new IllegalArgumentException(String.format("Matrix multiplication A * B: %d x %d vs %d x %d", m, n, B.nrow(), B.ncol()));
+        }
+
+        int p = B.ncol();
+        DenseMatrix C = B.zeros(m, p);
+        DenseMatrix panel = B.zeros(m, Math.min(PANEL, n));
+        double[] column = new double[m];
+        for (int j = 0; j < n; j += PANEL) {
+            int l = Math.min(n, j + PANEL);
+            if (l - j < panel.ncol()) {
+                panel = B.zeros(m, l - j);
+            }
+            for (int q = j; q < l; q++) {
+                column(q, column);
+                for (int i = 0; i < m; i++) {
+                    panel.set(i, q - j, column[i]);
+                }
+            }
+            DenseMatrix.mm(1.0, NO_TRANSPOSE, panel, NO_TRANSPOSE, B.submatrix(j, 0, l, p), 1.0, C);
+        }
+        return C;
+    }
+}
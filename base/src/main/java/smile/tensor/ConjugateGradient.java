@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The preconditioned conjugate gradient method to solve symmetric
+ * positive definite systems of linear equations. The matrix is
+ * accessed only through matrix-vector multiplications so that it
+ * may be sparse or even matrix-free. Each iteration takes one
+ * multiplication, one preconditioner solve and O(n) vector
+ * operations. The workspace is four vectors of size n.
+ * <p>
+ * The preconditioner must be symmetric positive definite too, e.g.
+ * Jacobi, block Jacobi or incomplete Cholesky preconditioners.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li>Y. Saad. Iterative Methods for Sparse Linear Systems, 2nd edition. SIAM, 2003.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+public interface ConjugateGradient {
+    private static Logger logger() {
+        final class LogHolder {
+            private static final Logger logger = LoggerFactory.getLogger(ConjugateGradient.class);
+        }
+        return LogHolder.logger;
+    }
+
+    /**
+     * Solves A * x = b by conjugate gradient method with Jacobi
+     * preconditioner matrix.
+     *
+     * @param A the symmetric positive definite linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @return the relative residual {@code |b - Ax| / |b|}.
+     */
+    static double solve(Matrix A, Vector b, Vector x) {
+        return solve(A, b, x, Preconditioner.Jacobi(A), 1E-6, 2 * A.nrow());
+    }
+
+    /**
+     * Solves A * x = b by preconditioned conjugate gradient method.
+     *
+     * @param A the symmetric positive definite linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @param P the symmetric positive definite preconditioner matrix.
+     * @param tol the desired relative residual {@code |b - Ax| / |b|}.
+     * @param maxIter the maximum number of iterations.
+     * @return the relative residual {@code |b - Ax| / |b|}.
+     */
+    static double solve(Matrix A, Vector b, Vector x, Preconditioner P, double tol, int maxIter) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        if (tol <= 0.0) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tol);
+        }
+
+        if (maxIter <= 0) {
+            throw new IllegalArgumentException("Invalid maximum iterations: " + maxIter);
+        }
+
+        int n = b.size();
+        Vector r = A.vector(n);
+        Vector z = A.vector(n);
+        Vector p = A.vector(n);
+        Vector q = A.vector(n);
+
+        double bnrm = b.norm2();
+        if (bnrm == 0.0) {
+            x.fill(0, n, 0.0);
+            return 0.0;
+        }
+
+        // r = b - A * x
+        A.mv(x, r);
+        r.scale(-1.0);
+        r.axpy(1.0, b);
+        double err = r.norm2() / bnrm;
+        if (err <= tol) return err;
+
+        P.solve(r, z);
+        Vector.copy(z, 0, p, 0, n);
+        double rz = r.dot(z);
+
+        for (int iter = 1; iter <= maxIter; iter++) {
+            A.mv(p, q);
+            double pq = p.dot(q);
+            if (pq <= 0.0) {
+                logger().warn("CG: the matrix is not positive definite at iteration {}", iter);
+                break;
+            }
+
+            double alpha = rz / pq;
+            x.axpy(alpha, p);
+            r.axpy(-alpha, q);
+
+            err = r.norm2() / bnrm;
+            if (iter % 10 == 0 || err <= tol) {
+                logger().info("CG: the error after {} iterations: {}", iter, err);
+            }
+
+            if (err <= tol) break;
+
+            P.solve(r, z);
+            double rzOld = rz;
+            rz = r.dot(z);
+            double beta = rz / rzOld;
+            // p = z + beta * p
+            p.scale(beta);
+            p.axpy(1.0, z);
+        }
+
+        return err;
+    }
+}
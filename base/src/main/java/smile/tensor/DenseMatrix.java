@@ -26,7 +26,6 @@ import static smile.linalg.Order.*;
 import static smile.linalg.Side.*;
 import static smile.linalg.Transpose.*;
 import static smile.linalg.UPLO.*;
-import static smile.linalg.blas.cblas_h.*;
 import static smile.linalg.lapack.clapack_h.*;
 import static smile.tensor.ScalarType.*;
 
@@ -206,8 +205,8 @@ public abstract class DenseMatrix implements Matrix, Serializable {
     public DenseMatrix scale(double alpha) {
         int length = capacity();
         switch(scalarType()) {
-            case Float64 -> cblas_dscal(length, alpha, memory, 1);
-            case Float32 -> cblas_sscal(length, (float) alpha, memory, 1);
+            case Float64 -> BLAS.getInstance().dscal(length, alpha, memory, 1);
+            case Float32 -> BLAS.getInstance().sscal(length, (float) alpha, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
         return this;
@@ -699,8 +698,8 @@ public abstract class DenseMatrix implements Matrix, Serializable {
         if (scalarType() == x.scalarType() && ld == x.ld) {
             int length = capacity();
             switch (scalarType()) {
-                case Float64 -> cblas_daxpy(length, alpha, x.memory, 1, memory, 1);
-                case Float32 -> cblas_saxpy(length, (float) alpha, x.memory, 1, memory, 1);
+                case Float64 -> BLAS.getInstance().daxpy(length, alpha, x.memory, 1, memory, 1);
+                case Float32 -> BLAS.getInstance().saxpy(length, (float) alpha, x.memory, 1, memory, 1);
                 default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
             }
         } else {
@@ -772,18 +771,18 @@ public abstract class DenseMatrix implements Matrix, Serializable {
                 if (uplo != null) {
                     if (diag != null) {
                         if (alpha == 1.0 && beta == 0.0 && x == y) {
-                            cblas_dtrmv(order().blas(), uplo.blas(), trans.blas(), diag.blas(), m,
+                            BLAS.getInstance().dtrmv(order(), uplo, trans, diag, m,
                                     memory, ld, y.memory(), 1);
                         } else {
-                            cblas_dgemv(order().blas(), trans.blas(), m, n, alpha, memory,
+                            BLAS.getInstance().dgemv(order(), trans, m, n, alpha, memory,
                                     ld, x.memory(), 1, beta, y.memory(), 1);
                         }
                     } else {
-                        cblas_dsymv(order().blas(), uplo.blas(), m, alpha, memory,
+                        BLAS.getInstance().dsymv(order(), uplo, m, alpha, memory,
                                 ld, x.memory(), 1, beta, y.memory(), 1);
                     }
                 } else {
-                    cblas_dgemv(order().blas(), trans.blas(), m, n, alpha, memory,
+                    BLAS.getInstance().dgemv(order(), trans, m, n, alpha, memory,
                             ld, x.memory(), 1, beta, y.memory(), 1);
                 }
                 break;
@@ -792,18 +791,18 @@ public abstract class DenseMatrix implements Matrix, Serializable {
                 if (uplo != null) {
                     if (diag != null) {
                         if (alpha == 1.0 && beta == 0.0 && x == y) {
-                            cblas_strmv(order().blas(), uplo.blas(), trans.blas(), diag.blas(), m,
+                            BLAS.getInstance().strmv(order(), uplo, trans, diag, m,
                                     memory, ld, y.memory(), 1);
                         } else {
-                            cblas_sgemv(order().blas(), trans.blas(), m, n, (float) alpha, memory,
+                            BLAS.getInstance().sgemv(order(), trans, m, n, (float) alpha, memory,
                                     ld, x.memory(), 1, (float) beta, y.memory(), 1);
                         }
                     } else {
-                        cblas_ssymv(order().blas(), uplo.blas(), m, (float) alpha, memory,
+                        BLAS.getInstance().ssymv(order(), uplo, m, (float) alpha, memory,
                                 ld, x.memory(), 1, (float) beta, y.memory(), 1);
                     }
                 } else {
-                    cblas_sgemv(order().blas(), trans.blas(), m, n, (float) alpha, memory,
+                    BLAS.getInstance().sgemv(order(), trans, m, n, (float) alpha, memory,
                             ld, x.memory(), 1, (float) beta, y.memory(), 1);
                 }
                 break;
@@ -841,12 +840,12 @@ public abstract class DenseMatrix implements Matrix, Serializable {
         if (A.isSymmetric() && transB == NO_TRANSPOSE && B.order() == C.order()) {
             switch (C.scalarType()) {
                 case Float64:
-                    cblas_dsymm(C.order().blas(), LEFT.blas(), A.uplo().blas(), m, n,
+                    BLAS.getInstance().dsymm(C.order(), LEFT, A.uplo(), m, n,
                         alpha, A.memory(), A.ld(), B.memory(), B.ld(),
                         beta, C.memory(), C.ld());
                 break;
                 case Float32:
-                   cblas_ssymm(C.order().blas(), LEFT.blas(), A.uplo().blas(), m, n,
+                   BLAS.getInstance().ssymm(C.order(), LEFT, A.uplo(), m, n,
                         (float) alpha, A.memory(), A.ld(), B.memory(), B.ld(),
                         (float) beta, C.memory(), C.ld());
                    break;
@@ -856,12 +855,12 @@ public abstract class DenseMatrix implements Matrix, Serializable {
         } else if (B.isSymmetric() && transA == NO_TRANSPOSE && A.order() == C.order()) {
             switch (C.scalarType()) {
                 case Float64:
-                    cblas_dsymm(C.order().blas(), RIGHT.blas(), B.uplo().blas(), m, n,
+                    BLAS.getInstance().dsymm(C.order(), RIGHT, B.uplo(), m, n,
                         alpha, B.memory(), B.ld(), A.memory(), A.ld(),
                         beta, C.memory(), C.ld());
                     break;
                 case Float32:
-                    cblas_ssymm(C.order().blas(), RIGHT.blas(), B.uplo().blas(), m, n,
+                    BLAS.getInstance().ssymm(C.order(), RIGHT, B.uplo(), m, n,
                         (float) alpha, B.memory(), B.ld(), A.memory(), A.ld(),
                         (float) beta, C.memory(), C.ld());
                     break;
@@ -881,12 +880,12 @@ public abstract class DenseMatrix implements Matrix, Serializable {
 
             switch (C.scalarType()) {
                 case Float64:
-                    cblas_dgemm(C.order().blas(), transA.blas(), transB.blas(), m, n, k,
+                    BLAS.getInstance().dgemm(C.order(), transA, transB, m, n, k,
                         alpha, A.memory(), A.ld(), B.memory(), B.ld(),
                         beta, C.memory(), C.ld());
                     break;
                 case Float32:
-                    cblas_sgemm(C.order().blas(), transA.blas(), transB.blas(), m, n, k,
+                    BLAS.getInstance().sgemm(C.order(), transA, transB, m, n, k,
                         (float) alpha, A.memory(), A.ld(), B.memory(), B.ld(),
                         (float) beta, C.memory(), C.ld());
                     break;
@@ -981,8 +980,8 @@ public abstract class DenseMatrix implements Matrix, Serializable {
         }
 
         switch(scalarType()) {
-            case Float64 -> cblas_dger(order().blas(), m, n, alpha, x.memory, 1, y.memory, 1, memory, ld);
-            case Float32 -> cblas_sger(order().blas(), m, n, (float) alpha, x.memory, 1, y.memory, 1, memory, ld);
+            case Float64 -> BLAS.getInstance().dger(order(), m, n, alpha, x.memory, 1, y.memory, 1, memory, ld);
+            case Float32 -> BLAS.getInstance().sger(order(), m, n, (float) alpha, x.memory, 1, y.memory, 1, memory, ld);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
     }
@@ -1432,6 +1431,21 @@ public abstract class DenseMatrix implements Matrix, Serializable {
         return matrix;
     }
 
+    /**
+     * Returns a double precision matrix of column major backed by the
+     * memory segment without copy, e.g. an off-heap segment allocated
+     * by an arena or mapped from a file. The matrix is valid only as
+     * long as the scope of segment is alive.
+     * @param memory the memory segment of data.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param ld the leading dimension.
+     * @return the matrix.
+     */
+    public static DenseMatrix of(MemorySegment memory, int m, int n, int ld) {
+        return new OffHeapMatrix64(memory, m, n, ld, null, null);
+    }
+
     /**
      * Returns a zero matrix.
      * @param scalarType the scalar type.
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The restarted generalized minimal residual method to solve general
+ * nonsymmetric systems of linear equations. GMRES(m) builds an
+ * orthonormal basis of the Krylov subspace by Arnoldi iterations with
+ * modified Gram-Schmidt orthogonalization and minimizes the residual
+ * over the subspace with Givens rotations. The method restarts after
+ * every m iterations to bound the workspace to m + 2 vectors of size n.
+ * <p>
+ * The preconditioner is applied on the right, i.e. the method solves
+ * {@code A * P<sup>-1</sup> * u = b} with {@code x = P<sup>-1</sup> * u}.
+ * Therefore, the minimized residual is the true residual of the
+ * original system.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li>Y. Saad and M. H. Schultz. GMRES: A generalized minimal residual algorithm for solving nonsymmetric linear systems. SIAM J. Sci. Stat. Comput., 7(3):856-869, 1986.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+public interface GMRES {
+    private static Logger logger() {
+        final class LogHolder {
+            private static final Logger logger = LoggerFactory.getLogger(GMRES.class);
+        }
+        return LogHolder.logger;
+    }
+
+    /**
+     * Solves A * x = b by GMRES(30) with Jacobi preconditioner matrix.
+     *
+     * @param A the linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @return the estimated relative residual {@code |b - Ax| / |b|}.
+     */
+    static double solve(Matrix A, Vector b, Vector x) {
+        return solve(A, b, x, Preconditioner.Jacobi(A), 1E-6, 30, 2 * A.nrow());
+    }
+
+    /**
+     * Solves A * x = b by restarted GMRES with right preconditioning.
+     *
+     * @param A the linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @param P the preconditioner matrix.
+     * @param tol the desired relative residual {@code |b - Ax| / |b|}.
+     * @param restart the number of iterations between restarts.
+     * @param maxIter the maximum number of iterations.
+     * @return the estimated relative residual {@code |b - Ax| / |b|}.
+     */
+    static double solve(Matrix A, Vector b, Vector x, Preconditioner P, double tol, int restart, int maxIter) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        if (tol <= 0.0) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tol);
+        }
+
+        if (restart <= 0) {
+            throw new IllegalArgumentException("Invalid restart: " + restart);
+        }
+
+        if (maxIter <= 0) {
+            throw new IllegalArgumentException("Invalid maximum iterations: " + maxIter);
+        }
+
+        int n = b.size();
+        int m = Math.min(restart, n);
+        double bnrm = b.norm2();
+        if (bnrm == 0.0) {
+            x.fill(0, n, 0.0);
+            return 0.0;
+        }
+
+        Vector[] V = new Vector[m + 1];
+        for (int i = 0; i <= m; i++) {
+            V[i] = A.vector(n);
+        }
+        Vector z = A.vector(n);
+        double[][] H = new double[m + 1][m];
+        double[] cs = new double[m];
+        double[] sn = new double[m];
+        double[] g = new double[m + 1];
+        double[] y = new double[m];
+
+        double err = 1.0;
+        int iter = 0;
+        while (iter < maxIter) {
+            // V[0] = (b - A * x) / |b - A * x|
+            Vector r = V[0];
+            A.mv(x, r);
+            r.scale(-1.0);
+            r.axpy(1.0, b);
+            double beta = r.norm2();
+            err = beta / bnrm;
+            if (err <= tol) break;
+
+            r.scale(1.0 / beta);
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            while (k < m && iter < maxIter) {
+                iter++;
+                Vector w = V[k + 1];
+                P.solve(V[k], z);
+                A.mv(z, w);
+
+                // Modified Gram-Schmidt orthogonalization.
+                for (int i = 0; i <= k; i++) {
+                    double h = w.dot(V[i]);
+                    H[i][k] = h;
+                    w.axpy(-h, V[i]);
+                }
+
+                double h = w.norm2();
+                H[k + 1][k] = h;
+                if (h > 0.0) {
+                    w.scale(1.0 / h);
+                }
+
+                // Applies the previous rotations to the new column.
+                for (int i = 0; i < k; i++) {
+                    double t = cs[i] * H[i][k] + sn[i] * H[i + 1][k];
+                    H[i + 1][k] = -sn[i] * H[i][k] + cs[i] * H[i + 1][k];
+                    H[i][k] = t;
+                }
+
+                double rho = Math.hypot(H[k][k], H[k + 1][k]);
+                cs[k] = H[k][k] / rho;
+                sn[k] = H[k + 1][k] / rho;
+                H[k][k] = rho;
+                H[k + 1][k] = 0.0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+
+                err = Math.abs(g[k]) / bnrm;
+                if (iter % 10 == 0 || err <= tol) {
+                    logger().info("GMRES: the error after {} iterations: {}", iter, err);
+                }
+
+                // Lucky breakdown when h = 0, the solution is exact.
+                if (err <= tol || h == 0.0) break;
+            }
+
+            // Solves the upper triangular system H * y = g.
+            for (int i = k; i-- > 0; ) {
+                double s = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    s -= H[i][j] * y[j];
+                }
+                y[i] = s / H[i][i];
+            }
+
+            // x += P^-1 * V * y
+            Vector u = V[0];
+            u.scale(y[0]);
+            for (int i = 1; i < k; i++) {
+                u.axpy(y[i], V[i]);
+            }
+            P.solve(u, z);
+            x.axpy(1.0, z);
+
+            if (err <= tol) break;
+        }
+
+        return err;
+    }
+}
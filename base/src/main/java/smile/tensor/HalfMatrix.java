@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.Serial;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * A column major matrix of half precision floating numbers, either
+ * IEEE 754 binary16 or bfloat16. The former has 11-bit precision
+ * and the range of about 6.5E4. The latter has 8-bit precision
+ * and the same range as single precision.
+ *
+ * @author Haifeng Li
+ */
+class HalfMatrix extends CompactMatrix {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The bits of elements. */
+    final short[] data;
+    /** True if the elements are bfloat16. */
+    final boolean bfloat;
+
+    /**
+     * Constructor.
+     * @param data the bits of elements in column major.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param bfloat true if the elements are bfloat16.
+     */
+    HalfMatrix(short[] data, int m, int n, boolean bfloat) {
+        super(m, n);
+        if (data.length != m * n) {
+            throw new IllegalArgumentException(String.format("Invalid data size for %d x %d matrix: %d", m, n, data.length));
+        }
+        this.data = data;
+        this.bfloat = bfloat;
+    }
+
+    /**
+     * Returns the half precision copy of a matrix.
+     * @param A the matrix.
+     * @param scalarType {@code Float16} or {@code BFloat16}.
+     * @return the half precision copy.
+     */
+    static HalfMatrix of(Matrix A, ScalarType scalarType) {
+        int m = A.nrow();
+        int n = A.ncol();
+        boolean bfloat = scalarType == BFloat16;
+        short[] data = new short[m * n];
+        for (int j = 0, k = 0; j < n; j++) {
+            for (int i = 0; i < m; i++, k++) {
+                data[k] = encode(A.get(i, j), bfloat);
+            }
+        }
+        return new HalfMatrix(data, m, n, bfloat);
+    }
+
+    /**
+     * Converts a double to half precision with rounding to nearest even.
+     * @param x the value.
+     * @param bfloat true if the format is bfloat16.
+     * @return the bits of half precision.
+     */
+    static short encode(double x, boolean bfloat) {
+        float f = (float) x;
+        if (!bfloat) {
+            return Float.floatToFloat16(f);
+        }
+
+        if (Float.isNaN(f)) {
+            return (short) 0x7FC0;
+        }
+        int bits = Float.floatToRawIntBits(f);
+        bits += 0x7FFF + ((bits >>> 16) & 1);
+        return (short) (bits >>> 16);
+    }
+
+    /**
+     * Converts the bits of half precision to float.
+     * @param bits the bits of half precision.
+     * @return the float value.
+     */
+    private float decode(short bits) {
+        return bfloat ? Float.intBitsToFloat(bits << 16) : Float.float16ToFloat(bits);
+    }
+
+    @Override
+    public ScalarType scalarType() {
+        return bfloat ? BFloat16 : Float16;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return decode(data[j * m + i]);
+    }
+
+    @Override
+    public void set(int i, int j, double x) {
+        data[j * m + i] = encode(x, bfloat);
+    }
+
+    @Override
+    public HalfMatrix scale(double alpha) {
+        for (int k = 0; k < data.length; k++) {
+            data[k] = encode(alpha * decode(data[k]), bfloat);
+        }
+        return this;
+    }
+
+    @Override
+    public HalfMatrix copy() {
+        return new HalfMatrix(data.clone(), m, n, bfloat);
+    }
+
+    @Override
+    public void column(int j, double[] column) {
+        int offset = j * m;
+        if (bfloat) {
+            for (int i = 0; i < m; i++) {
+                column[i] = Float.intBitsToFloat(data[offset + i] << 16);
+            }
+        } else {
+            for (int i = 0; i < m; i++) {
+                column[i] = Float.float16ToFloat(data[offset + i]);
+            }
+        }
+    }
+
+    @Override
+    public double dot(int j, double[] x) {
+        int offset = j * m;
+        double sum = 0.0;
+        if (bfloat) {
+            for (int i = 0; i < m; i++) {
+                sum += Float.intBitsToFloat(data[offset + i] << 16) * x[i];
+            }
+        } else {
+            for (int i = 0; i < m; i++) {
+                sum += Float.float16ToFloat(data[offset + i]) * x[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredDistance(int j, double[] x) {
+        int offset = j * m;
+        double sum = 0.0;
+        if (bfloat) {
+            for (int i = 0; i < m; i++) {
+                double d = Float.intBitsToFloat(data[offset + i] << 16) - x[i];
+                sum += d * d;
+            }
+        } else {
+            for (int i = 0; i < m; i++) {
+                double d = Float.float16ToFloat(data[offset + i]) - x[i];
+                sum += d * d;
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    void axpy(int j, double alpha, double[] y, int from, int to) {
+        int offset = j * m;
+        if (bfloat) {
+            for (int i = from; i < to; i++) {
+                y[i] += alpha * Float.intBitsToFloat(data[offset + i] << 16);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                y[i] += alpha * Float.float16ToFloat(data[offset + i]);
+            }
+        }
+    }
+}
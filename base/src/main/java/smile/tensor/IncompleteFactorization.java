@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incomplete factorization preconditioners of sparse matrices with
+ * zero fill-in. The incomplete LU factorization ILU(0) and incomplete
+ * Cholesky factorization IC(0) keep only the factor entries where
+ * the original matrix has nonzeros. Therefore, the factors take the
+ * same space as the matrix and each solve costs O(nnz).
+ * <p>
+ * The factors are stored in compressed sparse row format with the
+ * column indices sorted in each row. ILU(0) stores the unit lower
+ * triangular factor and the upper triangular factor in the same
+ * arrays. IC(0) stores only the lower triangular factor L of
+ * {@code A ~ L * L'}.
+ *
+ * @author Haifeng Li
+ */
+final class IncompleteFactorization implements Preconditioner {
+    private static final Logger logger = LoggerFactory.getLogger(IncompleteFactorization.class);
+
+    /** The dimension of matrix. */
+    private final int n;
+    /** The index of the start of rows. */
+    private final int[] ptr;
+    /** The column indices of nonzero values. */
+    private final int[] index;
+    /** The nonzero values of factors. */
+    private final double[] values;
+    /** The position of diagonal elements. */
+    private final int[] diag;
+    /** True for incomplete Cholesky factor, false for incomplete LU. */
+    private final boolean cholesky;
+
+    /**
+     * Constructor.
+     * @param n the dimension of matrix.
+     * @param ptr the index of the start of rows.
+     * @param index the column indices of nonzero values.
+     * @param values the nonzero values of factors.
+     * @param diag the position of diagonal elements.
+     * @param cholesky true for incomplete Cholesky factor.
+     */
+    private IncompleteFactorization(int n, int[] ptr, int[] index, double[] values, int[] diag, boolean cholesky) {
+        this.n = n;
+        this.ptr = ptr;
+        this.index = index;
+        this.values = values;
+        this.diag = diag;
+        this.cholesky = cholesky;
+    }
+
+    /**
+     * The compressed sparse row storage.
+     * @param ptr the index of the start of rows.
+     * @param index the column indices of nonzero values.
+     * @param values the nonzero values.
+     */
+    private record CSR(int[] ptr, int[] index, double[] values) {
+
+    }
+
+    /**
+     * Returns the compressed sparse row storage of a matrix.
+     * @param A the sparse matrix.
+     * @param lower if true, only the lower triangular part is kept.
+     * @return the compressed sparse row storage with the column
+     *         indices sorted in each row.
+     */
+    private static CSR csr(SparseMatrix A, boolean lower) {
+        int n = A.nrow();
+        int[] ptr = new int[n + 1];
+        for (SparseMatrix.Entry e : A) {
+            if (!lower || e.i >= e.j) ptr[e.i + 1]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            ptr[i + 1] += ptr[i];
+        }
+
+        int[] pos = Arrays.copyOf(ptr, n);
+        int[] index = new int[ptr[n]];
+        double[] values = new double[ptr[n]];
+        // The entries are visited column by column so that
+        // the column indices are ascending in each row.
+        for (SparseMatrix.Entry e : A) {
+            if (!lower || e.i >= e.j) {
+                int k = pos[e.i]++;
+                index[k] = e.j;
+                values[k] = e.x;
+            }
+        }
+        return new CSR(ptr, index, values);
+    }
+
+    /**
+     * Returns the position of diagonal elements in each row.
+     * @param n the dimension of matrix.
+     * @param ptr the index of the start of rows.
+     * @param index the column indices of nonzero values.
+     * @return the position of diagonal elements.
+     */
+    private static int[] diagonal(int n, int[] ptr, int[] index) {
+        int[] diag = new int[n];
+        for (int i = 0; i < n; i++) {
+            int k = Arrays.binarySearch(index, ptr[i], ptr[i + 1], i);
+            if (k < 0) {
+                throw new IllegalArgumentException("Missing diagonal element at row " + i);
+            }
+            diag[i] = k;
+        }
+        return diag;
+    }
+
+    /**
+     * Returns the ILU(0) preconditioner of a square sparse matrix.
+     * @param A the sparse matrix with nonzero diagonal elements.
+     * @return the preconditioner.
+     */
+    static IncompleteFactorization ilu(SparseMatrix A) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        int n = A.nrow();
+        CSR csr = csr(A, false);
+        int[] ptr = csr.ptr;
+        int[] index = csr.index;
+        double[] a = csr.values;
+        int[] diag = diagonal(n, ptr, index);
+
+        // The IKJ variant of Gaussian elimination restricted
+        // to the nonzero pattern of A.
+        int[] work = new int[n];
+        Arrays.fill(work, -1);
+        for (int i = 1; i < n; i++) {
+            for (int p = ptr[i]; p < ptr[i + 1]; p++) {
+                work[index[p]] = p;
+            }
+
+            for (int p = ptr[i]; p < diag[i]; p++) {
+                int k = index[p];
+                double pivot = a[diag[k]];
+                if (pivot == 0.0) {
+                    throw new ArithmeticException("Zero pivot in ILU(0) at row " + k);
+                }
+
+                double lik = a[p] / pivot;
+                a[p] = lik;
+                for (int q = diag[k] + 1; q < ptr[k + 1]; q++) {
+                    int w = work[index[q]];
+                    if (w >= 0) {
+                        a[w] -= lik * a[q];
+                    }
+                }
+            }
+
+            for (int p = ptr[i]; p < ptr[i + 1]; p++) {
+                work[index[p]] = -1;
+            }
+        }
+
+        if (a[diag[n - 1]] == 0.0) {
+            throw new ArithmeticException("Zero pivot in ILU(0) at row " + (n - 1));
+        }
+        return new IncompleteFactorization(n, ptr, index, a, diag, false);
+    }
+
+    /**
+     * Returns the IC(0) preconditioner of a symmetric positive definite
+     * sparse matrix. Only the lower triangular part of matrix is used.
+     * When the factorization breaks down with a nonpositive pivot,
+     * which may happen even for positive definite matrices, it is
+     * restarted on {@code A + alpha * diag(A)} with increasing shift
+     * alpha.
+     * @param A the symmetric positive definite sparse matrix.
+     * @return the preconditioner.
+     */
+    static IncompleteFactorization ic(SparseMatrix A) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        int n = A.nrow();
+        CSR csr = csr(A, true);
+        int[] ptr = csr.ptr;
+        int[] index = csr.index;
+        double[] a = csr.values;
+        int[] diag = diagonal(n, ptr, index);
+
+        double[] L = new double[a.length];
+        double[] work = new double[n];
+        for (double alpha = 0.0; alpha < 1E3; alpha = alpha == 0.0 ? 1E-3 : 2 * alpha) {
+            if (ic(n, ptr, index, a, diag, alpha, L, work)) {
+                if (alpha > 0.0) {
+                    logger.info("IC(0) succeeds with the diagonal shift {}", alpha);
+                }
+                return new IncompleteFactorization(n, ptr, index, L, diag, true);
+            }
+            Arrays.fill(work, 0.0);
+        }
+
+        throw new ArithmeticException("IC(0) breaks down. The matrix is not positive definite.");
+    }
+
+    /**
+     * Computes the IC(0) factor row by row.
+     * @param n the dimension of matrix.
+     * @param ptr the index of the start of rows.
+     * @param index the column indices of nonzero values.
+     * @param a the lower triangular part of matrix.
+     * @param diag the position of diagonal elements.
+     * @param alpha the relative diagonal shift.
+     * @param L the output factor.
+     * @param work the workspace of all zeros.
+     * @return false if the factorization breaks down.
+     */
+    private static boolean ic(int n, int[] ptr, int[] index, double[] a, int[] diag, double alpha, double[] L, double[] work) {
+        for (int i = 0; i < n; i++) {
+            // work holds the computed entries of row i.
+            double sum = 0.0;
+            for (int p = ptr[i]; p < diag[i]; p++) {
+                int k = index[p];
+                double s = a[p];
+                for (int q = ptr[k]; q < diag[k]; q++) {
+                    s -= L[q] * work[index[q]];
+                }
+                double lik = s / L[diag[k]];
+                L[p] = lik;
+                work[k] = lik;
+                sum += lik * lik;
+            }
+
+            double d = a[diag[i]] * (1.0 + alpha) - sum;
+            for (int p = ptr[i]; p < diag[i]; p++) {
+                work[index[p]] = 0.0;
+            }
+
+            if (d <= 0.0 || !Double.isFinite(d)) {
+                return false;
+            }
+            L[diag[i]] = Math.sqrt(d);
+        }
+        return true;
+    }
+
+    @Override
+    public void solve(Vector b, Vector x) {
+        double[] y = b.toArray(new double[n]);
+        if (cholesky) {
+            // L * z = b
+            for (int i = 0; i < n; i++) {
+                double s = y[i];
+                for (int p = ptr[i]; p < diag[i]; p++) {
+                    s -= values[p] * y[index[p]];
+                }
+                y[i] = s / values[diag[i]];
+            }
+
+            // L' * x = z
+            for (int i = n; i-- > 0; ) {
+                double xi = y[i] / values[diag[i]];
+                y[i] = xi;
+                for (int p = ptr[i]; p < diag[i]; p++) {
+                    y[index[p]] -= values[p] * xi;
+                }
+            }
+        } else {
+            // L * z = b with unit diagonal.
+            for (int i = 0; i < n; i++) {
+                double s = y[i];
+                for (int p = ptr[i]; p < diag[i]; p++) {
+                    s -= values[p] * y[index[p]];
+                }
+                y[i] = s;
+            }
+
+            // U * x = z
+            for (int i = n; i-- > 0; ) {
+                double s = y[i];
+                for (int p = diag[i] + 1; p < ptr[i + 1]; p++) {
+                    s -= values[p] * y[index[p]];
+                }
+                y[i] = s / values[diag[i]];
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            x.set(i, y[i]);
+        }
+    }
+}
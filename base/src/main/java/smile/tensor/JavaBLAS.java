@@ -0,0 +1,1208 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import smile.linalg.*;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static smile.linalg.Transpose.flip;
+
+/**
+ * The pure Java BLAS provider with the SIMD instructions of Vector API.
+ * Level-1 and level-2 routines stream over contiguous elements with
+ * fused multiply-add vectors. Strided vectors are gathered to
+ * contiguous copies first. GEMM packs the blocks of op(A) and op(B)
+ * into cache resident arrays and multiplies them with a register
+ * blocked micro kernel. The blocks of C are processed in parallel
+ * for large matrices.
+ * <p>
+ * The results agree with the native library up to the rounding errors
+ * of different summation orders.
+ *
+ * @author Haifeng Li
+ */
+final class JavaBLAS implements BLAS {
+    /** The singleton instance. */
+    static final JavaBLAS INSTANCE = new JavaBLAS();
+    /** The preferred species of double vectors. */
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    /** The preferred species of float vectors. */
+    private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED;
+    /** The byte order of memory segments. */
+    private static final ByteOrder ORDER = ByteOrder.nativeOrder();
+    /** The number of rows of A block in GEMM. */
+    private static final int MC = 128;
+    /** The inner dimension of blocks in GEMM. */
+    private static final int KC = 256;
+    /** The number of columns of B block in GEMM. */
+    private static final int NC = 64;
+    /** The number of flops to process in parallel. */
+    private static final double PARALLEL_THRESHOLD = 1 << 20;
+
+    /** Private constructor of singleton. */
+    private JavaBLAS() {
+
+    }
+
+    @Override
+    public String name() {
+        return "java";
+    }
+
+    /**
+     * Returns the boundaries of chunks to process in parallel.
+     * @param n the number of elements to split.
+     * @param flops the number of flops.
+     * @return the boundaries of chunks.
+     */
+    private static int[] chunks(int n, long flops) {
+        int k = 1;
+        if (flops >= PARALLEL_THRESHOLD) {
+            k = Math.min(n, 4 * ForkJoinPool.getCommonPoolParallelism());
+            k = Math.max(k, 1);
+        }
+
+        int[] chunks = new int[k + 1];
+        for (int i = 1; i <= k; i++) {
+            chunks[i] = (int) ((long) n * i / k);
+        }
+        return chunks;
+    }
+
+    @Override
+    public double dasum(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return 0;
+        if (incx != 1) {
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.abs(x.getAtIndex(JAVA_DOUBLE, (long) i * incx));
+            }
+            return sum;
+        }
+
+        int i = 0;
+        int bound = D.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(D);
+        for (; i < bound; i += D.length()) {
+            acc = acc.add(DoubleVector.fromMemorySegment(D, x, (long) i * Double.BYTES, ORDER).abs());
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += Math.abs(x.getAtIndex(JAVA_DOUBLE, i));
+        }
+        return sum;
+    }
+
+    @Override
+    public void daxpy(int n, double alpha, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0 || alpha == 0) return;
+        if (incx == 1 && incy == 1) {
+            daxpyAt(n, alpha, x, 0, y, 0);
+            return;
+        }
+
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        long iy = incy < 0 ? (long) (1 - n) * incy : 0;
+        for (int i = 0; i < n; i++, ix += incx, iy += incy) {
+            y.setAtIndex(JAVA_DOUBLE, iy, y.getAtIndex(JAVA_DOUBLE, iy) + alpha * x.getAtIndex(JAVA_DOUBLE, ix));
+        }
+    }
+
+    @Override
+    public double ddot(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0) return 0;
+        if (incx == 1 && incy == 1) {
+            return ddotAt(n, x, 0, y, 0);
+        }
+
+        double sum = 0;
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        long iy = incy < 0 ? (long) (1 - n) * incy : 0;
+        for (int i = 0; i < n; i++, ix += incx, iy += incy) {
+            sum += x.getAtIndex(JAVA_DOUBLE, ix) * y.getAtIndex(JAVA_DOUBLE, iy);
+        }
+        return sum;
+    }
+
+    @Override
+    public double dnrm2(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return 0;
+        double sum;
+        if (incx == 1) {
+            sum = ddotAt(n, x, 0, x, 0);
+        } else {
+            sum = 0;
+            for (int i = 0; i < n; i++) {
+                double xi = x.getAtIndex(JAVA_DOUBLE, (long) i * incx);
+                sum += xi * xi;
+            }
+        }
+
+        if (Double.isFinite(sum) && sum >= Double.MIN_NORMAL) {
+            return Math.sqrt(sum);
+        }
+
+        // Rescales to avoid the overflow or underflow.
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            scale = Math.max(scale, Math.abs(x.getAtIndex(JAVA_DOUBLE, (long) i * incx)));
+        }
+        if (scale == 0 || !Double.isFinite(scale)) return scale;
+
+        double ssq = 0;
+        for (int i = 0; i < n; i++) {
+            double xi = x.getAtIndex(JAVA_DOUBLE, (long) i * incx) / scale;
+            ssq += xi * xi;
+        }
+        return scale * Math.sqrt(ssq);
+    }
+
+    @Override
+    public void dscal(int n, double alpha, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return;
+        if (incx == 1) {
+            dscalAt(n, alpha, x, 0);
+            return;
+        }
+
+        for (int i = 0; i < n; i++) {
+            long ix = (long) i * incx;
+            x.setAtIndex(JAVA_DOUBLE, ix, alpha * x.getAtIndex(JAVA_DOUBLE, ix));
+        }
+    }
+
+    @Override
+    public void dswap(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0) return;
+        int i = 0;
+        if (incx == 1 && incy == 1) {
+            int bound = D.loopBound(n);
+            for (; i < bound; i += D.length()) {
+                long offset = (long) i * Double.BYTES;
+                DoubleVector xv = DoubleVector.fromMemorySegment(D, x, offset, ORDER);
+                DoubleVector yv = DoubleVector.fromMemorySegment(D, y, offset, ORDER);
+                yv.intoMemorySegment(x, offset, ORDER);
+                xv.intoMemorySegment(y, offset, ORDER);
+            }
+        }
+
+        long ix = incx < 0 ? (long) (1 - n) * incx : (long) i * incx;
+        long iy = incy < 0 ? (long) (1 - n) * incy : (long) i * incy;
+        for (; i < n; i++, ix += incx, iy += incy) {
+            double t = x.getAtIndex(JAVA_DOUBLE, ix);
+            x.setAtIndex(JAVA_DOUBLE, ix, y.getAtIndex(JAVA_DOUBLE, iy));
+            y.setAtIndex(JAVA_DOUBLE, iy, t);
+        }
+    }
+
+    @Override
+    public int idamax(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return -1;
+        int index = 0;
+        double max = -1;
+        for (int i = 0; i < n; i++) {
+            double xi = Math.abs(x.getAtIndex(JAVA_DOUBLE, (long) i * incx));
+            if (xi > max) {
+                max = xi;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public void dgemv(Order layout, Transpose trans, int m, int n, double alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, double beta, MemorySegment y, int incy) {
+        if (layout == Order.ROW_MAJOR) {
+            // The row major matrix is the column major storage of its transpose.
+            dgemv(Order.COL_MAJOR, flip(trans), n, m, alpha, A, lda, x, incx, beta, y, incy);
+            return;
+        }
+
+        boolean notrans = trans == Transpose.NO_TRANSPOSE;
+        int leny = notrans ? m : n;
+        int lenx = notrans ? n : m;
+        if (leny <= 0) return;
+
+        if (incx != 1 || incy != 1) {
+            MemorySegment xc = dgather(lenx, x, incx);
+            MemorySegment yc = beta == 0 ? MemorySegment.ofArray(new double[leny]) : dgather(leny, y, incy);
+            dgemv(layout, trans, m, n, alpha, A, lda, xc, 1, beta, yc, 1);
+            dscatter(leny, yc, y, incy);
+            return;
+        }
+
+        if (beta == 0) {
+            y.asSlice(0, (long) leny * Double.BYTES).fill((byte) 0);
+        } else if (beta != 1) {
+            dscalAt(leny, beta, y, 0);
+        }
+        if (alpha == 0 || lenx <= 0) return;
+
+        int[] chunks = chunks(leny, (long) m * n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(c -> {
+            int from = chunks[c];
+            int to = chunks[c + 1];
+            if (notrans) {
+                // y[from:to] += alpha * A[from:to, j] * x[j]
+                for (int j = 0; j < n; j++) {
+                    double t = alpha * x.getAtIndex(JAVA_DOUBLE, j);
+                    if (t != 0) {
+                        daxpyAt(to - from, t, A, from + (long) j * lda, y, from);
+                    }
+                }
+            } else {
+                // y[j] += alpha * A[:, j]' * x
+                for (int j = from; j < to; j++) {
+                    double t = ddotAt(m, A, (long) j * lda, x, 0);
+                    y.setAtIndex(JAVA_DOUBLE, j, y.getAtIndex(JAVA_DOUBLE, j) + alpha * t);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void dsymv(Order layout, UPLO uplo, int n, double alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, double beta, MemorySegment y, int incy) {
+        if (layout == Order.ROW_MAJOR) {
+            dsymv(Order.COL_MAJOR, UPLO.flip(uplo), n, alpha, A, lda, x, incx, beta, y, incy);
+            return;
+        }
+
+        if (n <= 0) return;
+        if (incx != 1 || incy != 1) {
+            MemorySegment xc = dgather(n, x, incx);
+            MemorySegment yc = beta == 0 ? MemorySegment.ofArray(new double[n]) : dgather(n, y, incy);
+            dsymv(layout, uplo, n, alpha, A, lda, xc, 1, beta, yc, 1);
+            dscatter(n, yc, y, incy);
+            return;
+        }
+
+        if (beta == 0) {
+            y.asSlice(0, (long) n * Double.BYTES).fill((byte) 0);
+        } else if (beta != 1) {
+            dscalAt(n, beta, y, 0);
+        }
+        if (alpha == 0) return;
+
+        for (int j = 0; j < n; j++) {
+            long col = (long) j * lda;
+            double t = alpha * x.getAtIndex(JAVA_DOUBLE, j);
+            double s;
+            if (uplo == UPLO.LOWER) {
+                int len = n - j - 1;
+                daxpyAt(len, t, A, col + j + 1, y, j + 1);
+                s = ddotAt(len, A, col + j + 1, x, j + 1);
+            } else {
+                daxpyAt(j, t, A, col, y, 0);
+                s = ddotAt(j, A, col, x, 0);
+            }
+            double yj = y.getAtIndex(JAVA_DOUBLE, j) + t * A.getAtIndex(JAVA_DOUBLE, col + j) + alpha * s;
+            y.setAtIndex(JAVA_DOUBLE, j, yj);
+        }
+    }
+
+    @Override
+    public void dtrmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+                      MemorySegment x, int incx) {
+        if (layout == Order.ROW_MAJOR) {
+            dtrmv(Order.COL_MAJOR, UPLO.flip(uplo), flip(trans), diag, n, A, lda, x, incx);
+            return;
+        }
+
+        if (n <= 0) return;
+        if (incx != 1) {
+            MemorySegment xc = dgather(n, x, incx);
+            dtrmv(layout, uplo, trans, diag, n, A, lda, xc, 1);
+            dscatter(n, xc, x, incx);
+            return;
+        }
+
+        boolean unit = diag == Diag.UNIT;
+        boolean upper = uplo == UPLO.UPPER;
+        if (trans == Transpose.NO_TRANSPOSE) {
+            if (upper) {
+                for (int j = 0; j < n; j++) {
+                    long col = (long) j * lda;
+                    double t = x.getAtIndex(JAVA_DOUBLE, j);
+                    daxpyAt(j, t, A, col, x, 0);
+                    if (!unit) x.setAtIndex(JAVA_DOUBLE, j, t * A.getAtIndex(JAVA_DOUBLE, col + j));
+                }
+            } else {
+                for (int j = n; j-- > 0; ) {
+                    long col = (long) j * lda;
+                    double t = x.getAtIndex(JAVA_DOUBLE, j);
+                    daxpyAt(n - j - 1, t, A, col + j + 1, x, j + 1);
+                    if (!unit) x.setAtIndex(JAVA_DOUBLE, j, t * A.getAtIndex(JAVA_DOUBLE, col + j));
+                }
+            }
+        } else {
+            if (upper) {
+                for (int j = n; j-- > 0; ) {
+                    long col = (long) j * lda;
+                    double t = x.getAtIndex(JAVA_DOUBLE, j);
+                    if (!unit) t *= A.getAtIndex(JAVA_DOUBLE, col + j);
+                    x.setAtIndex(JAVA_DOUBLE, j, t + ddotAt(j, A, col, x, 0));
+                }
+            } else {
+                for (int j = 0; j < n; j++) {
+                    long col = (long) j * lda;
+                    double t = x.getAtIndex(JAVA_DOUBLE, j);
+                    if (!unit) t *= A.getAtIndex(JAVA_DOUBLE, col + j);
+                    x.setAtIndex(JAVA_DOUBLE, j, t + ddotAt(n - j - 1, A, col + j + 1, x, j + 1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void dger(Order layout, int m, int n, double alpha, MemorySegment x, int incx,
+                     MemorySegment y, int incy, MemorySegment A, int lda) {
+        if (layout == Order.ROW_MAJOR) {
+            // A' = alpha * y * x' + A'
+            dger(Order.COL_MAJOR, n, m, alpha, y, incy, x, incx, A, lda);
+            return;
+        }
+
+        if (m <= 0 || n <= 0 || alpha == 0) return;
+        MemorySegment xc = incx == 1 ? x : dgather(m, x, incx);
+        MemorySegment yc = incy == 1 ? y : dgather(n, y, incy);
+        int[] chunks = chunks(n, (long) m * n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(c -> {
+            for (int j = chunks[c]; j < chunks[c + 1]; j++) {
+                double t = alpha * yc.getAtIndex(JAVA_DOUBLE, j);
+                if (t != 0) {
+                    daxpyAt(m, t, xc, 0, A, (long) j * lda);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void dgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+                      double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      double beta, MemorySegment C, int ldc) {
+        if (layout == Order.ROW_MAJOR) {
+            // C' = op(B)' * op(A)' in column major.
+            dgemm(Order.COL_MAJOR, transB, transA, n, m, k, alpha, B, ldb, A, lda, beta, C, ldc);
+            return;
+        }
+
+        if (m <= 0 || n <= 0) return;
+        for (int j = 0; j < n; j++) {
+            long col = (long) j * ldc;
+            if (beta == 0) {
+                C.asSlice(col * Double.BYTES, (long) m * Double.BYTES).fill((byte) 0);
+            } else if (beta != 1) {
+                dscalAt(m, beta, C, col);
+            }
+        }
+        if (alpha == 0 || k <= 0) return;
+
+        boolean ta = transA != Transpose.NO_TRANSPOSE;
+        boolean tb = transB != Transpose.NO_TRANSPOSE;
+        int mt = (m + MC - 1) / MC;
+        int nt = (n + NC - 1) / NC;
+        IntStream tiles = IntStream.range(0, mt * nt);
+        if ((double) m * n * k >= PARALLEL_THRESHOLD) {
+            tiles = tiles.parallel();
+        }
+
+        tiles.forEach(tile -> {
+            int ic = (tile % mt) * MC;
+            int jc = (tile / mt) * NC;
+            int mc = Math.min(MC, m - ic);
+            int nc = Math.min(NC, n - jc);
+            double[] Ap = new double[KC * mc];
+            double[] Bp = new double[KC * nc];
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                // Packs alpha * op(A)[ic:ic+mc, pc:pc+kc] column by column.
+                for (int p = 0; p < kc; p++) {
+                    for (int i = 0; i < mc; i++) {
+                        long index = ta ? (pc + p) + (long) (ic + i) * lda : (ic + i) + (long) (pc + p) * lda;
+                        Ap[p * mc + i] = alpha * A.getAtIndex(JAVA_DOUBLE, index);
+                    }
+                }
+                // Packs op(B)[pc:pc+kc, jc:jc+nc] column by column.
+                for (int j = 0; j < nc; j++) {
+                    for (int p = 0; p < kc; p++) {
+                        long index = tb ? (jc + j) + (long) (pc + p) * ldb : (pc + p) + (long) (jc + j) * ldb;
+                        Bp[j * kc + p] = B.getAtIndex(JAVA_DOUBLE, index);
+                    }
+                }
+                dkernel(mc, nc, kc, Ap, Bp, C, ic + (long) jc * ldc, ldc);
+            }
+        });
+    }
+
+    /**
+     * The micro kernel of GEMM that computes {@code C += Ap * Bp} on a
+     * block. Four columns of C are updated at once so that each vector
+     * of Ap is loaded once for four fused multiply-adds.
+     * @param mc the number of rows of block.
+     * @param nc the number of columns of block.
+     * @param kc the inner dimension.
+     * @param Ap the packed block of A in column major.
+     * @param Bp the packed block of B in column major.
+     * @param C the output matrix.
+     * @param offset the offset of block in C.
+     * @param ldc the leading dimension of C.
+     */
+    private static void dkernel(int mc, int nc, int kc, double[] Ap, double[] Bp, MemorySegment C, long offset, int ldc) {
+        int lanes = D.length();
+        int j = 0;
+        for (; j + 4 <= nc; j += 4) {
+            int b0 = j * kc, b1 = b0 + kc, b2 = b1 + kc, b3 = b2 + kc;
+            for (int i = 0; i < mc; i += lanes) {
+                VectorMask<Double> mask = D.indexInRange(i, mc);
+                DoubleVector c0 = DoubleVector.zero(D);
+                DoubleVector c1 = DoubleVector.zero(D);
+                DoubleVector c2 = DoubleVector.zero(D);
+                DoubleVector c3 = DoubleVector.zero(D);
+                for (int p = 0; p < kc; p++) {
+                    DoubleVector a = DoubleVector.fromArray(D, Ap, p * mc + i, mask);
+                    c0 = a.fma(DoubleVector.broadcast(D, Bp[b0 + p]), c0);
+                    c1 = a.fma(DoubleVector.broadcast(D, Bp[b1 + p]), c1);
+                    c2 = a.fma(DoubleVector.broadcast(D, Bp[b2 + p]), c2);
+                    c3 = a.fma(DoubleVector.broadcast(D, Bp[b3 + p]), c3);
+                }
+                daccumulate(c0, mask, C, offset + (long) j * ldc + i);
+                daccumulate(c1, mask, C, offset + (long) (j + 1) * ldc + i);
+                daccumulate(c2, mask, C, offset + (long) (j + 2) * ldc + i);
+                daccumulate(c3, mask, C, offset + (long) (j + 3) * ldc + i);
+            }
+        }
+
+        for (; j < nc; j++) {
+            int b0 = j * kc;
+            for (int i = 0; i < mc; i += lanes) {
+                VectorMask<Double> mask = D.indexInRange(i, mc);
+                DoubleVector c0 = DoubleVector.zero(D);
+                for (int p = 0; p < kc; p++) {
+                    DoubleVector a = DoubleVector.fromArray(D, Ap, p * mc + i, mask);
+                    c0 = a.fma(DoubleVector.broadcast(D, Bp[b0 + p]), c0);
+                }
+                daccumulate(c0, mask, C, offset + (long) j * ldc + i);
+            }
+        }
+    }
+
+    /**
+     * Adds a vector to the elements of C.
+     * @param v the vector.
+     * @param mask the mask of valid lanes.
+     * @param C the output matrix.
+     * @param index the index of first element.
+     */
+    private static void daccumulate(DoubleVector v, VectorMask<Double> mask, MemorySegment C, long index) {
+        long offset = index * Double.BYTES;
+        DoubleVector c = DoubleVector.fromMemorySegment(D, C, offset, ORDER, mask);
+        c.add(v).intoMemorySegment(C, offset, ORDER, mask);
+    }
+
+    @Override
+    public void dsymm(Order layout, Side side, UPLO uplo, int m, int n,
+                      double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      double beta, MemorySegment C, int ldc) {
+        // Expands the referenced triangle to the full matrix, which
+        // costs O(k^2) compared to O(k^2 * n) of multiplication.
+        int ka = side == Side.LEFT ? m : n;
+        boolean lower = (uplo == UPLO.LOWER) == (layout == Order.COL_MAJOR);
+        double[] full = new double[ka * ka];
+        for (int j = 0; j < ka; j++) {
+            for (int i = j; i < ka; i++) {
+                long index = lower ? i + (long) j * lda : j + (long) i * lda;
+                double aij = A.getAtIndex(JAVA_DOUBLE, index);
+                full[i + j * ka] = aij;
+                full[j + i * ka] = aij;
+            }
+        }
+
+        MemorySegment F = MemorySegment.ofArray(full);
+        if (side == Side.LEFT) {
+            dgemm(layout, Transpose.NO_TRANSPOSE, Transpose.NO_TRANSPOSE, m, n, m, alpha, F, ka, B, ldb, beta, C, ldc);
+        } else {
+            dgemm(layout, Transpose.NO_TRANSPOSE, Transpose.NO_TRANSPOSE, m, n, n, alpha, B, ldb, F, ka, beta, C, ldc);
+        }
+    }
+
+    /**
+     * Computes {@code y = alpha * x + y} on contiguous elements.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     * @param y the vector y.
+     * @param yoff the index of first y element.
+     */
+    private static void daxpyAt(int n, double alpha, MemorySegment x, long xoff, MemorySegment y, long yoff) {
+        int i = 0;
+        int bound = D.loopBound(n);
+        DoubleVector a = DoubleVector.broadcast(D, alpha);
+        for (; i < bound; i += D.length()) {
+            long xo = (xoff + i) * Double.BYTES;
+            long yo = (yoff + i) * Double.BYTES;
+            DoubleVector xv = DoubleVector.fromMemorySegment(D, x, xo, ORDER);
+            DoubleVector yv = DoubleVector.fromMemorySegment(D, y, yo, ORDER);
+            xv.fma(a, yv).intoMemorySegment(y, yo, ORDER);
+        }
+        for (; i < n; i++) {
+            y.setAtIndex(JAVA_DOUBLE, yoff + i, y.getAtIndex(JAVA_DOUBLE, yoff + i) + alpha * x.getAtIndex(JAVA_DOUBLE, xoff + i));
+        }
+    }
+
+    /**
+     * Computes the dot product of contiguous elements.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     * @param y the vector y.
+     * @param yoff the index of first y element.
+     * @return the dot product.
+     */
+    private static double ddotAt(int n, MemorySegment x, long xoff, MemorySegment y, long yoff) {
+        int i = 0;
+        int bound = D.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(D);
+        for (; i < bound; i += D.length()) {
+            DoubleVector xv = DoubleVector.fromMemorySegment(D, x, (xoff + i) * Double.BYTES, ORDER);
+            DoubleVector yv = DoubleVector.fromMemorySegment(D, y, (yoff + i) * Double.BYTES, ORDER);
+            acc = xv.fma(yv, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x.getAtIndex(JAVA_DOUBLE, xoff + i) * y.getAtIndex(JAVA_DOUBLE, yoff + i);
+        }
+        return sum;
+    }
+
+    /**
+     * Computes {@code x = alpha * x} on contiguous elements.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     */
+    private static void dscalAt(int n, double alpha, MemorySegment x, long xoff) {
+        int i = 0;
+        int bound = D.loopBound(n);
+        for (; i < bound; i += D.length()) {
+            long offset = (xoff + i) * Double.BYTES;
+            DoubleVector.fromMemorySegment(D, x, offset, ORDER).mul(alpha).intoMemorySegment(x, offset, ORDER);
+        }
+        for (; i < n; i++) {
+            x.setAtIndex(JAVA_DOUBLE, xoff + i, alpha * x.getAtIndex(JAVA_DOUBLE, xoff + i));
+        }
+    }
+
+    /**
+     * Copies strided elements to a contiguous array.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the contiguous copy.
+     */
+    private static MemorySegment dgather(int n, MemorySegment x, int incx) {
+        double[] a = new double[n];
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        for (int i = 0; i < n; i++, ix += incx) {
+            a[i] = x.getAtIndex(JAVA_DOUBLE, ix);
+        }
+        return MemorySegment.ofArray(a);
+    }
+
+    /**
+     * Copies contiguous elements back to a strided vector.
+     * @param n the number of elements.
+     * @param a the contiguous elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     */
+    private static void dscatter(int n, MemorySegment a, MemorySegment x, int incx) {
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        for (int i = 0; i < n; i++, ix += incx) {
+            x.setAtIndex(JAVA_DOUBLE, ix, a.getAtIndex(JAVA_DOUBLE, i));
+        }
+    }
+
+    @Override
+    public float sasum(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return 0;
+        if (incx != 1) {
+            float sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.abs(x.getAtIndex(JAVA_FLOAT, (long) i * incx));
+            }
+            return sum;
+        }
+
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector acc = FloatVector.zero(S);
+        for (; i < bound; i += S.length()) {
+            acc = acc.add(FloatVector.fromMemorySegment(S, x, (long) i * Float.BYTES, ORDER).abs());
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += Math.abs(x.getAtIndex(JAVA_FLOAT, i));
+        }
+        return sum;
+    }
+
+    @Override
+    public void saxpy(int n, float alpha, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0 || alpha == 0) return;
+        if (incx == 1 && incy == 1) {
+            saxpyAt(n, alpha, x, 0, y, 0);
+            return;
+        }
+
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        long iy = incy < 0 ? (long) (1 - n) * incy : 0;
+        for (int i = 0; i < n; i++, ix += incx, iy += incy) {
+            y.setAtIndex(JAVA_FLOAT, iy, y.getAtIndex(JAVA_FLOAT, iy) + alpha * x.getAtIndex(JAVA_FLOAT, ix));
+        }
+    }
+
+    @Override
+    public float sdot(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0) return 0;
+        if (incx == 1 && incy == 1) {
+            return sdotAt(n, x, 0, y, 0);
+        }
+
+        float sum = 0;
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        long iy = incy < 0 ? (long) (1 - n) * incy : 0;
+        for (int i = 0; i < n; i++, ix += incx, iy += incy) {
+            sum += x.getAtIndex(JAVA_FLOAT, ix) * y.getAtIndex(JAVA_FLOAT, iy);
+        }
+        return sum;
+    }
+
+    @Override
+    public float snrm2(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return 0;
+        float sum;
+        if (incx == 1) {
+            sum = sdotAt(n, x, 0, x, 0);
+        } else {
+            sum = 0;
+            for (int i = 0; i < n; i++) {
+                float xi = x.getAtIndex(JAVA_FLOAT, (long) i * incx);
+                sum += xi * xi;
+            }
+        }
+
+        if (Double.isFinite(sum) && sum >= Float.MIN_NORMAL) {
+            return (float) Math.sqrt(sum);
+        }
+
+        // Rescales to avoid the overflow or underflow.
+        float scale = 0;
+        for (int i = 0; i < n; i++) {
+            scale = Math.max(scale, Math.abs(x.getAtIndex(JAVA_FLOAT, (long) i * incx)));
+        }
+        if (scale == 0 || !Double.isFinite(scale)) return scale;
+
+        float ssq = 0;
+        for (int i = 0; i < n; i++) {
+            float xi = x.getAtIndex(JAVA_FLOAT, (long) i * incx) / scale;
+            ssq += xi * xi;
+        }
+        return (float) (scale * Math.sqrt(ssq));
+    }
+
+    @Override
+    public void sscal(int n, float alpha, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return;
+        if (incx == 1) {
+            sscalAt(n, alpha, x, 0);
+            return;
+        }
+
+        for (int i = 0; i < n; i++) {
+            long ix = (long) i * incx;
+            x.setAtIndex(JAVA_FLOAT, ix, alpha * x.getAtIndex(JAVA_FLOAT, ix));
+        }
+    }
+
+    @Override
+    public void sswap(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        if (n <= 0) return;
+        int i = 0;
+        if (incx == 1 && incy == 1) {
+            int bound = S.loopBound(n);
+            for (; i < bound; i += S.length()) {
+                long offset = (long) i * Float.BYTES;
+                FloatVector xv = FloatVector.fromMemorySegment(S, x, offset, ORDER);
+                FloatVector yv = FloatVector.fromMemorySegment(S, y, offset, ORDER);
+                yv.intoMemorySegment(x, offset, ORDER);
+                xv.intoMemorySegment(y, offset, ORDER);
+            }
+        }
+
+        long ix = incx < 0 ? (long) (1 - n) * incx : (long) i * incx;
+        long iy = incy < 0 ? (long) (1 - n) * incy : (long) i * incy;
+        for (; i < n; i++, ix += incx, iy += incy) {
+            float t = x.getAtIndex(JAVA_FLOAT, ix);
+            x.setAtIndex(JAVA_FLOAT, ix, y.getAtIndex(JAVA_FLOAT, iy));
+            y.setAtIndex(JAVA_FLOAT, iy, t);
+        }
+    }
+
+    @Override
+    public int isamax(int n, MemorySegment x, int incx) {
+        if (n <= 0 || incx <= 0) return -1;
+        int index = 0;
+        float max = -1;
+        for (int i = 0; i < n; i++) {
+            float xi = Math.abs(x.getAtIndex(JAVA_FLOAT, (long) i * incx));
+            if (xi > max) {
+                max = xi;
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public void sgemv(Order layout, Transpose trans, int m, int n, float alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, float beta, MemorySegment y, int incy) {
+        if (layout == Order.ROW_MAJOR) {
+            // The row major matrix is the column major storage of its transpose.
+            sgemv(Order.COL_MAJOR, flip(trans), n, m, alpha, A, lda, x, incx, beta, y, incy);
+            return;
+        }
+
+        boolean notrans = trans == Transpose.NO_TRANSPOSE;
+        int leny = notrans ? m : n;
+        int lenx = notrans ? n : m;
+        if (leny <= 0) return;
+
+        if (incx != 1 || incy != 1) {
+            MemorySegment xc = sgather(lenx, x, incx);
+            MemorySegment yc = beta == 0 ? MemorySegment.ofArray(new float[leny]) : sgather(leny, y, incy);
+            sgemv(layout, trans, m, n, alpha, A, lda, xc, 1, beta, yc, 1);
+            sscatter(leny, yc, y, incy);
+            return;
+        }
+
+        if (beta == 0) {
+            y.asSlice(0, (long) leny * Float.BYTES).fill((byte) 0);
+        } else if (beta != 1) {
+            sscalAt(leny, beta, y, 0);
+        }
+        if (alpha == 0 || lenx <= 0) return;
+
+        int[] chunks = chunks(leny, (long) m * n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(c -> {
+            int from = chunks[c];
+            int to = chunks[c + 1];
+            if (notrans) {
+                // y[from:to] += alpha * A[from:to, j] * x[j]
+                for (int j = 0; j < n; j++) {
+                    float t = alpha * x.getAtIndex(JAVA_FLOAT, j);
+                    if (t != 0) {
+                        saxpyAt(to - from, t, A, from + (long) j * lda, y, from);
+                    }
+                }
+            } else {
+                // y[j] += alpha * A[:, j]' * x
+                for (int j = from; j < to; j++) {
+                    float t = sdotAt(m, A, (long) j * lda, x, 0);
+                    y.setAtIndex(JAVA_FLOAT, j, y.getAtIndex(JAVA_FLOAT, j) + alpha * t);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void ssymv(Order layout, UPLO uplo, int n, float alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, float beta, MemorySegment y, int incy) {
+        if (layout == Order.ROW_MAJOR) {
+            ssymv(Order.COL_MAJOR, UPLO.flip(uplo), n, alpha, A, lda, x, incx, beta, y, incy);
+            return;
+        }
+
+        if (n <= 0) return;
+        if (incx != 1 || incy != 1) {
+            MemorySegment xc = sgather(n, x, incx);
+            MemorySegment yc = beta == 0 ? MemorySegment.ofArray(new float[n]) : sgather(n, y, incy);
+            ssymv(layout, uplo, n, alpha, A, lda, xc, 1, beta, yc, 1);
+            sscatter(n, yc, y, incy);
+            return;
+        }
+
+        if (beta == 0) {
+            y.asSlice(0, (long) n * Float.BYTES).fill((byte) 0);
+        } else if (beta != 1) {
+            sscalAt(n, beta, y, 0);
+        }
+        if (alpha == 0) return;
+
+        for (int j = 0; j < n; j++) {
+            long col = (long) j * lda;
+            float t = alpha * x.getAtIndex(JAVA_FLOAT, j);
+            float s;
+            if (uplo == UPLO.LOWER) {
+                int len = n - j - 1;
+                saxpyAt(len, t, A, col + j + 1, y, j + 1);
+                s = sdotAt(len, A, col + j + 1, x, j + 1);
+            } else {
+                saxpyAt(j, t, A, col, y, 0);
+                s = sdotAt(j, A, col, x, 0);
+            }
+            float yj = y.getAtIndex(JAVA_FLOAT, j) + t * A.getAtIndex(JAVA_FLOAT, col + j) + alpha * s;
+            y.setAtIndex(JAVA_FLOAT, j, yj);
+        }
+    }
+
+    @Override
+    public void strmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+                      MemorySegment x, int incx) {
+        if (layout == Order.ROW_MAJOR) {
+            strmv(Order.COL_MAJOR, UPLO.flip(uplo), flip(trans), diag, n, A, lda, x, incx);
+            return;
+        }
+
+        if (n <= 0) return;
+        if (incx != 1) {
+            MemorySegment xc = sgather(n, x, incx);
+            strmv(layout, uplo, trans, diag, n, A, lda, xc, 1);
+            sscatter(n, xc, x, incx);
+            return;
+        }
+
+        boolean unit = diag == Diag.UNIT;
+        boolean upper = uplo == UPLO.UPPER;
+        if (trans == Transpose.NO_TRANSPOSE) {
+            if (upper) {
+                for (int j = 0; j < n; j++) {
+                    long col = (long) j * lda;
+                    float t = x.getAtIndex(JAVA_FLOAT, j);
+                    saxpyAt(j, t, A, col, x, 0);
+                    if (!unit) x.setAtIndex(JAVA_FLOAT, j, t * A.getAtIndex(JAVA_FLOAT, col + j));
+                }
+            } else {
+                for (int j = n; j-- > 0; ) {
+                    long col = (long) j * lda;
+                    float t = x.getAtIndex(JAVA_FLOAT, j);
+                    saxpyAt(n - j - 1, t, A, col + j + 1, x, j + 1);
+                    if (!unit) x.setAtIndex(JAVA_FLOAT, j, t * A.getAtIndex(JAVA_FLOAT, col + j));
+                }
+            }
+        } else {
+            if (upper) {
+                for (int j = n; j-- > 0; ) {
+                    long col = (long) j * lda;
+                    float t = x.getAtIndex(JAVA_FLOAT, j);
+                    if (!unit) t *= A.getAtIndex(JAVA_FLOAT, col + j);
+                    x.setAtIndex(JAVA_FLOAT, j, t + sdotAt(j, A, col, x, 0));
+                }
+            } else {
+                for (int j = 0; j < n; j++) {
+                    long col = (long) j * lda;
+                    float t = x.getAtIndex(JAVA_FLOAT, j);
+                    if (!unit) t *= A.getAtIndex(JAVA_FLOAT, col + j);
+                    x.setAtIndex(JAVA_FLOAT, j, t + sdotAt(n - j - 1, A, col + j + 1, x, j + 1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sger(Order layout, int m, int n, float alpha, MemorySegment x, int incx,
+                     MemorySegment y, int incy, MemorySegment A, int lda) {
+        if (layout == Order.ROW_MAJOR) {
+            // A' = alpha * y * x' + A'
+            sger(Order.COL_MAJOR, n, m, alpha, y, incy, x, incx, A, lda);
+            return;
+        }
+
+        if (m <= 0 || n <= 0 || alpha == 0) return;
+        MemorySegment xc = incx == 1 ? x : sgather(m, x, incx);
+        MemorySegment yc = incy == 1 ? y : sgather(n, y, incy);
+        int[] chunks = chunks(n, (long) m * n);
+        IntStream.range(0, chunks.length - 1).parallel().forEach(c -> {
+            for (int j = chunks[c]; j < chunks[c + 1]; j++) {
+                float t = alpha * yc.getAtIndex(JAVA_FLOAT, j);
+                if (t != 0) {
+                    saxpyAt(m, t, xc, 0, A, (long) j * lda);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void sgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+                      float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      float beta, MemorySegment C, int ldc) {
+        if (layout == Order.ROW_MAJOR) {
+            // C' = op(B)' * op(A)' in column major.
+            sgemm(Order.COL_MAJOR, transB, transA, n, m, k, alpha, B, ldb, A, lda, beta, C, ldc);
+            return;
+        }
+
+        if (m <= 0 || n <= 0) return;
+        for (int j = 0; j < n; j++) {
+            long col = (long) j * ldc;
+            if (beta == 0) {
+                C.asSlice(col * Float.BYTES, (long) m * Float.BYTES).fill((byte) 0);
+            } else if (beta != 1) {
+                sscalAt(m, beta, C, col);
+            }
+        }
+        if (alpha == 0 || k <= 0) return;
+
+        boolean ta = transA != Transpose.NO_TRANSPOSE;
+        boolean tb = transB != Transpose.NO_TRANSPOSE;
+        int mt = (m + MC - 1) / MC;
+        int nt = (n + NC - 1) / NC;
+        IntStream tiles = IntStream.range(0, mt * nt);
+        if ((double) m * n * k >= PARALLEL_THRESHOLD) {
+            tiles = tiles.parallel();
+        }
+
+        tiles.forEach(tile -> {
+            int ic = (tile % mt) * MC;
+            int jc = (tile / mt) * NC;
+            int mc = Math.min(MC, m - ic);
+            int nc = Math.min(NC, n - jc);
+            float[] Ap = new float[KC * mc];
+            float[] Bp = new float[KC * nc];
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                // Packs alpha * op(A)[ic:ic+mc, pc:pc+kc] column by column.
+                for (int p = 0; p < kc; p++) {
+                    for (int i = 0; i < mc; i++) {
+                        long index = ta ? (pc + p) + (long) (ic + i) * lda : (ic + i) + (long) (pc + p) * lda;
+                        Ap[p * mc + i] = alpha * A.getAtIndex(JAVA_FLOAT, index);
+                    }
+                }
+                // Packs op(B)[pc:pc+kc, jc:jc+nc] column by column.
+                for (int j = 0; j < nc; j++) {
+                    for (int p = 0; p < kc; p++) {
+                        long index = tb ? (jc + j) + (long) (pc + p) * ldb : (pc + p) + (long) (jc + j) * ldb;
+                        Bp[j * kc + p] = B.getAtIndex(JAVA_FLOAT, index);
+                    }
+                }
+                skernel(mc, nc, kc, Ap, Bp, C, ic + (long) jc * ldc, ldc);
+            }
+        });
+    }
+
+    /**
+     * The micro kernel of GEMM that computes {@code C += Ap * Bp} on a
+     * block. Four columns of C are updated at once so that each vector
+     * of Ap is loaded once for four fused multiply-adds.
+     * @param mc the number of rows of block.
+     * @param nc the number of columns of block.
+     * @param kc the inner dimension.
+     * @param Ap the packed block of A in column major.
+     * @param Bp the packed block of B in column major.
+     * @param C the output matrix.
+     * @param offset the offset of block in C.
+     * @param ldc the leading dimension of C.
+     */
+    private static void skernel(int mc, int nc, int kc, float[] Ap, float[] Bp, MemorySegment C, long offset, int ldc) {
+        int lanes = S.length();
+        int j = 0;
+        for (; j + 4 <= nc; j += 4) {
+            int b0 = j * kc, b1 = b0 + kc, b2 = b1 + kc, b3 = b2 + kc;
+            for (int i = 0; i < mc; i += lanes) {
+                VectorMask<Float> mask = S.indexInRange(i, mc);
+                FloatVector c0 = FloatVector.zero(S);
+                FloatVector c1 = FloatVector.zero(S);
+                FloatVector c2 = FloatVector.zero(S);
+                FloatVector c3 = FloatVector.zero(S);
+                for (int p = 0; p < kc; p++) {
+                    FloatVector a = FloatVector.fromArray(S, Ap, p * mc + i, mask);
+                    c0 = a.fma(FloatVector.broadcast(S, Bp[b0 + p]), c0);
+                    c1 = a.fma(FloatVector.broadcast(S, Bp[b1 + p]), c1);
+                    c2 = a.fma(FloatVector.broadcast(S, Bp[b2 + p]), c2);
+                    c3 = a.fma(FloatVector.broadcast(S, Bp[b3 + p]), c3);
+                }
+                saccumulate(c0, mask, C, offset + (long) j * ldc + i);
+                saccumulate(c1, mask, C, offset + (long) (j + 1) * ldc + i);
+                saccumulate(c2, mask, C, offset + (long) (j + 2) * ldc + i);
+                saccumulate(c3, mask, C, offset + (long) (j + 3) * ldc + i);
+            }
+        }
+
+        for (; j < nc; j++) {
+            int b0 = j * kc;
+            for (int i = 0; i < mc; i += lanes) {
+                VectorMask<Float> mask = S.indexInRange(i, mc);
+                FloatVector c0 = FloatVector.zero(S);
+                for (int p = 0; p < kc; p++) {
+                    FloatVector a = FloatVector.fromArray(S, Ap, p * mc + i, mask);
+                    c0 = a.fma(FloatVector.broadcast(S, Bp[b0 + p]), c0);
+                }
+                saccumulate(c0, mask, C, offset + (long) j * ldc + i);
+            }
+        }
+    }
+
+    /**
+     * Adds a vector to the elements of C.
+     * @param v the vector.
+     * @param mask the mask of valid lanes.
+     * @param C the output matrix.
+     * @param index the index of first element.
+     */
+    private static void saccumulate(FloatVector v, VectorMask<Float> mask, MemorySegment C, long index) {
+        long offset = index * Float.BYTES;
+        FloatVector c = FloatVector.fromMemorySegment(S, C, offset, ORDER, mask);
+        c.add(v).intoMemorySegment(C, offset, ORDER, mask);
+    }
+
+    @Override
+    public void ssymm(Order layout, Side side, UPLO uplo, int m, int n,
+                      float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      float beta, MemorySegment C, int ldc) {
+        // Expands the referenced triangle to the full matrix, which
+        // costs O(k^2) compared to O(k^2 * n) of multiplication.
+        int ka = side == Side.LEFT ? m : n;
+        boolean lower = (uplo == UPLO.LOWER) == (layout == Order.COL_MAJOR);
+        float[] full = new float[ka * ka];
+        for (int j = 0; j < ka; j++) {
+            for (int i = j; i < ka; i++) {
+                long index = lower ? i + (long) j * lda : j + (long) i * lda;
+                float aij = A.getAtIndex(JAVA_FLOAT, index);
+                full[i + j * ka] = aij;
+                full[j + i * ka] = aij;
+            }
+        }
+
+        MemorySegment F = MemorySegment.ofArray(full);
+        if (side == Side.LEFT) {
+            sgemm(layout, Transpose.NO_TRANSPOSE, Transpose.NO_TRANSPOSE, m, n, m, alpha, F, ka, B, ldb, beta, C, ldc);
+        } else {
+            sgemm(layout, Transpose.NO_TRANSPOSE, Transpose.NO_TRANSPOSE, m, n, n, alpha, B, ldb, F, ka, beta, C, ldc);
+        }
+    }
+
+    /**
+     * Computes {@code y = alpha * x + y} on contiguous elements.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     * @param y the vector y.
+     * @param yoff the index of first y element.
+     */
+    private static void saxpyAt(int n, float alpha, MemorySegment x, long xoff, MemorySegment y, long yoff) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector a = FloatVector.broadcast(S, alpha);
+        for (; i < bound; i += S.length()) {
+            long xo = (xoff + i) * Float.BYTES;
+            long yo = (yoff + i) * Float.BYTES;
+            FloatVector xv = FloatVector.fromMemorySegment(S, x, xo, ORDER);
+            FloatVector yv = FloatVector.fromMemorySegment(S, y, yo, ORDER);
+            xv.fma(a, yv).intoMemorySegment(y, yo, ORDER);
+        }
+        for (; i < n; i++) {
+            y.setAtIndex(JAVA_FLOAT, yoff + i, y.getAtIndex(JAVA_FLOAT, yoff + i) + alpha * x.getAtIndex(JAVA_FLOAT, xoff + i));
+        }
+    }
+
+    /**
+     * Computes the dot product of contiguous elements.
+     * @param n the number of elements.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     * @param y the vector y.
+     * @param yoff the index of first y element.
+     * @return the dot product.
+     */
+    private static float sdotAt(int n, MemorySegment x, long xoff, MemorySegment y, long yoff) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        FloatVector acc = FloatVector.zero(S);
+        for (; i < bound; i += S.length()) {
+            FloatVector xv = FloatVector.fromMemorySegment(S, x, (xoff + i) * Float.BYTES, ORDER);
+            FloatVector yv = FloatVector.fromMemorySegment(S, y, (yoff + i) * Float.BYTES, ORDER);
+            acc = xv.fma(yv, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += x.getAtIndex(JAVA_FLOAT, xoff + i) * y.getAtIndex(JAVA_FLOAT, yoff + i);
+        }
+        return sum;
+    }
+
+    /**
+     * Computes {@code x = alpha * x} on contiguous elements.
+     * @param n the number of elements.
+     * @param alpha the scalar alpha.
+     * @param x the vector x.
+     * @param xoff the index of first x element.
+     */
+    private static void sscalAt(int n, float alpha, MemorySegment x, long xoff) {
+        int i = 0;
+        int bound = S.loopBound(n);
+        for (; i < bound; i += S.length()) {
+            long offset = (xoff + i) * Float.BYTES;
+            FloatVector.fromMemorySegment(S, x, offset, ORDER).mul(alpha).intoMemorySegment(x, offset, ORDER);
+        }
+        for (; i < n; i++) {
+            x.setAtIndex(JAVA_FLOAT, xoff + i, alpha * x.getAtIndex(JAVA_FLOAT, xoff + i));
+        }
+    }
+
+    /**
+     * Copies strided elements to a contiguous array.
+     * @param n the number of elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     * @return the contiguous copy.
+     */
+    private static MemorySegment sgather(int n, MemorySegment x, int incx) {
+        float[] a = new float[n];
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        for (int i = 0; i < n; i++, ix += incx) {
+            a[i] = x.getAtIndex(JAVA_FLOAT, ix);
+        }
+        return MemorySegment.ofArray(a);
+    }
+
+    /**
+     * Copies contiguous elements back to a strided vector.
+     * @param n the number of elements.
+     * @param a the contiguous elements.
+     * @param x the vector.
+     * @param incx the increment of x elements.
+     */
+    private static void sscatter(int n, MemorySegment a, MemorySegment x, int incx) {
+        long ix = incx < 0 ? (long) (1 - n) * incx : 0;
+        for (int i = 0; i < n; i++, ix += incx) {
+            x.setAtIndex(JAVA_FLOAT, ix, a.getAtIndex(JAVA_FLOAT, i));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import smile.math.MathEx;
+
+/**
+ * The minimum residual method to solve symmetric, possibly indefinite,
+ * systems of linear equations. MINRES builds the Lanczos tridiagonal
+ * matrix of A and minimizes the residual over the Krylov subspace with
+ * Givens rotations. Unlike the conjugate gradient method, it doesn't
+ * break down on indefinite matrices. The matrix is accessed only
+ * through matrix-vector multiplications and the workspace is seven
+ * vectors of size n.
+ * <p>
+ * The preconditioner must be symmetric positive definite. The
+ * residual is minimized and measured in the norm of the inverse
+ * preconditioner.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li>C. C. Paige and M. A. Saunders. Solution of sparse indefinite systems of linear equations. SIAM J. Numer. Anal., 12(4):617-629, 1975.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+public interface MINRES {
+    private static Logger logger() {
+        final class LogHolder {
+            private static final Logger logger = LoggerFactory.getLogger(MINRES.class);
+        }
+        return LogHolder.logger;
+    }
+
+    /**
+     * Solves A * x = b by minimum residual method without preconditioner.
+     *
+     * @param A the symmetric linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @return the estimated relative residual.
+     */
+    static double solve(Matrix A, Vector b, Vector x) {
+        return solve(A, b, x, (r, z) -> Vector.copy(r, 0, z, 0, r.size()), 1E-6, 2 * A.nrow());
+    }
+
+    /**
+     * Solves A * x = b by preconditioned minimum residual method.
+     *
+     * @param A the symmetric linear system.
+     * @param b the right hand side of linear equations.
+     * @param x on input, x should be set to an initial guess of the solution
+     * (or all zeros). On output, x is set to the improved solution.
+     * @param P the symmetric positive definite preconditioner matrix.
+     * @param tol the desired relative residual.
+     * @param maxIter the maximum number of iterations.
+     * @return the estimated relative residual.
+     */
+    static double solve(Matrix A, Vector b, Vector x, Preconditioner P, double tol, int maxIter) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        if (tol <= 0.0) {
+            throw new IllegalArgumentException("Invalid tolerance: " + tol);
+        }
+
+        if (maxIter <= 0) {
+            throw new IllegalArgumentException("Invalid maximum iterations: " + maxIter);
+        }
+
+        int n = b.size();
+        Vector r1 = A.vector(n);
+        Vector r2 = A.vector(n);
+        Vector y = A.vector(n);
+        Vector v = A.vector(n);
+        Vector w = A.vector(n);
+        Vector w1 = A.vector(n);
+        Vector w2 = A.vector(n);
+
+        // r1 = b - A * x
+        A.mv(x, r1);
+        r1.scale(-1.0);
+        r1.axpy(1.0, b);
+        Vector.copy(r1, 0, r2, 0, n);
+        P.solve(r1, y);
+
+        double beta1 = r1.dot(y);
+        if (beta1 < 0.0) {
+            throw new IllegalArgumentException("The preconditioner is not positive definite");
+        }
+        if (beta1 == 0.0) {
+            return 0.0;
+        }
+        beta1 = Math.sqrt(beta1);
+
+        double oldb = 0.0, beta = beta1, dbar = 0.0, epsln = 0.0;
+        double phibar = beta1, cs = -1.0, sn = 0.0;
+        double err = 1.0;
+
+        for (int iter = 1; iter <= maxIter; iter++) {
+            // Lanczos step.
+            Vector.copy(y, 0, v, 0, n);
+            v.scale(1.0 / beta);
+            A.mv(v, y);
+            if (iter >= 2) {
+                y.axpy(-beta / oldb, r1);
+            }
+
+            double alpha = v.dot(y);
+            y.axpy(-alpha / beta, r2);
+            Vector t = r1;
+            r1 = r2;
+            r2 = y;
+            y = t;
+            P.solve(r2, y);
+
+            oldb = beta;
+            beta = r2.dot(y);
+            if (beta < 0.0) {
+                throw new IllegalArgumentException("The preconditioner is not positive definite");
+            }
+            beta = Math.sqrt(beta);
+
+            // Applies the previous rotation and computes the new one.
+            double oldeps = epsln;
+            double delta = cs * dbar + sn * alpha;
+            double gbar = sn * dbar - cs * alpha;
+            epsln = sn * beta;
+            dbar = -cs * beta;
+
+            double gamma = Math.max(Math.hypot(gbar, beta), MathEx.EPSILON);
+            cs = gbar / gamma;
+            sn = beta / gamma;
+            double phi = cs * phibar;
+            phibar = sn * phibar;
+
+            // w = (v - oldeps * w1 - delta * w2) / gamma
+            t = w1;
+            w1 = w2;
+            w2 = w;
+            w = t;
+            Vector.copy(v, 0, w, 0, n);
+            w.axpy(-oldeps, w1);
+            w.axpy(-delta, w2);
+            w.scale(1.0 / gamma);
+            x.axpy(phi, w);
+
+            err = Math.abs(phibar) / beta1;
+            if (iter % 10 == 0 || err <= tol) {
+                logger().info("MINRES: the error after {} iterations: {}", iter, err);
+            }
+
+            if (err <= tol || beta == 0.0) break;
+        }
+
+        return err;
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+import smile.linalg.Transpose;
+import smile.math.kernel.MercerKernel;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static smile.linalg.Transpose.*;
+import static smile.linalg.UPLO.*;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * An out-of-core double precision matrix backed by a memory-mapped file
+ * of column major data without header. The matrix may be much larger
+ * than the heap and even the physical memory, e.g. the 320 GB Gram
+ * matrix of 200,000 samples. The operations process the matrix in
+ * tiles of consecutive columns, which are views of the mapped memory,
+ * and call BLAS on each tile. The page cache of operating system keeps
+ * the hot tiles in memory and evicts the others.
+ * <p>
+ * The matrix is valid only until it is closed. The element-wise access
+ * is supported but slow on the cold pages.
+ *
+ * @author Haifeng Li
+ */
+public class MappedMatrix implements Matrix, AutoCloseable {
+    /** The default byte size of tiles. */
+    public static final long TILE_SIZE = 64L << 20;
+    /** The number of doubles per memory page. */
+    private static final int PAGE = 4096 / Double.BYTES;
+    /** The number of rows and columns of blocks to fill Gram matrices. */
+    private static final int BLOCK = 1024;
+
+    /** The arena of memory mapping. */
+    private final Arena arena;
+    /** The mapped memory. */
+    private final MemorySegment memory;
+    /** The matrix view of mapped memory. */
+    private final DenseMatrix matrix;
+    /** The number of columns per tile. */
+    private final int panel;
+
+    /**
+     * Constructor.
+     * @param arena the arena of memory mapping.
+     * @param memory the mapped memory.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param tileSize the byte size of tiles.
+     */
+    private MappedMatrix(Arena arena, MemorySegment memory, int m, int n, long tileSize) {
+        this.arena = arena;
+        this.memory = memory;
+        this.matrix = new OffHeapMatrix64(memory, m, n, m, null, null);
+        this.panel = Math.clamp(tileSize / ((long) m * Double.BYTES), 1, n);
+    }
+
+    /**
+     * Creates a zero matrix backed by a new file. The existing file
+     * will be truncated.
+     * @param path the file path.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @throws IOException when fails to create the file.
+     * @return the matrix.
+     */
+    public static MappedMatrix create(Path path, int m, int n) throws IOException {
+        return create(path, m, n, TILE_SIZE);
+    }
+
+    /**
+     * Creates a zero matrix backed by a new file. The existing file
+     * will be truncated.
+     * @param path the file path.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param tileSize the byte size of tiles.
+     * @throws IOException when fails to create the file.
+     * @return the matrix.
+     */
+    public static MappedMatrix create(Path path, int m, int n, long tileSize) throws IOException {
+        if (m <= 0 || n <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid matrix size: %d x %d", m, n));
+        }
+
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Invalid tile size: " + tileSize);
+        }
+
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end of file extends the file with zeros,
+            // which is sparse on most file systems.
+            long size = (long) m * n * Double.BYTES;
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            return new MappedMatrix(arena, memory, m, n, tileSize);
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a matrix file of column major data.
+     * @param path the file path.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param readOnly true if the matrix is read only.
+     * @throws IOException when fails to open the file.
+     * @return the matrix.
+     */
+    public static MappedMatrix open(Path path, int m, int n, boolean readOnly) throws IOException {
+        return open(path, m, n, readOnly, TILE_SIZE);
+    }
+
+    /**
+     * Opens a matrix file of column major data.
+     * @param path the file path.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param readOnly true if the matrix is read only.
+     * @param tileSize the byte size of tiles.
+     * @throws IOException when fails to open the file.
+     * @return the matrix.
+     */
+    public static MappedMatrix open(Path path, int m, int n, boolean readOnly, long tileSize) throws IOException {
+        if (m <= 0 || n <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid matrix size: %d x %d", m, n));
+        }
+
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Invalid tile size: " + tileSize);
+        }
+
+        Arena arena = Arena.ofShared();
+        var options = readOnly ?
+                new StandardOpenOption[]{StandardOpenOption.READ} :
+                new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long size = (long) m * n * Double.BYTES;
+            if (channel.size() != size) {
+                throw new IOException(String.format("File size %d doesn't match %d x %d matrix", channel.size(), m, n));
+            }
+
+            var mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+            MemorySegment memory = channel.map(mode, 0, size, arena);
+            return new MappedMatrix(arena, memory, m, n, tileSize);
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Computes the Gram matrix of a Mercer kernel into a new file. The
+     * matrix is filled by square blocks in parallel and each kernel
+     * value is computed once for the symmetric pair of elements.
+     * @param path the file path.
+     * @param x the samples.
+     * @param kernel the Mercer kernel.
+     * @param <T> the data type of samples.
+     * @throws IOException when fails to create the file.
+     * @return the Gram matrix.
+     */
+    public static <T> MappedMatrix gram(Path path, T[] x, MercerKernel<T> kernel) throws IOException {
+        int n = x.length;
+        MappedMatrix K = create(path, n, n);
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        // The pairs (I, J) of blocks with I >= J in the lower triangle.
+        IntStream.range(0, blocks * (blocks + 1) / 2).parallel().forEach(pair -> {
+            int I = (int) ((Math.sqrt(8.0 * pair + 1) - 1) / 2);
+            while (I * (I + 1) / 2 > pair) I--;
+            while ((I + 1) * (I + 2) / 2 <= pair) I++;
+            int J = pair - I * (I + 1) / 2;
+
+            int i0 = I * BLOCK, i1 = Math.min(n, i0 + BLOCK);
+            int j0 = J * BLOCK, j1 = Math.min(n, j0 + BLOCK);
+            int rows = i1 - i0;
+            int cols = j1 - j0;
+            double[] block = new double[rows * cols];
+            for (int j = 0; j < cols; j++) {
+                T xj = x[j0 + j];
+                for (int i = 0; i < rows; i++) {
+                    block[j * rows + i] = kernel.k(x[i0 + i], xj);
+                }
+            }
+
+            // Writes K[I, J] and K[J, I] column by column.
+            for (int j = 0; j < cols; j++) {
+                MemorySegment.copy(block, j * rows, K.memory, JAVA_DOUBLE, K.offset(i0, j0 + j), rows);
+            }
+            if (I != J) {
+                double[] column = new double[cols];
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        column[j] = block[j * rows + i];
+                    }
+                    MemorySegment.copy(column, 0, K.memory, JAVA_DOUBLE, K.offset(j0, i0 + i), cols);
+                }
+            }
+        });
+        return K;
+    }
+
+    /**
+     * Returns the byte offset of matrix element.
+     * @param i the row index.
+     * @param j the column index.
+     * @return the byte offset.
+     */
+    private long offset(int i, int j) {
+        return ((long) j * matrix.m + i) * Double.BYTES;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Writes the changes of mapped memory to the file.
+     */
+    public void flush() {
+        if (!memory.isReadOnly()) {
+            memory.force();
+        }
+    }
+
+    /**
+     * Returns the number of columns per tile.
+     * @return the number of columns per tile.
+     */
+    public int panel() {
+        return panel;
+    }
+
+    /**
+     * Returns the dense matrix view of mapped memory without copy.
+     * @return the dense matrix view.
+     */
+    public DenseMatrix dense() {
+        return matrix;
+    }
+
+    /**
+     * Returns the view of consecutive columns without copy.
+     * @param from the inclusive index of first column.
+     * @param to the exclusive index of last column.
+     * @return the view of columns.
+     */
+    public DenseMatrix tile(int from, int to) {
+        return matrix.submatrix(0, from, matrix.m, to);
+    }
+
+    @Override
+    public ScalarType scalarType() {
+        return Float64;
+    }
+
+    @Override
+    public int nrow() {
+        return matrix.m;
+    }
+
+    @Override
+    public int ncol() {
+        return matrix.n;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return matrix.get(i, j);
+    }
+
+    @Override
+    public void set(int i, int j, double x) {
+        matrix.set(i, j, x);
+    }
+
+    @Override
+    public void add(int i, int j, double x) {
+        matrix.add(i, j, x);
+    }
+
+    @Override
+    public void sub(int i, int j, double x) {
+        matrix.sub(i, j, x);
+    }
+
+    @Override
+    public void mul(int i, int j, double x) {
+        matrix.mul(i, j, x);
+    }
+
+    @Override
+    public void div(int i, int j, double x) {
+        matrix.div(i, j, x);
+    }
+
+    @Override
+    public MappedMatrix scale(double alpha) {
+        int n = matrix.n;
+        for (int j = 0; j < n; j += panel) {
+            tile(j, Math.min(n, j + panel)).scale(alpha);
+        }
+        return this;
+    }
+
+    /**
+     * Returns an on-heap copy of matrix. It should be called only
+     * if the matrix fits in the heap.
+     * @return an on-heap copy of matrix.
+     */
+    @Override
+    public DenseMatrix copy() {
+        return matrix.copy();
+    }
+
+    /**
+     * Returns the on-heap transpose of matrix. It should be called
+     * only if the matrix fits in the heap.
+     * @return the on-heap transpose of matrix.
+     */
+    @Override
+    public DenseMatrix transpose() {
+        return matrix.transpose();
+    }
+
+    @Override
+    public void mv(Transpose trans, double alpha, Vector x, double beta, Vector y) {
+        int n = matrix.n;
+        if (trans == NO_TRANSPOSE) {
+            // y = alpha * sum_P A[:, P] * x[P] + beta * y
+            for (int j = 0; j < n; j += panel) {
+                int l = Math.min(n, j + panel);
+                tile(j, l).mv(NO_TRANSPOSE, alpha, x.slice(j, l), j == 0 ? beta : 1.0, y);
+            }
+        } else {
+            // y[P] = alpha * A[:, P]' * x + beta * y[P]
+            for (int j = 0; j < n; j += panel) {
+                int l = Math.min(n, j + panel);
+                tile(j, l).mv(TRANSPOSE, alpha, x, beta, y.slice(j, l));
+            }
+        }
+    }
+
+    /**
+     * Returns the on-heap matrix multiplication {@code A * B}.
+     * @param B the operand.
+     * @return the multiplication.
+     */
+    public DenseMatrix mm(DenseMatrix B) {
+        int m = matrix.m;
+        int n = matrix.n;
+        if (B.nrow() != n) {
+            throw new IllegalArgumentException(String.format("Matrix multiplication A * B: %d x %d vs %d x %d", m, n, B.nrow(), B.ncol()));
+        }
+
+        int p = B.ncol();
+        DenseMatrix C = B.zeros(m, p);
+        for (int j = 0; j < n; j += panel) {
+            int l = Math.min(n, j + panel);
+            DenseMatrix Bp = B.submatrix(j, 0, l, p);
+            DenseMatrix.mm(1.0, NO_TRANSPOSE, tile(j, l), NO_TRANSPOSE, Bp, 1.0, C);
+        }
+        return C;
+    }
+
+    /**
+     * Returns the on-heap matrix multiplication {@code A' * B}.
+     * @param B the operand.
+     * @return the multiplication.
+     */
+    public DenseMatrix tm(DenseMatrix B) {
+        int m = matrix.m;
+        int n = matrix.n;
+        if (B.nrow() != m) {
+            throw new IllegalArgumentException(String.format("Matrix multiplication A' * B: %d x %d vs %d x %d", m, n, B.nrow(), B.ncol()));
+        }
+
+        int p = B.ncol();
+        DenseMatrix C = B.zeros(n, p);
+        for (int j = 0; j < n; j += panel) {
+            int l = Math.min(n, j + panel);
+            DenseMatrix Cp = tile(j, l).tm(B);
+            for (int q = 0; q < p; q++) {
+                for (int i = j; i < l; i++) {
+                    C.set(i, q, Cp.get(i - j, q));
+                }
+            }
+        }
+        return C;
+    }
+
+    /**
+     * Returns the on-heap matrix {@code A' * A}, which is accumulated in
+     * one pass over blocks of rows as {@code C += A_b' * A_b}. The blocks
+     * are about the size of a tile and span whole pages of each column
+     * so that every page of the file is read only once.
+     * @return {@code A' * A}.
+     */
+    public DenseMatrix ata() {
+        int m = matrix.m;
+        int n = matrix.n;
+        long rows = Math.max((long) panel * m / n, 1);
+        int block = (int) Math.min(m, (rows + PAGE - 1) / PAGE * PAGE);
+        DenseMatrix C = DenseMatrix.zeros(Float64, n, n);
+        for (int i = 0; i < m; i += block) {
+            DenseMatrix Ab = matrix.submatrix(i, 0, Math.min(m, i + block), n);
+            DenseMatrix.mm(1.0, TRANSPOSE, Ab, NO_TRANSPOSE, Ab, 1.0, C);
+        }
+
+        // Makes the rounding errors symmetric.
+        for (int j = 0; j < n; j++) {
+            for (int i = j + 1; i < n; i++) {
+                C.set(j, i, C.get(i, j));
+            }
+        }
+        return C.withUplo(LOWER);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.lang.foreign.MemorySegment;
+import smile.linalg.*;
+import smile.linalg.blas.cblas_h;
+
+/**
+ * The BLAS provider of native libraries such as OpenBLAS, MKL and
+ * Accelerate through the foreign function interface.
+ *
+ * @author Haifeng Li
+ */
+final class NativeBLAS implements BLAS {
+    /** The singleton instance. */
+    static final NativeBLAS INSTANCE = new NativeBLAS();
+
+    /** Private constructor of singleton. */
+    private NativeBLAS() {
+
+    }
+
+    /**
+     * Returns true if the native library can be loaded.
+     * @return true if the native library can be loaded.
+     */
+    static boolean isAvailable() {
+        try {
+            cblas_h.cblas_ddot(0, MemorySegment.NULL, 1, MemorySegment.NULL, 1);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "native";
+    }
+
+    @Override
+    public String toString() {
+        return "NativeBLAS";
+    }
+
+    @Override
+    public double dasum(int n, MemorySegment x, int incx) {
+        return cblas_h.cblas_dasum(n, x, incx);
+    }
+
+    @Override
+    public float sasum(int n, MemorySegment x, int incx) {
+        return cblas_h.cblas_sasum(n, x, incx);
+    }
+
+    @Override
+    public void daxpy(int n, double alpha, MemorySegment x, int incx, MemorySegment y, int incy) {
+        cblas_h.cblas_daxpy(n, alpha, x, incx, y, incy);
+    }
+
+    @Override
+    public void saxpy(int n, float alpha, MemorySegment x, int incx, MemorySegment y, int incy) {
+        cblas_h.cblas_saxpy(n, alpha, x, incx, y, incy);
+    }
+
+    @Override
+    public double ddot(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        return cblas_h.cblas_ddot(n, x, incx, y, incy);
+    }
+
+    @Override
+    public float sdot(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        return cblas_h.cblas_sdot(n, x, incx, y, incy);
+    }
+
+    @Override
+    public double dnrm2(int n, MemorySegment x, int incx) {
+        return cblas_h.cblas_dnrm2(n, x, incx);
+    }
+
+    @Override
+    public float snrm2(int n, MemorySegment x, int incx) {
+        return cblas_h.cblas_snrm2(n, x, incx);
+    }
+
+    @Override
+    public void dscal(int n, double alpha, MemorySegment x, int incx) {
+        cblas_h.cblas_dscal(n, alpha, x, incx);
+    }
+
+    @Override
+    public void sscal(int n, float alpha, MemorySegment x, int incx) {
+        cblas_h.cblas_sscal(n, alpha, x, incx);
+    }
+
+    @Override
+    public void dswap(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        cblas_h.cblas_dswap(n, x, incx, y, incy);
+    }
+
+    @Override
+    public void sswap(int n, MemorySegment x, int incx, MemorySegment y, int incy) {
+        cblas_h.cblas_sswap(n, x, incx, y, incy);
+    }
+
+    @Override
+    public int idamax(int n, MemorySegment x, int incx) {
+        return (int) cblas_h.cblas_idamax(n, x, incx);
+    }
+
+    @Override
+    public int isamax(int n, MemorySegment x, int incx) {
+        return (int) cblas_h.cblas_isamax(n, x, incx);
+    }
+
+    @Override
+    public void dgemv(Order layout, Transpose trans, int m, int n, double alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, double beta, MemorySegment y, int incy) {
+        cblas_h.cblas_dgemv(layout.blas(), trans.blas(), m, n, alpha, A, lda, x, incx, beta, y, incy);
+    }
+
+    @Override
+    public void sgemv(Order layout, Transpose trans, int m, int n, float alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, float beta, MemorySegment y, int incy) {
+        cblas_h.cblas_sgemv(layout.blas(), trans.blas(), m, n, alpha, A, lda, x, incx, beta, y, incy);
+    }
+
+    @Override
+    public void dsymv(Order layout, UPLO uplo, int n, double alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, double beta, MemorySegment y, int incy) {
+        cblas_h.cblas_dsymv(layout.blas(), uplo.blas(), n, alpha, A, lda, x, incx, beta, y, incy);
+    }
+
+    @Override
+    public void ssymv(Order layout, UPLO uplo, int n, float alpha, MemorySegment A, int lda,
+                      MemorySegment x, int incx, float beta, MemorySegment y, int incy) {
+        cblas_h.cblas_ssymv(layout.blas(), uplo.blas(), n, alpha, A, lda, x, incx, beta, y, incy);
+    }
+
+    @Override
+    public void dtrmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+                      MemorySegment x, int incx) {
+        cblas_h.cblas_dtrmv(layout.blas(), uplo.blas(), trans.blas(), diag.blas(), n, A, lda, x, incx);
+    }
+
+    @Override
+    public void strmv(Order layout, UPLO uplo, Transpose trans, Diag diag, int n, MemorySegment A, int lda,
+                      MemorySegment x, int incx) {
+        cblas_h.cblas_strmv(layout.blas(), uplo.blas(), trans.blas(), diag.blas(), n, A, lda, x, incx);
+    }
+
+    @Override
+    public void dger(Order layout, int m, int n, double alpha, MemorySegment x, int incx,
+                     MemorySegment y, int incy, MemorySegment A, int lda) {
+        cblas_h.cblas_dger(layout.blas(), m, n, alpha, x, incx, y, incy, A, lda);
+    }
+
+    @Override
+    public void sger(Order layout, int m, int n, float alpha, MemorySegment x, int incx,
+                     MemorySegment y, int incy, MemorySegment A, int lda) {
+        cblas_h.cblas_sger(layout.blas(), m, n, alpha, x, incx, y, incy, A, lda);
+    }
+
+    @Override
+    public void dgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+                      double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      double beta, MemorySegment C, int ldc) {
+        cblas_h.cblas_dgemm(layout.blas(), transA.blas(), transB.blas(), m, n, k,
+                alpha, A, lda, B, ldb, beta, C, ldc);
+    }
+
+    @Override
+    public void sgemm(Order layout, Transpose transA, Transpose transB, int m, int n, int k,
+                      float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      float beta, MemorySegment C, int ldc) {
+        cblas_h.cblas_sgemm(layout.blas(), transA.blas(), transB.blas(), m, n, k,
+                alpha, A, lda, B, ldb, beta, C, ldc);
+    }
+
+    @Override
+    public void dsymm(Order layout, Side side, UPLO uplo, int m, int n,
+                      double alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      double beta, MemorySegment C, int ldc) {
+        cblas_h.cblas_dsymm(layout.blas(), side.blas(), uplo.blas(), m, n,
+                alpha, A, lda, B, ldb, beta, C, ldc);
+    }
+
+    @Override
+    public void ssymm(Order layout, Side side, UPLO uplo, int m, int n,
+                      float alpha, MemorySegment A, int lda, MemorySegment B, int ldb,
+                      float beta, MemorySegment C, int ldc) {
+        cblas_h.cblas_ssymm(layout.blas(), side.blas(), uplo.blas(), m, n,
+                alpha, A, lda, B, ldb, beta, C, ldc);
+    }
+}
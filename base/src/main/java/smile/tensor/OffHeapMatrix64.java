@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.Serial;
+import java.lang.foreign.MemorySegment;
+import smile.linalg.Diag;
+import smile.linalg.UPLO;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * A dense matrix of double precision floating numbers backed by
+ * a memory segment, which may be allocated by an arena or mapped
+ * from a file. The matrix doesn't own the memory. The serialized
+ * form is an on-heap copy.
+ *
+ * @author Haifeng Li
+ */
+class OffHeapMatrix64 extends DenseMatrix {
+    /**
+     * Constructor.
+     * @param memory the memory segment of data.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     * @param ld the leading dimension.
+     * @param uplo if not null, the matrix is symmetric or triangular.
+     * @param diag if not null, this flag specifies if a triangular
+     *             matrix has unit diagonal elements.
+     */
+    public OffHeapMatrix64(MemorySegment memory, int m, int n, int ld, UPLO uplo, Diag diag) {
+        if (memory.byteSize() < ((long) ld * (n - 1) + m) * JAVA_DOUBLE.byteSize()) {
+            throw new IllegalArgumentException(String.format("Memory segment too small for %d x %d matrix: %d bytes", m, n, memory.byteSize()));
+        }
+        super(memory, m, n, ld, uplo, diag);
+    }
+
+    /**
+     * Replaces the matrix with an on-heap copy in serialization
+     * as the memory segment is not serializable.
+     * @return an on-heap copy.
+     */
+    @Serial
+    private Object writeReplace() {
+        return copy();
+    }
+
+    /**
+     * Returns the linearized index of matrix element,
+     * which may be larger than the maximum integer.
+     * @param i the row index.
+     * @param j the column index.
+     * @return the linearized index.
+     */
+    private long index(int i, int j) {
+        return (long) j * ld + i;
+    }
+
+    @Override
+    public ScalarType scalarType() {
+        return Float64;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return memory.getAtIndex(JAVA_DOUBLE, index(i, j));
+    }
+
+    @Override
+    public void set(int i, int j, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, index(i, j), x);
+    }
+
+    @Override
+    public void add(int i, int j, double x) {
+        long k = index(i, j);
+        memory.setAtIndex(JAVA_DOUBLE, k, memory.getAtIndex(JAVA_DOUBLE, k) + x);
+    }
+
+    @Override
+    public void sub(int i, int j, double x) {
+        long k = index(i, j);
+        memory.setAtIndex(JAVA_DOUBLE, k, memory.getAtIndex(JAVA_DOUBLE, k) - x);
+    }
+
+    @Override
+    public void mul(int i, int j, double x) {
+        long k = index(i, j);
+        memory.setAtIndex(JAVA_DOUBLE, k, memory.getAtIndex(JAVA_DOUBLE, k) * x);
+    }
+
+    @Override
+    public void div(int i, int j, double x) {
+        long k = index(i, j);
+        memory.setAtIndex(JAVA_DOUBLE, k, memory.getAtIndex(JAVA_DOUBLE, k) / x);
+    }
+
+    @Override
+    public void fill(double value) {
+        for (int j = 0; j < n; j++) {
+            column(j).fill(value);
+        }
+    }
+
+    @Override
+    public DenseMatrix copy() {
+        DenseMatrix copy = zeros(Float64, m, n);
+        for (int j = 0; j < n; j++) {
+            MemorySegment.copy(memory, JAVA_DOUBLE, index(0, j) * Double.BYTES,
+                    copy.memory, JAVA_DOUBLE, (long) copy.ld * j * Double.BYTES, m);
+        }
+        copy.uplo = uplo;
+        copy.diag = diag;
+        return copy;
+    }
+
+    @Override
+    public Vector column(int j) {
+        long bytes = JAVA_DOUBLE.byteSize();
+        return OffHeapVector64.column(memory.asSlice(index(0, j) * bytes, m * bytes));
+    }
+
+    @Override
+    public DenseMatrix submatrix(int i, int j, int k, int l) {
+        if (i < 0 || i > m || k <= i || k > m || j < 0 || j > n || l <= j || l > n) {
+            throw new IllegalArgumentException(String.format("Invalid submatrix range (%d:%d, %d:%d) of %d x %d", i, k, j, l, m, n));
+        }
+
+        // A submatrix of column major is a view with the same leading dimension.
+        int nrow = k - i;
+        int ncol = l - j;
+        long bytes = JAVA_DOUBLE.byteSize();
+        long offset = index(i, j) * bytes;
+        long length = ((long) ld * (ncol - 1) + nrow) * bytes;
+        return new OffHeapMatrix64(memory.asSlice(offset, length), nrow, ncol, ld, null, null);
+    }
+}
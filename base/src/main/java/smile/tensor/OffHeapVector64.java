@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.Serial;
+import java.lang.foreign.MemorySegment;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import smile.math.MathEx;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * A vector of double precision floating numbers backed by a memory
+ * segment, e.g. a column of off-heap matrix. The serialized form is
+ * an on-heap copy.
+ *
+ * @author Haifeng Li
+ */
+class OffHeapVector64 extends Vector {
+    /**
+     * The length of vector.
+     */
+    final int length;
+
+    /**
+     * Private constructor.
+     * @param memory the memory segment of data.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     */
+    private OffHeapVector64(MemorySegment memory, int m, int n) {
+        long length = memory.byteSize() / JAVA_DOUBLE.byteSize();
+        if (m != length && n != length) {
+            throw new IllegalArgumentException("Invalid vector dimension: " + m + " x " + n);
+        }
+
+        super(memory, m, n);
+        this.length = (int) length;
+    }
+
+    /**
+     * Returns a column vector.
+     * @param memory the memory segment of data.
+     * @return a column vector.
+     */
+    public static OffHeapVector64 column(MemorySegment memory) {
+        int length = Math.toIntExact(memory.byteSize() / JAVA_DOUBLE.byteSize());
+        return new OffHeapVector64(memory, length, 1);
+    }
+
+    /**
+     * Replaces the vector with an on-heap copy in serialization
+     * as the memory segment is not serializable.
+     * @return an on-heap copy.
+     */
+    @Serial
+    private Object writeReplace() {
+        return copy();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof Vector b && length == b.size()) {
+            for (int i = 0; i < length; i++) {
+                if (Math.abs(get(i) - b.get(i)) > MathEx.FLOAT_EPSILON) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        String suffix = size() > 10 ?  ", ...]" : "]";
+        return IntStream.range(0, length)
+                .limit(10)
+                .mapToObj(i -> AbstractTensor.format(get(i)))
+                .collect(Collectors.joining(", ", "[", suffix));
+    }
+
+    @Override
+    public ScalarType scalarType() {
+        return Float64;
+    }
+
+    @Override
+    public OffHeapVector64 transpose() {
+        return new OffHeapVector64(memory, n, m);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        assert(i == 0 || j == 0);
+        return get(i + j);
+    }
+
+    @Override
+    public void set(int i, int j, double x) {
+        assert(i == 0 || j == 0);
+        set(i + j, x);
+    }
+
+    @Override
+    public void add(int i, int j, double x) {
+        assert(i == 0 || j == 0);
+        add(i + j, x);
+    }
+
+    @Override
+    public void sub(int i, int j, double x) {
+        assert(i == 0 || j == 0);
+        sub(i + j, x);
+    }
+
+    @Override
+    public void mul(int i, int j, double x) {
+        assert(i == 0 || j == 0);
+        mul(i + j, x);
+    }
+
+    @Override
+    public void div(int i, int j, double x) {
+        assert(i == 0 || j == 0);
+        div(i + j, x);
+    }
+
+    @Override
+    public double get(int i) {
+        return memory.getAtIndex(JAVA_DOUBLE, i);
+    }
+
+    @Override
+    public void set(int i, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, i, x);
+    }
+
+    @Override
+    public void add(int i, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, i, memory.getAtIndex(JAVA_DOUBLE, i) + x);
+    }
+
+    @Override
+    public void sub(int i, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, i, memory.getAtIndex(JAVA_DOUBLE, i) - x);
+    }
+
+    @Override
+    public void mul(int i, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, i, memory.getAtIndex(JAVA_DOUBLE, i) * x);
+    }
+
+    @Override
+    public void div(int i, double x) {
+        memory.setAtIndex(JAVA_DOUBLE, i, memory.getAtIndex(JAVA_DOUBLE, i) / x);
+    }
+
+    @Override
+    public Vector slice(int from, int to) {
+        int length = to - from;
+        long byteSize = scalarType().byteSize();
+        var slice = memory.asSlice(from * byteSize, length * byteSize);
+        int m = nrow() > 1 ? length : 1;
+        int n = nrow() > 1 ? 1 : length;
+        return new OffHeapVector64(slice, m, n);
+    }
+
+    @Override
+    public Vector copy(int from, int to) {
+        double[] data = new double[to - from];
+        int end = Math.min(to, length);
+        if (end > from) {
+            MemorySegment.copy(memory, JAVA_DOUBLE, from * JAVA_DOUBLE.byteSize(), data, 0, end - from);
+        }
+        return nrow() > 1 ? Vector64.column(data, 0, data.length) : Vector64.row(data, 0, data.length);
+    }
+
+    @Override
+    public double[] toArray(double[] a) {
+        if (a.length < length) {
+            a = new double[length];
+        }
+        MemorySegment.copy(memory, JAVA_DOUBLE, 0, a, 0, length);
+        return a;
+    }
+
+    @Override
+    public float[] toArray(float[] a) {
+        if (a.length < length) {
+            a = new float[length];
+        }
+        for (int i = 0; i < length; i++) {
+            a[i] = (float) get(i);
+        }
+        return a;
+    }
+
+    @Override
+    public void fill(double value) {
+        fill(0, length, value);
+    }
+
+    @Override
+    public void fill(int from, int to, double value) {
+        for (int i = from; i < to; i++) {
+            memory.setAtIndex(JAVA_DOUBLE, i, value);
+        }
+    }
+
+    @Override
+    public int softmax() {
+        int k = length;
+        int y = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < k; i++) {
+            if (get(i) > max) {
+                max = get(i);
+                y = i;
+            }
+        }
+
+        double Z = 0.0;
+        for (int i = 0; i < k; i++) {
+            double out = Math.exp(get(i) - max);
+            set(i, out);
+            Z += out;
+        }
+
+        for (int i = 0; i < k; i++) {
+            div(i, Z);
+        }
+
+        return y;
+    }
+}
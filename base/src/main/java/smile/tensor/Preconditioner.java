@@ -61,4 +61,94 @@ public interface Preconditioner {
             }
         };
     }
+
+    /**
+     * Returns the block Jacobi preconditioner matrix, which is the
+     * block diagonal part of A with the blocks of given size. The
+     * diagonal blocks are inverted once. Singular blocks fall back
+     * to their diagonal part.
+     * @param A the matrix of linear system.
+     * @param size the size of diagonal blocks. The last block may
+     *             be smaller.
+     * @return the preconditioner matrix.
+     */
+    static Preconditioner BlockJacobi(Matrix A, int size) {
+        if (A.nrow() != A.ncol()) {
+            throw new IllegalArgumentException("Matrix A must be square");
+        }
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid block size: " + size);
+        }
+
+        int n = A.ncol();
+        int blocks = (n + size - 1) / size;
+        double[][] inv = new double[blocks][];
+        for (int k = 0; k < blocks; k++) {
+            int offset = k * size;
+            int b = Math.min(size, n - offset);
+            double[][] block = new double[b][b];
+            for (int i = 0; i < b; i++) {
+                for (int j = 0; j < b; j++) {
+                    block[i][j] = A.get(offset + i, offset + j);
+                }
+            }
+
+            double[] ik = new double[b * b];
+            LU lu = DenseMatrix.of(block).lu();
+            if (lu.isSingular()) {
+                for (int i = 0; i < b; i++) {
+                    double d = block[i][i];
+                    ik[i * b + i] = d != 0.0 ? 1.0 / d : 1.0;
+                }
+            } else {
+                DenseMatrix blockInv = lu.inverse();
+                for (int i = 0; i < b; i++) {
+                    for (int j = 0; j < b; j++) {
+                        ik[i * b + j] = blockInv.get(i, j);
+                    }
+                }
+            }
+            inv[k] = ik;
+        }
+
+        return (b, x) -> {
+            for (int k = 0; k < blocks; k++) {
+                int offset = k * size;
+                int bs = Math.min(size, n - offset);
+                double[] ik = inv[k];
+                for (int i = 0; i < bs; i++) {
+                    double sum = 0.0;
+                    for (int j = 0; j < bs; j++) {
+                        sum += ik[i * bs + j] * b.get(offset + j);
+                    }
+                    x.set(offset + i, sum);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the incomplete LU factorization preconditioner with zero
+     * fill-in, ILU(0). It is suitable for general nonsymmetric sparse
+     * matrices and iterative solvers such as GMRES and biconjugate
+     * gradient.
+     * @param A the square sparse matrix with nonzero diagonal elements.
+     * @return the preconditioner matrix.
+     */
+    static Preconditioner ILU(SparseMatrix A) {
+        return IncompleteFactorization.ilu(A);
+    }
+
+    /**
+     * Returns the incomplete Cholesky factorization preconditioner with
+     * zero fill-in, IC(0). It is suitable for symmetric positive definite
+     * sparse matrices and the conjugate gradient method. Only the lower
+     * triangular part of A is accessed.
+     * @param A the symmetric positive definite sparse matrix.
+     * @return the preconditioner matrix.
+     */
+    static Preconditioner IncompleteCholesky(SparseMatrix A) {
+        return IncompleteFactorization.ic(A);
+    }
 }
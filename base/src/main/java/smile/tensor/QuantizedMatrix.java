@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.Serial;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * A column major matrix of 8-bit symmetric quantization. The element
+ * {@code A[i, j]} is {@code q[i, j] * scale[j]}, where q is in
+ * {@code [-127, 127]} and the scale of column is its maximum absolute
+ * value divided by 127. The quantization error is at most half of
+ * the scale.
+ *
+ * @author Haifeng Li
+ */
+class QuantizedMatrix extends CompactMatrix {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /** The maximum absolute value of quantized elements. */
+    private static final int QMAX = 127;
+
+    /** The quantized elements. */
+    final byte[] data;
+    /** The scale of columns. */
+    final double[] scale;
+
+    /**
+     * Constructor.
+     * @param data the quantized elements in column major.
+     * @param scale the scale of columns.
+     * @param m the number of rows.
+     * @param n the number of columns.
+     */
+    QuantizedMatrix(byte[] data, double[] scale, int m, int n) {
+        super(m, n);
+        if (data.length != m * n) {
+            throw new IllegalArgumentException(String.format("Invalid data size for %d x %d matrix: %d", m, n, data.length));
+        }
+
+        if (scale.length != n) {
+            throw new IllegalArgumentException(String.format("Invalid scale size for %d x %d matrix: %d", m, n, scale.length));
+        }
+        this.data = data;
+        this.scale = scale;
+    }
+
+    /**
+     * Returns the quantized copy of a matrix.
+     * @param A the matrix.
+     * @return the quantized copy.
+     * @throws IllegalArgumentException if the matrix has non-finite values.
+     */
+    static QuantizedMatrix of(Matrix A) {
+        int m = A.nrow();
+        int n = A.ncol();
+        QuantizedMatrix Q = new QuantizedMatrix(new byte[m * n], new double[n], m, n);
+        double[] column = new double[m];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                column[i] = check(i, j, A.get(i, j));
+            }
+            Q.quantize(j, column);
+        }
+        return Q;
+    }
+
+    /**
+     * Returns the value if it is finite. The scale of column can't
+     * represent NaN or infinity, which would corrupt the whole column.
+     * @param i the row index.
+     * @param j the column index.
+     * @param x the value.
+     * @return the value.
+     */
+    private static double check(int i, int j, double x) {
+        if (!Double.isFinite(x)) {
+            throw new IllegalArgumentException(String.format("Non-finite value at (%d, %d): %s", i, j, x));
+        }
+        return x;
+    }
+
+    /**
+     * Quantizes a column.
+     * @param j the column index.
+     * @param column the values of column.
+     */
+    private void quantize(int j, double[] column) {
+        double max = 0.0;
+        for (double x : column) {
+            max = Math.max(max, Math.abs(x));
+        }
+
+        double s = max > 0.0 ? max / QMAX : 1.0;
+        int offset = j * m;
+        for (int i = 0; i < m; i++) {
+            data[offset + i] = (byte) Math.rint(column[i] / s);
+        }
+        scale[j] = s;
+    }
+
+    @Override
+    public ScalarType scalarType() {
+        return QInt8;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        return data[j * m + i] * scale[j];
+    }
+
+    @Override
+    public void set(int i, int j, double x) {
+        check(i, j, x);
+        double q = Math.rint(x / scale[j]);
+        if (Math.abs(q) <= QMAX) {
+            data[j * m + i] = (byte) q;
+        } else {
+            double[] column = new double[m];
+            column(j, column);
+            column[i] = x;
+            quantize(j, column);
+        }
+    }
+
+    @Override
+    public QuantizedMatrix scale(double alpha) {
+        for (int j = 0; j < n; j++) {
+            scale[j] *= alpha;
+        }
+        return this;
+    }
+
+    @Override
+    public QuantizedMatrix copy() {
+        return new QuantizedMatrix(data.clone(), scale.clone(), m, n);
+    }
+
+    @Override
+    public void column(int j, double[] column) {
+        int offset = j * m;
+        double s = scale[j];
+        for (int i = 0; i < m; i++) {
+            column[i] = data[offset + i] * s;
+        }
+    }
+
+    @Override
+    public double dot(int j, double[] x) {
+        int offset = j * m;
+        double sum = 0.0;
+        for (int i = 0; i < m; i++) {
+            sum += data[offset + i] * x[i];
+        }
+        return sum * scale[j];
+    }
+
+    @Override
+    public double squaredDistance(int j, double[] x) {
+        int offset = j * m;
+        double s = scale[j];
+        double sum = 0.0;
+        for (int i = 0; i < m; i++) {
+            double d = data[offset + i] * s - x[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    @Override
+    void axpy(int j, double alpha, double[] y, int from, int to) {
+        int offset = j * m;
+        double a = alpha * scale[j];
+        for (int i = from; i < to; i++) {
+            y[i] += a * data[offset + i];
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import smile.linalg.Transpose;
+import static smile.linalg.Transpose.*;
+
+/**
+ * Randomized truncated singular value decomposition. The algorithm of
+ * Halko, Martinsson and Tropp first finds an orthonormal basis Q of
+ * the approximate range of A by multiplying A with a Gaussian random
+ * matrix of k + p columns, where p is the oversampling. A few power
+ * iterations {@code (A A')^q A} sharpen the basis when the singular
+ * values decay slowly. The small matrix {@code B = Q' A} is then
+ * decomposed exactly and its left singular vectors are lifted back
+ * by Q.
+ * <p>
+ * The cost is dominated by matrix multiplications with blocks of
+ * k + p vectors, i.e. O(mnk) for dense matrices and O(nnz * k) for
+ * sparse matrices, compared to O(mn min(m, n)) of full SVD. The
+ * workspace is O((m + n) k).
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li>N. Halko, P. G. Martinsson, and J. A. Tropp. Finding structure with randomness: Probabilistic algorithms for constructing approximate matrix decompositions. SIAM Review, 53(2):217-288, 2011.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+public interface RandomizedSVD {
+    /**
+     * Computes k-largest approximate singular triples of a matrix
+     * with the oversampling of 10 and 2 power iterations.
+     *
+     * @param A the matrix to decompose.
+     * @param k the number of singular triples to compute.
+     * @return the singular value decomposition.
+     */
+    static SVD svd(Matrix A, int k) {
+        return svd(A, k, 10, 2);
+    }
+
+    /**
+     * Computes k-largest approximate singular triples of a matrix.
+     *
+     * @param A the matrix to decompose.
+     * @param k the number of singular triples to compute.
+     * @param p the number of oversampling vectors.
+     * @param q the number of power iterations.
+     * @return the singular value decomposition.
+     */
+    static SVD svd(Matrix A, int k, int p, int q) {
+        int m = A.nrow();
+        int n = A.ncol();
+        if (k < 1 || k > Math.min(m, n)) {
+            throw new IllegalArgumentException("Invalid number of singular triples: " + k);
+        }
+
+        if (p < 0) {
+            throw new IllegalArgumentException("Invalid oversampling: " + p);
+        }
+
+        if (q < 0) {
+            throw new IllegalArgumentException("Invalid number of power iterations: " + q);
+        }
+
+        int l = Math.min(k + p, Math.min(m, n));
+
+        // Range finder with power iterations. The basis is
+        // re-orthonormalized after every multiplication to
+        // avoid the loss of small singular values in rounding.
+        DenseMatrix Omega = DenseMatrix.randn(A.scalarType(), n, l);
+        DenseMatrix Q = orth(mm(A, NO_TRANSPOSE, Omega));
+        for (int iter = 0; iter < q; iter++) {
+            DenseMatrix Z = orth(mm(A, TRANSPOSE, Q));
+            Q = orth(mm(A, NO_TRANSPOSE, Z));
+        }
+
+        // B' = A' Q is n x l. If B' = U S V', then B = V S U'.
+        DenseMatrix Bt = mm(A, TRANSPOSE, Q);
+        SVD svd = Bt.svd();
+        DenseMatrix Ub = svd.Vt();
+
+        DenseMatrix W = Ub.zeros(k, l);
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < l; j++) {
+                W.set(i, j, Ub.get(i, j));
+            }
+        }
+        DenseMatrix U = Q.mt(W);
+
+        DenseMatrix V = svd.U();
+        DenseMatrix Vt = V.zeros(k, n);
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < k; i++) {
+                Vt.set(i, j, V.get(j, i));
+            }
+        }
+
+        return new SVD(svd.s().copy(0, k), U, Vt);
+    }
+
+    /**
+     * Returns the orthonormal basis of the column space of a tall matrix.
+     * @param Y the matrix, which will be overwritten.
+     * @return the orthonormal basis.
+     */
+    private static DenseMatrix orth(DenseMatrix Y) {
+        return Y.qr().Q();
+    }
+
+    /**
+     * Returns the product {@code op(A) * B}. Dense and sparse matrices
+     * are multiplied with the block of vectors at once. Other matrices
+     * are multiplied column by column.
+     * @param A the matrix.
+     * @param trans normal or transpose operation on the matrix.
+     * @param B the dense block of vectors.
+     * @return the product.
+     */
+    private static DenseMatrix mm(Matrix A, Transpose trans, DenseMatrix B) {
+        int rows = trans == NO_TRANSPOSE ? A.nrow() : A.ncol();
+        DenseMatrix C = DenseMatrix.zeros(A.scalarType(), rows, B.ncol());
+        switch (A) {
+            case DenseMatrix dense -> DenseMatrix.mm(1.0, trans, dense, NO_TRANSPOSE, B, 0.0, C);
+            case SparseMatrix sparse -> sparse.mm(trans, 1.0, B, 0.0, C);
+            default -> {
+                Vector y = C.vector(rows);
+                for (int j = 0; j < B.ncol(); j++) {
+                    A.mv(trans, 1.0, B.column(j), 0.0, y);
+                    for (int i = 0; i < rows; i++) {
+                        C.set(i, j, y.get(i));
+                    }
+                }
+            }
+        }
+        return C;
+    }
+}
@@ -20,9 +20,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.lang.foreign.MemorySegment;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -30,6 +32,7 @@ import smile.math.MathEx;
 import smile.linalg.Transpose;
 import smile.util.Strings;
 
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
 import static java.util.Spliterator.*;
 import static smile.linalg.Transpose.*;
 import static smile.tensor.ScalarType.*;
@@ -68,6 +71,10 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
     @Serial
     private static final long serialVersionUID = 2L;
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SparseMatrix.class);
+    /** The number of nonzeros to multiply in parallel. */
+    private static final int PARALLEL_THRESHOLD = 65536;
+    /** The number of rows in a cache block of sparse matrix multiplication. */
+    private static final int MM_BLOCK_SIZE = 64;
 
     /**
      * The number of rows.
@@ -89,6 +96,10 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
      * The array of nonzero values stored column by column.
      */
     private final double[] nonzeros;
+    /**
+     * The cached compressed sparse row storage, i.e. the transpose.
+     */
+    private transient volatile SparseMatrix csr;
 
     /**
      * Encapsulates an entry in a matrix for use in streaming. As typical stream object,
@@ -128,6 +139,7 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
          */
         public void update(double value) {
             nonzeros[index] = value;
+            csr = null;
         }
 
         @Override
@@ -251,6 +263,7 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
         for (int i = 0; i < nonzeros.length; i++) {
             nonzeros[i] *= alpha;
         }
+        csr = null;
         return this;
     }
 
@@ -381,6 +394,7 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
      */
     public void set(int index, double value) {
         nonzeros[index] = value;
+        csr = null;
     }
 
     @Override
@@ -425,48 +439,183 @@ public class SparseMatrix implements Matrix, Iterable<SparseMatrix.Entry>, Seria
 
     @Override
     public void mv(Transpose trans, double alpha, Vector x, double beta, Vector y) {
-        int k = trans == NO_TRANSPOSE ? m : n;
-        double[] ax = new double[y.size()];
+        gemv(trans, alpha, x, 0, beta, y, 0);
+    }
 
-        if (trans == NO_TRANSPOSE) {
-            for (int j = 0; j < n; j++) {
-                for (int i = colIndex[j]; i < colIndex[j + 1]; i++) {
-                    ax[rowIndex[i]] += nonzeros[i] * x.get(j);
-                }
-            }
-        } else {
-            for (int i = 0; i < n; i++) {
-                for (int j = colIndex[i]; j < colIndex[i + 1]; j++) {
-                    ax[i] += nonzeros[j] * x.get(rowIndex[j]);
-                }
-            }
+    @Override
+    public void mv(Vector work, int inputOffset, int outputOffset) {
+        gemv(NO_TRANSPOSE, 1.0, work, inputOffset, 0.0, work, outputOffset);
+    }
+
+    @Override
+    public void tv(Vector work, int inputOffset, int outputOffset) {
+        gemv(TRANSPOSE, 1.0, work, inputOffset, 0.0, work, outputOffset);
+    }
+
+    /**
+     * Returns the compressed sparse row (CSR) storage of matrix, which is
+     * the column compressed storage of its transpose. It is built on the
+     * first use and cached so that both {@code A * x} and {@code A' * x}
+     * are row-wise gathers. The cache is invalidated when the values are
+     * updated through this class.
+     * @return the transpose of matrix.
+     */
+    private SparseMatrix csr() {
+        SparseMatrix t = csr;
+        if (t == null) {
+            t = transpose();
+            csr = t;
         }
+        return t;
+    }
 
-        for (int i = 0; i < k; i++) {
-            y.set(i, alpha * ax[i] + beta * y.get(i));
+    /**
+     * Returns the boundaries of chunks of compressed lines with about
+     * the same number of nonzeros.
+     * @param ptr the index of the start of lines.
+     * @param lines the number of lines.
+     * @return the boundaries of chunks.
+     */
+    private static int[] chunks(int[] ptr, int lines) {
+        int nz = ptr[lines];
+        int chunks = nz < PARALLEL_THRESHOLD ? 1 : Math.min(lines, 4 * Runtime.getRuntime().availableProcessors());
+        int[] bounds = new int[chunks + 1];
+        bounds[chunks] = lines;
+        for (int c = 1; c < chunks; c++) {
+            int target = (int) ((long) nz * c / chunks);
+            int pos = Arrays.binarySearch(ptr, 0, lines + 1, target);
+            if (pos < 0) pos = -pos - 1;
+            bounds[c] = Math.clamp(pos, bounds[c - 1], lines);
         }
+        return bounds;
     }
 
-    @Override
-    public void mv(Vector work, int inputOffset, int outputOffset) {
-        work.fill(outputOffset, outputOffset + m, 0.0);
+    /**
+     * Computes {@code y = alpha * op(A) * x + beta * y} on the vector
+     * elements starting at the given offsets.
+     * @param trans normal, transpose, or conjugate transpose operation on the matrix.
+     * @param alpha the scalar alpha.
+     * @param x the input vector.
+     * @param xoff the offset of input elements.
+     * @param beta the scalar beta. When beta is 0, y need not be set on input.
+     * @param y the input and output vector.
+     * @param yoff the offset of output elements.
+     */
+    private void gemv(Transpose trans, double alpha, Vector x, int xoff, double beta, Vector y, int yoff) {
+        // Each column of the compressed storage is a row of op(A).
+        SparseMatrix A = trans == NO_TRANSPOSE ? csr() : this;
+        int rows = A.n;
+        if (x.scalarType() == Float64 && y.scalarType() == Float64) {
+            gemv(A, rows, alpha, x.memory(), xoff, beta, y.memory(), yoff);
+            return;
+        }
 
-        for (int j = 0; j < n; j++) {
-            for (int i = colIndex[j]; i < colIndex[j + 1]; i++) {
-                work.add(outputOffset + rowIndex[i], nonzeros[i] * work.get(inputOffset + j));
-            }
+        double[] xa = new double[A.m];
+        for (int j = 0; j < xa.length; j++) xa[j] = x.get(xoff + j);
+        double[] ya = new double[rows];
+        if (beta != 0.0) {
+            for (int i = 0; i < rows; i++) ya[i] = y.get(yoff + i);
         }
+        gemv(A, rows, alpha, MemorySegment.ofArray(xa), 0, beta, MemorySegment.ofArray(ya), 0);
+        for (int i = 0; i < rows; i++) y.set(yoff + i, ya[i]);
     }
 
-    @Override
-    public void tv(Vector work, int inputOffset, int outputOffset) {
-        work.fill(outputOffset, outputOffset + n, 0.0);
+    /**
+     * The row-parallel kernel of sparse matrix-vector multiplication,
+     * which reads and writes the vector memory directly.
+     * @param A the column compressed storage of the transpose of op(A).
+     * @param rows the number of rows of op(A).
+     * @param alpha the scalar alpha.
+     * @param x the input vector memory.
+     * @param xoff the offset of input elements.
+     * @param beta the scalar beta.
+     * @param y the output vector memory.
+     * @param yoff the offset of output elements.
+     */
+    private static void gemv(SparseMatrix A, int rows, double alpha, MemorySegment x, long xoff,
+                             double beta, MemorySegment y, long yoff) {
+        int[] ptr = A.colIndex;
+        int[] index = A.rowIndex;
+        double[] values = A.nonzeros;
+        int[] bounds = chunks(ptr, rows);
+        IntStream.range(0, bounds.length - 1).parallel().forEach(chunk -> {
+            for (int i = bounds[chunk]; i < bounds[chunk + 1]; i++) {
+                double sum = 0.0;
+                for (int k = ptr[i]; k < ptr[i + 1]; k++) {
+                    sum += values[k] * x.getAtIndex(JAVA_DOUBLE, xoff + index[k]);
+                }
 
-        for (int i = 0; i < n; i++) {
-            for (int j = colIndex[i]; j < colIndex[i + 1]; j++) {
-                work.add(outputOffset + i, nonzeros[j] * work.get(inputOffset + rowIndex[j]));
+                long pos = yoff + i;
+                double yi = beta == 0.0 ? 0.0 : beta * y.getAtIndex(JAVA_DOUBLE, pos);
+                y.setAtIndex(JAVA_DOUBLE, pos, alpha * sum + yi);
             }
-        }
+        });
+    }
+
+    /**
+     * Returns the matrix multiplication {@code A * B} with a dense matrix.
+     * @param B the dense operand.
+     * @return the multiplication.
+     */
+    public DenseMatrix mm(DenseMatrix B) {
+        DenseMatrix C = DenseMatrix.zeros(Float64, m, B.ncol());
+        mm(NO_TRANSPOSE, 1.0, B, 0.0, C);
+        return C;
+    }
+
+    /**
+     * Computes {@code C = alpha * op(A) * B + beta * C} with dense matrices
+     * B and C, i.e. the sparse matrix multiplication of a block of vectors.
+     * The rows of output are computed in parallel, each of which walks the
+     * sparse row once per column of B while it stays in the cache.
+     * @param transA normal, transpose, or conjugate transpose operation on this matrix.
+     * @param alpha the scalar alpha.
+     * @param B the dense operand.
+     * @param beta the scalar beta. When beta is 0, C need not be set on input.
+     * @param C the input and output dense matrix.
+     */
+    public void mm(Transpose transA, double alpha, DenseMatrix B, double beta, DenseMatrix C) {
+        SparseMatrix A = transA == NO_TRANSPOSE ? csr() : this;
+        int rows = A.n;
+        int inner = A.m;
+        int k = B.ncol();
+        if (B.nrow() != inner || C.nrow() != rows || C.ncol() != k) {
+            throw new IllegalArgumentException(String.format("Matrix dimensions do not match for matrix multiplication: %d x %d vs %d x %d vs %d x %d",
+                    rows, inner, B.nrow(), B.ncol(), C.nrow(), C.ncol()));
+        }
+
+        if (B.scalarType() != Float64 || C.scalarType() != Float64) {
+            throw new UnsupportedOperationException("Unsupported scalar type: " + B.scalarType() + ", " + C.scalarType());
+        }
+
+        int[] ptr = A.colIndex;
+        int[] index = A.rowIndex;
+        double[] values = A.nonzeros;
+        MemorySegment b = B.memory();
+        MemorySegment c = C.memory();
+        long ldb = B.ld();
+        long ldc = C.ld();
+        int[] bounds = chunks(ptr, rows);
+        IntStream.range(0, bounds.length - 1).parallel().forEach(chunk -> {
+            int end = bounds[chunk + 1];
+            for (int i0 = bounds[chunk]; i0 < end; i0 += MM_BLOCK_SIZE) {
+                int i1 = Math.min(end, i0 + MM_BLOCK_SIZE);
+                for (int j = 0; j < k; j++) {
+                    long boff = j * ldb;
+                    long coff = j * ldc;
+                    for (int i = i0; i < i1; i++) {
+                        double sum = 0.0;
+                        for (int p = ptr[i]; p < ptr[i + 1]; p++) {
+                            sum += values[p] * b.getAtIndex(JAVA_DOUBLE, boff + index[p]);
+                        }
+
+                        long pos = coff + i;
+                        double ci = beta == 0.0 ? 0.0 : beta * c.getAtIndex(JAVA_DOUBLE, pos);
+                        c.setAtIndex(JAVA_DOUBLE, pos, alpha * sum + ci);
+                    }
+                }
+            }
+        });
     }
 
     /**
@@ -197,8 +197,8 @@ public abstract class SymmMatrix implements Matrix, Serializable {
     @Override
     public SymmMatrix scale(double alpha) {
         switch(scalarType()) {
-            case Float64 -> cblas_dscal((int) length(), alpha, memory, 1);
-            case Float32 -> cblas_sscal((int) length(), (float) alpha, memory, 1);
+            case Float64 -> BLAS.getInstance().dscal((int) length(), alpha, memory, 1);
+            case Float32 -> BLAS.getInstance().sscal((int) length(), (float) alpha, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
         return this;
@@ -20,7 +20,6 @@ import smile.math.MathEx;
 
 import java.lang.foreign.MemorySegment;
 import java.util.Arrays;
-import static smile.linalg.blas.cblas_h.*;
 
 /**
  * Mathematical vector interface. Vectors are a specialized case of matrices.
@@ -421,8 +420,8 @@ public abstract class Vector extends DenseMatrix {
      */
     public double asum() {
         return switch(scalarType()) {
-            case Float64 -> cblas_dasum(size(), memory, 1);
-            case Float32 -> cblas_sasum(size(), memory, 1);
+            case Float64 -> BLAS.getInstance().dasum(size(), memory, 1);
+            case Float32 -> BLAS.getInstance().sasum(size(), memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         };
     }
@@ -444,8 +443,8 @@ public abstract class Vector extends DenseMatrix {
         }
 
         switch(scalarType()) {
-            case Float64 -> cblas_daxpy(size(), alpha, x.memory, 1, memory, 1);
-            case Float32 -> cblas_saxpy(size(), (float) alpha, x.memory, 1, memory, 1);
+            case Float64 -> BLAS.getInstance().daxpy(size(), alpha, x.memory, 1, memory, 1);
+            case Float32 -> BLAS.getInstance().saxpy(size(), (float) alpha, x.memory, 1, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
     }
@@ -466,8 +465,8 @@ public abstract class Vector extends DenseMatrix {
         }
 
         return switch(scalarType()) {
-            case Float64 -> cblas_ddot(size(), x.memory, 1, memory, 1);
-            case Float32 -> cblas_sdot(size(), x.memory, 1, memory, 1);
+            case Float64 -> BLAS.getInstance().ddot(size(), x.memory, 1, memory, 1);
+            case Float32 -> BLAS.getInstance().sdot(size(), x.memory, 1, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         };
     }
@@ -479,8 +478,8 @@ public abstract class Vector extends DenseMatrix {
      */
     public double norm2() {
         return switch(scalarType()) {
-            case Float64 -> cblas_dnrm2(size(), memory, 1);
-            case Float32 -> cblas_snrm2(size(), memory, 1);
+            case Float64 -> BLAS.getInstance().dnrm2(size(), memory, 1);
+            case Float32 -> BLAS.getInstance().snrm2(size(), memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         };
     }
@@ -492,8 +491,8 @@ public abstract class Vector extends DenseMatrix {
      */
     public double norm1() {
         return switch(scalarType()) {
-            case Float64 -> cblas_dasum(size(), memory, 1);
-            case Float32 -> cblas_sasum(size(), memory, 1);
+            case Float64 -> BLAS.getInstance().dasum(size(), memory, 1);
+            case Float32 -> BLAS.getInstance().sasum(size(), memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         };
     }
@@ -510,8 +509,8 @@ public abstract class Vector extends DenseMatrix {
     @Override
     public Vector scale(double alpha) {
         switch(scalarType()) {
-            case Float64 -> cblas_dscal(size(), alpha, memory, 1);
-            case Float32 -> cblas_sscal(size(), (float) alpha, memory, 1);
+            case Float64 -> BLAS.getInstance().dscal(size(), alpha, memory, 1);
+            case Float32 -> BLAS.getInstance().sscal(size(), (float) alpha, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
         return this;
@@ -531,8 +530,8 @@ public abstract class Vector extends DenseMatrix {
         }
 
         switch(scalarType()) {
-            case Float64 -> cblas_dswap(size(), x.memory, 1, memory, 1);
-            case Float32 -> cblas_sswap(size(), x.memory, 1, memory, 1);
+            case Float64 -> BLAS.getInstance().dswap(size(), x.memory, 1, memory, 1);
+            case Float32 -> BLAS.getInstance().sswap(size(), x.memory, 1, memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         }
     }
@@ -545,8 +544,8 @@ public abstract class Vector extends DenseMatrix {
      */
     public int iamax() {
         return (int) switch(scalarType()) {
-            case Float64 -> cblas_idamax(size(), memory, 1);
-            case Float32 -> cblas_isamax(size(), memory, 1);
+            case Float64 -> BLAS.getInstance().idamax(size(), memory, 1);
+            case Float32 -> BLAS.getInstance().isamax(size(), memory, 1);
             default -> throw new UnsupportedOperationException("Unsupported scalar type: " + scalarType());
         };
     }
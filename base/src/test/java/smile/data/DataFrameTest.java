@@ -16,6 +16,12 @@
  */
 package smile.data;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,12 +30,16 @@ import smile.data.type.DataType;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.OffHeapDoubleVector;
 import smile.data.vector.StringVector;
 import smile.math.MathEx;
+import smile.tensor.DenseMatrix;
 import smile.tensor.Matrix;
 import org.junit.jupiter.api.*;
 import smile.util.Dates;
 
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -368,4 +378,99 @@ public class DataFrameTest {
         assertEquals(1, output[2][3], 1E-10);
         assertEquals(1, output[3][3], 1E-10);
     }
+
+    /**
+     * Test of toMatrix method on off-heap columns.
+     */
+    @Test
+    public void testOffHeapToMatrix() {
+        System.out.println("off-heap toMatrix");
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment memory = arena.allocate(6 * Double.BYTES, Double.BYTES);
+            DataFrame data = DataFrame.of(memory, 3, "x", "y");
+            assertEquals(3, data.size());
+            assertEquals(2, data.ncol());
+            for (int i = 0; i < 3; i++) {
+                data.set(i, 0, i + 1.0);
+                data.set(i, 1, 10.0 * (i + 1));
+            }
+
+            DenseMatrix matrix = data.asMatrix();
+            assertEquals(memory.address(), matrix.memory().address());
+            assertEquals(3, matrix.nrow());
+            assertEquals(2, matrix.ncol());
+            assertEquals(2.0, matrix.get(1, 0), 1E-10);
+            assertEquals(30.0, matrix.get(2, 1), 1E-10);
+
+            matrix.set(0, 1, -1.0);
+            assertEquals(-1.0, data.getDouble(0, 1), 1E-10);
+
+            // Non-contiguous columns are copied.
+            DenseMatrix copy = data.select("y", "x").asMatrix();
+            assertNotEquals(memory.address(), copy.memory().address());
+            assertEquals(-1.0, copy.get(0, 0), 1E-10);
+            assertEquals(3.0, copy.get(2, 1), 1E-10);
+
+            // toMatrix always copies.
+            copy = data.toMatrix();
+            assertNotEquals(memory.address(), copy.memory().address());
+            copy.set(0, 0, 100.0);
+            assertEquals(1.0, data.getDouble(0, 0), 1E-10);
+        }
+    }
+
+    /**
+     * Test of asMatrix method on read-only file mapping.
+     */
+    @Test
+    public void testReadOnlyAsMatrix() throws Exception {
+        System.out.println("read-only asMatrix");
+        Path path = Files.createTempFile("smile-mapped", ".bin");
+        path.toFile().deleteOnExit();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment memory = arena.allocate(6 * Double.BYTES, Double.BYTES);
+            for (int i = 0; i < 6; i++) {
+                memory.setAtIndex(JAVA_DOUBLE, i, i);
+            }
+            Files.write(path, memory.toArray(JAVA_BYTE));
+        }
+
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_ONLY, 0, 6 * Double.BYTES, arena);
+            DataFrame data = DataFrame.of(memory, 3, "x", "y");
+            DenseMatrix matrix = data.asMatrix();
+            assertNotEquals(memory.address(), matrix.memory().address());
+            assertEquals(4.0, matrix.get(1, 1), 1E-10);
+
+            matrix.scale(2.0);
+            assertEquals(8.0, matrix.get(1, 1), 1E-10);
+            assertEquals(4.0, data.getDouble(1, 1), 1E-10);
+        }
+    }
+
+    /**
+     * Test of memory mapped vector.
+     */
+    @Test
+    public void testMappedVector() throws Exception {
+        System.out.println("mapped vector");
+        Path path = Files.createTempFile("smile-mapped", ".bin");
+        path.toFile().deleteOnExit();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment memory = arena.allocate(4 * Double.BYTES, Double.BYTES);
+            for (int i = 0; i < 4; i++) {
+                memory.setAtIndex(JAVA_DOUBLE, i, i * 0.5);
+            }
+            Files.write(path, memory.toArray(JAVA_BYTE));
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapDoubleVector x = OffHeapDoubleVector.map("x", path, Double.BYTES, 3, arena);
+            assertEquals(3, x.size());
+            assertEquals(0.5, x.getDouble(0), 1E-10);
+            assertEquals(1.5, x.getDouble(2), 1E-10);
+            assertEquals(3.0, x.sum(), 1E-10);
+        }
+    }
 }
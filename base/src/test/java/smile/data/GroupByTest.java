@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import smile.data.vector.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static smile.data.GroupBy.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class GroupByTest {
+
+    public GroupByTest() {
+    }
+
+    @Test
+    public void testAgg() {
+        System.out.println("agg");
+        BitSet mask = new BitSet();
+        mask.set(3);
+        DataFrame df = new DataFrame(
+                new StringVector("store", new String[]{"a", "b", "a", "b", null, "a"}),
+                new IntVector("month", new int[]{1, 1, 1, 2, 2, 2}),
+                new NullableDoubleVector("sales", new double[]{1.0, 2.0, 3.0, 0.0, 5.0, 6.0}, mask),
+                new IntVector("item", new int[]{7, 7, 8, 9, 9, 7})
+        );
+
+        DataFrame result = df.groupBy("store").agg(count(), count("sales"), sum("sales"), mean("sales"),
+                min("sales"), max("sales"), median("sales"), nunique("item").as("items"));
+        System.out.println(result);
+        assertEquals(3, result.size());
+        assertEquals(9, result.ncol());
+        assertEquals("a", result.getString(0, 0));
+        assertEquals("b", result.getString(1, 0));
+        assertNull(result.get(2, 0));
+
+        assertEquals(3, result.column("count").getInt(0));
+        assertEquals(2, result.column("count").getInt(1));
+        assertEquals(1, result.column("count(sales)").getInt(1));
+        assertEquals(10.0, result.column("sum(sales)").getDouble(0), 1E-10);
+        assertEquals(2.0, result.column("mean(sales)").getDouble(1), 1E-10);
+        assertEquals(1.0, result.column("min(sales)").getDouble(0), 1E-10);
+        assertEquals(6.0, result.column("max(sales)").getDouble(0), 1E-10);
+        assertEquals(3.0, result.column("median(sales)").getDouble(0), 1E-10);
+        assertEquals(2, result.column("items").getInt(0));
+        assertEquals(1, result.column("items").getInt(2));
+
+        result = df.groupBy("store", "month").agg(count(), quantile("sales", 0.5));
+        assertEquals(5, result.size());
+        assertEquals(2, result.column("count").getInt(0));
+        assertEquals(2.0, result.column("quantile(sales, 0.5)").getDouble(0), 1E-10);
+        assertTrue(Double.isNaN(result.getDouble(2, 3)));
+    }
+
+    @Test
+    public void testParallel() {
+        System.out.println("parallel");
+        int n = 200000;
+        int[] key = new int[n];
+        long[] key2 = new long[n];
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            key[i] = (i * 7919) % 1000;
+            key2[i] = i % 3 == 0 ? Long.MIN_VALUE : i % 3;
+            x[i] = i;
+        }
+
+        DataFrame df = new DataFrame(
+                new IntVector("key", key),
+                new LongVector("key2", key2),
+                new DoubleVector("x", x)
+        );
+
+        GroupBy groups = df.groupBy("key", "key2");
+        DataFrame result = groups.agg(count(), sum("x"), max("x"), nunique("key2"));
+        HashMap<Long, double[]> expected = new HashMap<>();
+        HashSet<Long> keys = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            long k = key[i] * 3L + (key2[i] == Long.MIN_VALUE ? 0 : key2[i]);
+            keys.add(k);
+            double[] agg = expected.computeIfAbsent(k, unused -> new double[]{0, 0, Double.NEGATIVE_INFINITY});
+            agg[0] += 1;
+            agg[1] += x[i];
+            agg[2] = Math.max(agg[2], x[i]);
+        }
+
+        assertEquals(keys.size(), groups.size());
+        assertEquals(keys.size(), result.size());
+        int[] group = groups.group();
+        assertEquals(0, group[0]);
+        for (int g = 0; g < result.size(); g++) {
+            long k2 = result.getLong(g, 1);
+            long k = result.getInt(g, 0) * 3L + (k2 == Long.MIN_VALUE ? 0 : k2);
+            double[] agg = expected.get(k);
+            assertEquals(agg[0], result.getInt(g, 2));
+            assertEquals(agg[1], result.getDouble(g, 3), 1E-6);
+            assertEquals(agg[2], result.getDouble(g, 4), 1E-10);
+            assertEquals(1, result.getInt(g, 5));
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        System.out.println("invalid");
+        DataFrame df = new DataFrame(
+                new StringVector("name", new String[]{"a", "b"}),
+                new IntVector("age", new int[]{1, 2})
+        );
+        assertThrows(IllegalArgumentException.class, () -> df.groupBy());
+        assertThrows(IllegalArgumentException.class, () -> df.groupBy("foo"));
+        assertThrows(IllegalArgumentException.class, () -> df.groupBy("age").agg(sum("name")));
+        assertThrows(IllegalArgumentException.class, () -> quantile("age", 1.5));
+    }
+}
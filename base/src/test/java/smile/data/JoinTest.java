@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.data;
+
+import smile.data.vector.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class JoinTest {
+
+    DataFrame left = new DataFrame(
+            new IntVector("id", new int[]{3, 1, 2, 5}),
+            new StringVector("name", new String[]{"c", "a", "b", "e"}),
+            new DoubleVector("x", new double[]{0.3, 0.1, 0.2, 0.5})
+    );
+
+    DataFrame right = new DataFrame(
+            new IntVector("id", new int[]{2, 4, 3, 3}),
+            new DoubleVector("x", new double[]{2.0, 4.0, 3.0, 3.5})
+    );
+
+    public JoinTest() {
+    }
+
+    @Test
+    public void testInner() {
+        System.out.println("inner");
+        DataFrame df = left.join(right, "id");
+        System.out.println(df);
+        assertEquals(3, df.size());
+        assertArrayEquals(new String[]{"id", "name", "x", "x_2"}, df.names());
+        assertEquals(3, df.getInt(0, 0));
+        assertEquals(3.0, df.getDouble(0, 3), 1E-10);
+        assertEquals(3, df.getInt(1, 0));
+        assertEquals(3.5, df.getDouble(1, 3), 1E-10);
+        assertEquals(2, df.getInt(2, 0));
+        assertEquals("b", df.getString(2, 1));
+        assertEquals(2.0, df.getDouble(2, 3), 1E-10);
+    }
+
+    @Test
+    public void testLeft() {
+        System.out.println("left");
+        DataFrame df = left.join(right, Join.LEFT, "id");
+        System.out.println(df);
+        assertEquals(5, df.size());
+        assertEquals(1, df.getInt(2, 0));
+        assertTrue(df.isNullAt(2, 3));
+        assertTrue(df.isNullAt(4, 3));
+        assertEquals(0.5, df.getDouble(4, 2), 1E-10);
+    }
+
+    @Test
+    public void testRight() {
+        System.out.println("right");
+        DataFrame df = left.join(right, Join.RIGHT, "id");
+        System.out.println(df);
+        assertEquals(4, df.size());
+        assertEquals(2, df.getInt(0, 0));
+        assertEquals("b", df.getString(0, 1));
+        assertEquals(4, df.getInt(1, 0));
+        assertNull(df.get(1, 1));
+        assertTrue(df.isNullAt(1, 2));
+        assertEquals(4.0, df.getDouble(1, 3), 1E-10);
+    }
+
+    @Test
+    public void testOuter() {
+        System.out.println("outer");
+        DataFrame df = left.join(right, Join.OUTER, "id");
+        System.out.println(df);
+        assertEquals(6, df.size());
+        assertEquals(4, df.getInt(5, 0));
+        assertNull(df.get(5, 1));
+        assertEquals(4.0, df.getDouble(5, 3), 1E-10);
+    }
+
+    @Test
+    public void testEmptySide() {
+        System.out.println("empty side");
+        DataFrame empty = new DataFrame(
+                new IntVector("id", new int[0]),
+                new StringVector("label", new String[0])
+        );
+
+        DataFrame df = left.join(empty, Join.LEFT, "id");
+        assertEquals(4, df.size());
+        assertArrayEquals(new String[]{"id", "name", "x", "label"}, df.names());
+        for (int i = 0; i < df.size(); i++) {
+            assertNull(df.get(i, 3));
+        }
+
+        df = empty.join(left, Join.RIGHT, "id");
+        assertEquals(4, df.size());
+        assertEquals(3, df.getInt(0, 0));
+        assertNull(df.get(0, 1));
+        assertEquals("c", df.getString(0, 2));
+
+        df = empty.join(left, Join.OUTER, "id");
+        assertEquals(4, df.size());
+        for (int i = 0; i < df.size(); i++) {
+            assertEquals(left.getInt(i, 0), df.getInt(i, 0));
+            assertNull(df.get(i, 1));
+        }
+    }
+
+    @Test
+    public void testSortMerge() {
+        System.out.println("sort merge");
+        DataFrame a = left.sort("id", true);
+        DataFrame b = right.sort("id", true);
+        for (Join how : Join.values()) {
+            DataFrame merge = a.join(b, how, "id");
+            DataFrame hash = a.join(b.get(smile.util.Index.of(3, 2, 1, 0)), how, "id");
+            assertEquals(hash.size(), merge.size(), how.name());
+        }
+
+        DataFrame df = a.join(b, Join.OUTER, "id");
+        System.out.println(df);
+        assertEquals(6, df.size());
+        int[] ids = {1, 2, 3, 3, 4, 5};
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], df.getInt(i, 0));
+        }
+        assertTrue(df.isNullAt(0, 3));
+        assertTrue(df.isNullAt(4, 1));
+        assertTrue(df.isNullAt(5, 3));
+    }
+
+    @Test
+    public void testMultipleKeys() {
+        System.out.println("multiple keys");
+        DataFrame a = new DataFrame(
+                new StringVector("city", new String[]{"x", "x", "y", null}),
+                new LongVector("year", new long[]{2020, 2021, 2020, 2020}),
+                new IntVector("sales", new int[]{1, 2, 3, 4})
+        );
+        DataFrame b = new DataFrame(
+                new StringVector("city", new String[]{"y", "x", null}),
+                new IntVector("year", new int[]{2020, 2021, 2020}),
+                new IntVector("cost", new int[]{30, 20, 40})
+        );
+
+        DataFrame df = a.join(b, Join.LEFT, "city", "year");
+        System.out.println(df);
+        assertEquals(4, df.size());
+        assertTrue(df.isNullAt(0, 3));
+        assertEquals(20, df.getInt(1, 3));
+        assertEquals(30, df.getInt(2, 3));
+        // Null keys never match.
+        assertTrue(df.isNullAt(3, 3));
+    }
+
+    @Test
+    public void testInvalid() {
+        System.out.println("invalid");
+        DataFrame other = new DataFrame(new StringVector("id", new String[]{"1", "2"}));
+        assertThrows(IllegalArgumentException.class, () -> left.join(right, Join.INNER));
+        assertThrows(IllegalArgumentException.class, () -> left.join(other, "id"));
+    }
+}
@@ -725,4 +725,35 @@ public class FormulaTest {
         assertEquals("overcast:hot", output.getString(12, 3));
         assertEquals("rainy:mild", output.getString(13, 3));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testColumnarEvaluation() {
+        System.out.println("columnar evaluation");
+        Formula formula = Formula.rhs(
+                add("salary", "age"),
+                abs(sub("age", val(30))),
+                mul("age", val(2.5)),
+                round(div("salary", "age")),
+                log("age"),
+                date("birthday", DateFeature.YEAR, DateFeature.MONTH));
+
+        DataFrame output = formula.frame(df);
+        System.out.println(output);
+        for (int i = 0; i < df.size(); i++) {
+            var row = formula.apply(df.get(i));
+            for (int j = 0; j < output.ncol(); j++) {
+                if (row.isNullAt(j)) {
+                    assertTrue(output.isNullAt(i, j));
+                } else {
+                    assertEquals(((Number) row.get(j)).doubleValue(), output.getDouble(i, j), 1E-10);
+                }
+            }
+        }
+
+        formula = Formula.rhs(interact("outlook", "temperature", "humidity"));
+        output = formula.frame(weather);
+        for (int i = 0; i < weather.size(); i++) {
+            assertEquals(formula.apply(weather.get(i)).getString(0), output.getString(i, 0));
+        }
+    }
+}
@@ -237,6 +237,31 @@ public class NearestNeighborGraphTest {
         assertTrue(nbSet0.contains(1));
     }
 
+    @Test
+    public void testExactFarFromOrigin() {
+        System.out.println("Exact k-NN far from the origin");
+        // The squared norms dwarf the squared distances between points.
+        int n = 50;
+        double[][] data = new double[n][];
+        for (int i = 0; i < n; i++) {
+            data[i] = new double[]{1E6 + 1E-3 * i, -1E6};
+        }
+
+        var graph = NearestNeighborGraph.of(data, 2);
+        for (int i = 1; i < n - 1; i++) {
+            var nb = new HashSet<Integer>();
+            for (int j : graph.neighbors()[i]) nb.add(j);
+            assertTrue(nb.contains(i - 1), "vertex " + i);
+            assertTrue(nb.contains(i + 1), "vertex " + i);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < graph.k(); j++) {
+                int nb = graph.neighbors()[i][j];
+                assertEquals(MathEx.distance(data[i], data[nb]), graph.distances()[i][j], 1E-12);
+            }
+        }
+    }
+
     // -----------------------------------------------------------------------
     // k = 2 edge case
     // -----------------------------------------------------------------------
@@ -20,7 +20,9 @@ import smile.data.DataFrame;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.OffHeapDoubleVector;
 import smile.tensor.Matrix;
+import smile.util.Index;
 import java.io.File;
 import java.nio.file.Path;
 import java.sql.*;
@@ -168,4 +170,37 @@ public class ArrowTest {
         assertEquals(5.94, output.get(2, 0), 1E-10);
         assertEquals(0.99, output.get(3, 0), 1E-10);
     }
+
+    @Test
+    public void testZeroCopy() {
+        System.out.println("zero copy");
+        var total = df.column("Total");
+        assertInstanceOf(OffHeapDoubleVector.class, total);
+        assertEquals(412, total.size());
+        assertEquals(3.98, total.getDouble(0), 1E-10);
+        assertEquals(1.98, total.getDouble(7), 1E-10);
+
+        var copy = total.get(Index.range(0, 4));
+        assertEquals(4, copy.size());
+        assertEquals(0.99, copy.getDouble(3), 1E-10);
+    }
+
+    @Test
+    public void testMultipleBatches() throws Exception {
+        System.out.println("multiple batches");
+        Arrow batches = new Arrow(100);
+        File temp = File.createTempFile("chinook", "arrow");
+        temp.deleteOnExit();
+        batches.write(df, temp.toPath());
+        DataFrame data = batches.read(temp.toPath());
+
+        assertEquals(df.schema(), data.schema());
+        assertEquals(412, data.size());
+        var total = data.column("Total");
+        assertInstanceOf(OffHeapDoubleVector.class, total);
+        for (int i = 0; i < df.size(); i++) {
+            assertEquals(df.getDouble(i, 5), total.getDouble(i), 1E-10);
+            assertEquals(df.getString(i, 4), data.getString(i, 4));
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.util.Arrays;
+import org.apache.commons.csv.CSVFormat;
+import smile.data.DataFrame;
+import smile.data.SQL;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class BatchReaderTest {
+
+    public BatchReaderTest() {
+    }
+
+    @Test
+    public void testCsv() throws Exception {
+        System.out.println("csv batches");
+        CSVFormat format = CSVFormat.newFormat(' ');
+        DataFrame usps = new CSV(format).read(Paths.getTestData("usps/zip.train"));
+
+        int rows = 0;
+        int batches = 0;
+        try (BatchReader reader = BatchReader.csv(Paths.getTestData("usps/zip.train"), format, 1000)) {
+            assertEquals(257, reader.schema().length());
+            while (reader.hasNext()) {
+                DataFrame batch = reader.next();
+                assertEquals(reader.schema(), batch.schema());
+                assertTrue(batch.size() <= 1000);
+                for (int i = 0; i < batch.size(); i++) {
+                    assertEquals(usps.getInt(rows + i, 0), batch.getInt(i, 0));
+                    assertEquals(usps.getDouble(rows + i, 8), batch.getDouble(i, 8), 1E-7);
+                }
+                rows += batch.size();
+                batches++;
+            }
+        }
+
+        assertEquals(7291, rows);
+        assertEquals(8, batches);
+    }
+
+    @Test
+    public void testParquet() throws Exception {
+        System.out.println("parquet batches");
+        try (var stream = BatchReader.parquet(Paths.getTestData("kylo/userdata1.parquet"), 300).stream()) {
+            int[] sizes = stream.mapToInt(DataFrame::size).toArray();
+            assertEquals(1000, Arrays.stream(sizes).sum());
+            for (int size : sizes) {
+                assertTrue(size <= 300);
+            }
+        }
+    }
+
+    @Test
+    public void testQuery() throws Exception {
+        System.out.println("query batches");
+        try (SQL sql = new SQL()) {
+            sql.parquet("user", Paths.getTestData("kylo/userdata1.parquet").toString());
+            try (BatchReader reader = sql.query("SELECT * FROM user", 256)) {
+                assertEquals(13, reader.schema().length());
+                int rows = 0;
+                while (reader.hasNext()) {
+                    DataFrame batch = reader.next();
+                    assertEquals(reader.schema(), batch.schema());
+                    rows += batch.size();
+                }
+                assertEquals(1000, rows);
+            }
+        }
+    }
+}
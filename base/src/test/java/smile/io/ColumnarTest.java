@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.BitSet;
+import smile.data.DataFrame;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class ColumnarTest {
+
+    public ColumnarTest() {
+    }
+
+    private static Path temp() throws Exception {
+        Path path = Files.createTempFile("smile-test-", ".smile");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    @Test
+    public void testWeather() throws Exception {
+        System.out.println("weather");
+        DataFrame weather;
+        try (Arff arff = new Arff(Paths.getTestData("weka/weather.nominal.arff"))) {
+            weather = arff.read();
+        }
+
+        Path path = temp();
+        Write.columnar(weather, path);
+        DataFrame df = Read.columnar(path);
+        assertEquals(weather.schema(), df.schema());
+        assertEquals(weather.size(), df.size());
+        for (int i = 0; i < weather.size(); i++) {
+            for (int j = 0; j < weather.ncol(); j++) {
+                assertEquals(weather.get(i, j), df.get(i, j));
+            }
+        }
+        assertEquals("sunny", df.getScale(0, 0));
+    }
+
+    @Test
+    public void testLazyColumns() throws Exception {
+        System.out.println("lazy columns");
+        BitSet mask = new BitSet(4);
+        mask.set(2);
+        DataFrame data = new DataFrame(
+                new IntVector("id", new int[]{1, 2, 3, 4}),
+                new NullableDoubleVector("score", new double[]{0.5, 1.5, 0.0, 3.5}, mask),
+                new StringVector("name", new String[]{"a", "b", null, "a"}),
+                new BooleanVector("flag", new boolean[]{true, false, true, false}),
+                new ObjectVector<>(new StructField("day", DataTypes.DateType), new LocalDate[]{
+                        LocalDate.of(2020, 1, 1), LocalDate.of(2021, 2, 2), null, LocalDate.of(2023, 4, 4)})
+        );
+
+        Path path = temp();
+        Write.columnar(data, path);
+        try (Columnar file = Columnar.open(path)) {
+            assertEquals(data.schema(), file.schema());
+            assertEquals(4, file.size());
+
+            DataFrame df = file.select("score", "name");
+            assertEquals(2, df.ncol());
+            assertInstanceOf(OffHeapDoubleVector.class, df.column("score"));
+            assertEquals(1.5, df.getDouble(1, 0), 1E-10);
+            assertTrue(df.isNullAt(2, 0));
+            assertEquals("a", df.getString(3, 1));
+            assertNull(df.get(2, 1));
+
+            DataFrame all = file.toDataFrame();
+            for (int i = 0; i < data.size(); i++) {
+                for (int j = 0; j < data.ncol(); j++) {
+                    assertEquals(data.get(i, j), all.get(i, j));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.csv.CSVFormat;
+import smile.data.DataFrame;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.type.StructType;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class ParallelCSVTest {
+
+    public ParallelCSVTest() {
+    }
+
+    @Test
+    public void testUsps() throws Exception {
+        System.out.println("usps");
+        CSVFormat format = CSVFormat.newFormat(' ');
+        DataFrame expected = new CSV(format).read(Paths.getTestData("usps/zip.train"));
+        // small chunks to exercise the chunk alignment.
+        DataFrame usps = new ParallelCSV(format).chunkSize(64 * 1024).read(Paths.getTestData("usps/zip.train"));
+
+        assertEquals(7291, usps.size());
+        assertEquals(257, usps.ncol());
+        assertEquals(expected.schema(), usps.schema());
+        for (int i = 0; i < usps.size(); i++) {
+            assertEquals(expected.getInt(i, 0), usps.getInt(i, 0));
+            for (int j = 1; j < usps.ncol(); j++) {
+                assertEquals(expected.getDouble(i, j), usps.getDouble(i, j), 1E-15);
+            }
+        }
+    }
+
+    @Test
+    public void testGdpProjection() throws Exception {
+        System.out.println("gdp projection");
+
+        CSVFormat format = CSVFormat.Builder.create()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setCommentMarker('%')
+                .get();
+        DataFrame gdp = new ParallelCSV(format)
+                .select("Debt", "Country")
+                .read(Paths.getTestData("regression/gdp.csv"), 10);
+
+        assertEquals(10, gdp.size());
+        StructType schema = new StructType(
+                new StructField("Debt", DataTypes.DoubleType),
+                new StructField("Country", DataTypes.StringType)
+        );
+        assertEquals(schema, gdp.schema());
+        assertEquals("Australia", gdp.get(0, 1));
+        assertEquals(30.6, gdp.getDouble(0, 0), 1E-7);
+    }
+
+    @Test
+    public void testQuoteAndMissingValues() throws Exception {
+        System.out.println("quote and missing values");
+
+        Path path = Files.createTempFile("smile-parallel-csv", ".csv");
+        path.toFile().deleteOnExit();
+        StringBuilder sb = new StringBuilder("id,name,score\r\n");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(",\"a, \"\"").append(i).append("\"\"\",");
+            if (i % 10 != 0) sb.append(i * 0.5);
+            sb.append("\r\n");
+        }
+        Files.writeString(path, sb.toString());
+
+        CSVFormat format = CSVFormat.Builder.create().setHeader().setSkipHeaderRecord(true).get();
+        DataFrame data = new ParallelCSV(format).chunkSize(1000).read(path);
+
+        assertEquals(1000, data.size());
+        assertEquals(DataTypes.IntType, data.schema().field(0).dtype());
+        assertEquals(DataTypes.StringType, data.schema().field(1).dtype());
+        assertEquals(DataTypes.NullableDoubleType, data.schema().field(2).dtype());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, data.getInt(i, 0));
+            assertEquals("a, \"" + i + "\"", data.getString(i, 1));
+            assertEquals(i % 10 == 0, data.isNullAt(i, 2));
+        }
+        assertEquals(499.5, data.getDouble(999, 2), 1E-7);
+    }
+}
@@ -93,6 +93,25 @@ public class CoverTreeTest {
         }
     }
 
+    @Test
+    public void testBatchKnn() {
+        System.out.println("batch knn");
+
+        double[][] data = MathEx.randn(1000, 10);
+        CoverTree<double[], double[]> coverTree = CoverTree.of(data, MathEx::distance);
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+
+        KNNSearch.Result result = coverTree.search(data, 10);
+        for (int i = 0; i < data.length; i++) {
+            Neighbor[] n1 = naive.search(data[i], 10);
+            Arrays.sort(n1);
+            for (int j = 0; j < n1.length; j++) {
+                assertEquals(n1[j].index(), result.index()[i][j]);
+                assertEquals(n1[j].distance(), result.distance()[i][j], 1E-7);
+            }
+        }
+    }
+
     /**
      * Test of knn method when the data has only one element.
      */
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import smile.math.MathEx;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class HNSWTest {
+
+    public HNSWTest() {
+
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218);
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /** Returns the recall of approximate nearest neighbors. */
+    private double recall(KNNSearch<double[], double[]> knn, double[][] data, double[][] queries, int k) {
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+        int hits = 0;
+        for (double[] q : queries) {
+            Neighbor<double[], double[]>[] truth = naive.search(q, k);
+            Neighbor<double[], double[]>[] neighbors = knn.search(q, k);
+            for (var n1 : truth) {
+                for (var n2 : neighbors) {
+                    if (n1.index() == n2.index()) {
+                        hits++;
+                        break;
+                    }
+                }
+            }
+        }
+        return (double) hits / (queries.length * k);
+    }
+
+    @Test
+    public void testKnn() {
+        System.out.println("knn");
+
+        double[][] data = MathEx.randn(5000, 20);
+        double[][] queries = MathEx.randn(200, 20);
+        HNSW<double[]> hnsw = HNSW.of(data);
+        assertEquals(5000, hnsw.size());
+
+        hnsw.setEfSearch(10);
+        double r10 = recall(hnsw, data, queries, 10);
+        hnsw.setEfSearch(100);
+        double r100 = recall(hnsw, data, queries, 10);
+        System.out.format("recall@10: efSearch = 10: %.2f%%, efSearch = 100: %.2f%%%n", 100 * r10, 100 * r100);
+        assertTrue(r100 >= r10);
+        assertTrue(r100 > 0.95);
+
+        Neighbor<double[], double[]>[] neighbors = hnsw.search(queries[0], 10);
+        for (int i = 1; i < neighbors.length; i++) {
+            assertTrue(neighbors[i - 1].distance() <= neighbors[i].distance());
+        }
+
+        // The query object is excluded.
+        neighbors = hnsw.search(data[7], 5);
+        assertEquals(5, neighbors.length);
+        for (var neighbor : neighbors) {
+            assertNotEquals(7, neighbor.index());
+        }
+    }
+
+    @Test
+    public void testPut() {
+        System.out.println("put");
+
+        double[][] data = MathEx.randn(3000, 10);
+        HNSW<Integer> hnsw = new HNSW<>(10, 12, 100);
+        for (int i = 0; i < data.length; i++) {
+            hnsw.put(data[i], i);
+        }
+
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+        double[][] queries = MathEx.randn(100, 10);
+        int hits = 0;
+        for (double[] q : queries) {
+            Neighbor<double[], Integer> neighbor = hnsw.search(q, 1)[0];
+            if (neighbor.index() == naive.nearest(q).index()) hits++;
+            assertEquals(neighbor.index(), neighbor.value());
+        }
+        assertTrue(hits >= 95);
+    }
+
+    @Test
+    public void testInvalidQuery() {
+        System.out.println("invalid query");
+
+        HNSW<double[]> hnsw = HNSW.of(MathEx.randn(100, 10));
+        assertThrows(IllegalArgumentException.class, () -> hnsw.search(new double[9], 1));
+        assertThrows(IllegalArgumentException.class, () -> hnsw.search(new double[11], 1));
+        assertThrows(IllegalArgumentException.class, () -> hnsw.search(new double[][]{new double[10], new double[9]}, 1));
+    }
+
+    @Test
+    public void testConcurrentSearch() {
+        System.out.println("concurrent search");
+
+        double[][] data = MathEx.randn(3000, 10);
+        double[][] queries = MathEx.randn(500, 10);
+        HNSW<double[]> hnsw = HNSW.of(data);
+        KNNSearch.Result result = hnsw.search(queries, 5);
+        for (int i = 0; i < queries.length; i++) {
+            Neighbor<double[], double[]>[] neighbors = hnsw.search(queries[i], 5);
+            for (int j = 0; j < 5; j++) {
+                assertEquals(neighbors[j].index(), result.index()[i][j]);
+                assertEquals(neighbors[j].distance(), result.distance()[i][j], 1E-10);
+            }
+        }
+    }
+
+    @Test
+    public void testSaveLoad() throws Exception {
+        System.out.println("save/load");
+
+        double[][] data = MathEx.randn(2000, 8);
+        HNSW<double[]> hnsw = HNSW.of(data);
+        hnsw.setEfSearch(50);
+
+        Path path = Files.createTempFile("smile-hnsw-", ".bin");
+        path.toFile().deleteOnExit();
+        hnsw.save(path);
+
+        HNSW<double[]> index = HNSW.load(path);
+        assertEquals(hnsw.size(), index.size());
+        assertEquals(50, index.efSearch());
+
+        double[][] queries = MathEx.randn(50, 8);
+        for (double[] q : queries) {
+            Neighbor<double[], double[]>[] n1 = hnsw.search(q, 10);
+            Neighbor<double[], double[]>[] n2 = index.search(q, 10);
+            assertEquals(n1.length, n2.length);
+            for (int j = 0; j < n1.length; j++) {
+                assertEquals(n1[j].index(), n2[j].index());
+                assertArrayEquals(n1[j].key(), n2[j].key(), 1E-15);
+                assertEquals(n1[j].distance(), n2[j].distance(), 1E-15);
+            }
+        }
+
+        // The index is still updatable after loading.
+        index.put(queries[0], queries[0]);
+        assertEquals(2001, index.size());
+        assertEquals(2000, index.search(queries[0].clone(), 1)[0].index());
+    }
+}
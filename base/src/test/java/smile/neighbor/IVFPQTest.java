@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.neighbor;
+
+import smile.math.MathEx;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class IVFPQTest {
+    double[][] data;
+    double[][] queries;
+
+    public IVFPQTest() {
+
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218);
+        // Clustered data as embeddings usually are.
+        double[][] centers = MathEx.randn(30, 32);
+        data = new double[5000][32];
+        for (int i = 0; i < data.length; i++) {
+            double[] center = centers[i % centers.length];
+            for (int j = 0; j < 32; j++) {
+                data[i][j] = 3 * center[j] + MathEx.randn();
+            }
+        }
+
+        queries = new double[100][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = data[MathEx.randomInt(data.length)].clone();
+            queries[i][0] += 0.1;
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /** Returns the recall of approximate nearest neighbors. */
+    private double recall(KNNSearch<double[], ?> knn, int k) {
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+        int hits = 0;
+        for (double[] q : queries) {
+            var truth = naive.search(q, k);
+            var neighbors = knn.search(q, k);
+            for (var n1 : truth) {
+                for (var n2 : neighbors) {
+                    if (n1.index() == n2.index()) {
+                        hits++;
+                        break;
+                    }
+                }
+            }
+        }
+        return (double) hits / (queries.length * k);
+    }
+
+    @Test
+    public void testCompressed() {
+        System.out.println("compressed");
+
+        Integer[] id = new Integer[data.length];
+        for (int i = 0; i < id.length; i++) id[i] = i;
+        IVFPQ<Integer> index = new IVFPQ<>(data, id, 32, 8);
+        assertEquals(5000, index.size());
+        assertEquals(8, index.codeSize());
+
+        index.setNprobe(8);
+        double recall = recall(index, 10);
+        System.out.format("recall@10 of %s: %.2f%%%n", index, 100 * recall);
+        assertTrue(recall > 0.5);
+
+        var neighbors = index.search(queries[0], 10);
+        assertEquals(10, neighbors.length);
+        for (int i = 0; i < neighbors.length; i++) {
+            assertEquals(neighbors[i].index(), neighbors[i].value());
+            // The reconstructed vector is close to the original one.
+            double error = MathEx.distance(data[neighbors[i].index()], neighbors[i].key());
+            assertTrue(error < MathEx.distance(data[neighbors[i].index()], new double[32]));
+            if (i > 0) assertTrue(neighbors[i - 1].distance() <= neighbors[i].distance());
+        }
+    }
+
+    @Test
+    public void testRerank() {
+        System.out.println("rerank");
+
+        IVFPQ<double[]> index = IVFPQ.of(data, 32, 8);
+        index.setNprobe(8);
+        double recall = recall(index, 10);
+        System.out.format("recall@10 of %s: %.2f%%%n", index, 100 * recall);
+        assertTrue(recall > 0.9);
+
+        for (double[] q : queries) {
+            for (var neighbor : index.search(q, 5)) {
+                assertEquals(MathEx.distance(q, data[neighbor.index()]), neighbor.distance(), 1E-10);
+            }
+        }
+
+        // The query object is excluded.
+        for (var neighbor : index.search(data[7], 5)) {
+            assertNotEquals(7, neighbor.index());
+        }
+    }
+
+    @Test
+    public void testPut() {
+        System.out.println("put");
+
+        IVFPQ<double[]> index = IVFPQ.of(data, 32, 8);
+        index.setNprobe(32);
+        double[] x = queries[0].clone();
+        index.put(x, x);
+        assertEquals(5001, index.size());
+        var neighbor = index.search(queries[0], 1)[0];
+        assertEquals(5000, neighbor.index());
+        assertSame(x, neighbor.value());
+    }
+}
@@ -17,6 +17,7 @@
 package smile.neighbor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import smile.math.MathEx;
@@ -88,6 +89,25 @@ public class KDTreeTest {
         }
     }
 
+    @Test
+    public void testBatchKnn() {
+        System.out.println("batch knn");
+
+        double[][] data = MathEx.randn(1000, 10);
+        KDTree<double[]> kdtree = new KDTree<>(data, data);
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+
+        KNNSearch.Result result = kdtree.search(data, 10);
+        for (int i = 0; i < data.length; i++) {
+            Neighbor<double[], double[]> [] n1 = naive.search(data[i], 10);
+            Arrays.sort(n1);
+            for (int j = 0; j < n1.length; j++) {
+                assertEquals(n1[j].index(), result.index()[i][j]);
+                assertEquals(n1[j].distance(), result.distance()[i][j], 1E-7);
+            }
+        }
+    }
+
     @Test
     public void testRange() {
         System.out.println("range 0.5");
@@ -130,6 +150,26 @@ public class KDTreeTest {
         }
     }
 
+    @Test
+    public void testRangeEarlyExit() {
+        System.out.println("range early exit");
+
+        // The first coordinate difference of (1, 1) alone equals the radius
+        // but its distance sqrt(2) is larger. (0, 1) is exactly at the radius.
+        double[][] data = {{0.0, 0.0}, {1.0, 1.0}, {0.0, 1.0}, {3.0, 3.0}};
+        KDTree<double[]> kdtree = new KDTree<>(data, data);
+        double[] q = {0.0, 0.0};
+
+        List<Neighbor<double[], double[]>> neighbors = new ArrayList<>();
+        kdtree.search(q, 1.0, neighbors);
+        Collections.sort(neighbors);
+        assertEquals(2, neighbors.size());
+        assertEquals(0, neighbors.get(0).index());
+        assertEquals(0.0, neighbors.get(0).distance(), 1E-15);
+        assertEquals(2, neighbors.get(1).index());
+        assertEquals(1.0, neighbors.get(1).distance(), 1E-15);
+    }
+
     @Test
     public void testGaussianMixture() {
         System.out.println("----- Gaussian Mixture -----");
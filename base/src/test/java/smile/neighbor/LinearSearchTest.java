@@ -17,8 +17,10 @@
 package smile.neighbor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import smile.math.MathEx;
+import smile.math.distance.EuclideanDistance;
 import smile.math.distance.EditDistance;
 import smile.datasets.GaussianMixture;
 import smile.datasets.WordNet;
@@ -73,6 +75,37 @@ public class LinearSearchTest {
         assertEquals(MathEx.distance(data[0], data[1]), n1[0].distance(), 1E-7);
     }
 
+    @Test
+    public void testBatchKnn() {
+        System.out.println("----- batch knn -----");
+
+        double[][] data = MathEx.randn(1000, 10);
+        double[][] queries = new double[600][];
+        System.arraycopy(data, 0, queries, 0, 300);
+        System.arraycopy(MathEx.randn(300, 10), 0, queries, 300, 300);
+        // missing values fall back to the distance function.
+        queries[599][3] = Double.NaN;
+
+        LinearSearch<double[], double[]> naive = LinearSearch.of(data, MathEx::distance);
+        LinearSearch<double[], double[]> euclidean = LinearSearch.of(data, new EuclideanDistance());
+
+        KNNSearch.Result r1 = naive.search(queries, 10);
+        KNNSearch.Result r2 = euclidean.search(queries, 10);
+        for (int i = 0; i < queries.length; i++) {
+            Neighbor[] n = euclidean.search(queries[i], 10);
+            Arrays.sort(n);
+            for (int j = 0; j < n.length; j++) {
+                assertEquals(n[j].index(), r2.index()[i][j]);
+                assertEquals(n[j].distance(), r2.distance()[i][j], 1E-7);
+                // MathEx.distance doesn't handle missing values.
+                if (i < 599) {
+                    assertEquals(n[j].index(), r1.index()[i][j]);
+                    assertEquals(n[j].distance(), r1.distance()[i][j], 1E-7);
+                }
+            }
+        }
+    }
+
     @Test
     public void testSwissRoll() throws Exception {
         System.out.println("----- Swiss Roll -----");
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.lang.foreign.MemorySegment;
+import smile.linalg.*;
+import smile.math.MathEx;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test the pure Java BLAS provider against the naive loops.
+ *
+ * @author Haifeng Li
+ */
+public class BLASTest {
+    static final BLAS blas = JavaBLAS.INSTANCE;
+
+    public BLASTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218);
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /** Returns a random array. */
+    static double[] random(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = MathEx.random(-1, 1);
+        }
+        return x;
+    }
+
+    /** Returns the element of matrix in given layout. */
+    static double get(double[] A, Order layout, int lda, int i, int j) {
+        return layout == Order.COL_MAJOR ? A[i + j * lda] : A[i * lda + j];
+    }
+
+    /** Returns the element of op(A). */
+    static double get(double[] A, Order layout, Transpose trans, int lda, int i, int j) {
+        return trans == Transpose.NO_TRANSPOSE ? get(A, layout, lda, i, j) : get(A, layout, lda, j, i);
+    }
+
+    static MemorySegment segment(double[] x) {
+        return MemorySegment.ofArray(x);
+    }
+
+    @Test
+    public void testLevel1() {
+        System.out.println("level 1");
+        int n = 103;
+        double[] x = random(2 * n);
+        double[] y = random(2 * n);
+
+        double dot = 0.0, dot2 = 0.0, asum = 0.0, sumsq = 0.0;
+        int amax = 0;
+        for (int i = 0; i < n; i++) {
+            dot += x[i] * y[i];
+            dot2 += x[2 * i] * y[2 * i];
+            asum += Math.abs(x[i]);
+            sumsq += x[i] * x[i];
+            if (Math.abs(x[i]) > Math.abs(x[amax])) amax = i;
+        }
+
+        assertEquals(dot, blas.ddot(n, segment(x), 1, segment(y), 1), 1E-12);
+        assertEquals(dot2, blas.ddot(n, segment(x), 2, segment(y), 2), 1E-12);
+        assertEquals(asum, blas.dasum(n, segment(x), 1), 1E-12);
+        assertEquals(Math.sqrt(sumsq), blas.dnrm2(n, segment(x), 1), 1E-12);
+        assertEquals(amax, blas.idamax(n, segment(x), 1));
+
+        double[] z = y.clone();
+        blas.daxpy(n, 2.5, segment(x), 1, segment(z), 1);
+        for (int i = 0; i < n; i++) {
+            assertEquals(y[i] + 2.5 * x[i], z[i], 1E-15);
+        }
+        assertEquals(y[n], z[n], 1E-15);
+
+        z = y.clone();
+        blas.daxpy(n, 2.5, segment(x), 2, segment(z), 2);
+        for (int i = 0; i < n; i++) {
+            assertEquals(y[2 * i] + 2.5 * x[2 * i], z[2 * i], 1E-15);
+            assertEquals(y[2 * i + 1], z[2 * i + 1], 1E-15);
+        }
+
+        z = x.clone();
+        blas.dscal(n, -0.5, segment(z), 1);
+        for (int i = 0; i < n; i++) {
+            assertEquals(-0.5 * x[i], z[i], 1E-15);
+        }
+
+        double[] u = x.clone();
+        double[] v = y.clone();
+        blas.dswap(n, segment(u), 1, segment(v), 1);
+        for (int i = 0; i < n; i++) {
+            assertEquals(x[i], v[i], 1E-15);
+            assertEquals(y[i], u[i], 1E-15);
+        }
+
+        float[] xf = new float[n];
+        float[] yf = new float[n];
+        double dotf = 0.0;
+        for (int i = 0; i < n; i++) {
+            xf[i] = (float) x[i];
+            yf[i] = (float) y[i];
+            dotf += xf[i] * yf[i];
+        }
+        assertEquals(dotf, blas.sdot(n, MemorySegment.ofArray(xf), 1, MemorySegment.ofArray(yf), 1), 1E-4);
+    }
+
+    @Test
+    public void testNrm2Overflow() {
+        System.out.println("nrm2 overflow");
+        double[] x = {3E200, 4E200, 0.0};
+        assertEquals(5E200, blas.dnrm2(3, segment(x), 1), 1E188);
+        double[] y = {3E-200, 4E-200, 0.0};
+        assertEquals(5E-200, blas.dnrm2(3, segment(y), 1), 1E-212);
+        double[] z = new double[5];
+        assertEquals(0.0, blas.dnrm2(5, segment(z), 1), 1E-15);
+    }
+
+    @Test
+    public void testGemv() {
+        System.out.println("gemv");
+        int m = 37, n = 23;
+        for (Order layout : Order.values()) {
+            int lda = layout == Order.COL_MAJOR ? m + 3 : n + 3;
+            double[] A = random(lda * Math.max(m, n));
+            for (Transpose trans : new Transpose[]{Transpose.NO_TRANSPOSE, Transpose.TRANSPOSE}) {
+                int rows = trans == Transpose.NO_TRANSPOSE ? m : n;
+                int cols = trans == Transpose.NO_TRANSPOSE ? n : m;
+                for (int inc : new int[]{1, 2}) {
+                    double[] x = random(inc * cols);
+                    double[] y = random(inc * rows);
+                    double[] expected = y.clone();
+                    for (int i = 0; i < rows; i++) {
+                        double s = 0.0;
+                        for (int j = 0; j < cols; j++) {
+                            s += get(A, layout, trans, lda, i, j) * x[inc * j];
+                        }
+                        expected[inc * i] = 1.5 * s - 0.5 * y[inc * i];
+                    }
+
+                    blas.dgemv(layout, trans, m, n, 1.5, segment(A), lda, segment(x), inc, -0.5, segment(y), inc);
+                    assertArrayEquals(expected, y, 1E-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSymvTrmv() {
+        System.out.println("symv and trmv");
+        int n = 29;
+        for (Order layout : Order.values()) {
+            double[] A = random(n * n);
+            for (UPLO uplo : UPLO.values()) {
+                // The referenced triangle in the given layout.
+                boolean lower = uplo == UPLO.LOWER;
+                double[] x = random(n);
+                double[] y = random(n);
+                double[] expected = new double[n];
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        boolean stored = lower == (i >= j);
+                        double aij = stored ? get(A, layout, n, i, j) : get(A, layout, n, j, i);
+                        expected[i] += 2.0 * aij * x[j];
+                    }
+                    expected[i] += y[i];
+                }
+                blas.dsymv(layout, uplo, n, 2.0, segment(A), n, segment(x), 1, 1.0, segment(y), 1);
+                assertArrayEquals(expected, y, 1E-12);
+
+                for (Transpose trans : new Transpose[]{Transpose.NO_TRANSPOSE, Transpose.TRANSPOSE}) {
+                    for (Diag diag : Diag.values()) {
+                        double[] z = x.clone();
+                        double[] t = new double[n];
+                        for (int i = 0; i < n; i++) {
+                            for (int j = 0; j < n; j++) {
+                                int r = trans == Transpose.NO_TRANSPOSE ? i : j;
+                                int c = trans == Transpose.NO_TRANSPOSE ? j : i;
+                                if (lower ? r < c : r > c) continue;
+                                double aij = r == c && diag == Diag.UNIT ? 1.0 : get(A, layout, n, r, c);
+                                t[i] += aij * x[j];
+                            }
+                        }
+                        blas.dtrmv(layout, uplo, trans, diag, n, segment(A), n, segment(z), 1);
+                        assertArrayEquals(t, z, 1E-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGer() {
+        System.out.println("ger");
+        int m = 31, n = 17;
+        for (Order layout : Order.values()) {
+            int lda = layout == Order.COL_MAJOR ? m : n;
+            double[] A = random(m * n);
+            double[] x = random(m);
+            double[] y = random(n);
+            double[] expected = A.clone();
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    int index = layout == Order.COL_MAJOR ? i + j * lda : i * lda + j;
+                    expected[index] += 0.5 * x[i] * y[j];
+                }
+            }
+            blas.dger(layout, m, n, 0.5, segment(x), 1, segment(y), 1, segment(A), lda);
+            assertArrayEquals(expected, A, 1E-12);
+        }
+    }
+
+    @Test
+    public void testGemm() {
+        System.out.println("gemm");
+        // The sizes cross the block boundaries of packing.
+        int m = 137, n = 71, k = 300;
+        Transpose[] ops = {Transpose.NO_TRANSPOSE, Transpose.TRANSPOSE};
+        for (Order layout : Order.values()) {
+            for (Transpose transA : ops) {
+                for (Transpose transB : ops) {
+                    boolean col = layout == Order.COL_MAJOR;
+                    int lda = (col == (transA == Transpose.NO_TRANSPOSE)) ? m : k;
+                    int ldb = (col == (transB == Transpose.NO_TRANSPOSE)) ? k : n;
+                    int ldc = col ? m : n;
+                    double[] A = random(m * k);
+                    double[] B = random(k * n);
+                    double[] C = random(m * n);
+                    double[] expected = C.clone();
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            double s = 0.0;
+                            for (int p = 0; p < k; p++) {
+                                s += get(A, layout, transA, lda, i, p) * get(B, layout, transB, ldb, p, j);
+                            }
+                            int index = col ? i + j * ldc : i * ldc + j;
+                            expected[index] = 2.0 * s + 0.5 * C[index];
+                        }
+                    }
+
+                    blas.dgemm(layout, transA, transB, m, n, k, 2.0, segment(A), lda, segment(B), ldb, 0.5, segment(C), ldc);
+                    assertArrayEquals(expected, C, 1E-10);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSymm() {
+        System.out.println("symm");
+        int m = 41, n = 19;
+        for (Order layout : Order.values()) {
+            boolean col = layout == Order.COL_MAJOR;
+            int ldc = col ? m : n;
+            for (Side side : Side.values()) {
+                int ka = side == Side.LEFT ? m : n;
+                for (UPLO uplo : UPLO.values()) {
+                    double[] A = random(ka * ka);
+                    double[] B = random(m * n);
+                    double[] C = new double[m * n];
+                    double[] S = new double[ka * ka];
+                    for (int i = 0; i < ka; i++) {
+                        for (int j = 0; j < ka; j++) {
+                            boolean stored = (uplo == UPLO.LOWER) == (i >= j);
+                            S[i + j * ka] = stored ? get(A, layout, ka, i, j) : get(A, layout, ka, j, i);
+                        }
+                    }
+
+                    double[] expected = new double[m * n];
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < n; j++) {
+                            double s = 0.0;
+                            if (side == Side.LEFT) {
+                                for (int p = 0; p < m; p++) s += S[i + p * ka] * get(B, layout, ldc, p, j);
+                            } else {
+                                for (int p = 0; p < n; p++) s += get(B, layout, ldc, i, p) * S[p + j * ka];
+                            }
+                            expected[col ? i + j * ldc : i * ldc + j] = s;
+                        }
+                    }
+
+                    blas.dsymm(layout, side, uplo, m, n, 1.0, segment(A), ka, segment(B), ldc, 0.0, segment(C), ldc);
+                    assertArrayEquals(expected, C, 1E-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSgemm() {
+        System.out.println("sgemm");
+        int m = 65, n = 33, k = 270;
+        float[] A = new float[m * k];
+        float[] B = new float[k * n];
+        for (int i = 0; i < A.length; i++) A[i] = (float) MathEx.random(-1, 1);
+        for (int i = 0; i < B.length; i++) B[i] = (float) MathEx.random(-1, 1);
+        float[] C = new float[m * n];
+        blas.sgemm(Order.COL_MAJOR, Transpose.NO_TRANSPOSE, Transpose.NO_TRANSPOSE, m, n, k, 1.0f,
+                MemorySegment.ofArray(A), m, MemorySegment.ofArray(B), k, 0.0f, MemorySegment.ofArray(C), m);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                double s = 0.0;
+                for (int p = 0; p < k; p++) s += A[i + p * m] * B[p + j * k];
+                assertEquals(s, C[i + j * m], 1E-4);
+            }
+        }
+    }
+
+    @Test
+    public void testProvider() {
+        System.out.println("provider");
+        assertEquals("java", BLAS.of("java").name());
+        assertThrows(IllegalArgumentException.class, () -> BLAS.of("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> BLAS.setInstance(null));
+
+        DenseMatrix A = DenseMatrix.randn(ScalarType.Float64, 50, 40);
+        DenseMatrix B = DenseMatrix.randn(ScalarType.Float64, 40, 30);
+        DenseMatrix C = A.mm(B);
+
+        BLAS blas = BLAS.getInstance();
+        try {
+            BLAS.setInstance(BLAS.of("java"));
+            DenseMatrix D = A.mm(B);
+            for (int i = 0; i < C.nrow(); i++) {
+                for (int j = 0; j < C.ncol(); j++) {
+                    assertEquals(C.get(i, j), D.get(i, j), 1E-10);
+                }
+            }
+
+            Vector x = A.column(0);
+            assertEquals(x.dot(x), x.norm2() * x.norm2(), 1E-10);
+        } finally {
+            BLAS.setInstance(blas);
+        }
+    }
+}
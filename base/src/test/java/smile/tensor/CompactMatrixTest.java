@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import smile.io.Read;
+import smile.io.Write;
+import smile.math.MathEx;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static smile.linalg.Transpose.*;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * Test CompactMatrix.
+ *
+ * @author Haifeng Li
+ */
+public class CompactMatrixTest {
+    DenseMatrix A;
+
+    public CompactMatrixTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218);
+        A = DenseMatrix.randn(Float64, 300, 70);
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Tests the kernels against the double precision copy.
+     */
+    private void test(CompactMatrix C, double tol) {
+        int m = A.nrow(), n = A.ncol();
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(A.get(i, j), C.get(i, j), tol);
+            }
+        }
+
+        DenseMatrix D = C.toDense();
+        Vector x = Vector.column(MathEx.randn(n));
+        Vector y = Vector.column(MathEx.randn(m));
+        Vector y1 = y.copy();
+        Vector y2 = y.copy();
+        D.mv(NO_TRANSPOSE, 1.5, x, 0.5, y1);
+        C.mv(NO_TRANSPOSE, 1.5, x, 0.5, y2);
+        for (int i = 0; i < m; i++) {
+            assertEquals(y1.get(i), y2.get(i), 1E-10);
+        }
+
+        Vector z1 = D.tv(y);
+        Vector z2 = C.tv(y);
+        for (int j = 0; j < n; j++) {
+            assertEquals(z1.get(j), z2.get(j), 1E-10);
+        }
+
+        DenseMatrix B = DenseMatrix.randn(Float64, n, 3);
+        DenseMatrix E1 = D.mm(B);
+        DenseMatrix E2 = C.mm(B);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(E1.get(i, j), E2.get(i, j), 1E-10);
+            }
+        }
+
+        double[] q = MathEx.randn(m);
+        double[] column = new double[m];
+        C.column(5, column);
+        assertEquals(MathEx.squaredDistance(column, q), C.squaredDistance(5, q), 1E-10);
+        assertEquals(MathEx.dot(column, q), C.dot(5, q), 1E-10);
+    }
+
+    @Test
+    public void testFloat16() throws Exception {
+        System.out.println("Float16");
+        CompactMatrix C = CompactMatrix.of(A, Float16);
+        assertEquals(Float16, C.scalarType());
+        test(C, 5E-3);
+
+        C.set(3, 4, 0.25);
+        assertEquals(0.25, C.get(3, 4), 1E-15);
+        C.scale(2.0);
+        assertEquals(0.5, C.get(3, 4), 1E-15);
+
+        java.nio.file.Path temp = Write.object(C);
+        CompactMatrix copy = (CompactMatrix) Read.object(temp);
+        assertEquals(C.get(7, 8), copy.get(7, 8), 1E-15);
+    }
+
+    @Test
+    public void testBFloat16() {
+        System.out.println("BFloat16");
+        CompactMatrix C = CompactMatrix.of(A, BFloat16);
+        assertEquals(BFloat16, C.scalarType());
+        test(C, 4E-2);
+
+        assertEquals(1.0E30, HalfMatrix.of(DenseMatrix.of(new double[][]{{1.0E30}}), BFloat16).get(0, 0), 1E28);
+        C.set(3, 4, -0.375);
+        assertEquals(-0.375, C.get(3, 4), 1E-15);
+    }
+
+    @Test
+    public void testQInt8() {
+        System.out.println("QInt8");
+        CompactMatrix C = CompactMatrix.of(A, QInt8);
+        assertEquals(QInt8, C.scalarType());
+        // The error is at most half of the scale, max|x| / 254.
+        test(C, 6.0 / 254);
+
+        double max = 0.0;
+        for (int i = 0; i < A.nrow(); i++) {
+            max = Math.max(max, Math.abs(C.get(i, 4)));
+        }
+        C.set(3, 4, 10 * max);
+        assertEquals(10 * max, C.get(3, 4), 1E-10);
+
+        C.scale(-2.0);
+        assertEquals(-20 * max, C.get(3, 4), 1E-10);
+        assertEquals(A.get(0, 0) * -2.0, C.get(0, 0), 2 * 6.0 / 254);
+    }
+
+    @Test
+    public void testQInt8NonFinite() {
+        System.out.println("QInt8 non-finite");
+        A.set(5, 7, Double.NaN);
+        var ex = assertThrows(IllegalArgumentException.class, () -> CompactMatrix.of(A, QInt8));
+        assertTrue(ex.getMessage().contains("(5, 7)"));
+        A.set(5, 7, Double.POSITIVE_INFINITY);
+        assertThrows(IllegalArgumentException.class, () -> CompactMatrix.of(A, QInt8));
+
+        A.set(5, 7, 1.0);
+        CompactMatrix C = CompactMatrix.of(A, QInt8);
+        double x = C.get(2, 3);
+        assertThrows(IllegalArgumentException.class, () -> C.set(2, 3, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> C.set(2, 3, Double.NEGATIVE_INFINITY));
+        assertEquals(x, C.get(2, 3), 1E-15);
+    }
+
+    @Test
+    public void testInvalidType() {
+        System.out.println("invalid type");
+        assertThrows(IllegalArgumentException.class, () -> CompactMatrix.of(A, Int32));
+    }
+}
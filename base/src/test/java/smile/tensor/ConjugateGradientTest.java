@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Haifeng Li
+ */
+public class ConjugateGradientTest {
+
+    public ConjugateGradientTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Returns the 2-D Poisson matrix on a k x k grid, which is
+     * symmetric positive definite.
+     */
+    static double[][] poisson(int k) {
+        int n = k * k;
+        double[][] A = new double[n][n];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                int p = i * k + j;
+                A[p][p] = 4.0;
+                if (i > 0) A[p][p - k] = -1.0;
+                if (i < k - 1) A[p][p + k] = -1.0;
+                if (j > 0) A[p][p - 1] = -1.0;
+                if (j < k - 1) A[p][p + 1] = -1.0;
+            }
+        }
+        return A;
+    }
+
+    /** Returns the right hand side of given solution. */
+    static Vector rhs(double[][] A, double[] x) {
+        double[] b = new double[A.length];
+        for (int i = 0; i < A.length; i++) {
+            for (int j = 0; j < x.length; j++) {
+                b[i] += A[i][j] * x[j];
+            }
+        }
+        return Vector.column(b);
+    }
+
+    /** Returns the solution of test systems. */
+    static double[] solution(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(i + 1.0);
+        }
+        return x;
+    }
+
+    @Test
+    public void testDense() {
+        System.out.println("dense matrix");
+        double[][] A = poisson(8);
+        double[] x = solution(A.length);
+        DenseMatrix a = DenseMatrix.of(A);
+        Vector result = a.vector(A.length);
+        double err = ConjugateGradient.solve(a, rhs(A, x), result);
+        assertTrue(err <= 1E-6);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(x[i], result.get(i), 1E-5);
+        }
+    }
+
+    @Test
+    public void testPreconditioners() {
+        System.out.println("preconditioners");
+        double[][] A = poisson(20);
+        int n = A.length;
+        double[] x = solution(n);
+        Vector b = rhs(A, x);
+        SparseMatrix sparse = new SparseMatrix(A, 1E-8);
+
+        Preconditioner[] preconditioners = {
+                Preconditioner.Jacobi(sparse),
+                Preconditioner.BlockJacobi(sparse, 20),
+                Preconditioner.IncompleteCholesky(sparse),
+                Preconditioner.ILU(sparse)
+        };
+
+        for (var P : preconditioners) {
+            Vector result = sparse.vector(n);
+            double err = ConjugateGradient.solve(sparse, b, result, P, 1E-10, 2 * n);
+            assertTrue(err <= 1E-10);
+            for (int i = 0; i < n; i++) {
+                assertEquals(x[i], result.get(i), 1E-8);
+            }
+        }
+    }
+
+    @Test
+    public void testIncompleteCholesky() {
+        System.out.println("incomplete Cholesky");
+        // IC(0) of a tridiagonal matrix is exact.
+        int n = 50;
+        double[][] A = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            A[i][i] = 2.0;
+            if (i > 0) A[i][i - 1] = A[i - 1][i] = -1.0;
+        }
+
+        double[] x = solution(n);
+        Vector b = rhs(A, x);
+        Vector result = b.zeros(n);
+        Preconditioner.IncompleteCholesky(new SparseMatrix(A, 1E-8)).solve(b, result);
+        for (int i = 0; i < n; i++) {
+            assertEquals(x[i], result.get(i), 1E-10);
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        System.out.println("invalid arguments");
+        DenseMatrix a = DenseMatrix.of(poisson(3));
+        Vector b = a.vector(9);
+        Vector x = a.vector(9);
+        assertThrows(IllegalArgumentException.class, () -> ConjugateGradient.solve(a, b, x, Preconditioner.Jacobi(a), 0.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> ConjugateGradient.solve(a, b, x, Preconditioner.Jacobi(a), 1E-6, 0));
+        assertThrows(IllegalArgumentException.class, () -> Preconditioner.BlockJacobi(a, 0));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static smile.tensor.ConjugateGradientTest.*;
+
+/**
+ * @author Haifeng Li
+ */
+public class GMRESTest {
+
+    public GMRESTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /** Returns a nonsymmetric convection-diffusion like matrix. */
+    static double[][] nonsymmetric(int k) {
+        double[][] A = poisson(k);
+        int n = A.length;
+        for (int i = 0; i < n; i++) {
+            if (i + 1 < n && A[i][i + 1] != 0.0) A[i][i + 1] += 0.5;
+            if (i > 0 && A[i][i - 1] != 0.0) A[i][i - 1] -= 0.5;
+        }
+        return A;
+    }
+
+    @Test
+    public void testDense() {
+        System.out.println("dense matrix");
+        double[][] A = nonsymmetric(8);
+        int n = A.length;
+        double[] x = solution(n);
+        DenseMatrix a = DenseMatrix.of(A);
+        Vector result = a.vector(n);
+        double err = GMRES.solve(a, rhs(A, x), result);
+        assertTrue(err <= 1E-6);
+        for (int i = 0; i < n; i++) {
+            assertEquals(x[i], result.get(i), 1E-4);
+        }
+    }
+
+    @Test
+    public void testILU() {
+        System.out.println("ILU");
+        double[][] A = nonsymmetric(20);
+        int n = A.length;
+        double[] x = solution(n);
+        SparseMatrix sparse = new SparseMatrix(A, 1E-8);
+        Vector result = sparse.vector(n);
+        double err = GMRES.solve(sparse, rhs(A, x), result, Preconditioner.ILU(sparse), 1E-10, 20, 10 * n);
+        assertTrue(err <= 1E-10);
+        for (int i = 0; i < n; i++) {
+            assertEquals(x[i], result.get(i), 1E-8);
+        }
+    }
+}
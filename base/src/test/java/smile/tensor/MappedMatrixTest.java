@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import smile.math.MathEx;
+import smile.math.kernel.GaussianKernel;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static smile.linalg.Transpose.*;
+import static smile.tensor.ScalarType.*;
+
+/**
+ * Test MappedMatrix.
+ *
+ * @author Haifeng Li
+ */
+public class MappedMatrixTest {
+
+    public MappedMatrixTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218);
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    private static Path temp() throws IOException {
+        Path path = Files.createTempFile("smile-test-", ".mat");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    private static void assertMatrixEquals(DenseMatrix expected, DenseMatrix actual, double delta) {
+        assertEquals(expected.nrow(), actual.nrow());
+        assertEquals(expected.ncol(), actual.ncol());
+        for (int i = 0; i < expected.nrow(); i++) {
+            for (int j = 0; j < expected.ncol(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j), delta);
+            }
+        }
+    }
+
+    @Test
+    public void testAtaRowBlocks() throws IOException {
+        System.out.println("ata by row blocks");
+        // 3 blocks of 512, 512 and 276 rows.
+        int m = 1300, n = 9;
+        DenseMatrix A = DenseMatrix.randn(Float64, m, n);
+        Path path = temp();
+        try (MappedMatrix M = MappedMatrix.create(path, m, n, 2L * m * Double.BYTES)) {
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < m; i++) {
+                    M.set(i, j, A.get(i, j));
+                }
+            }
+
+            DenseMatrix AtA = A.ata();
+            DenseMatrix MtM = M.ata();
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    assertEquals(AtA.get(i, j), MtM.get(i, j), 1E-9);
+                    assertEquals(MtM.get(i, j), MtM.get(j, i), 1E-15);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTiles() throws IOException {
+        System.out.println("tiles");
+        int m = 53, n = 31;
+        DenseMatrix A = DenseMatrix.randn(Float64, m, n);
+        Path path = temp();
+        // 7 columns per tile.
+        try (MappedMatrix M = MappedMatrix.create(path, m, n, 7L * m * Double.BYTES)) {
+            assertEquals(7, M.panel());
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < m; i++) {
+                    M.set(i, j, A.get(i, j));
+                }
+            }
+
+            Vector x = Vector.column(MathEx.randn(n));
+            Vector y = Vector.column(MathEx.randn(m));
+            Vector y1 = y.copy();
+            Vector y2 = y.copy();
+            A.mv(NO_TRANSPOSE, 2.0, x, 0.5, y1);
+            M.mv(NO_TRANSPOSE, 2.0, x, 0.5, y2);
+            for (int i = 0; i < m; i++) {
+                assertEquals(y1.get(i), y2.get(i), 1E-10);
+            }
+
+            Vector z1 = A.tv(y);
+            Vector z2 = M.tv(y);
+            for (int j = 0; j < n; j++) {
+                assertEquals(z1.get(j), z2.get(j), 1E-10);
+            }
+
+            DenseMatrix B = DenseMatrix.randn(Float64, n, 5);
+            assertMatrixEquals(A.mm(B), M.mm(B), 1E-10);
+            DenseMatrix D = DenseMatrix.randn(Float64, m, 4);
+            assertMatrixEquals(A.tm(D), M.tm(D), 1E-10);
+
+            DenseMatrix AtA = A.ata();
+            DenseMatrix MtM = M.ata();
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    assertEquals(AtA.get(i, j), MtM.get(i, j), 1E-10);
+                    assertEquals(MtM.get(i, j), MtM.get(j, i), 1E-15);
+                }
+            }
+
+            M.scale(3.0);
+            assertEquals(3.0 * A.get(52, 30), M.get(52, 30), 1E-12);
+            M.flush();
+        }
+
+        try (MappedMatrix M = MappedMatrix.open(path, m, n, true)) {
+            assertEquals(3.0 * A.get(10, 20), M.get(10, 20), 1E-12);
+            assertMatrixEquals(A.scale(3.0), M.copy(), 1E-12);
+        }
+
+        assertThrows(IOException.class, () -> MappedMatrix.open(path, m, n + 1, true));
+    }
+
+    @Test
+    public void testGram() throws IOException {
+        System.out.println("gram");
+        // Crosses the block boundary of 1024.
+        int n = 1100;
+        double[][] x = MathEx.randn(n, 3);
+        GaussianKernel kernel = new GaussianKernel(1.0);
+        try (MappedMatrix K = MappedMatrix.gram(temp(), x, kernel)) {
+            assertEquals(n, K.nrow());
+            assertEquals(n, K.ncol());
+            for (int i = 0; i < n; i += 37) {
+                for (int j = 0; j < n; j += 29) {
+                    assertEquals(kernel.k(x[i], x[j]), K.get(i, j), 1E-15);
+                }
+            }
+            assertEquals(kernel.k(x[1099], x[3]), K.get(1099, 3), 1E-15);
+            assertEquals(kernel.k(x[3], x[1099]), K.get(3, 1099), 1E-15);
+            assertEquals(1.0, K.get(1050, 1050), 1E-15);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.tensor;
+
+import smile.math.MathEx;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class RandomizedSVDTest {
+
+    public RandomizedSVDTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /** Returns a random matrix with geometrically decaying singular values. */
+    private static double[][] lowRank(int m, int n) {
+        MathEx.setSeed(19650218);
+        double[][] A = new double[m][n];
+        for (int r = 0; r < n; r++) {
+            double sigma = 100.0 * Math.pow(0.5, r);
+            double[] u = new double[m];
+            double[] v = new double[n];
+            for (int i = 0; i < m; i++) u[i] = MathEx.random() - 0.5;
+            for (int j = 0; j < n; j++) v[j] = MathEx.random() - 0.5;
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    A[i][j] += sigma * u[i] * v[j];
+                }
+            }
+        }
+        return A;
+    }
+
+    @Test
+    public void testDense() {
+        System.out.println("randomized SVD dense matrix");
+        double[][] A = lowRank(300, 80);
+        int k = 5;
+
+        SVD full = DenseMatrix.of(A).svd();
+        SVD svd = RandomizedSVD.svd(DenseMatrix.of(A), k);
+        assertEquals(k, svd.s().size());
+        assertEquals(300, svd.U().nrow());
+        assertEquals(k, svd.U().ncol());
+        assertEquals(k, svd.Vt().nrow());
+        assertEquals(80, svd.Vt().ncol());
+        for (int i = 0; i < k; i++) {
+            assertEquals(full.s().get(i), svd.s().get(i), 1E-6 * full.s().get(0));
+        }
+
+        // Singular vectors agree up to sign.
+        for (int i = 0; i < k; i++) {
+            double dot = 0.0;
+            for (int j = 0; j < 80; j++) {
+                dot += full.Vt().get(i, j) * svd.Vt().get(i, j);
+            }
+            assertEquals(1.0, Math.abs(dot), 1E-6);
+        }
+    }
+
+    @Test
+    public void testSparse() {
+        System.out.println("randomized SVD sparse matrix");
+        double[][] A = {
+                {1, 0, 0, 1, 0, 0, 0, 0, 0},
+                {1, 0, 1, 0, 0, 0, 0, 0, 0},
+                {1, 1, 0, 0, 0, 0, 0, 0, 0},
+                {0, 1, 1, 0, 1, 0, 0, 0, 0},
+                {0, 1, 1, 2, 0, 0, 0, 0, 0},
+                {0, 1, 0, 0, 1, 0, 0, 0, 0},
+                {0, 1, 0, 0, 1, 0, 0, 0, 0},
+                {0, 0, 1, 1, 0, 0, 0, 0, 0},
+                {0, 1, 0, 0, 0, 0, 0, 0, 1},
+                {0, 0, 0, 0, 0, 1, 1, 1, 0},
+                {0, 0, 0, 0, 0, 0, 1, 1, 1},
+                {0, 0, 0, 0, 0, 0, 0, 1, 1}
+        };
+
+        double[] s = {3.34088, 2.5417, 2.35394, 1.64453, 1.50483, 1.30638, 0.845903, 0.560134, 0.363677};
+
+        int k = 3;
+        SVD svd = RandomizedSVD.svd(new SparseMatrix(A, 1E-8), k, 2, 4);
+        for (int i = 0; i < k; i++) {
+            assertEquals(s[i], svd.s().get(i), 1E-5);
+        }
+
+        // A v = s u for each singular triple.
+        SparseMatrix a = new SparseMatrix(A, 1E-8);
+        for (int i = 0; i < k; i++) {
+            double[] v = new double[9];
+            for (int j = 0; j < 9; j++) v[j] = svd.Vt().get(i, j);
+            Vector av = a.mv(v);
+            for (int j = 0; j < 12; j++) {
+                assertEquals(svd.s().get(i) * svd.U().get(j, i), av.get(j), 1E-5);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidRank() {
+        System.out.println("randomized SVD invalid rank");
+        DenseMatrix A = DenseMatrix.of(lowRank(10, 5));
+        assertThrows(IllegalArgumentException.class, () -> RandomizedSVD.svd(A, 0));
+        assertThrows(IllegalArgumentException.class, () -> RandomizedSVD.svd(A, 6));
+    }
+}
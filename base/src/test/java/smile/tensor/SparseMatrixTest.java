@@ -182,6 +182,64 @@ public class SparseMatrixTest {
         }
     }
 
+    @Test
+    public void testMmDense() {
+        System.out.println("mm dense");
+        DenseMatrix c = sparse.mm(DenseMatrix.of(A));
+        for (int i = 0; i < C.length; i++) {
+            for (int j = 0; j < C[i].length; j++) {
+                assertEquals(C[i][j], c.get(i, j), 1E-7);
+            }
+        }
+
+        DenseMatrix d = DenseMatrix.zeros(ScalarType.Float64, 3, 3);
+        d.fill(1.0);
+        sparse.mm(TRANSPOSE, 2.0, DenseMatrix.of(A), 1.0, d);
+        for (int i = 0; i < C.length; i++) {
+            for (int j = 0; j < C[i].length; j++) {
+                assertEquals(2 * C[i][j] + 1, d.get(i, j), 1E-7);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMv() {
+        System.out.println("parallel mv");
+        MathEx.setSeed(19650218);
+        int m = 3000, n = 500;
+        double[][] a = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (MathEx.random() < 0.1) a[i][j] = MathEx.random() - 0.5;
+            }
+        }
+
+        SparseMatrix s = new SparseMatrix(a);
+        DenseMatrix dense = DenseMatrix.of(a);
+        double[] x = new double[n];
+        double[] y = new double[m];
+        for (int j = 0; j < n; j++) x[j] = MathEx.random();
+        Vector ax = dense.mv(Vector.column(x));
+        s.mv(Vector.column(x), Vector.column(y));
+        for (int i = 0; i < m; i++) {
+            assertEquals(ax.get(i), y[i], 1E-10);
+        }
+
+        double[] z = new double[n];
+        Vector aty = dense.tv(Vector.column(y));
+        s.tv(Vector.column(y), Vector.column(z));
+        for (int j = 0; j < n; j++) {
+            assertEquals(aty.get(j), z[j], 1E-10);
+        }
+
+        // The cached row storage must see the updates.
+        s.scale(2.0);
+        s.mv(Vector.column(x), Vector.column(y));
+        for (int i = 0; i < m; i++) {
+            assertEquals(2 * ax.get(i), y[i], 1E-10);
+        }
+    }
+
     @Test
     public void testAAT() {
         System.out.println("AAT");
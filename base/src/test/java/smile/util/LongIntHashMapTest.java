@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertTrue(map.isEmpty());
+        assertEquals(Integer.MIN_VALUE, map.put(1L << 40, 2));
+        map.put(-3L, 3);
+        assertEquals(2, map.size());
+        assertEquals(2, map.get(1L << 40));
+        assertEquals(3, map.get(-3L));
+        assertEquals(Integer.MIN_VALUE, map.get(42L));
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(Integer.MIN_VALUE, map.putIfAbsent(7L, 0));
+        assertEquals(0, map.putIfAbsent(7L, 1));
+        assertEquals(0, map.get(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemovePreservesProbeChain() {
+        LongIntHashMap map = new LongIntHashMap(4, 0.75f);
+        for (int i = 1; i <= 10; i++) map.put(i * 1024L, i);
+        for (int del = 10; del >= 1; del--) {
+            assertEquals(del, map.remove(del * 1024L));
+            for (int j = 1; j < del; j++) {
+                assertEquals(j, map.get(j * 1024L));
+            }
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRehash() {
+        LongIntHashMap map = new LongIntHashMap(2, 0.75f);
+        for (int i = 1; i <= 1000; i++) map.put(i * 31L, i);
+        assertEquals(1000, map.size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, map.get(i * 31L));
+        }
+    }
+
+    @Test
+    public void testForbiddenKey() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertThrows(IllegalArgumentException.class, () -> map.get(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(Long.MIN_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> map.remove(Long.MIN_VALUE));
+    }
+}
@@ -0,0 +1,63 @@
+plugins {
+    id("buildlogic.java-common-conventions")
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+    jmh(project(":core"))
+    jmh(project(":deep"))
+}
+
+// Run all suites with "./gradlew :benchmarks:jmh", or a subset with
+// "./gradlew :benchmarks:jmh -Pjmh.includes=MatrixBenchmark". The results
+// are written in JSON so that the runs of releases can be compared.
+
+// The native BLAS library of MatrixBenchmark is looked up on the library
+// path like in tests. Load a specific library with
+// "-Psmile.lib.blas=/path/to/libopenblas.so".
+val osName = System.getProperty("os.name").lowercase()
+val libPath = file("${rootDir.path}/studio/src/universal/bin").absolutePath
+val blasLibrary = findProperty("smile.lib.blas") as String?
+val jmhJava = layout.buildDirectory.file("jmh/java").get().asFile
+
+// JMH runs in a Gradle worker process of which the environment can't be
+// configured. On Linux and macOS, the benchmark JVMs are forked by a
+// launcher script that sets the library path instead.
+val jmhLauncher by tasks.registering {
+    val javaExecutable = javaToolchains.launcherFor(java.toolchain).map { it.executablePath.asFile.absolutePath }
+    inputs.property("javaExecutable", javaExecutable)
+    outputs.file(jmhJava)
+    doLast {
+        val (name, path) = if (osName.contains("mac")) {
+            "DYLD_LIBRARY_PATH" to "$libPath:/opt/homebrew/lib/:/usr/local/lib"
+        } else {
+            "LD_LIBRARY_PATH" to libPath
+        }
+        jmhJava.parentFile.mkdirs()
+        jmhJava.writeText("""
+            |#!/bin/sh
+            |export $name="$path:${'$'}$name"
+            |exec "${javaExecutable.get()}" "${'$'}@"
+            |""".trimMargin())
+        jmhJava.setExecutable(true)
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    includes = listOf((findProperty("jmh.includes") as String?) ?: ".*")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    jvmArgs = listOf("-Xmx6G", "-XX:+UseZGC", "--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector") +
+        listOfNotNull(blasLibrary?.let { "-Dsmile.lib.blas=$it" })
+    if (!osName.contains("windows")) {
+        jvm = jmhJava.path
+    }
+    failOnError = true
+}
+
+if (!osName.contains("windows")) {
+    tasks.named("jmh") {
+        dependsOn(jmhLauncher)
+    }
+}
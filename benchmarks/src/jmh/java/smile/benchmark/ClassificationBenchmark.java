@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import smile.classification.DecisionTree;
+import smile.classification.RandomForest;
+import smile.data.DataFrame;
+import smile.data.formula.Formula;
+import smile.data.vector.IntVector;
+import smile.math.MathEx;
+
+/**
+ * Benchmarks of decision tree training and random forest inference.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassificationBenchmark extends ParallelState {
+    /** The number of samples. */
+    @Param({"10000", "100000"})
+    public int size;
+
+    /** The number of features. */
+    private static final int FEATURES = 10;
+
+    private final Formula formula = Formula.lhs("y");
+    private DataFrame data;
+    private double[][] x;
+    private RandomForest forest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MathEx.setSeed(19650218);
+        x = MathEx.randn(size, FEATURES);
+        int[] y = new int[size];
+        for (int i = 0; i < size; i++) {
+            double[] xi = x[i];
+            y[i] = xi[0] + xi[1] * xi[2] - 0.5 * xi[3] + 0.1 * MathEx.randn() > 0 ? 1 : 0;
+        }
+
+        data = DataFrame.of(x).add(new IntVector("y", y));
+        forest = RandomForest.fit(formula, data, new RandomForest.Options(100));
+    }
+
+    @Benchmark
+    public DecisionTree cart() {
+        return run(() -> DecisionTree.fit(formula, data));
+    }
+
+    @Benchmark
+    public int[] forestPredictDataFrame() {
+        return run(() -> forest.predict(data));
+    }
+
+    @Benchmark
+    public int[] forestPredictArray() {
+        return run(() -> forest.predict(x));
+    }
+}
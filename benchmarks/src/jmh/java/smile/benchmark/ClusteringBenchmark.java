@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import smile.clustering.CentroidClustering;
+import smile.clustering.KMeans;
+import smile.math.MathEx;
+
+/**
+ * Benchmarks of k-means clustering.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClusteringBenchmark extends ParallelState {
+    /** The number of samples. */
+    @Param({"10000", "100000"})
+    public int size;
+
+    /** The number of clusters. */
+    @Param({"10", "100"})
+    public int k;
+
+    /** The dimension of samples. */
+    private static final int DIMENSION = 16;
+
+    private double[][] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MathEx.setSeed(19650218);
+        data = MathEx.randn(size, DIMENSION);
+    }
+
+    @Benchmark
+    public CentroidClustering<double[], double[]> kmeans() {
+        return run(() -> KMeans.fit(data, k, 20));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.csv.CSVFormat;
+import org.openjdk.jmh.annotations.*;
+import smile.data.DataFrame;
+import smile.io.CSV;
+import smile.math.MathEx;
+import smile.tensor.DenseMatrix;
+
+/**
+ * Benchmarks of data frame conversion and CSV parsing.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataFrameBenchmark extends ParallelState {
+    /** The number of rows. */
+    @Param({"10000", "100000"})
+    public int rows;
+
+    /** The number of columns. */
+    private static final int COLUMNS = 20;
+
+    private DataFrame data;
+    private Path csv;
+    private CSV reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MathEx.setSeed(19650218);
+        String[] names = new String[COLUMNS];
+        for (int j = 0; j < COLUMNS; j++) {
+            names[j] = "V" + (j + 1);
+        }
+        data = DataFrame.of(MathEx.randn(rows, COLUMNS), names);
+
+        csv = Files.createTempFile("smile-benchmark-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write(String.join(",", names));
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < COLUMNS; j++) {
+                    if (j > 0) writer.write(',');
+                    writer.write(Double.toString(data.getDouble(i, j)));
+                }
+                writer.newLine();
+            }
+        }
+        reader = new CSV(CSVFormat.Builder.create().setHeader().setSkipHeaderRecord(true).get());
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public DenseMatrix toMatrix() {
+        return run(() -> data.toMatrix());
+    }
+
+    @Benchmark
+    public DataFrame readCSV() {
+        return run(() -> reader.read(csv));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import smile.math.MathEx;
+import smile.tensor.BLAS;
+import smile.tensor.DenseMatrix;
+import smile.tensor.SparseMatrix;
+import smile.tensor.Vector;
+import static smile.tensor.ScalarType.Float64;
+
+/**
+ * Benchmarks of dense and sparse matrix multiplications with the native
+ * and pure Java BLAS providers. The native provider fails the trial if
+ * the native library is not available rather than falling back silently.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixBenchmark extends ParallelState {
+    /** The number of rows and columns of dense matrices. */
+    @Param({"256", "1024"})
+    public int size;
+
+    /** The BLAS provider. */
+    @Param({"native", "java"})
+    public String blas;
+
+    /** The number of nonzero elements per column of sparse matrix. */
+    private static final int NNZ_PER_COLUMN = 16;
+
+    private DenseMatrix A;
+    private DenseMatrix B;
+    private Vector x;
+    private Vector y;
+    private SparseMatrix S;
+    private Vector sx;
+    private Vector sy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BLAS.setInstance(BLAS.of(blas));
+        MathEx.setSeed(19650218);
+        A = DenseMatrix.randn(Float64, size, size);
+        B = DenseMatrix.randn(Float64, size, size);
+        x = Vector.column(MathEx.randn(size));
+        y = Vector.zeros(Float64, size);
+
+        // The sparse matrix is 64 times larger in each dimension
+        // with the rows of nonzeros spread over the column.
+        int n = 64 * size;
+        int stride = n / NNZ_PER_COLUMN;
+        double[] nonzeros = new double[n * NNZ_PER_COLUMN];
+        int[] rowIndex = new int[nonzeros.length];
+        int[] colIndex = new int[n + 1];
+        for (int j = 0, k = 0; j < n; j++) {
+            colIndex[j] = k;
+            for (int t = 0; t < NNZ_PER_COLUMN; t++, k++) {
+                rowIndex[k] = t * stride + MathEx.randomInt(stride);
+                nonzeros[k] = MathEx.random(-1, 1);
+            }
+        }
+        colIndex[n] = nonzeros.length;
+        S = new SparseMatrix(n, n, nonzeros, rowIndex, colIndex);
+        sx = Vector.column(MathEx.randn(n));
+        sy = Vector.zeros(Float64, n);
+    }
+
+    @Benchmark
+    public DenseMatrix mm() {
+        return run(() -> A.mm(B));
+    }
+
+    @Benchmark
+    public Vector mv() {
+        return run(() -> {
+            A.mv(x, y);
+            return y;
+        });
+    }
+
+    @Benchmark
+    public Vector sparseMv() {
+        return run(() -> {
+            S.mv(sx, sy);
+            return sy;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import smile.math.MathEx;
+import smile.neighbor.KDTree;
+import smile.neighbor.LSH;
+import smile.neighbor.Neighbor;
+
+/**
+ * Benchmarks of k-nearest neighbor search. Each invocation searches
+ * a batch of queries in parallel.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NeighborBenchmark extends ParallelState {
+    /** The number of samples in the index. */
+    @Param({"10000", "100000"})
+    public int size;
+
+    /** The dimension of samples. */
+    @Param({"8", "32"})
+    public int dimension;
+
+    /** The number of queries per invocation. */
+    private static final int QUERIES = 1000;
+    /** The number of neighbors to search. */
+    private static final int K = 10;
+
+    private double[][] queries;
+    private KDTree<double[]> kdtree;
+    private LSH<double[]> lsh;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MathEx.setSeed(19650218);
+        double[][] data = MathEx.randn(size, dimension);
+        queries = MathEx.randn(QUERIES, dimension);
+        kdtree = new KDTree<>(data, data);
+        lsh = new LSH<>(data, data, 4.0);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Neighbor<double[], double[]>[][] kdtree() {
+        return run(() -> Arrays.stream(queries).parallel().map(q -> kdtree.search(q, K)).toArray(Neighbor[][]::new));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Neighbor<double[], double[]>[][] lsh() {
+        return run(() -> Arrays.stream(queries).parallel().map(q -> lsh.search(q, K)).toArray(Neighbor[][]::new));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The benchmark state that runs the operations in a fork-join pool of
+ * given parallelism. The parallel streams of Smile run in the pool of
+ * the calling fork-join task, so the thread count of benchmarks doesn't
+ * depend on the size of common pool.
+ *
+ * @author Haifeng Li
+ */
+@State(Scope.Benchmark)
+public abstract class ParallelState {
+    /** The number of worker threads. */
+    @Param({"1", "4"})
+    public int threads;
+
+    /** The fork-join pool. */
+    private ForkJoinPool pool;
+
+    /** Creates the fork-join pool. */
+    @Setup(Level.Trial)
+    public void createPool() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    /** Shuts down the fork-join pool. */
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Runs a task in the fork-join pool.
+     * @param task the task.
+     * @param <T> the type of result.
+     * @return the result of task.
+     */
+    protected <T> T run(Callable<T> task) {
+        return pool.submit(task).join();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.*;
+import smile.llm.tokenizer.Tiktoken;
+import smile.math.MathEx;
+import smile.util.Bytes;
+
+/**
+ * Benchmarks of byte pair encoding. The vocabulary consists of all
+ * single bytes and the prefixes of common words so that the encoder
+ * merges the pieces of words as a real BPE vocabulary does. Each
+ * invocation encodes a batch of documents in parallel.
+ *
+ * @author Haifeng Li
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark extends ParallelState {
+    /** The number of characters per document. */
+    @Param({"1000", "100000"})
+    public int length;
+
+    /** The number of documents per invocation. */
+    private static final int DOCUMENTS = 64;
+
+    /** The pre-tokenization pattern. */
+    private static final Pattern PATTERN = Pattern.compile("'s|'t|'re|'ve|'m|'ll|'d| ?\\p{L}+| ?\\p{N}+| ?[^\\s\\p{L}\\p{N}]+|\\s+(?!\\S)|\\s+");
+
+    /** The common words of vocabulary. */
+    private static final String[] WORDS = {
+            "the", "of", "and", "to", "in", "is", "that", "for", "it", "as",
+            "with", "was", "on", "be", "by", "this", "are", "from", "at", "or",
+            "which", "an", "have", "not", "can", "model", "data", "learning", "machine", "statistics",
+            "matrix", "vector", "cluster", "neighbor", "feature", "train", "test", "predict", "tree", "forest"
+    };
+
+    private Tiktoken tokenizer;
+    private String[] documents;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<Bytes, Integer> ranks = new HashMap<>();
+        for (int b = 0; b < 256; b++) {
+            ranks.put(new Bytes(new byte[]{(byte) b}), b);
+        }
+        for (String word : WORDS) {
+            for (String token : new String[]{word, " " + word}) {
+                for (int i = 2; i <= token.length(); i++) {
+                    ranks.putIfAbsent(new Bytes(token.substring(0, i)), ranks.size());
+                }
+            }
+        }
+        tokenizer = new Tiktoken(PATTERN, ranks, "<bos>", "<eos>", "<bos>", "<eos>");
+
+        // The documents mix the vocabulary words with random
+        // letters and numbers that are encoded byte by byte.
+        MathEx.setSeed(19650218);
+        documents = new String[DOCUMENTS];
+        for (int d = 0; d < DOCUMENTS; d++) {
+            StringBuilder sb = new StringBuilder(length + 16);
+            while (sb.length() < length) {
+                int r = MathEx.randomInt(10);
+                if (r < 7) {
+                    sb.append(WORDS[MathEx.randomInt(WORDS.length)]);
+                } else if (r < 9) {
+                    for (int i = MathEx.randomInt(3, 9); i > 0; i--) {
+                        sb.append((char) ('a' + MathEx.randomInt(26)));
+                    }
+                } else {
+                    sb.append(MathEx.randomInt(100000));
+                }
+                sb.append(MathEx.randomInt(12) == 0 ? ". " : " ");
+            }
+            documents[d] = sb.toString();
+        }
+    }
+
+    @Benchmark
+    public int[][] encode() {
+        return run(() -> Arrays.stream(documents).parallel().map(tokenizer::encode).toArray(int[][]::new));
+    }
+}
@@ -38,6 +38,7 @@ tasks.withType<Test>().all {
     jvmArgs("-XX:+UseStringDeduplication")
     jvmArgs("--add-opens=java.base/java.nio=ALL-UNNAMED")
     jvmArgs("--enable-native-access=ALL-UNNAMED")
+    jvmArgs("--add-modules=jdk.incubator.vector")
 
     val osName = System.getProperty("os.name").lowercase()
     val libPath = file("${rootDir.path}/studio/src/universal/bin").absolutePath
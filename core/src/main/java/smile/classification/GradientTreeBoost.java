@@ -18,6 +18,8 @@ package smile.classification;
 
 import java.io.Serial;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.stream.IntStream;
 import smile.data.DataFrame;
@@ -133,6 +135,11 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
      * all trees in the forest gives a simple variable importance.
      */
     private final double[] importance;
+
+    /**
+     * The trees compiled into flat arrays for batch inference, built on demand.
+     */
+    private transient FlatForest flat;
     /**
      * The intercept for binary classification.
      */
@@ -227,9 +234,14 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
      * @param subsample the sampling fraction for stochastic tree boosting.
      * @param test the optional test data for validation per epoch.
      * @param controller the optional training controller.
+     * @param bins the maximum number of quantile bins per numeric feature
+     *             for histogram-based split finding, which is much faster
+     *             and takes much less memory than the exact split finding
+     *             on large data. It should be at most 256. 0 means the
+     *             exact split finding.
      */
     public record Options(int ntrees, int maxDepth, int maxNodes, int nodeSize, double shrinkage, double subsample,
-                          DataFrame test, IterativeAlgorithmController<TrainingStatus> controller) {
+                          DataFrame test, IterativeAlgorithmController<TrainingStatus> controller, int bins) {
         /** Constructor. */
         public Options {
             if (ntrees < 1) {
@@ -255,6 +267,27 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
             if (subsample <= 0 || subsample > 1) {
                 throw new IllegalArgumentException("Invalid sampling fraction: " + subsample);
             }
+
+            if (bins != 0 && (bins < 2 || bins > Bins.MAX_BINS)) {
+                throw new IllegalArgumentException("Invalid number of bins: " + bins);
+            }
+        }
+
+        /**
+         * Constructor with the exact split finding.
+         * @param ntrees the number of iterations (trees).
+         * @param maxDepth the maximum depth of the tree.
+         * @param maxNodes the maximum number of leaf nodes in the tree.
+         * @param nodeSize the minimum size of leaf nodes.
+         *                 Setting nodeSize = 5 generally gives good results.
+         * @param shrinkage the shrinkage parameter in (0, 1] controls the learning rate of procedure.
+         * @param subsample the sampling fraction for stochastic tree boosting.
+         * @param test the optional test data for validation per epoch.
+         * @param controller the optional training controller.
+         */
+        public Options(int ntrees, int maxDepth, int maxNodes, int nodeSize, double shrinkage, double subsample,
+                       DataFrame test, IterativeAlgorithmController<TrainingStatus> controller) {
+            this(ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, test, controller, 0);
         }
 
         /**
@@ -277,6 +310,7 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
             props.setProperty("smile.gradient_boost.node_size", Integer.toString(nodeSize));
             props.setProperty("smile.gradient_boost.shrinkage", Double.toString(shrinkage));
             props.setProperty("smile.gradient_boost.sampling_rate", Double.toString(subsample));
+            props.setProperty("smile.gradient_boost.bins", Integer.toString(bins));
             return props;
         }
 
@@ -293,7 +327,8 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
             int nodeSize = Integer.parseInt(props.getProperty("smile.gradient_boost.node_size", "5"));
             double shrinkage = Double.parseDouble(props.getProperty("smile.gradient_boost.shrinkage", "0.05"));
             double subsample = Double.parseDouble(props.getProperty("smile.gradient_boost.sampling_rate", "0.7"));
-            return new Options(ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, null, null);
+            int bins = Integer.parseInt(props.getProperty("smile.gradient_boost.bins", "0"));
+            return new Options(ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, null, null, bins);
         }
     }
 
@@ -321,14 +356,135 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
         DataFrame x = formula.x(data);
         ValueVector y = formula.y(data);
 
-        int[][] order = CART.order(x);
+        Bins bins = options.bins > 0 ? Bins.of(x, options.bins) : null;
+        int[][] order = bins == null ? CART.order(x) : null;
         ClassLabels codec = ClassLabels.fit(y);
 
         if (codec.k == 2) {
-            return train2(formula, x, codec, order, options);
+            return train2(formula, x, codec, order, bins, options);
+        } else {
+            return traink(formula, x, codec, order, bins, options);
+        }
+    }
+
+    /**
+     * Compiles the trees into flat primitive arrays for fast batch inference.
+     * For binary classification, the compiled forest outputs the additive
+     * score of which the sign determines the class label. Otherwise, it
+     * outputs the additive score of each class.
+     * @return the compiled forest.
+     */
+    public FlatForest compile() {
+        Node[] roots = Arrays.stream(trees).flatMap(Arrays::stream).map(CART::root).toArray(Node[]::new);
+        int ntrees = roots.length;
+        double[] weight = new double[ntrees];
+        Arrays.fill(weight, shrinkage);
+        int[] slot = new int[ntrees];
+        double[] bias;
+        if (k == 2) {
+            bias = new double[]{b};
+        } else {
+            bias = new double[k];
+            for (int j = 0, t = 0; j < k; j++) {
+                for (int i = 0; i < trees[j].length; i++) {
+                    slot[t++] = j;
+                }
+            }
+        }
+        return new FlatForest(schema().length(), roots, weight, slot, bias, 1,
+                (leaf, y) -> y[0] = ((RegressionNode) leaf).output());
+    }
+
+    /**
+     * Returns the compiled forest, which is built on the first call.
+     * @return the compiled forest.
+     */
+    private FlatForest flat() {
+        // Benign race: concurrent callers may compile the same forest twice.
+        if (flat == null) {
+            flat = compile();
+        }
+        return flat;
+    }
+
+    /**
+     * Predicts the class labels of a batch of samples with the compiled trees.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @return the predicted class labels.
+     */
+    public int[] predict(double[][] x) {
+        return posteriori(flat().score(x), x.length, null);
+    }
+
+    /**
+     * Predicts the class labels of a batch of samples with the compiled
+     * trees and also calculate a posteriori probabilities.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @param posteriori a posteriori probabilities on output.
+     * @return the predicted class labels.
+     */
+    public int[] predict(double[][] x, double[][] posteriori) {
+        return posteriori(flat().score(x), x.length, posteriori);
+    }
+
+    @Override
+    public int[] predict(DataFrame data) {
+        return posteriori(flat().score(formula.x(data)), data.size(), null);
+    }
+
+    @Override
+    public int[] predict(DataFrame data, List<double[]> posteriori) {
+        int n = data.size();
+        double[][] prob = new double[n][k];
+        Collections.addAll(posteriori, prob);
+        return posteriori(flat().score(formula.x(data)), n, prob);
+    }
+
+    /**
+     * Returns the class labels and optionally a posteriori probabilities
+     * from the additive scores.
+     * @param scores the scores of samples in row major.
+     * @param n the number of samples.
+     * @param posteriori a posteriori probabilities on output. May be null.
+     * @return the class labels.
+     */
+    private int[] posteriori(double[] scores, int n, double[][] posteriori) {
+        int[] y = new int[n];
+        if (k == 2) {
+            for (int i = 0; i < n; i++) {
+                double score = scores[i];
+                if (posteriori != null) {
+                    posteriori[i][0] = 1.0 / (1.0 + Math.exp(2 * score));
+                    posteriori[i][1] = 1.0 - posteriori[i][0];
+                }
+                y[i] = classes.valueOf(score > 0 ? 1 : 0);
+            }
         } else {
-            return traink(formula, x, codec, order, options);
+            double[] score = new double[k];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(scores, i * k, score, 0, k);
+                int label = MathEx.whichMax(score);
+                if (posteriori != null) {
+                    double max = score[label];
+                    double[] prob = posteriori[i];
+                    double Z = 0.0;
+                    for (int j = 0; j < k; j++) {
+                        prob[j] = Math.exp(score[j] - max);
+                        Z += prob[j];
+                    }
+
+                    for (int j = 0; j < k; j++) {
+                        prob[j] /= Z;
+                    }
+                }
+                y[i] = classes.valueOf(label);
+            }
         }
+        return y;
     }
 
     @Override
@@ -357,7 +513,7 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
     /**
      * Train L2 tree boost.
      */
-    private static GradientTreeBoost train2(Formula formula, DataFrame x, ClassLabels codec, int[][] order, Options options) {
+    private static GradientTreeBoost train2(Formula formula, DataFrame x, ClassLabels codec, int[][] order, Bins bins, Options options) {
         long startTime = System.nanoTime();
         int n = x.nrow();
         int p = x.ncol();
@@ -395,7 +551,7 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
         for (int t = 0; t < ntrees; t++) {
             sampling(samples, permutation, nc, y, options.subsample);
 
-            RegressionTree tree = new RegressionTree(x, loss, field, options.maxDepth, options.maxNodes, options.nodeSize, p, samples, order);
+            RegressionTree tree = new RegressionTree(x, loss, field, options.maxDepth, options.maxNodes, options.nodeSize, p, samples, order, bins);
             trees[t] = tree;
 
             for (int i = 0; i < n; i++) {
@@ -443,7 +599,7 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
     /**
      * Train L-k tree boost.
      */
-    private static GradientTreeBoost traink(Formula formula, DataFrame x, ClassLabels codec, int[][] order, Options options) {
+    private static GradientTreeBoost traink(Formula formula, DataFrame x, ClassLabels codec, int[][] order, Bins bins, Options options) {
         long startTime = System.nanoTime();
         int n = x.size();
         int p = x.ncol();
@@ -493,7 +649,7 @@ public class GradientTreeBoost extends AbstractClassifier<Tuple> implements Data
             for (int j = 0; j < k; j++) {
                 sampling(samples, permutation, nc, y, options.subsample);
 
-                RegressionTree tree = new RegressionTree(x, loss[j], field, options.maxDepth, options.maxNodes, options.nodeSize, p, samples, order);
+                RegressionTree tree = new RegressionTree(x, loss[j], field, options.maxDepth, options.maxNodes, options.nodeSize, p, samples, order, bins);
                 forest[j][t] = tree;
 
                 double[] hj = h[j];
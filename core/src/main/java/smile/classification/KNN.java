@@ -216,6 +216,35 @@ public class KNN<T> extends AbstractClassifier<T> {
         return classes.valueOf(y);
     }
 
+    /**
+     * Predicts the class labels of an array of instances. The nearest
+     * neighbors of all instances are retrieved by a batch search.
+     *
+     * @param x the instances to be classified.
+     * @return the predicted class labels.
+     */
+    @Override
+    public int[] predict(T[] x) {
+        int[][] neighbors = knn.search(x, k).index();
+        int[] prediction = new int[x.length];
+        int[] count = new int[classes.size()];
+        for (int i = 0; i < x.length; i++) {
+            Arrays.fill(count, 0);
+            for (int neighbor : neighbors[i]) {
+                if (neighbor >= 0) {
+                    count[classes.indexOf(y[neighbor])]++;
+                }
+            }
+
+            int y = MathEx.whichMax(count);
+            if (count[y] == 0) {
+                throw new IllegalStateException("No neighbor found.");
+            }
+            prediction[i] = classes.valueOf(y);
+        }
+        return prediction;
+    }
+
     @Override
     public boolean isSoft() {
         return true;
@@ -27,7 +27,11 @@ import smile.data.type.StructType;
 import smile.data.vector.ValueVector;
 import smile.feature.importance.TreeSHAP;
 import smile.math.MathEx;
+import smile.model.cart.Bins;
 import smile.model.cart.CART;
+import smile.model.cart.DecisionNode;
+import smile.model.cart.FlatForest;
+import smile.model.cart.Node;
 import smile.model.cart.SplitRule;
 import smile.util.IntSet;
 import smile.util.IterativeAlgorithmController;
@@ -135,6 +139,18 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
      */
     private final double[] importance;
 
+    /**
+     * The trees compiled into flat arrays for batch inference, which
+     * outputs the weighted sum of tree posteriori. Built on demand.
+     */
+    private transient FlatForest flat;
+
+    /**
+     * The trees compiled into flat arrays for batch inference, which
+     * outputs the votes of trees. Built on demand.
+     */
+    private transient FlatForest ballot;
+
     /**
      * Constructor.
      *
@@ -197,9 +213,14 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
      *                    1 is of positive).
      * @param seeds optional RNG seeds for each decision tree.
      * @param controller the optional training controller.
+     * @param bins the maximum number of quantile bins per numeric feature
+     *             for histogram-based split finding, which is much faster
+     *             and takes much less memory than the exact split finding
+     *             on large data. It should be at most 256. 0 means the
+     *             exact split finding.
      */
     public record Options(int ntrees, int mtry, SplitRule rule, int maxDepth, int maxNodes, int nodeSize, double subsample,
-                          int[] classWeight, long[] seeds, IterativeAlgorithmController<TrainingStatus> controller) {
+                          int[] classWeight, long[] seeds, IterativeAlgorithmController<TrainingStatus> controller, int bins) {
         /** Constructor. */
         public Options {
             if (ntrees < 1) {
@@ -221,6 +242,32 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
             if (seeds != null && seeds.length < ntrees) {
                 throw new IllegalArgumentException("The number of RNG seeds is fewer than that of trees: " + seeds.length);
             }
+
+            if (bins != 0 && (bins < 2 || bins > Bins.MAX_BINS)) {
+                throw new IllegalArgumentException("Invalid number of bins: " + bins);
+            }
+        }
+
+        /**
+         * Constructor with the exact split finding.
+         * @param ntrees the number of trees.
+         * @param mtry the number of input variables to be used to determine the
+         *             decision at a node of the tree. p/3 generally give good
+         *             performance, where p is the number of variables.
+         * @param rule Decision tree split rule.
+         * @param maxDepth the maximum depth of the tree.
+         * @param maxNodes the maximum number of leaf nodes in the tree.
+         * @param nodeSize the minimum size of leaf nodes.
+         *                 Setting nodeSize = 5 generally gives good results.
+         * @param subsample the sampling rate for training tree. 1.0 means sampling with
+         *                  replacement. {@code < 1.0} means sampling without replacement.
+         * @param classWeight Priors of the classes.
+         * @param seeds optional RNG seeds for each decision tree.
+         * @param controller the optional training controller.
+         */
+        public Options(int ntrees, int mtry, SplitRule rule, int maxDepth, int maxNodes, int nodeSize, double subsample,
+                       int[] classWeight, long[] seeds, IterativeAlgorithmController<TrainingStatus> controller) {
+            this(ntrees, mtry, rule, maxDepth, maxNodes, nodeSize, subsample, classWeight, seeds, controller, 0);
         }
 
         /**
@@ -262,6 +309,7 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
             if (classWeight != null) {
                 props.setProperty("smile.random_forest.class_weight", Arrays.toString(classWeight));
             }
+            props.setProperty("smile.random_forest.bins", Integer.toString(bins));
             return props;
         }
 
@@ -280,7 +328,8 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
             int nodeSize = Integer.parseInt(props.getProperty("smile.random_forest.node_size", "5"));
             double subsample = Double.parseDouble(props.getProperty("smile.random_forest.sampling_rate", "1.0"));
             int[] classWeight = Strings.parseIntArray(props.getProperty("smile.random_forest.class_weight"));
-            return new Options(ntrees, mtry, rule, maxDepth, maxNodes, nodeSize, subsample, classWeight, null, null);
+            int bins = Integer.parseInt(props.getProperty("smile.random_forest.bins", "0"));
+            return new Options(ntrees, mtry, rule, maxDepth, maxNodes, nodeSize, subsample, classWeight, null, null, bins);
         }
     }
 
@@ -324,7 +373,8 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
 
         final int[] weight = options.classWeight != null ? options.classWeight : Collections.nCopies(k, 1).stream().mapToInt(i -> i).toArray();
 
-        final int[][] order = CART.order(x);
+        final Bins bins = options.bins > 0 ? Bins.of(x, options.bins) : null;
+        final int[][] order = bins == null ? CART.order(x) : null;
         final int[][] prediction = new int[n][k]; // out-of-bag prediction
 
         // # of samples in each class
@@ -379,7 +429,7 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
             }
 
             long start = System.nanoTime();
-            DecisionTree tree = new DecisionTree(x, codec.y, y.field(), k, options.rule, options.maxDepth, maxNodes, options.nodeSize, mtry, samples, order);
+            DecisionTree tree = new DecisionTree(x, codec.y, y.field(), k, options.rule, options.maxDepth, maxNodes, options.nodeSize, mtry, samples, order, bins);
             double fitTime = (System.nanoTime() - start) / 1E6;
 
             // estimate OOB metrics
@@ -455,6 +505,120 @@ public class RandomForest extends AbstractClassifier<Tuple> implements DataFrame
         return importance;
     }
 
+    /**
+     * Compiles the forest into flat primitive arrays for fast batch
+     * inference. The compiled forest outputs the weighted sum of tree
+     * posteriori probabilities, or the votes of trees.
+     * @param vote if true, the compiled forest outputs the votes of trees.
+     *             Otherwise, it outputs the weighted sum of posteriori
+     *             probabilities.
+     * @return the compiled forest.
+     */
+    public FlatForest compile(boolean vote) {
+        int ntrees = models.length;
+        Node[] roots = Arrays.stream(models).map(model -> model.tree.root()).toArray(Node[]::new);
+        double[] weight = new double[ntrees];
+        if (vote) {
+            Arrays.fill(weight, 1.0);
+            return new FlatForest(schema().length(), roots, weight, new int[ntrees], new double[k], k,
+                    (leaf, y) -> y[((DecisionNode) leaf).output()] = 1.0);
+        } else {
+            for (int t = 0; t < ntrees; t++) {
+                weight[t] = models[t].weight;
+            }
+            return new FlatForest(schema().length(), roots, weight, new int[ntrees], new double[k], k,
+                    (leaf, y) -> ((DecisionNode) leaf).posteriori(y));
+        }
+    }
+
+    /**
+     * Returns the compiled forest, which is built on the first call.
+     * @param vote if true, returns the compiled forest of votes.
+     * @return the compiled forest.
+     */
+    private FlatForest flat(boolean vote) {
+        // Benign race: concurrent callers may compile the same forest twice.
+        if (vote) {
+            if (ballot == null) ballot = compile(true);
+            return ballot;
+        } else {
+            if (flat == null) flat = compile(false);
+            return flat;
+        }
+    }
+
+    /**
+     * Predicts the class labels of a batch of samples with the compiled
+     * forest by majority voting.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @return the predicted class labels.
+     */
+    public int[] predict(double[][] x) {
+        return vote(flat(true).score(x), x.length);
+    }
+
+    /**
+     * Predicts the class labels of a batch of samples with the compiled
+     * forest and also calculate a posteriori probabilities.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @param posteriori a posteriori probabilities on output.
+     * @return the predicted class labels.
+     */
+    public int[] predict(double[][] x, double[][] posteriori) {
+        return posteriori(flat(false).score(x), posteriori);
+    }
+
+    @Override
+    public int[] predict(DataFrame data) {
+        return vote(flat(true).score(formula.x(data)), data.size());
+    }
+
+    @Override
+    public int[] predict(DataFrame data, List<double[]> posteriori) {
+        int n = data.size();
+        double[][] prob = new double[n][k];
+        Collections.addAll(posteriori, prob);
+        return posteriori(flat(false).score(formula.x(data)), prob);
+    }
+
+    /**
+     * Returns the class labels of the most votes.
+     * @param votes the votes of samples in row major.
+     * @param n the number of samples.
+     * @return the class labels.
+     */
+    private int[] vote(double[] votes, int n) {
+        int[] y = new int[n];
+        double[] count = new double[k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(votes, i * k, count, 0, k);
+            y[i] = classes.valueOf(MathEx.whichMax(count));
+        }
+        return y;
+    }
+
+    /**
+     * Normalizes the weighted sum of posteriori and returns the class labels.
+     * @param scores the weighted sum of posteriori of samples in row major.
+     * @param posteriori a posteriori probabilities on output.
+     * @return the class labels.
+     */
+    private int[] posteriori(double[] scores, double[][] posteriori) {
+        int n = posteriori.length;
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            double[] prob = posteriori[i];
+            System.arraycopy(scores, i * k, prob, 0, k);
+            MathEx.unitize1(prob);
+            y[i] = classes.valueOf(MathEx.whichMax(prob));
+        }
+        return y;
+    }
+
     @Override
     public Formula formula() {
         return formula;
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.clustering;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * A k-d tree to compute the minimum spanning tree of mutual reachability
+ * distance with Borůvka's algorithm for HDBSCAN. The mutual reachability
+ * distance between two points is
+ * {@code max(core(a), core(b), d(a, b))}, where the core distance of a
+ * point is the distance to its k-th nearest neighbor. Both the core
+ * distances and the nearest neighbors of components are searched on the
+ * tree with the branch and bound of Minkowski distance to bounding boxes,
+ * which avoids the O(n<sup>2</sup>) pairwise distances.
+ * <p>
+ * In each round of Borůvka's algorithm, every component finds its
+ * cheapest outgoing edge, and the components are merged along these
+ * edges. The queries of all points run in parallel. The search of a
+ * point skips the nodes of which all points belong to its own
+ * component, and is pruned by the best edge found so far by any point
+ * of the same component. The number of rounds is at most log2(n).
+ * The best edge of a point is reused in later rounds as long as it still
+ * leaves the component of the point.
+ * As any cheapest edge of a component is in some minimum spanning tree,
+ * the ties of edge weights are broken arbitrarily, and the edges closing
+ * a cycle are skipped with the union-find of components.
+ * <p>
+ * To avoid the roots in the inner loops, the distances are computed
+ * as the sum of p-th powers internally.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li> W. B. March, P. Ram, and A. G. Gray. Fast Euclidean minimum spanning tree: algorithm, analysis, and applications. KDD, 2010.</li>
+ * <li> L. McInnes and J. Healy. Accelerated hierarchical density based clustering. ICDMW, 2017.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+final class BoruvkaTree {
+    /** The maximum number of points in a leaf node. */
+    private static final int LEAF_SIZE = 32;
+
+    /** The data points. */
+    private final double[][] data;
+    /** The order of Minkowski distance. */
+    private final int p;
+    /** The permutation of points so that each node is a contiguous range. */
+    private final int[] index;
+    /** The first position of node points in the index. */
+    private final int[] start;
+    /** The end position (exclusive) of node points in the index. */
+    private final int[] end;
+    /** The left child of node, -1 for leaf nodes. Children follow parents. */
+    private final int[] left;
+    /** The right child of node, -1 for leaf nodes. */
+    private final int[] right;
+    /** The lower bound of node bounding box. */
+    private final double[][] lower;
+    /** The upper bound of node bounding box. */
+    private final double[][] upper;
+    /** The number of nodes. */
+    private int nodes = 0;
+
+    /** The p-th power of core distance of each point. */
+    private double[] core;
+    /** The minimum p-th power of core distance in each node. */
+    private double[] minCore;
+    /** The nearest neighbors of each point, used as initial candidates. */
+    private int[][] knn;
+
+    /**
+     * Constructor.
+     * @param data the data points.
+     * @param p the order of Minkowski distance.
+     */
+    BoruvkaTree(double[][] data, int p) {
+        int n = data.length;
+        int d = data[0].length;
+        for (int i = 0; i < n; i++) {
+            if (data[i].length != d) {
+                throw new IllegalArgumentException("Ragged input data at row " + i);
+            }
+
+            for (int j = 0; j < d; j++) {
+                if (!Double.isFinite(data[i][j])) {
+                    throw new IllegalArgumentException(String.format("Invalid value at row %d col %d: %s", i, j, data[i][j]));
+                }
+            }
+        }
+
+        this.data = data;
+        this.p = p;
+        this.index = IntStream.range(0, n).toArray();
+
+        // The leaves have at least LEAF_SIZE / 2 points after median splits.
+        int capacity = 2 * (2 * n / LEAF_SIZE + 1);
+        start = new int[capacity];
+        end = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        lower = new double[capacity][];
+        upper = new double[capacity][];
+        build(0, n);
+    }
+
+    /**
+     * Builds the subtree of points in the range of index.
+     * @return the node id.
+     */
+    private int build(int from, int to) {
+        int node = nodes++;
+        int d = data[0].length;
+        double[] lo = data[index[from]].clone();
+        double[] hi = lo.clone();
+        for (int i = from + 1; i < to; i++) {
+            double[] x = data[index[i]];
+            for (int j = 0; j < d; j++) {
+                if (x[j] < lo[j]) lo[j] = x[j];
+                if (x[j] > hi[j]) hi[j] = x[j];
+            }
+        }
+
+        start[node] = from;
+        end[node] = to;
+        lower[node] = lo;
+        upper[node] = hi;
+        left[node] = -1;
+        right[node] = -1;
+
+        // Splits at the median of the dimension with the largest spread.
+        int split = 0;
+        for (int j = 1; j < d; j++) {
+            if (hi[j] - lo[j] > hi[split] - lo[split]) split = j;
+        }
+
+        if (to - from > LEAF_SIZE && hi[split] > lo[split]) {
+            int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, split);
+            left[node] = build(from, mid);
+            right[node] = build(mid, to);
+        }
+        return node;
+    }
+
+    /**
+     * Partially sorts the index range so that the k-th element
+     * is in its sorted position along the given dimension.
+     */
+    private void select(int lo, int hi, int k, int dim) {
+        while (hi > lo) {
+            double pivot = data[index[(lo + hi) >>> 1]][dim];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (data[index[i]][dim] < pivot) i++;
+                while (data[index[j]][dim] > pivot) j--;
+                if (i <= j) {
+                    int t = index[i];
+                    index[i++] = index[j];
+                    index[j--] = t;
+                }
+            }
+
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of p-th powers of coordinate differences.
+     */
+    private double distance(double[] x, double[] y) {
+        double dist = 0.0;
+        switch (p) {
+            case 1 -> {
+                for (int j = 0; j < x.length; j++) {
+                    dist += Math.abs(x[j] - y[j]);
+                }
+            }
+            case 2 -> {
+                for (int j = 0; j < x.length; j++) {
+                    double t = x[j] - y[j];
+                    dist += t * t;
+                }
+            }
+            default -> {
+                for (int j = 0; j < x.length; j++) {
+                    dist += Math.pow(Math.abs(x[j] - y[j]), p);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Returns the sum of p-th powers of coordinate differences of two
+     * points, which overflows on large values and high orders.
+     * @throws IllegalArgumentException if the distance is not finite.
+     */
+    private double distance(int i, int j) {
+        double d = distance(data[i], data[j]);
+        if (!Double.isFinite(d)) {
+            throw new IllegalArgumentException("Invalid distance at (" + i + ", " + j + "): " + root(d));
+        }
+        return d;
+    }
+
+    /**
+     * Throws an exception if the distance from a point to the bounding
+     * box of node is not finite. It is a lower bound of the distances
+     * to the points in the node, which would all overflow.
+     */
+    private void check(int q, double dist) {
+        if (!Double.isFinite(dist)) {
+            throw new IllegalArgumentException("Invalid distance at point " + q + ": " + root(dist));
+        }
+    }
+
+    /**
+     * Returns the sum of p-th powers of the distance from a point
+     * to the bounding box of node.
+     */
+    private double distance(double[] x, int node) {
+        double[] lo = lower[node];
+        double[] hi = upper[node];
+        double dist = 0.0;
+        for (int j = 0; j < x.length; j++) {
+            double t = x[j] < lo[j] ? lo[j] - x[j] : (x[j] > hi[j] ? x[j] - hi[j] : 0.0);
+            if (t > 0.0) {
+                dist += p == 1 ? t : (p == 2 ? t * t : Math.pow(t, p));
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Returns the distance from the sum of p-th powers.
+     */
+    private double root(double x) {
+        return switch (p) {
+            case 1 -> x;
+            case 2 -> Math.sqrt(x);
+            default -> Math.pow(x, 1.0 / p);
+        };
+    }
+
+    /**
+     * Computes the core distances, i.e. the distance of each point
+     * to its k-th nearest neighbor excluding itself. The queries
+     * run in parallel.
+     * @param k the number of neighbors.
+     * @return the core distances.
+     */
+    double[] coreDistances(int k) {
+        int n = data.length;
+        k = Math.min(k, n - 1);
+        core = new double[n];
+        knn = new int[n][];
+        if (k > 0) {
+            final int kth = k;
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double[] dist = new double[kth];
+                int[] neighbor = new int[kth];
+                Arrays.fill(dist, Double.POSITIVE_INFINITY);
+                Arrays.fill(neighbor, -1);
+                knn(i, 0, dist, neighbor);
+                if (!Double.isFinite(dist[kth - 1])) {
+                    throw new IllegalArgumentException("Invalid core distance of point " + i + ": " + root(dist[kth - 1]));
+                }
+                core[i] = dist[kth - 1];
+                knn[i] = neighbor;
+            });
+        } else {
+            Arrays.fill(knn, new int[0]);
+        }
+
+        minCore = new double[nodes];
+        for (int node = nodes - 1; node >= 0; node--) {
+            if (left[node] < 0) {
+                double min = Double.POSITIVE_INFINITY;
+                for (int i = start[node]; i < end[node]; i++) {
+                    min = Math.min(min, core[index[i]]);
+                }
+                minCore[node] = min;
+            } else {
+                minCore[node] = Math.min(minCore[left[node]], minCore[right[node]]);
+            }
+        }
+
+        double[] distance = new double[n];
+        for (int i = 0; i < n; i++) {
+            distance[i] = root(core[i]);
+        }
+        return distance;
+    }
+
+    /**
+     * Searches the k-nearest neighbors of a point, which are kept
+     * in ascending order of distance.
+     */
+    private void knn(int q, int node, double[] dist, int[] neighbor) {
+        double[] x = data[q];
+        int k = dist.length;
+        if (left[node] < 0) {
+            for (int i = start[node]; i < end[node]; i++) {
+                int j = index[i];
+                if (j == q) continue;
+                double d = distance(q, j);
+                if (d < dist[k - 1]) {
+                    int pos = k - 1;
+                    while (pos > 0 && dist[pos - 1] > d) {
+                        dist[pos] = dist[pos - 1];
+                        neighbor[pos] = neighbor[pos - 1];
+                        pos--;
+                    }
+                    dist[pos] = d;
+                    neighbor[pos] = j;
+                }
+            }
+            return;
+        }
+
+        int near = left[node];
+        int far = right[node];
+        double dnear = distance(x, near);
+        double dfar = distance(x, far);
+        if (dfar < dnear) {
+            near = right[node];
+            far = left[node];
+            double t = dnear;
+            dnear = dfar;
+            dfar = t;
+        }
+        check(q, dfar);
+
+        if (dnear < dist[k - 1]) knn(q, near, dist, neighbor);
+        if (dfar < dist[k - 1]) knn(q, far, dist, neighbor);
+    }
+
+    /**
+     * The best outgoing edge of a point found so far.
+     */
+    private static class Query {
+        /** The query point. */
+        final int q;
+        /** The component of query point. */
+        int component;
+        /** The weight of the best edge. */
+        double weight = Double.POSITIVE_INFINITY;
+        /** The other end of the best edge. */
+        int neighbor = -1;
+        /**
+         * False if the search was skipped or pruned by the bound of
+         * component, and the edge may not be the best one of the point.
+         */
+        boolean exact = false;
+
+        Query(int q, int component) {
+            this.q = q;
+            this.component = component;
+        }
+
+    }
+
+    /**
+     * Returns the minimum spanning tree of mutual reachability distance.
+     * The core distances must be computed first.
+     * @return the edges of minimum spanning tree.
+     */
+    HDBSCAN.Edge[] mst() {
+        int n = data.length;
+        int[] parent = IntStream.range(0, n).toArray();
+        int[] component = IntStream.range(0, n).toArray();
+        int[] nodeComponent = new int[nodes];
+        AtomicLongArray bound = new AtomicLongArray(n);
+        int[] best = new int[n];
+        // The best edges of points, which are reused across rounds.
+        Query[] queries = new Query[n];
+
+        HDBSCAN.Edge[] mst = new HDBSCAN.Edge[n - 1];
+        int m = 0;
+        while (m < n - 1) {
+            // Marks the nodes of which all points belong to one component.
+            for (int node = nodes - 1; node >= 0; node--) {
+                if (left[node] < 0) {
+                    int c = component[index[start[node]]];
+                    for (int i = start[node] + 1; i < end[node] && c >= 0; i++) {
+                        if (component[index[i]] != c) c = -1;
+                    }
+                    nodeComponent[node] = c;
+                } else {
+                    int c = nodeComponent[left[node]];
+                    nodeComponent[node] = c == nodeComponent[right[node]] ? c : -1;
+                }
+            }
+
+            long inf = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+            for (int i = 0; i < n; i++) {
+                bound.set(i, inf);
+            }
+
+            // As the components only grow, the edges that still leave the
+            // component are the upper bounds of the best edges. An exact
+            // best edge of a point remains the best one.
+            IntStream.range(0, n).parallel().forEach(q -> {
+                int c = component[q];
+                Query query = queries[q];
+                if (query == null) {
+                    queries[q] = new Query(q, c);
+                } else if (query.neighbor >= 0 && component[query.neighbor] != c) {
+                    query.component = c;
+                    bound.accumulateAndGet(c, Double.doubleToLongBits(query.weight), Math::min);
+                } else {
+                    query.component = c;
+                    query.weight = Double.POSITIVE_INFINITY;
+                    query.neighbor = -1;
+                    query.exact = false;
+                }
+            });
+
+            IntStream.range(0, n).parallel().forEach(q -> {
+                Query query = queries[q];
+                if (query.exact) return;
+
+                // The core distance is the lower bound of edge weights.
+                int c = query.component;
+                if (query.weight <= core[q]) {
+                    query.exact = true;
+                    return;
+                }
+
+                if (core[q] >= Double.longBitsToDouble(bound.get(c))) {
+                    return;
+                }
+
+                // The nearest neighbors are often the cheapest edges.
+                for (int v : knn[q]) {
+                    if (component[v] != c) {
+                        double w = Math.max(Math.max(core[q], core[v]), distance(q, v));
+                        if (w < query.weight) {
+                            query.weight = w;
+                            query.neighbor = v;
+                        }
+                    }
+                }
+
+                query.exact = true;
+                search(query, 0, component, nodeComponent, bound);
+                if (query.neighbor >= 0) {
+                    bound.accumulateAndGet(c, Double.doubleToLongBits(query.weight), Math::min);
+                }
+            });
+
+            // The cheapest outgoing edge of each component.
+            Arrays.fill(best, -1);
+            for (int q = 0; q < n; q++) {
+                Query query = queries[q];
+                if (query.neighbor < 0) continue;
+                int c = query.component;
+                int b = best[c];
+                if (b < 0 || query.weight < queries[b].weight) {
+                    best[c] = q;
+                }
+            }
+
+            int edges = m;
+            for (int c = 0; c < n; c++) {
+                int q = best[c];
+                if (q < 0) continue;
+                int u = find(parent, q);
+                int v = find(parent, queries[q].neighbor);
+                if (u != v) {
+                    parent[v] = u;
+                    mst[m++] = new HDBSCAN.Edge(q, queries[q].neighbor, root(queries[q].weight));
+                }
+            }
+
+            if (m == edges) {
+                throw new IllegalStateException("No edge is added in a round of Borůvka's algorithm");
+            }
+
+            for (int i = 0; i < n; i++) {
+                component[i] = find(parent, i);
+            }
+        }
+
+        return mst;
+    }
+
+    /**
+     * Searches the cheapest edge from a point to other components.
+     */
+    private void search(Query query, int node, int[] component, int[] nodeComponent, AtomicLongArray bound) {
+        int q = query.q;
+        int c = query.component;
+        double[] x = data[q];
+        if (left[node] < 0) {
+            double cq = core[q];
+            for (int i = start[node]; i < end[node]; i++) {
+                int v = index[i];
+                if (component[v] == c) continue;
+                double w = Math.max(cq, core[v]);
+                if (w >= query.weight) continue;
+                w = Math.max(w, distance(q, v));
+                if (w < query.weight) {
+                    query.weight = w;
+                    query.neighbor = v;
+                }
+            }
+            return;
+        }
+
+        int near = left[node];
+        int far = right[node];
+        double dnear = distance(x, near);
+        double dfar = distance(x, far);
+        if (dfar < dnear) {
+            near = right[node];
+            far = left[node];
+            double t = dnear;
+            dnear = dfar;
+            dfar = t;
+        }
+        check(q, dfar);
+
+        if (!prune(query, near, dnear, nodeComponent, bound)) {
+            search(query, near, component, nodeComponent, bound);
+        }
+
+        if (!prune(query, far, dfar, nodeComponent, bound)) {
+            search(query, far, component, nodeComponent, bound);
+        }
+    }
+
+    /**
+     * Returns true if the node cannot contain a better edge.
+     */
+    private boolean prune(Query query, int node, double dist, int[] nodeComponent, AtomicLongArray bound) {
+        if (nodeComponent[node] == query.component) return true;
+        double lb = Math.max(Math.max(core[query.q], minCore[node]), dist);
+        if (lb >= query.weight) return true;
+        if (lb >= Double.longBitsToDouble(bound.get(query.component))) {
+            query.exact = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the root of a point in the union-find forest with path halving.
+     */
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -146,14 +146,28 @@ public class DBSCAN<T> extends Partitioning {
     /**
      * Clustering the data with KD-tree. DBSCAN is generally applied on
      * low-dimensional data. Therefore, KD-tree can speed up the nearest
-     * neighbor search a lot.
+     * neighbor search a lot. For data of at most 5 dimensions, the points
+     * are bucketed into a grid of radius-sized cells, and the core points
+     * are found and merged in parallel with a lock-free union-find. The
+     * cluster labels are the same as those of the sequential algorithm.
+     * The KD-tree is still built for the prediction of new observations.
      * @param data the observations.
      * @param minPts the minimum number of neighbors for a core data point.
      * @param radius the neighborhood radius.
      * @return the model.
      */
     public static DBSCAN<double[]> fit(double[][] data, int minPts, double radius) {
-        return fit(data, new KDTree<>(data, data), minPts, radius);
+        checkParameters(minPts, radius);
+        KDTree<double[]> tree = new KDTree<>(data, data);
+        DBSCANGrid grid = DBSCANGrid.of(data, radius);
+        if (grid == null) {
+            return fit(data, tree, minPts, radius);
+        }
+
+        boolean[] core = grid.core(minPts);
+        int[] group = new int[data.length];
+        int k = grid.label(core, group);
+        return new DBSCAN<>(k, group, core, minPts, radius, tree);
     }
 
     /**
@@ -179,13 +193,7 @@ public class DBSCAN<T> extends Partitioning {
      * @return the model.
      */
     public static <T> DBSCAN<T> fit(T[] data, RNNSearch<T,T> nns, int minPts, double radius) {
-        if (minPts < 1) {
-            throw new IllegalArgumentException("Invalid minPts: " + minPts);
-        }
-
-        if (radius <= 0.0) {
-            throw new IllegalArgumentException("Invalid radius: " + radius);
-        }
+        checkParameters(minPts, radius);
 
         // The label for data samples in BFS queue.
         final int QUEUED = -2;
@@ -252,6 +260,21 @@ public class DBSCAN<T> extends Partitioning {
         return new DBSCAN<>(k, group, core, minPts, radius, nns);
     }
 
+    /**
+     * Validates the hyperparameters.
+     * @param minPts the minimum number of neighbors for a core data point.
+     * @param radius the neighborhood radius.
+     */
+    private static void checkParameters(int minPts, double radius) {
+        if (minPts < 1) {
+            throw new IllegalArgumentException("Invalid minPts: " + minPts);
+        }
+
+        if (radius <= 0.0) {
+            throw new IllegalArgumentException("Invalid radius: " + radius);
+        }
+    }
+
     /**
      * Classifies a new observation.
      * @param x a new observation.
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.clustering;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import smile.math.MathEx;
+import static smile.clustering.Clustering.OUTLIER;
+
+/**
+ * A uniform grid to run DBSCAN on low-dimensional data in parallel.
+ * The points are bucketed into cells whose width is the neighborhood
+ * radius so that the neighbors of a point are all in the same or the
+ * adjacent cells. The algorithm then runs in three parallel passes
+ * without any sequential cluster expansion:
+ * <ol>
+ * <li> The core points are labeled by the range queries of all points
+ *      on the adjacent cells, which stop as soon as minPts neighbors
+ *      are found.</li>
+ * <li> The core points within the radius of each other are merged with
+ *      a lock-free union-find. The root of a component is always the
+ *      smallest index of its core points.</li>
+ * <li> The border points are assigned to the cluster of the smallest
+ *      label among the core points in their neighborhood.</li>
+ * </ol>
+ * The clusters are numbered in the order of their root. As the sequential
+ * algorithm starts a cluster from its first core point and a border point
+ * belongs to the first cluster reaching it, the labels are identical to
+ * those of the sequential algorithm.
+ * <p>
+ * The number of adjacent cells is 3<sup>d</sup>. Therefore, the grid is
+ * only used for data of at most {@link #MAX_DIMENSION} dimensions.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li> J. Gan and Y. Tao. DBSCAN revisited: mis-claim, un-fixability, and approximation. SIGMOD, 2015.</li>
+ * <li> Y. Wang, Y. Gu, and J. Shun. Theoretically-efficient and practical parallel DBSCAN. SIGMOD, 2020.</li>
+ * </ol>
+ *
+ * @author Haifeng Li
+ */
+final class DBSCANGrid {
+    /** The maximum dimension of data to use the grid. */
+    static final int MAX_DIMENSION = 5;
+    /** The maximum number of cells along each dimension. */
+    private static final long MAX_EXTENT = 1L << 24;
+    /**
+     * The relative margin of cell width over the radius, which keeps
+     * the neighbors within the adjacent cells despite rounding errors.
+     */
+    private static final double MARGIN = 1E-6;
+
+    /** The data points. */
+    private final double[][] data;
+    /** The squared neighborhood radius. */
+    private final double r2;
+    /** The points ordered by cells. */
+    private final int[] index;
+    /** The first position of cell points in the index. The last entry is n. */
+    private final int[] start;
+    /** The non-empty cells adjacent to each cell, including itself, in ascending order. */
+    private final int[][] adjacent;
+
+    /**
+     * Constructor.
+     * @param data the data points.
+     * @param radius the neighborhood radius.
+     * @param min the lower bound of data.
+     * @param extent the number of cells along each dimension.
+     */
+    private DBSCANGrid(double[][] data, double radius, double[] min, long[] extent) {
+        int n = data.length;
+        int d = min.length;
+        double width = radius * (1.0 + MARGIN);
+
+        this.data = data;
+        this.r2 = radius * radius;
+
+        // The cell key is the mixed radix number of cell coordinates.
+        long[] radix = new long[d];
+        radix[0] = 1;
+        for (int j = 1; j < d; j++) {
+            radix[j] = radix[j-1] * extent[j-1];
+        }
+
+        long[] key = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            long h = 0;
+            for (int j = 0; j < d; j++) {
+                long c = Math.min((long) ((data[i][j] - min[j]) / width), extent[j] - 1);
+                h += c * radix[j];
+            }
+            key[i] = h;
+        });
+
+        HashMap<Long, Integer> cells = new HashMap<>();
+        int[] cell = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer id = cells.putIfAbsent(key[i], cells.size());
+            cell[i] = id == null ? cells.size() - 1 : id;
+        }
+
+        // Counting sort of points by cells.
+        int m = cells.size();
+        start = new int[m + 1];
+        for (int i = 0; i < n; i++) {
+            start[cell[i] + 1]++;
+        }
+        for (int c = 0; c < m; c++) {
+            start[c + 1] += start[c];
+        }
+
+        index = new int[n];
+        int[] pos = Arrays.copyOf(start, m);
+        for (int i = 0; i < n; i++) {
+            index[pos[cell[i]]++] = i;
+        }
+
+        long[] cellKey = new long[m];
+        for (int c = 0; c < m; c++) {
+            cellKey[c] = key[index[start[c]]];
+        }
+
+        // Enumerates the 3^d adjacent cells with an odometer of offsets.
+        adjacent = new int[m][];
+        IntStream.range(0, m).parallel().forEach(c -> {
+            long[] coord = new long[d];
+            for (int j = 0; j < d; j++) {
+                coord[j] = (cellKey[c] / radix[j]) % extent[j];
+            }
+
+            int[] list = new int[(int) Math.pow(3, d)];
+            int size = 0;
+            int[] offset = new int[d];
+            Arrays.fill(offset, -1);
+            while (true) {
+                boolean inside = true;
+                long h = 0;
+                for (int j = 0; j < d && inside; j++) {
+                    long x = coord[j] + offset[j];
+                    inside = x >= 0 && x < extent[j];
+                    h += x * radix[j];
+                }
+
+                if (inside) {
+                    Integer id = cells.get(h);
+                    if (id != null) {
+                        list[size++] = id;
+                    }
+                }
+
+                int j = 0;
+                while (j < d && offset[j] == 1) {
+                    offset[j++] = -1;
+                }
+                if (j == d) break;
+                offset[j]++;
+            }
+
+            int[] neighbors = Arrays.copyOf(list, size);
+            Arrays.sort(neighbors);
+            adjacent[c] = neighbors;
+        });
+    }
+
+    /**
+     * Returns the grid of data if it is applicable, i.e. the data are
+     * low-dimensional, finite, and the number of cells fits in the
+     * cell keys.
+     * @param data the data points.
+     * @param radius the neighborhood radius.
+     * @return the grid, or null if the grid is not applicable to the data.
+     */
+    static DBSCANGrid of(double[][] data, double radius) {
+        int n = data.length;
+        if (n == 0) return null;
+
+        int d = data[0].length;
+        if (d == 0 || d > MAX_DIMENSION) return null;
+
+        double[] min = new double[d];
+        double[] max = new double[d];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (double[] x : data) {
+            if (x.length != d) return null;
+            for (int j = 0; j < d; j++) {
+                if (!Double.isFinite(x[j])) return null;
+                min[j] = Math.min(min[j], x[j]);
+                max[j] = Math.max(max[j], x[j]);
+            }
+        }
+
+        double width = radius * (1.0 + MARGIN);
+        long[] extent = new long[d];
+        double cells = 1.0;
+        for (int j = 0; j < d; j++) {
+            double e = Math.floor((max[j] - min[j]) / width) + 1;
+            if (!(e <= MAX_EXTENT)) return null;
+            extent[j] = (long) e;
+            cells *= e;
+        }
+
+        if (cells >= Long.MAX_VALUE / 2) return null;
+        return new DBSCANGrid(data, radius, min, extent);
+    }
+
+    /**
+     * Returns true if two points are within the radius.
+     * @param x a point.
+     * @param y the other point.
+     * @return true if two points are within the radius.
+     */
+    private boolean within(double[] x, double[] y) {
+        double sum = 0.0;
+        for (int j = 0; j < x.length; j++) {
+            double diff = x[j] - y[j];
+            sum += diff * diff;
+        }
+        return MathEx.le(sum, r2);
+    }
+
+    /**
+     * Returns the flags of core points, which have at least minPts
+     * neighbors other than themselves within the radius.
+     * @param minPts the minimum number of neighbors for a core data point.
+     * @return the flags of core points.
+     */
+    boolean[] core(int minPts) {
+        int n = data.length;
+        int[] cell = new int[n];
+        for (int c = 0; c < adjacent.length; c++) {
+            for (int pos = start[c]; pos < start[c + 1]; pos++) {
+                cell[index[pos]] = c;
+            }
+        }
+
+        boolean[] core = new boolean[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double[] x = data[i];
+            int count = 0;
+            for (int c : adjacent[cell[i]]) {
+                for (int pos = start[c]; pos < start[c + 1] && count < minPts; pos++) {
+                    int j = index[pos];
+                    if (j != i && within(x, data[j])) {
+                        count++;
+                    }
+                }
+            }
+            core[i] = count >= minPts;
+        });
+        return core;
+    }
+
+    /**
+     * Labels the points by merging the core points within the radius.
+     * @param core the flags of core points.
+     * @param group the output cluster labels.
+     * @return the number of clusters.
+     */
+    int label(boolean[] core, int[] group) {
+        int n = data.length;
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+
+        // Each pair of adjacent cells is visited once from the smaller cell.
+        IntStream.range(0, adjacent.length).parallel().forEach(c -> {
+            for (int nc : adjacent[c]) {
+                if (nc < c) continue;
+                for (int p = start[c]; p < start[c + 1]; p++) {
+                    int a = index[p];
+                    if (!core[a]) continue;
+                    for (int q = nc == c ? p + 1 : start[nc]; q < start[nc + 1]; q++) {
+                        int b = index[q];
+                        if (core[b] && find(parent, a) != find(parent, b) && within(data[a], data[b])) {
+                            union(parent, a, b);
+                        }
+                    }
+                }
+            }
+        });
+
+        // The roots are the first core points of clusters.
+        int k = 0;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (core[i] && parent.get(i) == i) {
+                label[i] = k++;
+            }
+        }
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            if (core[i]) group[i] = label[find(parent, i)];
+        });
+
+        IntStream.range(0, adjacent.length).parallel().forEach(c -> {
+            for (int p = start[c]; p < start[c + 1]; p++) {
+                int i = index[p];
+                if (core[i]) continue;
+
+                int y = OUTLIER;
+                for (int nc : adjacent[c]) {
+                    for (int q = start[nc]; q < start[nc + 1]; q++) {
+                        int j = index[q];
+                        if (core[j] && group[j] < y && within(data[i], data[j])) {
+                            y = group[j];
+                        }
+                    }
+                }
+                group[i] = y;
+            }
+        });
+
+        return k;
+    }
+
+    /**
+     * Returns the root of a point with path halving. As the parent of
+     * a point never has a larger index, the concurrent updates keep the
+     * forest acyclic.
+     * @param parent the parent of points.
+     * @param x the point.
+     * @return the root.
+     */
+    private static int find(AtomicIntegerArray parent, int x) {
+        int p;
+        while ((p = parent.get(x)) != x) {
+            int g = parent.get(p);
+            parent.compareAndSet(x, p, g);
+            x = g;
+        }
+        return x;
+    }
+
+    /**
+     * Merges the sets of two points. The root of larger index is linked
+     * to the other with compare-and-set, which is retried if the root
+     * was changed by another thread.
+     * @param parent the parent of points.
+     * @param a a point.
+     * @param b the other point.
+     */
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) return;
+            if (a < b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            if (parent.compareAndSet(a, a, b)) return;
+        }
+    }
+}
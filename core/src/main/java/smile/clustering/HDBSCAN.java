@@ -18,11 +18,14 @@ package smile.clustering;
 
 import java.io.Serial;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Properties;
 import smile.math.distance.Distance;
 import smile.math.distance.EuclideanDistance;
+import smile.math.distance.MinkowskiDistance;
 import static smile.clustering.Clustering.OUTLIER;
 
 /**
@@ -42,6 +45,13 @@ import static smile.clustering.Clustering.OUTLIER;
  * <li> convert to a hierarchy and perform stability-based cluster selection
  * with {@code minClusterSize}</li>
  * </ol>
+ * For general distance functions, the pairwise distances are computed,
+ * which takes O(n<sup>2</sup>) time and memory. For {@code double[]} data
+ * with (unweighted) Euclidean or Minkowski distance, the core distances
+ * are computed by the k-nearest neighbor search on a k-d tree and the
+ * minimum spanning tree by Borůvka's algorithm on the same tree. Both
+ * run in parallel with O(n) memory, which scales to millions of
+ * low to moderate dimensional points.
  *
  * <h2>References</h2>
  * <ol>
@@ -49,6 +59,8 @@ import static smile.clustering.Clustering.OUTLIER;
  * Clustering Based on Hierarchical Density Estimates. PAKDD, 2013.</li>
  * <li> McInnes, L., Healy, J., Astels, S. hdbscan: Hierarchical density based
  * clustering. Journal of Open Source Software, 2017.</li>
+ * <li> McInnes, L., Healy, J. Accelerated hierarchical density based
+ * clustering. ICDMW, 2017.</li>
  * </ol>
  *
  * @param <T> the data type.
@@ -209,9 +221,20 @@ public class HDBSCAN<T> extends Partitioning {
         int minClusterSize = options.minClusterSize;
 
         int n = data.length;
-        double[][] pairwise = pairwiseDistances(data, distance);
-        double[] core = coreDistances(pairwise, minPoints);
-        Edge[] mst = mutualReachabilityMST(pairwise, core);
+        double[] core;
+        Edge[] mst;
+        int p = order(data, distance);
+        if (p > 0) {
+            var tree = new BoruvkaTree((double[][]) data, p);
+            core = tree.coreDistances(minPoints - 1);
+            mst = tree.mst();
+            Arrays.sort(mst);
+        } else {
+            double[][] pairwise = pairwiseDistances(data, distance);
+            core = coreDistances(pairwise, minPoints);
+            mst = mutualReachabilityMST(pairwise, core);
+        }
+
         Dendrogram dendrogram = hierarchyFromMST(n, mst);
         Selection selection = selectClusters(dendrogram, minClusterSize);
         int[] group = label(selection.selected, dendrogram.nodes, n);
@@ -225,6 +248,23 @@ public class HDBSCAN<T> extends Partitioning {
         return new HDBSCAN<>(k, group, minPoints, minClusterSize, core, selection.stability);
     }
 
+    /**
+     * Returns the order of Minkowski distance if the data and distance
+     * support the tree-based algorithm, or 0 otherwise.
+     */
+    private static <T> int order(T[] data, Distance<T> distance) {
+        if (data instanceof double[][]) {
+            if (distance instanceof EuclideanDistance euclidean && euclidean.weight() == null) {
+                return 2;
+            }
+
+            if (distance instanceof MinkowskiDistance minkowski && minkowski.weight() == null) {
+                return minkowski.p();
+            }
+        }
+        return 0;
+    }
+
     private static <T> double[][] pairwiseDistances(T[] data, Distance<T> distance) {
         int n = data.length;
         double[][] pairwise = new double[n][n];
@@ -344,82 +384,77 @@ public class HDBSCAN<T> extends Partitioning {
     }
 
     private static Selection selectClusters(Dendrogram tree, int minClusterSize) {
-        List<Integer> selected = new ArrayList<>();
-        List<Double> scores = new ArrayList<>();
-        select(tree.root, 0.0, tree, minClusterSize, selected, scores);
-        double[] stability = new double[scores.size()];
-        for (int i = 0; i < scores.size(); i++) {
-            stability[i] = scores.get(i);
-        }
-        return new Selection(selected.stream().mapToInt(i -> i).toArray(), stability);
-    }
-
-    private static double select(int id, double parentLambda, Dendrogram tree, int minClusterSize,
-                                 List<Integer> selected, List<Double> selectedScores) {
-        Node node = tree.nodes[id];
-        if (node.size < minClusterSize) {
-            return 0.0;
-        }
+        // Children are created before their parents so that the nodes
+        // are evaluated bottom-up in the order of id. The cluster is
+        // selected if its own stability is no less than the total
+        // stability of selected clusters in its subtree.
+        Node[] nodes = tree.nodes;
+        double[] score = new double[tree.root + 1];
+        boolean[] chosen = new boolean[tree.root + 1];
+        for (int id = tree.n; id <= tree.root; id++) {
+            Node node = nodes[id];
+            if (node.size < minClusterSize) {
+                continue;
+            }
 
-        if (node.isLeaf()) {
-            return 0.0;
+            double children = score[node.left] + score[node.right];
+            double parentLambda = node.parent >= 0 ? nodes[node.parent].lambda : 0.0;
+            double own = (node.lambda - parentLambda) * node.size;
+            if (own >= children) {
+                chosen[id] = true;
+                score[id] = own;
+            } else {
+                score[id] = children;
+            }
         }
 
-        double left = select(node.left, node.lambda, tree, minClusterSize, selected, selectedScores);
-        double right = select(node.right, node.lambda, tree, minClusterSize, selected, selectedScores);
-        double children = left + right;
-        double own = (node.lambda - parentLambda) * node.size;
-
-        if (own >= children) {
-            removeDescendants(id, tree, selected, selectedScores);
-            selected.add(id);
-            selectedScores.add(own);
-            return own;
-        } else {
-            return children;
-        }
-    }
+        // The topmost chosen clusters from left to right.
+        List<Integer> selected = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(tree.root);
+        while (!stack.isEmpty()) {
+            int id = stack.pop();
+            Node node = nodes[id];
+            if (node.isLeaf() || node.size < minClusterSize) {
+                continue;
+            }
 
-    private static void removeDescendants(int id, Dendrogram tree, List<Integer> selected, List<Double> selectedScores) {
-        for (int i = selected.size() - 1; i >= 0; i--) {
-            if (isDescendant(selected.get(i), id, tree)) {
-                selected.remove(i);
-                selectedScores.remove(i);
+            if (chosen[id]) {
+                selected.add(id);
+                scores.add(score[id]);
+            } else {
+                stack.push(node.right);
+                stack.push(node.left);
             }
         }
-    }
 
-    private static boolean isDescendant(int node, int ancestor, Dendrogram tree) {
-        int p = tree.nodes[node].parent;
-        while (p >= 0) {
-            if (p == ancestor) {
-                return true;
-            }
-            p = tree.nodes[p].parent;
+        double[] stability = new double[scores.size()];
+        for (int i = 0; i < scores.size(); i++) {
+            stability[i] = scores.get(i);
         }
-        return false;
+        return new Selection(selected.stream().mapToInt(i -> i).toArray(), stability);
     }
 
     private static int[] label(int[] selected, Node[] nodes, int n) {
         int[] group = new int[n];
         Arrays.fill(group, OUTLIER);
+        Deque<Integer> stack = new ArrayDeque<>();
         for (int c = 0; c < selected.length; c++) {
-            assign(selected[c], c, nodes, group);
+            stack.push(selected[c]);
+            while (!stack.isEmpty()) {
+                Node node = nodes[stack.pop()];
+                if (node.isLeaf()) {
+                    group[node.id] = c;
+                } else {
+                    stack.push(node.right);
+                    stack.push(node.left);
+                }
+            }
         }
         return group;
     }
 
-    private static void assign(int nodeId, int label, Node[] nodes, int[] group) {
-        Node node = nodes[nodeId];
-        if (node.isLeaf()) {
-            group[node.id] = label;
-            return;
-        }
-
-        assign(node.left, label, nodes, group);
-        assign(node.right, label, nodes, group);
-    }
-
     private static final class IntDisjointSet {
         private final int[] parent;
         private final int[] rank;
@@ -460,7 +495,7 @@ public class HDBSCAN<T> extends Partitioning {
         }
     }
 
-    private record Edge(int u, int v, double weight) implements Comparable<Edge> {
+    record Edge(int u, int v, double weight) implements Comparable<Edge> {
         @Override
         public int compareTo(Edge o) {
             return Double.compare(weight, o.weight);
@@ -18,12 +18,17 @@ package smile.clustering;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.stream.IntStream;
 import smile.clustering.linkage.Linkage;
 import smile.clustering.linkage.UPGMCLinkage;
 import smile.clustering.linkage.WPGMCLinkage;
 import smile.clustering.linkage.WardLinkage;
+import smile.math.MathEx;
+import smile.math.distance.Distance;
 import smile.sort.IntHeapSelect;
 
 /**
@@ -43,10 +48,22 @@ import smile.sort.IntHeapSelect;
  * Hierarchical clustering has the distinct advantage that any valid measure
  * of distance can be used. In fact, the observations themselves are not
  * required: all that is used is a matrix of distances.
+ * <p>
+ * The proximity matrix of {@link Linkage} takes O(n<sup>2</sup>) memory,
+ * which limits the data size to tens of thousands. For larger data,
+ * {@link #single(Object[], Distance) single linkage} is computed from
+ * the minimum spanning tree by Prim's algorithm, and
+ * {@link #complete(Object[], Distance) complete},
+ * {@link #average(Object[], Distance) average} and
+ * {@link #ward(double[][]) Ward's} linkage are computed by the
+ * nearest-neighbor chain algorithm. Both compute the distances on the
+ * fly with O(n) memory.
  * 
  * <h2>References</h2>
  * <ol>
  * <li>David Eppstein. Fast hierarchical clustering and other applications of dynamic closest pairs. SODA 1998.</li>
+ * <li>F. James Rohlf. Hierarchical clustering using the minimum spanning tree. The Computer Journal, 16(1):93-95, 1973.</li>
+ * <li>D. Müllner. Modern hierarchical, agglomerative clustering algorithms. arXiv:1109.2378, 2011.</li>
  * </ol>
  * 
  * @see Linkage
@@ -109,6 +126,187 @@ public record HierarchicalClustering(int[][] tree, double[] height) implements S
         return new HierarchicalClustering(merge, height);
     }
 
+    /**
+     * Fits the single linkage clustering with Euclidean distance.
+     * @param data the data points.
+     * @return the model.
+     */
+    public static HierarchicalClustering single(double[][] data) {
+        return single(data, MathEx::distance);
+    }
+
+    /**
+     * Fits the single linkage clustering. The single linkage dendrogram
+     * is derived from the minimum spanning tree of data, which is built
+     * by Prim's algorithm with the distances computed on the fly. It
+     * takes O(n<sup>2</sup>) time and O(n) memory. The distances to the
+     * tree are updated in parallel for large data.
+     *
+     * @param data the data points.
+     * @param distance the distance function.
+     * @param <T> the data type of points.
+     * @return the model.
+     */
+    public static <T> HierarchicalClustering single(T[] data, Distance<T> distance) {
+        int n = data.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Invalid data size: " + n);
+        }
+
+        // The distance of points to the tree and their nearest tree node.
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+
+        // The points not in the tree yet.
+        int[] rest = IntStream.range(1, n).toArray();
+        int m = n - 1;
+        int[][] merge = new int[n - 1][2];
+        double[] height = new double[n - 1];
+
+        for (int step = 0, p = 0; step < n - 1; step++) {
+            final int last = p;
+            IntStream range = IntStream.range(0, m);
+            if (m >= NNChain.PARALLEL_THRESHOLD) range = range.parallel();
+            range.forEach(i -> {
+                int j = rest[i];
+                double d = distance.d(data[last], data[j]);
+                if (d < dist[j]) {
+                    dist[j] = d;
+                    parent[j] = last;
+                }
+            });
+
+            int nearest = 0;
+            for (int i = 1; i < m; i++) {
+                if (dist[rest[i]] < dist[rest[nearest]]) {
+                    nearest = i;
+                }
+            }
+
+            p = rest[nearest];
+            merge[step][0] = parent[p];
+            merge[step][1] = p;
+            height[step] = dist[p];
+            rest[nearest] = rest[--m];
+        }
+
+        return of(merge, height);
+    }
+
+    /**
+     * Fits the complete linkage clustering with Euclidean distance.
+     * @param data the data points.
+     * @return the model.
+     */
+    public static HierarchicalClustering complete(double[][] data) {
+        return complete(data, MathEx::distance);
+    }
+
+    /**
+     * Fits the complete linkage clustering by the nearest-neighbor chain
+     * algorithm. The distances between clusters are computed on the fly
+     * with O(n) memory. As the distances between all pairs of members
+     * are evaluated, it may take O(n<sup>3</sup>) time in the worst case.
+     *
+     * @param data the data points.
+     * @param distance the distance function.
+     * @param <T> the data type of points.
+     * @return the model.
+     */
+    public static <T> HierarchicalClustering complete(T[] data, Distance<T> distance) {
+        if (data.length < 2) {
+            throw new IllegalArgumentException("Invalid data size: " + data.length);
+        }
+        return NNChain.linkage(data, distance, true);
+    }
+
+    /**
+     * Fits the average linkage (UPGMA) clustering with Euclidean distance.
+     * @param data the data points.
+     * @return the model.
+     */
+    public static HierarchicalClustering average(double[][] data) {
+        return average(data, MathEx::distance);
+    }
+
+    /**
+     * Fits the average linkage (UPGMA) clustering by the nearest-neighbor
+     * chain algorithm. The distances between clusters are computed on the
+     * fly with O(n) memory. As the distances between all pairs of members
+     * are evaluated, it may take O(n<sup>3</sup>) time in the worst case.
+     *
+     * @param data the data points.
+     * @param distance the distance function.
+     * @param <T> the data type of points.
+     * @return the model.
+     */
+    public static <T> HierarchicalClustering average(T[] data, Distance<T> distance) {
+        if (data.length < 2) {
+            throw new IllegalArgumentException("Invalid data size: " + data.length);
+        }
+        return NNChain.linkage(data, distance, false);
+    }
+
+    /**
+     * Fits Ward's linkage clustering by the nearest-neighbor chain
+     * algorithm. The clusters are represented by their centroids so
+     * that it takes O(n<sup>2</sup>) time and O(n) memory. The height
+     * is consistent with {@link WardLinkage}.
+     *
+     * @param data the data points.
+     * @return the model.
+     */
+    public static HierarchicalClustering ward(double[][] data) {
+        if (data.length < 2) {
+            throw new IllegalArgumentException("Invalid data size: " + data.length);
+        }
+        return NNChain.ward(data);
+    }
+
+    /**
+     * Returns the hierarchical clustering of unordered merges, which
+     * are sorted by height and relabeled with the union-find of
+     * clusters.
+     * @param merge the pairs of data points of which clusters are merged.
+     * @param height the merge heights.
+     * @return the model.
+     */
+    static HierarchicalClustering of(int[][] merge, double[] height) {
+        int n = merge.length + 1;
+        int[] order = IntStream.range(0, n - 1).boxed()
+                .sorted(Comparator.comparingDouble(i -> height[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] parent = IntStream.range(0, n).toArray();
+        int[] id = IntStream.range(0, n).toArray();
+        int[][] tree = new int[n - 1][2];
+        double[] h = new double[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            int a = find(parent, merge[order[i]][0]);
+            int b = find(parent, merge[order[i]][1]);
+            tree[i][0] = Math.min(id[a], id[b]);
+            tree[i][1] = Math.max(id[a], id[b]);
+            h[i] = height[order[i]];
+            parent[b] = a;
+            id[a] = n + i;
+        }
+
+        return new HierarchicalClustering(tree, h);
+    }
+
+    /**
+     * Returns the root of a point in the union-find forest with path halving.
+     */
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
     /**
      * Cuts a tree into several groups by specifying the desired number.
      * @param k the number of clusters.
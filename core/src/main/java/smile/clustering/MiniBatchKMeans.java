@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.clustering;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import smile.data.DataFrame;
+import smile.math.MathEx;
+import smile.math.distance.EuclideanDistance;
+import smile.util.AlgoStatus;
+
+/**
+ * Mini-batch K-Means clustering. Instead of full Lloyd iterations over
+ * the whole data set, the algorithm draws small random batches, assigns
+ * the samples of each batch to the nearest centroids, and then moves each
+ * centroid toward its assigned samples by a gradient step. The learning
+ * rate of a centroid is the inverse of the number of samples it has
+ * received so far, so that every centroid is always the running mean of
+ * the samples assigned to it and its step size decays independently of
+ * the other centroids.
+ * <p>
+ * As the learning rate decays to zero, the centroids eventually stop
+ * following a stream of which the distribution drifts. With a minimum
+ * learning rate, see {@link #setMinLearningRate(double)}, the centroids
+ * become the exponentially weighted moving averages of recent samples
+ * once the counts are large enough, and keep tracking the drift.
+ * <p>
+ * As only the current batch is kept in memory, mini-batch K-Means scales
+ * to data that don't fit in memory and can be fed by a stream of batches.
+ * The model also supports incremental updates with {@link #update(double[][])}
+ * so that the centroids of an existing clustering are kept fresh as new
+ * data arrive. The solution is usually slightly worse than the one of
+ * {@link KMeans} but computed by orders of magnitude faster on large
+ * data.
+ * <p>
+ * This class is not thread-safe. The updates of centroids should be
+ * serialized by the caller.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li> D. Sculley. Web-scale k-means clustering. WWW, 1177-1178, 2010.</li>
+ * </ol>
+ *
+ * @see KMeans
+ * @see smile.vq.BIRCH
+ *
+ * @author Haifeng Li
+ */
+public class MiniBatchKMeans implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MiniBatchKMeans.class);
+
+    /**
+     * The number of consecutive batches without improvement
+     * of smoothed distortion before early stop.
+     */
+    private static final int PATIENCE = 10;
+
+    /**
+     * The cluster centroids.
+     */
+    private final double[][] centroids;
+    /**
+     * The number of samples assigned to each centroid so far.
+     */
+    private final long[] count;
+    /**
+     * The dimensionality of data.
+     */
+    private final int d;
+    /**
+     * The number of processed batches.
+     */
+    private long t = 0;
+    /**
+     * The lower bound of learning rate.
+     */
+    private double minLearningRate = 0.0;
+
+    /**
+     * Constructor.
+     * @param centroids the initial centroids.
+     */
+    public MiniBatchKMeans(double[][] centroids) {
+        this(centroids, new long[centroids.length]);
+    }
+
+    /**
+     * Constructor. Continues the training of an existing centroid
+     * clustering, e.g. fitted by {@link KMeans}, with its cluster
+     * sizes as the initial counts of samples.
+     * @param model the centroid clustering.
+     */
+    public MiniBatchKMeans(CentroidClustering<double[], double[]> model) {
+        this(model.centers(), IntStream.range(0, model.k()).mapToLong(model::size).toArray());
+    }
+
+    /**
+     * Constructor.
+     * @param centroids the initial centroids.
+     * @param count the number of samples assigned to each centroid so far.
+     */
+    private MiniBatchKMeans(double[][] centroids, long[] count) {
+        if (centroids.length < 2) {
+            throw new IllegalArgumentException("Invalid number of clusters: " + centroids.length);
+        }
+
+        int d = centroids[0].length;
+        if (d == 0) {
+            throw new IllegalArgumentException("Empty centroids.");
+        }
+
+        for (double[] centroid : centroids) {
+            if (centroid.length != d) {
+                throw new IllegalArgumentException("Inconsistent centroid dimensionality");
+            }
+        }
+
+        this.d = d;
+        this.centroids = new double[centroids.length][];
+        for (int i = 0; i < centroids.length; i++) {
+            this.centroids[i] = centroids[i].clone();
+        }
+        this.count = count;
+    }
+
+    /**
+     * Returns the number of clusters.
+     * @return the number of clusters.
+     */
+    public int k() {
+        return centroids.length;
+    }
+
+    /**
+     * Returns the cluster centroids.
+     * @return the cluster centroids.
+     */
+    public double[][] centers() {
+        return centroids;
+    }
+
+    /**
+     * Returns the number of samples assigned to i-th cluster so far.
+     * @param i the index of cluster.
+     * @return the number of samples.
+     */
+    public long size(int i) {
+        return count[i];
+    }
+
+    /**
+     * Returns the number of processed batches.
+     * @return the number of processed batches.
+     */
+    public long batches() {
+        return t;
+    }
+
+    /**
+     * Returns the lower bound of learning rate.
+     * @return the lower bound of learning rate.
+     */
+    public double minLearningRate() {
+        return minLearningRate;
+    }
+
+    /**
+     * Sets the lower bound of learning rate. The learning rate of a
+     * centroid is {@code max(1/n, rate)}, where n is the number of
+     * samples assigned to it so far. With a positive lower bound, the
+     * centroids forget the old samples and track the drift of data
+     * distribution. The default value 0 keeps the running means of all
+     * samples, which is suitable for stationary data.
+     * @param rate the lower bound of learning rate in [0, 1).
+     */
+    public void setMinLearningRate(double rate) {
+        if (rate < 0.0 || rate >= 1.0) {
+            throw new IllegalArgumentException("Invalid minimum learning rate: " + rate);
+        }
+        this.minLearningRate = rate;
+    }
+
+    /**
+     * Updates the centroids with a batch of samples.
+     * @param batch the batch of samples.
+     * @return the average squared distance between the samples and
+     *         their nearest centroids before the update.
+     */
+    public double update(double[][] batch) {
+        int n = batch.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("Empty batch.");
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (batch[i].length != d) {
+                throw new IllegalArgumentException(String.format("Invalid dimension of sample %d: %d != %d", i, batch[i].length, d));
+            }
+        }
+
+        int k = centroids.length;
+        int[] group = new int[n];
+        double[] proximity = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int y = nearest(batch[i]);
+            group[i] = y;
+            proximity[i] = MathEx.squaredDistance(batch[i], centroids[y]);
+        });
+
+        // Buckets the samples by cluster so that the centroids
+        // can be moved in parallel. The order of samples within
+        // a cluster is preserved.
+        int[] start = new int[k + 1];
+        for (int y : group) start[y + 1]++;
+        for (int i = 0; i < k; i++) start[i + 1] += start[i];
+        int[] pos = start.clone();
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) index[pos[group[i]]++] = i;
+
+        IntStream.range(0, k).parallel().forEach(y -> {
+            double[] centroid = centroids[y];
+            for (int p = start[y]; p < start[y+1]; p++) {
+                double[] x = batch[index[p]];
+                double eta = Math.max(1.0 / ++count[y], minLearningRate);
+                for (int j = 0; j < d; j++) {
+                    centroid[j] += eta * (x[j] - centroid[j]);
+                }
+            }
+        });
+
+        t++;
+        return MathEx.mean(proximity);
+    }
+
+    /**
+     * Updates the centroids with a data frame of samples.
+     * @param data the batch of samples.
+     * @return the average squared distance between the samples and
+     *         their nearest centroids before the update.
+     */
+    public double update(DataFrame data) {
+        return update(data.toArray());
+    }
+
+    /**
+     * Returns the index of nearest centroid.
+     * @param x a new observation.
+     * @return the cluster label.
+     */
+    public int predict(double[] x) {
+        if (x.length != d) {
+            throw new IllegalArgumentException(String.format("Invalid input vector size: %d, expected: %d", x.length, d));
+        }
+        return nearest(x);
+    }
+
+    /**
+     * Assigns the data to the nearest centroids. The centroids
+     * are copied into the returned clustering so that it isn't
+     * affected by further updates.
+     * @param data the data to cluster.
+     * @return the clustering of data.
+     */
+    public CentroidClustering<double[], double[]> predict(double[][] data) {
+        int n = data.length;
+        int k = centroids.length;
+        double[][] centers = new double[k][];
+        for (int i = 0; i < k; i++) {
+            centers[i] = centroids[i].clone();
+        }
+
+        int[] group = new int[n];
+        double[] proximity = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int y = predict(data[i]);
+            group[i] = y;
+            proximity[i] = MathEx.squaredDistance(data[i], centers[y]);
+        });
+        return new CentroidClustering<>("Mini-Batch K-Means", centers, new EuclideanDistance(), group, proximity);
+    }
+
+    /**
+     * Returns the index of nearest centroid.
+     */
+    private int nearest(double[] x) {
+        int label = 0;
+        double nearest = Double.MAX_VALUE;
+        for (int i = 0; i < centroids.length; i++) {
+            double dist = MathEx.squaredDistance(centroids[i], x);
+            if (dist < nearest) {
+                nearest = dist;
+                label = i;
+            }
+        }
+        return label;
+    }
+
+    /**
+     * Fits mini-batch k-means clustering on in-memory data.
+     * @param data the input data of which each row is an observation.
+     * @param k the number of clusters.
+     * @param batchSize the number of samples in each batch.
+     * @param maxIter the maximum number of batches.
+     * @return the model.
+     */
+    public static MiniBatchKMeans fit(double[][] data, int k, int batchSize, int maxIter) {
+        return fit(data, batchSize, new Clustering.Options(k, maxIter));
+    }
+
+    /**
+     * Fits mini-batch k-means clustering on in-memory data. The batches
+     * are sampled with replacement from the data. The initial centroids
+     * are selected from a sample of three batches.
+     * @param data the input data of which each row is an observation.
+     * @param batchSize the number of samples in each batch.
+     * @param options the hyperparameters. The maximum number of
+     *                iterations is the maximum number of batches.
+     * @return the model.
+     */
+    public static MiniBatchKMeans fit(double[][] data, int batchSize, Clustering.Options options) {
+        int n = data.length;
+        if (batchSize < options.k()) {
+            throw new IllegalArgumentException("Batch size is less than the number of clusters: " + batchSize);
+        }
+
+        if (options.k() > n) {
+            throw new IllegalArgumentException(
+                    String.format("Number of clusters %d cannot be greater than the number of observations %d.",
+                            options.k(), n));
+        }
+
+        // The first batch is larger for a robust k-means++ seeding.
+        int initSize = Math.min(n, 3 * batchSize);
+        Iterator<double[][]> batches = new Iterator<>() {
+            boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public double[][] next() {
+                int size = first ? initSize : batchSize;
+                first = false;
+                double[][] batch = new double[size][];
+                for (int i = 0; i < size; i++) {
+                    batch[i] = data[MathEx.randomInt(n)];
+                }
+                return batch;
+            }
+        };
+
+        return fit(batches, options);
+    }
+
+    /**
+     * Fits mini-batch k-means clustering on a stream of batches.
+     * The initial centroids are selected by k-means++ from the
+     * first batch, which should be reasonably larger than k.
+     * The training stops when the batches are exhausted, the
+     * maximum number of batches is reached, or the smoothed
+     * distortion doesn't decrease by more than the tolerance
+     * in consecutive batches.
+     *
+     * @param batches the stream of batches.
+     * @param options the hyperparameters. The maximum number of
+     *                iterations is the maximum number of batches.
+     * @return the model.
+     */
+    public static MiniBatchKMeans fit(Iterator<double[][]> batches, Clustering.Options options) {
+        if (!batches.hasNext()) {
+            throw new NoSuchElementException("Empty stream of batches.");
+        }
+
+        int k = options.k();
+        int maxIter = options.maxIter();
+        double tol = options.tol();
+        var controller = options.controller();
+
+        double[][] batch = batches.next();
+        if (batch.length < k) {
+            throw new IllegalArgumentException(
+                    String.format("Number of clusters %d cannot be greater than the size of first batch %d.", k, batch.length));
+        }
+
+        var model = new MiniBatchKMeans(CentroidClustering.seeds(batch, k));
+        double distortion = model.update(batch);
+        logger.info("Initial distortion = {}", distortion);
+
+        double best = distortion;
+        int stale = 0;
+        for (int iter = 2; iter <= maxIter && batches.hasNext() && stale < PATIENCE; iter++) {
+            // Exponentially weighted average to smooth out the noise
+            // of distortion estimation on small batches.
+            distortion = 0.9 * distortion + 0.1 * model.update(batches.next());
+            if (best - distortion > tol) {
+                best = distortion;
+                stale = 0;
+            } else {
+                stale++;
+            }
+
+            logger.info("Batch {}: distortion = {}", iter, distortion);
+            if (controller != null) {
+                controller.submit(new AlgoStatus(iter, distortion));
+                if (controller.isInterrupted()) break;
+            }
+        }
+
+        return model;
+    }
+}
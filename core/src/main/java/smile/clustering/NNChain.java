@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.clustering;
+
+import java.util.stream.IntStream;
+import smile.math.MathEx;
+import smile.math.distance.Distance;
+
+/**
+ * Nearest-neighbor chain algorithm for hierarchical clustering with
+ * reducible linkages, e.g. Ward's, complete and average linkage.
+ * Starting from an arbitrary cluster, the algorithm follows a chain of
+ * nearest neighbors until it reaches a pair of reciprocal nearest
+ * neighbors, which are merged. With a reducible linkage, the merge
+ * doesn't change the nearest neighbors of the remaining clusters in
+ * the chain so that the chain can be resumed.
+ * <p>
+ * Different from the {@link smile.clustering.linkage.Linkage} classes,
+ * the dissimilarities between clusters are computed on the fly from
+ * the data. The memory usage is O(n) instead of O(n<sup>2</sup>) of
+ * the proximity matrix. The nearest neighbor search of a cluster runs
+ * in parallel for large data.
+ *
+ * <h2>References</h2>
+ * <ol>
+ * <li>F. Murtagh. A survey of recent advances in hierarchical clustering algorithms. The Computer Journal, 26(4):354-359, 1983.</li>
+ * <li>D. Müllner. Modern hierarchical, agglomerative clustering algorithms. arXiv:1109.2378, 2011.</li>
+ * </ol>
+ *
+ * @see HierarchicalClustering
+ *
+ * @author Haifeng Li
+ */
+final class NNChain {
+    /** The minimum number of clusters to search the nearest neighbor in parallel. */
+    static final int PARALLEL_THRESHOLD = 1024;
+
+    /** Private constructor to prevent object creation. */
+    private NNChain() {
+
+    }
+
+    /**
+     * The dissimilarity between clusters, which are represented
+     * by the index of one of their members.
+     */
+    private interface ClusterDistance {
+        /**
+         * Returns the dissimilarity between two clusters.
+         * @param a the cluster id.
+         * @param b the other cluster id.
+         * @return the dissimilarity.
+         */
+        double d(int a, int b);
+
+        /**
+         * Merges the cluster b into a.
+         * @param a the cluster id.
+         * @param b the other cluster id.
+         */
+        void merge(int a, int b);
+    }
+
+    /**
+     * Ward's linkage with Euclidean distance. The clusters are
+     * represented by their centroids and sizes. The dissimilarity
+     * is the increase of the error sum of squares after merging
+     * two clusters, which is consistent with
+     * {@link smile.clustering.linkage.WardLinkage}.
+     *
+     * @param data the data points.
+     * @return the merges and heights.
+     */
+    static HierarchicalClustering ward(double[][] data) {
+        int n = data.length;
+        double[][] centroid = new double[n][];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            centroid[i] = data[i].clone();
+            size[i] = 1;
+        }
+
+        var model = fit(n, new ClusterDistance() {
+            @Override
+            public double d(int a, int b) {
+                double na = size[a];
+                double nb = size[b];
+                return 2 * na * nb / (na + nb) * MathEx.squaredDistance(centroid[a], centroid[b]);
+            }
+
+            @Override
+            public void merge(int a, int b) {
+                double[] ca = centroid[a];
+                double[] cb = centroid[b];
+                double na = size[a];
+                double nb = size[b];
+                for (int j = 0; j < ca.length; j++) {
+                    ca[j] = (na * ca[j] + nb * cb[j]) / (na + nb);
+                }
+                size[a] += size[b];
+                centroid[b] = null;
+            }
+        });
+
+        double[] height = model.height();
+        for (int i = 0; i < height.length; i++) {
+            height[i] = Math.sqrt(height[i]);
+        }
+        return model;
+    }
+
+    /**
+     * Complete or average linkage. The clusters are linked lists of
+     * their members and the dissimilarities are computed between all
+     * pairs of members.
+     *
+     * @param data the data points.
+     * @param distance the distance function.
+     * @param complete true for complete linkage, false for average linkage.
+     * @param <T> the data type of points.
+     * @return the merges and heights.
+     */
+    static <T> HierarchicalClustering linkage(T[] data, Distance<T> distance, boolean complete) {
+        int n = data.length;
+        int[] next = new int[n];
+        int[] tail = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            next[i] = -1;
+            tail[i] = i;
+            size[i] = 1;
+        }
+
+        return fit(n, new ClusterDistance() {
+            @Override
+            public double d(int a, int b) {
+                double d = 0.0;
+                for (int i = a; i >= 0; i = next[i]) {
+                    for (int j = b; j >= 0; j = next[j]) {
+                        double dij = distance.d(data[i], data[j]);
+                        d = complete ? Math.max(d, dij) : d + dij;
+                    }
+                }
+                return complete ? d : d / ((double) size[a] * size[b]);
+            }
+
+            @Override
+            public void merge(int a, int b) {
+                next[tail[a]] = b;
+                tail[a] = tail[b];
+                size[a] += size[b];
+            }
+        });
+    }
+
+    /**
+     * Runs the nearest-neighbor chain algorithm.
+     * @param n the data size.
+     * @param linkage the dissimilarity between clusters.
+     * @return the merges and heights.
+     */
+    private static HierarchicalClustering fit(int n, ClusterDistance linkage) {
+        // The active clusters and their positions in the array.
+        int[] active = new int[n];
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) {
+            active[i] = i;
+            pos[i] = i;
+        }
+
+        int m = n;
+        int[] chain = new int[n];
+        int top = 0;
+        double[] dist = new double[n];
+        int[][] merge = new int[n - 1][2];
+        double[] height = new double[n - 1];
+
+        for (int step = 0; step < n - 1; ) {
+            if (top == 0) {
+                chain[top++] = active[0];
+            }
+
+            int a = chain[top - 1];
+            int prev = top > 1 ? chain[top - 2] : -1;
+
+            IntStream range = IntStream.range(0, m);
+            if (m >= PARALLEL_THRESHOLD) range = range.parallel();
+            range.forEach(i -> {
+                int c = active[i];
+                dist[i] = c == a ? Double.POSITIVE_INFINITY : linkage.d(a, c);
+            });
+
+            // Ties are resolved in favor of the previous cluster in
+            // the chain, which guarantees that the chain terminates.
+            int b = prev;
+            double nearest = prev >= 0 ? dist[pos[prev]] : Double.POSITIVE_INFINITY;
+            for (int i = 0; i < m; i++) {
+                if (dist[i] < nearest) {
+                    nearest = dist[i];
+                    b = active[i];
+                }
+            }
+
+            if (b == prev) {
+                top -= 2;
+                merge[step][0] = a;
+                merge[step][1] = b;
+                height[step++] = nearest;
+                linkage.merge(a, b);
+
+                int p = pos[b];
+                active[p] = active[--m];
+                pos[active[p]] = p;
+            } else {
+                chain[top++] = b;
+            }
+        }
+
+        return HierarchicalClustering.of(merge, height);
+    }
+}
@@ -21,6 +21,7 @@ import smile.data.DataFrame;
 import smile.math.MathEx;
 import smile.tensor.DenseMatrix;
 import smile.tensor.EVD;
+import smile.tensor.RandomizedSVD;
 import smile.tensor.SVD;
 import smile.tensor.Vector;
 import static smile.linalg.UPLO.*;
@@ -101,15 +102,25 @@ public class PCA extends Projection {
      * @param columns the columns to transform when applied on Tuple/DataFrame.
      */
     public PCA(Vector mu, Vector eigvalues, DenseMatrix loadings, DenseMatrix projection, String... columns) {
+        this(mu, eigvalues, proportion(eigvalues, eigvalues.norm1()), loadings, projection, columns);
+    }
+
+    /**
+     * Constructor.
+     * @param mu the mean of samples.
+     * @param eigvalues the eigen values of principal components.
+     * @param proportion the proportion of variance contained in each principal component.
+     * @param loadings the matrix of variable loadings.
+     * @param projection the projection matrix.
+     * @param columns the columns to transform when applied on Tuple/DataFrame.
+     */
+    private PCA(Vector mu, Vector eigvalues, Vector proportion, DenseMatrix loadings, DenseMatrix projection, String... columns) {
         super(projection, "PCA", columns);
 
         this.mu = mu;
         this.eigvalues = eigvalues;
         this.eigvectors = loadings;
-
-        proportion = eigvalues.copy();
-        double norm1 = proportion.norm1();
-        proportion.scale(1 / norm1);
+        this.proportion = proportion;
 
         cumulativeProportion = proportion.copy();
         for (int i = 1; i < proportion.size(); i++) {
@@ -119,6 +130,18 @@ public class PCA extends Projection {
         pmu = projection.mv(mu);
     }
 
+    /**
+     * Returns the proportion of variance contained in each principal component.
+     * @param eigvalues the eigen values of principal components.
+     * @param total the total variance of data.
+     * @return the proportion of variance.
+     */
+    private static Vector proportion(Vector eigvalues, double total) {
+        Vector proportion = eigvalues.copy();
+        proportion.scale(1 / total);
+        return proportion;
+    }
+
     /**
      * Fits principal component analysis with covariance matrix.
      * @param data training data of which each row is a sample.
@@ -201,6 +224,62 @@ public class PCA extends Projection {
         return new PCA(mu, eigvalues, eigvectors, projection, columns);
     }
 
+    /**
+     * Fits the top k principal components with randomized SVD, which
+     * takes O(mnk) time instead of full SVD or eigen decomposition.
+     * The variance proportions are relative to the total variance of
+     * data as in {@link #fit(double[][], String...) fit}, so that they
+     * sum to less than 1 if k is smaller than the data dimension.
+     * @param data training data of which each row is a sample.
+     * @param k the number of principal components.
+     * @param columns the columns to fit PCA. If empty, all columns
+     *                will be used.
+     * @return the model.
+     */
+    public static PCA randomized(DataFrame data, int k, String... columns) {
+        double[][] x = data.toArray(columns);
+        return randomized(x, k, columns);
+    }
+
+    /**
+     * Fits the top k principal components with randomized SVD, which
+     * takes O(mnk) time instead of full SVD or eigen decomposition.
+     * The variance proportions are relative to the total variance of
+     * data as in {@link #fit(double[][], String...) fit}, so that they
+     * sum to less than 1 if k is smaller than the data dimension.
+     * @param data training data of which each row is a sample.
+     * @param k the number of principal components.
+     * @param columns the columns to transform when applied on Tuple/DataFrame.
+     * @return the model.
+     */
+    public static PCA randomized(double[][] data, int k, String... columns) {
+        int m = data.length;
+        int n = data[0].length;
+
+        DenseMatrix X = DenseMatrix.of(data);
+        Vector mu = X.colMeans();
+        // The total variance is the squared Frobenius norm of centered data.
+        double total = 0.0;
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                double xij = X.get(i, j) - mu.get(j);
+                X.set(i, j, xij);
+                total += xij * xij;
+            }
+        }
+
+        SVD svd = RandomizedSVD.svd(X, k);
+        Vector eigvalues = svd.s();
+        for (int i = 0; i < eigvalues.size(); i++) {
+            double si = eigvalues.get(i);
+            eigvalues.set(i, si * si);
+        }
+
+        DenseMatrix eigvectors = svd.Vt().transpose();
+        DenseMatrix projection = getProjection(eigvectors, k);
+        return new PCA(mu, eigvalues, proportion(eigvalues, total), eigvectors, projection, columns);
+    }
+
     /**
      * Fits principal component analysis with correlation matrix.
      * @param data training data of which each row is a sample.
@@ -365,12 +444,14 @@ public class PCA extends Projection {
      */
     public PCA getProjection(int p) {
         DenseMatrix projection = getProjection(eigvectors, p);
-        return new PCA(mu, eigvalues, eigvectors, projection, columns);
+        return new PCA(mu, eigvalues, proportion, eigvectors, projection, columns);
     }
 
     /**
      * Returns the projection with top principal components that contain
-     * (more than) the given percentage of variance.
+     * (more than) the given percentage of variance. If all principal
+     * components contain less variance, e.g. the top k components of
+     * randomized PCA, they are all used.
      * @param p the required percentage of variance.
      * @return a new PCA projection.
      */
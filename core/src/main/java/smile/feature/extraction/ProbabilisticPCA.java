@@ -175,6 +175,80 @@ public class ProbabilisticPCA extends Projection {
         }
         noise /= (n - k);
 
+        return of(noise, mu, eigvalues, eigvectors, k, columns);
+    }
+
+    /**
+     * Fits probabilistic principal component analysis with randomized
+     * SVD, which computes only the top k principal components in O(mnk)
+     * time without forming the covariance matrix. The variance of noise
+     * is derived from the total variance of data.
+     * @param data training data of which each row is a sample.
+     * @param k the number of principal component to learn.
+     * @param columns the columns to fit PCA. If empty, all columns
+     *                will be used.
+     * @return the model.
+     */
+    public static ProbabilisticPCA randomized(DataFrame data, int k, String... columns) {
+        double[][] x = data.toArray(columns);
+        return randomized(x, k, columns);
+    }
+
+    /**
+     * Fits probabilistic principal component analysis with randomized
+     * SVD, which computes only the top k principal components in O(mnk)
+     * time without forming the covariance matrix. The variance of noise
+     * is derived from the total variance of data.
+     * @param data training data of which each row is a sample.
+     * @param k the number of principal component to learn.
+     * @param columns the columns to transform when applied on Tuple/DataFrame.
+     * @return the model.
+     */
+    public static ProbabilisticPCA randomized(double[][] data, int k, String... columns) {
+        int m = data.length;
+        int n = data[0].length;
+
+        if (k < 1 || k >= n) {
+            throw new IllegalArgumentException("Invalid number of principal components: " + k);
+        }
+
+        double[] mu = MathEx.colMeans(data);
+        DenseMatrix X = DenseMatrix.of(data);
+        double total = 0.0;
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < m; i++) {
+                double xij = X.get(i, j) - mu[j];
+                X.set(i, j, xij);
+                total += xij * xij;
+            }
+        }
+        total /= m;
+
+        SVD svd = RandomizedSVD.svd(X, k);
+        Vector eigvalues = svd.s();
+        double noise = total;
+        for (int i = 0; i < k; i++) {
+            double si = eigvalues.get(i);
+            eigvalues.set(i, si * si / m);
+            noise -= eigvalues.get(i);
+        }
+        noise = Math.max(noise, 0.0) / (n - k);
+
+        return of(noise, mu, eigvalues, svd.Vt().transpose(), k, columns);
+    }
+
+    /**
+     * Returns the model with the top k principal components.
+     * @param noise the variance of noise.
+     * @param mu the mean of samples.
+     * @param eigvalues the eigenvalues in descending order.
+     * @param eigvectors the eigenvectors of top principal components.
+     * @param k the number of principal component to learn.
+     * @param columns the columns to transform when applied on Tuple/DataFrame.
+     * @return the model.
+     */
+    private static ProbabilisticPCA of(double noise, double[] mu, Vector eigvalues, DenseMatrix eigvectors, int k, String... columns) {
+        int n = eigvectors.nrow();
         DenseMatrix loading = DenseMatrix.zeros(Float64, n, k);
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < k; j++) {
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.manifold;
+
+import java.util.Arrays;
+
+/**
+ * The space-partitioning tree for Barnes-Hut approximation of repulsive
+ * forces in t-SNE. Each node splits its cell into 2<sup>d</sup> children
+ * at the center, i.e. a quadtree in 2D and an octree in 3D. A node keeps
+ * the number of points and the center of mass in its cell so that the
+ * points far away from the query are summarized as a single point.
+ *
+ * @author Haifeng Li
+ */
+class SPTree {
+    /** The maximum depth of tree. Points in deeper cells are kept in one leaf. */
+    private static final int MAX_DEPTH = 32;
+
+    /** The embedding coordinates. */
+    private final double[][] Y;
+    /** The dimension of embedding space. */
+    private final int d;
+    /** The root node. */
+    private final Node root;
+
+    /**
+     * The node of tree.
+     */
+    private class Node {
+        /** The center of cell. */
+        final double[] center;
+        /** The half width of cell. */
+        final double[] width;
+        /** The depth of node. */
+        final int depth;
+        /** The center of mass. */
+        final double[] mass;
+        /** The number of points in the cell. */
+        int size;
+        /** The points if the node is a leaf. */
+        int[] points = new int[1];
+        /** The number of points in the leaf. */
+        int count;
+        /** The children if the node is internal. */
+        Node[] children;
+
+        /**
+         * Constructor.
+         * @param center the center of cell.
+         * @param width the half width of cell.
+         * @param depth the depth of node.
+         */
+        Node(double[] center, double[] width, int depth) {
+            this.center = center;
+            this.width = width;
+            this.depth = depth;
+            this.mass = new double[d];
+        }
+
+        /**
+         * Inserts a point.
+         * @param i the index of point.
+         */
+        void insert(int i) {
+            double[] y = Y[i];
+            size++;
+            for (int k = 0; k < d; k++) {
+                mass[k] += (y[k] - mass[k]) / size;
+            }
+
+            if (children != null) {
+                child(y).insert(i);
+                return;
+            }
+
+            // A leaf holds a single point unless the points coincide.
+            if (count == 0 || depth >= MAX_DEPTH || Arrays.equals(y, Y[points[0]])) {
+                if (count == points.length) {
+                    points = Arrays.copyOf(points, 2 * count);
+                }
+                points[count++] = i;
+                return;
+            }
+
+            children = new Node[1 << d];
+            for (int c = 0; c < children.length; c++) {
+                double[] cc = new double[d];
+                double[] cw = new double[d];
+                for (int k = 0; k < d; k++) {
+                    cw[k] = 0.5 * width[k];
+                    cc[k] = ((c >> k) & 1) == 0 ? center[k] - cw[k] : center[k] + cw[k];
+                }
+                children[c] = new Node(cc, cw, depth + 1);
+            }
+
+            for (int j = 0; j < count; j++) {
+                child(Y[points[j]]).insert(points[j]);
+            }
+            points = null;
+            count = 0;
+            child(y).insert(i);
+        }
+
+        /** Returns the child cell containing a point. */
+        Node child(double[] y) {
+            int c = 0;
+            for (int k = 0; k < d; k++) {
+                if (y[k] > center[k]) c |= 1 << k;
+            }
+            return children[c];
+        }
+    }
+
+    /**
+     * Constructor.
+     * @param Y the embedding coordinates.
+     */
+    SPTree(double[][] Y) {
+        this.Y = Y;
+        this.d = Y[0].length;
+
+        double[] min = new double[d];
+        double[] max = new double[d];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        for (double[] y : Y) {
+            for (int k = 0; k < d; k++) {
+                min[k] = Math.min(min[k], y[k]);
+                max[k] = Math.max(max[k], y[k]);
+            }
+        }
+
+        double[] center = new double[d];
+        double[] width = new double[d];
+        for (int k = 0; k < d; k++) {
+            center[k] = 0.5 * (min[k] + max[k]);
+            width[k] = Math.max(0.5 * (max[k] - min[k]), 1E-5) * (1 + 1E-5);
+        }
+
+        root = new Node(center, width, 0);
+        for (int i = 0; i < Y.length; i++) {
+            root.insert(i);
+        }
+    }
+
+    /**
+     * Computes the repulsive forces on a point. The force is the negative
+     * gradient of the unnormalized Student t-kernel, which is to be divided
+     * by the normalization term, i.e. the sum of kernel values over all pairs.
+     *
+     * @param i the index of point.
+     * @param theta the accuracy of approximation. A cell is summarized by
+     *              its center of mass if its half width over the distance
+     *              to the point is less than theta.
+     * @param force the output repulsive force.
+     * @return the sum of kernel values between the point and all other points.
+     */
+    double repulsive(int i, double theta, double[] force) {
+        Arrays.fill(force, 0.0);
+        return repulsive(root, i, Y[i], theta * theta, force);
+    }
+
+    /**
+     * Computes the repulsive forces from the points in a cell.
+     * @param node the node of cell.
+     * @param i the index of point.
+     * @param y the coordinates of point.
+     * @param theta2 the squared accuracy of approximation.
+     * @param force the output repulsive force.
+     * @return the sum of kernel values between the point and the points in the cell.
+     */
+    private double repulsive(Node node, int i, double[] y, double theta2, double[] force) {
+        if (node.size == 0) return 0.0;
+
+        if (node.children == null) {
+            double sum = 0.0;
+            for (int j = 0; j < node.count; j++) {
+                int p = node.points[j];
+                if (p == i) continue;
+                double[] yj = Y[p];
+                double dist = 0.0;
+                for (int k = 0; k < d; k++) {
+                    double diff = y[k] - yj[k];
+                    dist += diff * diff;
+                }
+                double q = 1.0 / (1.0 + dist);
+                sum += q;
+                q *= q;
+                for (int k = 0; k < d; k++) {
+                    force[k] += q * (y[k] - yj[k]);
+                }
+            }
+            return sum;
+        }
+
+        double dist = 0.0;
+        double maxWidth = 0.0;
+        for (int k = 0; k < d; k++) {
+            double diff = y[k] - node.mass[k];
+            dist += diff * diff;
+            maxWidth = Math.max(maxWidth, node.width[k]);
+        }
+
+        if (maxWidth * maxWidth < theta2 * dist) {
+            double q = 1.0 / (1.0 + dist);
+            double sum = node.size * q;
+            double mult = sum * q;
+            for (int k = 0; k < d; k++) {
+                force[k] += mult * (y[k] - node.mass[k]);
+            }
+            return sum;
+        }
+
+        double sum = 0.0;
+        for (Node child : node.children) {
+            sum += repulsive(child, i, y, theta2, force);
+        }
+        return sum;
+    }
+}
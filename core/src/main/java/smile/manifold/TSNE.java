@@ -21,7 +21,9 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Properties;
 import java.util.stream.IntStream;
+import smile.graph.NearestNeighborGraph;
 import smile.math.MathEx;
+import smile.sort.QuickSort;
 import smile.stat.distribution.GaussianDistribution;
 import smile.util.AlgoStatus;
 import smile.util.IterativeAlgorithmController;
@@ -71,6 +73,8 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
     @Serial
     private static final long serialVersionUID = 3L;
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TSNE.class);
+    /** Large data size threshold of approximate nearest neighbor graph. */
+    private static final int LARGE_DATA_SIZE = 10000;
 
     /**
      * The t-SNE hyperparameters.
@@ -104,12 +108,20 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
      * @param momentumSwitchIter the number of iterations at which switch the
      *                           momentum to finalMomentum.
      * @param minGain the floor of gain.
+     * @param theta the accuracy of Barnes-Hut approximation. If 0, the exact
+     *              gradient is computed with O(n<sup>2</sup>) time and memory.
+     *              Otherwise, the input affinities are computed on the
+     *              approximate nearest neighbor graph, and the repulsive
+     *              forces are approximated by Barnes-Hut algorithm, which
+     *              takes O(n log n) time and O(n * perplexity) memory.
+     *              Larger value is faster but less accurate. 0.5 is a
+     *              good choice for large datasets.
      * @param controller the optional training controller.
      */
     public record Options(int d, double perplexity, double eta, double earlyExaggeration,
                           int maxIter, int maxIterWithoutProgress, double tol,
                           double momentum, double finalMomentum, int momentumSwitchIter,
-                          double minGain, IterativeAlgorithmController<AlgoStatus> controller) {
+                          double minGain, double theta, IterativeAlgorithmController<AlgoStatus> controller) {
         /** Constructor. */
         public Options {
             if (d < 2) {
@@ -145,6 +157,34 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
             if (minGain <= 0) {
                 throw new IllegalArgumentException("Invalid minimum gain: " + minGain);
             }
+            if (theta < 0 || theta >= 1) {
+                throw new IllegalArgumentException("Invalid Barnes-Hut accuracy: " + theta);
+            }
+        }
+
+        /**
+         * Constructor of exact t-SNE.
+         * @param d the dimension of embedding space.
+         * @param perplexity the perplexity of the conditional distribution.
+         * @param eta the learning rate.
+         * @param earlyExaggeration the early exaggeration factor.
+         * @param maxIter the maximum number of iterations.
+         * @param maxIterWithoutProgress Maximum number of iterations without progress
+         *                               before aborting the optimization.
+         * @param tol the tolerance of convergence test.
+         * @param momentum the momentum factor.
+         * @param finalMomentum the momentum in later stage.
+         * @param momentumSwitchIter the number of iterations at which switch the
+         *                           momentum to finalMomentum.
+         * @param minGain the floor of gain.
+         * @param controller the optional training controller.
+         */
+        public Options(int d, double perplexity, double eta, double earlyExaggeration,
+                       int maxIter, int maxIterWithoutProgress, double tol,
+                       double momentum, double finalMomentum, int momentumSwitchIter,
+                       double minGain, IterativeAlgorithmController<AlgoStatus> controller) {
+            this(d, perplexity, eta, earlyExaggeration, maxIter, maxIterWithoutProgress, tol,
+                    momentum, finalMomentum, momentumSwitchIter, minGain, 0.0, controller);
         }
 
         /**
@@ -169,7 +209,21 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
          * @param maxIter the maximum number of iterations. Should be at least 250.
          */
         public Options(int d, double perplexity, double eta, double earlyExaggeration, int maxIter) {
-            this(d, perplexity, eta, earlyExaggeration, maxIter, 50, 1E-7, 0.5, 0.8, Math.min(250, maxIter - 1), 0.01, null);
+            this(d, perplexity, eta, earlyExaggeration, maxIter, 0.0);
+        }
+
+        /**
+         * Constructor.
+         * @param d the dimension of embedding space.
+         * @param perplexity the perplexity of the conditional distribution.
+         * @param eta the learning rate.
+         * @param earlyExaggeration the early exaggeration factor.
+         * @param maxIter the maximum number of iterations. Should be at least 250.
+         * @param theta the accuracy of Barnes-Hut approximation. If 0, the exact
+         *              gradient is computed.
+         */
+        public Options(int d, double perplexity, double eta, double earlyExaggeration, int maxIter, double theta) {
+            this(d, perplexity, eta, earlyExaggeration, maxIter, 50, 1E-7, 0.5, 0.8, Math.min(250, maxIter - 1), 0.01, theta, null);
         }
 
         /**
@@ -189,6 +243,7 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
             props.setProperty("smile.t_sne.final_momentum", Double.toString(finalMomentum));
             props.setProperty("smile.t_sne.momentum_switch", Integer.toString(momentumSwitchIter));
             props.setProperty("smile.t_sne.min_gain", Double.toString(minGain));
+            props.setProperty("smile.t_sne.theta", Double.toString(theta));
             return props;
         }
 
@@ -210,8 +265,9 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
             double finalMomentum = Double.parseDouble(props.getProperty("smile.t_sne.final_momentum", "0.8"));
             int momentumSwitchIter = Integer.parseInt(props.getProperty("smile.t_sne.momentum_switch", "250"));
             double minGain = Double.parseDouble(props.getProperty("smile.t_sne.min_gain", "0.01"));
+            double theta = Double.parseDouble(props.getProperty("smile.t_sne.theta", "0"));
             return new Options(d, perplexity, eta, earlyExaggeration, maxIter, maxIterWithoutProgress, tol,
-                    momentum, finalMomentum, momentumSwitchIter, minGain, null);
+                    momentum, finalMomentum, momentumSwitchIter, minGain, theta, null);
         }
     }
 
@@ -227,7 +283,9 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
     }
 
     /**
-     * Fits t-SNE for given number of iterations.
+     * Fits t-SNE for given number of iterations. If {@code options.theta > 0},
+     * Barnes-Hut t-SNE is fitted, of which the input affinities are sparse
+     * on the nearest neighbor graph of {@code 3 * perplexity} neighbors.
      *
      * @param X the input data. If X is a square matrix, it is assumed to be
      *         the squared distance/dissimilarity matrix.
@@ -235,6 +293,10 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
      * @return the model.
      */
     public static TSNE fit(double[][] X, Options options) {
+        if (options.theta > 0) {
+            return barnesHut(X, options);
+        }
+
         double eta = options.eta;
         int n = X.length;
         int d = options.d;
@@ -355,6 +417,310 @@ public record TSNE(double cost, double[][] coordinates) implements Serializable
         return new TSNE(cost, coordinates);
     }
 
+    /**
+     * Fits Barnes-Hut t-SNE.
+     *
+     * @param X the input data. If X is a square matrix, it is assumed to be
+     *         the squared distance/dissimilarity matrix.
+     * @param options the hyperparameters.
+     * @return the model.
+     */
+    private static TSNE barnesHut(double[][] X, Options options) {
+        double eta = options.eta;
+        double theta = options.theta;
+        int n = X.length;
+        int d = options.d;
+        int k = Math.min(n - 1, (int) (3 * options.perplexity));
+        if (k < 2) {
+            throw new IllegalArgumentException("Too few samples for the perplexity: " + n);
+        }
+
+        // The squared distances to the nearest neighbors.
+        int[][] neighbors;
+        double[][] distances;
+        if (X.length == X[0].length) {
+            neighbors = new int[n][];
+            distances = new double[n][];
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double[] Di = X[i].clone();
+                int[] index = IntStream.range(0, n).toArray();
+                Di[i] = Double.POSITIVE_INFINITY;
+                QuickSort.sort(Di, index);
+                neighbors[i] = Arrays.copyOf(index, k);
+                distances[i] = Arrays.copyOf(Di, k);
+            });
+        } else {
+            NearestNeighborGraph nng = n <= LARGE_DATA_SIZE ?
+                    NearestNeighborGraph.of(X, k) :
+                    NearestNeighborGraph.descent(X, k);
+            neighbors = nng.neighbors();
+            distances = nng.distances();
+            for (double[] Di : distances) {
+                for (int j = 0; j < Di.length; j++) {
+                    Di[j] *= Di[j];
+                }
+            }
+        }
+
+        // The symmetric sparse affinities in compressed row format.
+        double[][] conditional = expd(neighbors, distances, options.perplexity, 1E-5);
+        int[] rowIndex = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j : neighbors[i]) {
+                if (j < 0) continue;
+                rowIndex[i + 1]++;
+                rowIndex[j + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            rowIndex[i + 1] += rowIndex[i];
+        }
+
+        int[] colIndex = new int[rowIndex[n]];
+        double[] P = new double[rowIndex[n]];
+        int[] pos = Arrays.copyOf(rowIndex, n);
+        for (int i = 0; i < n; i++) {
+            for (int l = 0; l < neighbors[i].length; l++) {
+                int j = neighbors[i][l];
+                if (j < 0) continue;
+                double p = conditional[i][l] / (2 * n);
+                colIndex[pos[i]] = j;
+                P[pos[i]++] = p;
+                colIndex[pos[j]] = i;
+                P[pos[j]++] = p;
+            }
+        }
+
+        // Merge the duplicate entries of mutual neighbors.
+        int nz = 0;
+        int[] rows = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int from = rowIndex[i];
+            int to = rowIndex[i + 1];
+            sort(colIndex, P, from, to);
+            for (int l = from; l < to; l++) {
+                if (nz > rows[i] && colIndex[nz - 1] == colIndex[l]) {
+                    P[nz - 1] += P[l];
+                } else {
+                    colIndex[nz] = colIndex[l];
+                    P[nz++] = P[l];
+                }
+            }
+            rows[i + 1] = nz;
+        }
+
+        double[][] coordinates = new double[n][d];
+        double[][] gains = new double[n][d];
+        GaussianDistribution gaussian = new GaussianDistribution(0.0, 0.0001);
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(gains[i], 1.0);
+            double[] Yi = coordinates[i];
+            for (int j = 0; j < d; j++) {
+                Yi[j] = gaussian.rand();
+            }
+        }
+
+        double[][] dY = new double[n][d];
+        double[][] dC = new double[n][d];
+        double[][] repulsive = new double[n][d];
+        double[] Zi = new double[n];
+
+        double cost = Double.MAX_VALUE;
+        double bestCost = cost;
+        int bestIter = 0;
+        double momentum = options.momentum;
+        double exaggeration = options.earlyExaggeration;
+        for (int iter = 1; iter <= options.maxIter; iter++) {
+            SPTree tree = new SPTree(coordinates);
+            IntStream.range(0, n).parallel().forEach(i -> Zi[i] = tree.repulsive(i, theta, repulsive[i]));
+            double Z = MathEx.sum(Zi);
+
+            final double alpha = exaggeration;
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double[] Yi = coordinates[i];
+                double[] dCi = dC[i];
+                double[] Fi = repulsive[i];
+                for (int l = 0; l < d; l++) {
+                    dCi[l] = -Fi[l] / Z;
+                }
+
+                for (int l = rows[i]; l < rows[i + 1]; l++) {
+                    double[] Yj = coordinates[colIndex[l]];
+                    double q = 1.0 / (1.0 + MathEx.squaredDistance(Yi, Yj));
+                    double z = alpha * P[l] * q;
+                    for (int m = 0; m < d; m++) {
+                        dCi[m] += z * (Yi[m] - Yj[m]);
+                    }
+                }
+
+                double[] dYi = dY[i];
+                double[] g = gains[i];
+                for (int m = 0; m < d; m++) {
+                    dCi[m] *= 4.0;
+                    g[m] = (Math.signum(dCi[m]) != Math.signum(dYi[m])) ? (g[m] + .2) : (g[m] * .8);
+                    if (g[m] < options.minGain) g[m] = options.minGain;
+                }
+            });
+
+            // gradient update with momentum and gains
+            final double mu = momentum;
+            double gradNorm = IntStream.range(0, n).parallel().mapToDouble(i -> {
+                double[] Yi = coordinates[i];
+                double[] dYi = dY[i];
+                double[] dCi = dC[i];
+                double[] g = gains[i];
+                double norm = 0;
+                for (int m = 0; m < d; m++) {
+                    dYi[m] = mu * dYi[m] - eta * g[m] * dCi[m];
+                    Yi[m] += dYi[m];
+                    norm = Math.max(norm, Math.abs(dYi[m] * g[m]));
+                }
+                return norm;
+            }).max().orElse(0);
+
+            if (iter == options.momentumSwitchIter) {
+                momentum = options.finalMomentum;
+                exaggeration = 1.0;
+            }
+
+            // Compute current value of cost function
+            if (iter % 10 == 0 || iter == options.maxIter) {
+                cost = IntStream.range(0, n).parallel().mapToDouble(i -> {
+                    double[] Yi = coordinates[i];
+                    double C = 0.0;
+                    for (int l = rows[i]; l < rows[i + 1]; l++) {
+                        double p = P[l];
+                        double q = 1.0 / (1.0 + MathEx.squaredDistance(Yi, coordinates[colIndex[l]])) / Z;
+                        if (Double.isNaN(q) || q < 1E-16) q = 1E-16;
+                        C += p * MathEx.log2(p / q);
+                    }
+                    return C;
+                }).sum();
+                logger.info("Iteration {}: error = {}", iter, cost);
+
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestIter = iter;
+                }
+
+                if (iter > options.momentumSwitchIter) {
+                    if (iter - bestIter > options.maxIterWithoutProgress) {
+                        logger.info("Iteration {}: did not make any progress in last {} episodes. Finished", iter, options.maxIterWithoutProgress);
+                        break;
+                    }
+
+                    if (gradNorm < options.tol) {
+                        logger.info("Iteration {}: gradient norm = {}. Finished", iter, gradNorm);
+                        break;
+                    }
+                }
+
+                if (options.controller != null) {
+                    options.controller.submit(new AlgoStatus(iter, cost));
+                    if (options.controller.isInterrupted()) break;
+                }
+            }
+        }
+
+        // Make solution zero-mean
+        double[] colMeans = MathEx.colMeans(coordinates);
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double[] Yi = coordinates[i];
+            for (int j = 0; j < d; j++) {
+                Yi[j] -= colMeans[j];
+            }
+        });
+
+        return new TSNE(cost, coordinates);
+    }
+
+    /**
+     * Sorts the entries of a sparse row by column index.
+     * @param index the column index.
+     * @param value the entry value.
+     * @param from the first entry of row, inclusive.
+     * @param to the last entry of row, exclusive.
+     */
+    private static void sort(int[] index, double[] value, int from, int to) {
+        // Insertion sort as rows are short.
+        for (int i = from + 1; i < to; i++) {
+            int j = index[i];
+            double v = value[i];
+            int l = i - 1;
+            while (l >= from && index[l] > j) {
+                index[l + 1] = index[l];
+                value[l + 1] = value[l];
+                l--;
+            }
+            index[l + 1] = j;
+            value[l + 1] = v;
+        }
+    }
+
+    /**
+     * Computes the conditional probabilities of nearest neighbors with
+     * the Gaussian kernel, of which the width is searched for given
+     * perplexity.
+     * @param neighbors the nearest neighbors.
+     * @param D the squared distances to the nearest neighbors.
+     * @param perplexity the perplexity.
+     * @param tol the tolerance of entropy.
+     * @return the conditional probabilities, each row sums to one.
+     */
+    private static double[][] expd(int[][] neighbors, double[][] D, double perplexity, double tol) {
+        int n = D.length;
+        double[][] P = new double[n][];
+        double logU = Math.log(perplexity);
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double[] Di = D[i];
+            int k = Di.length;
+            double[] Pi = new double[k];
+            P[i] = Pi;
+
+            // Shift distances by the minimum to avoid underflow.
+            double min = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < k; j++) {
+                if (neighbors[i][j] >= 0) min = Math.min(min, Di[j]);
+            }
+
+            double beta = 1.0;
+            double betamin = 0.0;
+            double betamax = Double.POSITIVE_INFINITY;
+            for (int iter = 0; iter < 200; iter++) {
+                double Pisum = 0.0;
+                double H = 0.0;
+                for (int j = 0; j < k; j++) {
+                    if (neighbors[i][j] < 0) continue;
+                    double d = beta * (Di[j] - min);
+                    double p = Math.exp(-d);
+                    Pi[j] = p;
+                    Pisum += p;
+                    H += p * d;
+                }
+
+                H = Math.log(Pisum) + H / Pisum;
+                double Hdiff = H - logU;
+                if (Math.abs(Hdiff) < tol) break;
+
+                if (Hdiff > 0) {
+                    betamin = beta;
+                    beta = Double.isInfinite(betamax) ? beta * 2.0 : (beta + betamax) / 2;
+                } else {
+                    betamax = beta;
+                    beta = (beta + betamin) / 2;
+                }
+            }
+
+            double Pisum = MathEx.sum(Pi);
+            for (int j = 0; j < k; j++) {
+                Pi[j] /= Pisum;
+            }
+        });
+
+        return P;
+    }
+
     /** Computes the gradients and updates the coordinates. */
     private static void sne(int i, double[][] Y, double[][] P, double[][] Q, double[][] gains, double[] dY, double[] dC, double Qsum, double minGain) {
         int n = Y.length;
@@ -108,6 +108,13 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
      */
     protected transient int[][] order;
 
+    /**
+     * The quantile-binned numeric columns for histogram-based split finding.
+     * If it is not null, the sample order index of numeric attributes is not
+     * used.
+     */
+    protected transient Bins bins;
+
     /**
      * The working buffer for reordering {@link #index} array.
      */
@@ -150,6 +157,28 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
      *              that only numeric attributes need be sorted.
      */
     public CART(DataFrame x, StructField y, int maxDepth, int maxNodes, int nodeSize, int mtry, int[] samples, int[][] order) {
+        this(x, y, maxDepth, maxNodes, nodeSize, mtry, samples, order, null);
+    }
+
+    /**
+     * Constructor.
+     * @param x the data frame of the explanatory variable.
+     * @param y the response variables.
+     * @param maxDepth the maximum depth of the tree.
+     * @param maxNodes the maximum number of leaf nodes in the tree.
+     * @param nodeSize the minimum size of leaf nodes.
+     * @param mtry the number of input variables to pick to split on at each
+     *             node. It seems that sqrt(p) give generally good performance,
+     *             where p is the number of variables.
+     * @param samples the sample set of instances for stochastic learning.
+     *               samples[i] is the number of sampling for instance i.
+     * @param order the index of training values in ascending order. Note
+     *              that only numeric attributes need be sorted.
+     * @param bins the quantile-binned numeric columns. If not null, the
+     *             histogram-based split finding is employed and the
+     *             parameter order is ignored.
+     */
+    public CART(DataFrame x, StructField y, int maxDepth, int maxNodes, int nodeSize, int mtry, int[] samples, int[][] order, Bins bins) {
         int n = x.nrow();
         int p = x.ncol();
 
@@ -190,8 +219,12 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
         this.index = idx.toArray();
 
         buffer  = new int[index.length];
+        this.bins = bins;
 
-        if (order == null) {
+        if (bins != null) {
+            // The histogram-based split finding doesn't need the sample order.
+            this.order = null;
+        } else if (order == null) {
             this.order = order(x);
         } else {
             this.order = new int[order.length][];
@@ -255,6 +288,7 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
     protected void clear() {
         this.x = null;
         this.order = null;
+        this.bins = null;
         this.index = null;
         this.samples = null;
         this.buffer = null;
@@ -303,8 +337,30 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
 
         shuffle(split.lo, mid, split.hi, trues);
 
-        Optional<Split> trueSplit = findBestSplit(trueChild, split.lo, mid, split.unsplittable.clone());
-        Optional<Split> falseSplit = findBestSplit(falseChild, mid, split.hi, split.unsplittable); // reuse parent's array
+        Optional<Split> trueSplit;
+        Optional<Split> falseSplit;
+        if (bins == null) {
+            trueSplit = findBestSplit(trueChild, split.lo, mid, split.unsplittable.clone());
+            falseSplit = findBestSplit(falseChild, mid, split.hi, split.unsplittable); // reuse parent's array
+        } else {
+            // Builds the histograms of the smaller child from the samples.
+            // The histograms of the larger child are obtained by subtracting
+            // those of the smaller sibling from the parent's histograms.
+            int p = schema.length();
+            double[][] parent = split.histograms;
+            double[][] trueHistograms = new double[p][];
+            double[][] falseHistograms = new double[p][];
+            boolean[] trueUnsplittable = split.unsplittable.clone();
+            if (trueSamples.length <= falseSamples.length) {
+                trueSplit = findBestSplit(trueChild, split.lo, mid, trueUnsplittable, trueHistograms, null, null);
+                falseSplit = findBestSplit(falseChild, mid, split.hi, split.unsplittable, falseHistograms, parent, trueHistograms);
+            } else {
+                falseSplit = findBestSplit(falseChild, mid, split.hi, split.unsplittable, falseHistograms, null, null);
+                trueSplit = findBestSplit(trueChild, split.lo, mid, trueUnsplittable, trueHistograms, parent, falseHistograms);
+            }
+            // The parent's histograms are not needed anymore.
+            split.histograms = null;
+        }
 
         // Prune the branch if both children are leaf nodes and of same output value.
         if (trueChild.equals(falseChild) && trueSplit.isEmpty() && falseSplit.isEmpty()) {
@@ -348,6 +404,25 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
      * @return the best split candidate.
      */
     protected Optional<Split> findBestSplit(LeafNode node, int lo, int hi, boolean[] unsplittable) {
+        double[][] histograms = bins == null ? null : new double[schema.length()][];
+        return findBestSplit(node, lo, hi, unsplittable, histograms, null, null);
+    }
+
+    /**
+     * Finds the best attribute to split on a set of samples. at the current node. Returns
+     * <code>Optional.empty</code> if a split doesn't exist to reduce the impurity.
+     * @param node the leaf node to split.
+     * @param lo the inclusive lower bound of the data partition in the reordered sample index array.
+     * @param hi the exclusive upper bound of the data partition in the reordered sample index array.
+     * @param unsplittable unsplittable[j] is true if the column j cannot be split further in the node.
+     * @param histograms the output histograms of binned columns in the node. It should be null
+     *                   if the histogram-based split finding is not employed.
+     * @param parent the histograms of parent node. May be null.
+     * @param sibling the histograms of sibling node. May be null.
+     * @return the best split candidate.
+     */
+    private Optional<Split> findBestSplit(LeafNode node, int lo, int hi, boolean[] unsplittable,
+                                          double[][] histograms, double[][] parent, double[][] sibling) {
         if (node.size() < 2 * nodeSize) {
             return Optional.empty(); // one child will have less than nodeSize samples.
         }
@@ -369,7 +444,19 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
         IntStream stream = Arrays.stream(columns).limit(mtry);
         Optional<Split> split = (mtry < p ? stream : stream.parallel()) // random forest is in parallel already
                 .mapToObj(j -> {
-                    Optional<Split> s = findBestSplit(node, j, impurity, lo, hi);
+                    Optional<Split> s;
+                    if (histograms != null && bins.isBinned(j)) {
+                        double[] histogram;
+                        if (parent != null && parent[j] != null && sibling != null && sibling[j] != null) {
+                            histogram = subtract(parent[j], sibling[j]);
+                        } else {
+                            histogram = histogram(j, lo, hi);
+                        }
+                        histograms[j] = histogram;
+                        s = findBestSplit(node, j, impurity, lo, hi, histogram);
+                    } else {
+                        s = findBestSplit(node, j, impurity, lo, hi);
+                    }
                     if (s.isEmpty()) unsplittable[j] = true;
                     return s;
                 })
@@ -377,10 +464,31 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
                 .map(Optional::get)
                 .max(Split.comparator);
 
-        split.ifPresent(s -> s.unsplittable = unsplittable);
+        split.ifPresent(s -> {
+            s.unsplittable = unsplittable;
+            // Keep the histograms for subtraction only if all columns
+            // are evaluated in every node. With random feature subsets,
+            // the children rarely evaluate the same columns as the parent
+            // and the retained histograms would mostly waste memory.
+            if (mtry == p) s.histograms = histograms;
+        });
         return split;
     }
 
+    /**
+     * Returns the histogram of sibling node by subtraction.
+     * @param parent the histogram of parent node.
+     * @param sibling the histogram of the other child.
+     * @return the histogram of sibling node.
+     */
+    private static double[] subtract(double[] parent, double[] sibling) {
+        double[] histogram = new double[parent.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = parent[i] - sibling[i];
+        }
+        return histogram;
+    }
+
     /**
      * Returns the impurity of node.
      * @param node the node to calculate the impurity.
@@ -406,6 +514,30 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
      */
     protected abstract Optional<Split> findBestSplit(LeafNode node, int column, double impurity, int lo, int hi);
 
+    /**
+     * Returns the histogram of the response statistics over the bins of
+     * given column in a node. The layout of histogram is specific to the
+     * tree type, but it must be additive so that the histogram of a node
+     * equals the sum of its children's histograms.
+     * @param column the binned column.
+     * @param lo the lower bound of sample index in the node.
+     * @param hi the upper bound of sample index in the node.
+     * @return the histogram.
+     */
+    protected abstract double[] histogram(int column, int lo, int hi);
+
+    /**
+     * Finds the best split for given binned column with the histogram.
+     * @param node the node to split.
+     * @param column the binned column to split on.
+     * @param impurity the impurity of node.
+     * @param lo the lower bound of sample index in the node.
+     * @param hi the upper bound of sample index in the node.
+     * @param histogram the histogram of the column in the node.
+     * @return the best split.
+     */
+    protected abstract Optional<Split> findBestSplit(LeafNode node, int column, double impurity, int lo, int hi, double[] histogram);
+
     /**
      * Returns the variable importance. Every time a split of a node is made
      * on variable the (GINI, information gain, etc.) impurity criterion for
@@ -492,9 +624,11 @@ public abstract class CART implements SHAP<Tuple>, Serializable {
     private void shuffle(int low, int split, int high, boolean[] predicate) {
         // Arrays.stream(order).filter(Objects::nonNull).forEach(o -> shuffle(o, low, split, high, predicate));
         // Use plain loop to avoid stream overhead
-        for (var column : order) {
-            if (column != null) {
-                shuffle(column, low, split, high, predicate);
+        if (order != null) {
+            for (var column : order) {
+                if (column != null) {
+                    shuffle(column, low, split, high, predicate);
+                }
             }
         }
         shuffle(index, low, split, high, predicate);
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.model.cart;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import smile.data.DataFrame;
+import smile.data.vector.ValueVector;
+
+/**
+ * A tree ensemble compiled into flat primitive arrays for fast batch
+ * inference. The nodes of all trees are laid out in depth-first preorder
+ * so that the true child of an internal node immediately follows it and
+ * only the index of false child is stored. Leaf nodes store the offset
+ * of their output values instead. Walking a tree is then a tight loop
+ * over a few primitive arrays without pointer chasing or virtual calls.
+ * <p>
+ * The ensemble output is a vector of {@code m} values per sample, which
+ * is the sum of per-tree contributions in the tree order starting from
+ * the bias. Each leaf holds {@code width} values that are scaled by the
+ * tree weight and added to the outputs starting at the tree's slot.
+ * For example, a regression forest has a single output and each tree
+ * contributes its leaf value. A random forest for classification has
+ * k outputs and each tree contributes its leaf posteriori probabilities.
+ * The gradient boosting of k classes has k outputs and each tree
+ * contributes a single value to the output of its class.
+ * <p>
+ * Batch scoring processes the samples in blocks. Within a block, every
+ * tree scores all samples before moving to the next tree so that the
+ * tree nodes stay in cache. The blocks are processed in parallel.
+ *
+ * @author Haifeng Li
+ */
+public class FlatForest implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /** The number of samples scored together per tree. */
+    private static final int BLOCK_SIZE = 256;
+
+    /** The root node index of each tree. */
+    private final int[] roots;
+    /** The split feature of each node. -1 for leaf nodes. */
+    private final int[] feature;
+    /** The split value of each internal node. */
+    private final double[] value;
+    /** True if the internal node splits on a nominal feature. */
+    private final boolean[] nominal;
+    /**
+     * The false child index of each internal node, or the offset of
+     * output values of each leaf node.
+     */
+    private final int[] next;
+    /** The output values of leaf nodes. */
+    private final double[] output;
+    /** The weight of each tree. */
+    private final double[] weight;
+    /** The first output slot of each tree. */
+    private final int[] slot;
+    /** The bias of outputs. */
+    private final double[] bias;
+    /** The number of output values of each leaf node. */
+    private final int width;
+    /** The number of features. */
+    private final int p;
+
+    /**
+     * Constructor.
+     * @param p the number of features.
+     * @param trees the root of trees.
+     * @param weight the weight of each tree.
+     * @param slot the first output slot of each tree.
+     * @param bias the bias of outputs, which also determines the number of outputs.
+     * @param width the number of output values of each leaf node.
+     * @param leaf the lambda to write the output values of a leaf node into the buffer.
+     */
+    public FlatForest(int p, Node[] trees, double[] weight, int[] slot, double[] bias, int width, BiConsumer<LeafNode, double[]> leaf) {
+        int ntrees = trees.length;
+        if (weight.length != ntrees || slot.length != ntrees) {
+            throw new IllegalArgumentException(String.format("The number of trees, weights and slots don't match: %d, %d, %d", ntrees, weight.length, slot.length));
+        }
+
+        for (int s : slot) {
+            if (s < 0 || s + width > bias.length) {
+                throw new IllegalArgumentException("Invalid output slot: " + s);
+            }
+        }
+
+        int leaves = 0;
+        for (Node tree : trees) {
+            leaves += tree.leaves();
+        }
+        int nodes = 2 * leaves - ntrees;
+
+        this.p = p;
+        this.width = width;
+        this.weight = weight.clone();
+        this.slot = slot.clone();
+        this.bias = bias.clone();
+        this.roots = new int[ntrees];
+        this.feature = new int[nodes];
+        this.value = new double[nodes];
+        this.nominal = new boolean[nodes];
+        this.next = new int[nodes];
+        this.output = new double[leaves * width];
+
+        Layout layout = new Layout(leaf);
+        for (int t = 0; t < ntrees; t++) {
+            roots[t] = layout.add(trees[t]);
+        }
+    }
+
+    /** The helper to lay out the nodes in preorder. */
+    private class Layout {
+        /** The number of nodes laid out. */
+        int size = 0;
+        /** The number of leaves laid out. */
+        int leaves = 0;
+        /** The lambda to produce leaf output. */
+        final BiConsumer<LeafNode, double[]> leaf;
+        /** The buffer of leaf output. */
+        final double[] buffer = new double[width];
+
+        Layout(BiConsumer<LeafNode, double[]> leaf) {
+            this.leaf = leaf;
+        }
+
+        /** Lays out a subtree and returns the index of its root. */
+        int add(Node node) {
+            int i = size++;
+            if (node instanceof InternalNode inode) {
+                feature[i] = inode.feature;
+                if (inode instanceof NominalNode n) {
+                    nominal[i] = true;
+                    value[i] = n.value;
+                } else {
+                    value[i] = ((OrdinalNode) inode).value;
+                }
+                add(inode.trueChild);
+                next[i] = add(inode.falseChild);
+            } else {
+                feature[i] = -1;
+                int offset = width * leaves++;
+                next[i] = offset;
+                Arrays.fill(buffer, 0.0);
+                leaf.accept((LeafNode) node, buffer);
+                System.arraycopy(buffer, 0, output, offset, width);
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Returns the number of trees.
+     * @return the number of trees.
+     */
+    public int size() {
+        return roots.length;
+    }
+
+    /**
+     * Returns the number of output values per sample.
+     * @return the number of output values per sample.
+     */
+    public int outputs() {
+        return bias.length;
+    }
+
+    /**
+     * Returns the total number of nodes of all trees.
+     * @return the total number of nodes.
+     */
+    public int nodes() {
+        return feature.length;
+    }
+
+    /**
+     * Returns the offset of leaf output values that the sample falls into.
+     * @param tree the tree index.
+     * @param x the sample.
+     * @return the offset of leaf output values.
+     */
+    private int leaf(int tree, double[] x) {
+        int node = roots[tree];
+        int f;
+        while ((f = feature[node]) >= 0) {
+            double xf = x[f];
+            boolean branch = nominal[node] ? xf == value[node] : xf <= value[node];
+            node = branch ? node + 1 : next[node];
+        }
+        return next[node];
+    }
+
+    /**
+     * Computes the outputs of a sample.
+     * @param x the sample.
+     * @param y the output values.
+     */
+    public void score(double[] x, double[] y) {
+        System.arraycopy(bias, 0, y, 0, bias.length);
+        for (int t = 0; t < roots.length; t++) {
+            int o = leaf(t, x);
+            double w = weight[t];
+            int s = slot[t];
+            for (int q = 0; q < width; q++) {
+                y[s + q] += w * output[o + q];
+            }
+        }
+    }
+
+    /**
+     * Computes the outputs of a block of samples.
+     * @param x the samples.
+     * @param from the index of first sample in x (inclusive).
+     * @param to the index of last sample in x (exclusive).
+     * @param y the output values in row major, with the outputs of
+     *          sample {@code i} starting at {@code (i - from + offset) * m}.
+     * @param offset the row offset in y.
+     */
+    private void score(double[][] x, int from, int to, double[] y, int offset) {
+        int m = bias.length;
+        for (int i = from; i < to; i++) {
+            System.arraycopy(bias, 0, y, (i - from + offset) * m, m);
+        }
+
+        for (int t = 0; t < roots.length; t++) {
+            double w = weight[t];
+            int s = slot[t];
+            for (int i = from; i < to; i++) {
+                int o = leaf(t, x[i]);
+                int yi = (i - from + offset) * m + s;
+                for (int q = 0; q < width; q++) {
+                    y[yi + q] += w * output[o + q];
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the outputs of samples.
+     * @param x the samples.
+     * @return the output values in row major, i.e. the outputs of
+     *         sample {@code i} are {@code y[i*m]} to {@code y[i*m + m - 1]}.
+     */
+    public double[] score(double[][] x) {
+        int n = x.length;
+        double[] y = new double[n * bias.length];
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(n, from + BLOCK_SIZE);
+            score(x, from, to, y, from);
+        });
+        return y;
+    }
+
+    /**
+     * Computes the outputs of samples in a data frame. The columns of
+     * data frame must be the predictors in the order of training data.
+     * The nominal variables should be encoded by their levels.
+     * @param data the predictors.
+     * @return the output values in row major, i.e. the outputs of
+     *         sample {@code i} are {@code y[i*m]} to {@code y[i*m + m - 1]}.
+     */
+    public double[] score(DataFrame data) {
+        if (data.ncol() != p) {
+            throw new IllegalArgumentException(String.format("Invalid number of columns: %d, expected: %d", data.ncol(), p));
+        }
+
+        int n = data.size();
+        ValueVector[] columns = new ValueVector[p];
+        for (int j = 0; j < p; j++) {
+            columns[j] = data.column(j);
+        }
+
+        double[] y = new double[n * bias.length];
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(n, from + BLOCK_SIZE);
+            // Transposes the block to row major without creating tuples.
+            double[][] x = new double[to - from][p];
+            for (int j = 0; j < p; j++) {
+                ValueVector column = columns[j];
+                for (int i = from; i < to; i++) {
+                    x[i - from][j] = column.getDouble(i);
+                }
+            }
+            score(x, 0, x.length, y, from);
+        });
+        return y;
+    }
+}
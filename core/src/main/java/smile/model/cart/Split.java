@@ -81,6 +81,13 @@ public abstract class Split {
      */
     boolean[] unsplittable;
 
+    /**
+     * The histograms of binned columns in the node to split, which are
+     * used to derive the histograms of children by subtraction in
+     * histogram-based split finding. Null if not available.
+     */
+    double[][] histograms;
+
     /** The depth of node in the tree. */
     int depth = 1;
 
@@ -83,6 +83,7 @@ import smile.util.function.DifferentiableMultivariateFunction;
 public class GaussianProcessRegression<T> implements Regression<T> {
     @Serial
     private static final long serialVersionUID = 2L;
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(GaussianProcessRegression.class);
 
     /**
      * The covariance/kernel function.
@@ -307,8 +308,13 @@ public class GaussianProcessRegression<T> implements Regression<T> {
      * @param normalize the flag if normalize the response variable.
      * @param tol the stopping tolerance for HPO.
      * @param maxIter the maximum number of iterations for HPO. No HPO if {@code maxIter <= 0}.
+     * @param cg the flag if solve the kernel system by the preconditioned
+     *           conjugate gradient method instead of Cholesky decomposition.
+     *           It takes O(n<sup>2</sup>) time per iteration rather than
+     *           O(n<sup>3</sup>) in total, but the model won't provide the
+     *           predictive variance and log marginal likelihood.
      */
-    public record Options(double noise, boolean normalize, double tol, int maxIter) {
+    public record Options(double noise, boolean normalize, double tol, int maxIter, boolean cg) {
         /** Constructor. */
         public Options {
             if (noise < 0.0) {
@@ -319,6 +325,17 @@ public class GaussianProcessRegression<T> implements Regression<T> {
             }
         }
 
+        /**
+         * Constructor.
+         * @param noise the noise variance, which also works as a regularization parameter.
+         * @param normalize the flag if normalize the response variable.
+         * @param tol the stopping tolerance for HPO.
+         * @param maxIter the maximum number of iterations for HPO. No HPO if {@code maxIter <= 0}.
+         */
+        public Options(double noise, boolean normalize, double tol, int maxIter) {
+            this(noise, normalize, tol, maxIter, false);
+        }
+
         /**
          * Constructor.
          * @param noise the noise variance, which also works as a regularization parameter.
@@ -346,6 +363,7 @@ public class GaussianProcessRegression<T> implements Regression<T> {
             props.setProperty("smile.gaussian_process.normalize", Boolean.toString(normalize));
             props.setProperty("smile.gaussian_process.tolerance", Double.toString(tol));
             props.setProperty("smile.gaussian_process.iterations", Integer.toString(maxIter));
+            props.setProperty("smile.gaussian_process.cg", Boolean.toString(cg));
             return props;
         }
 
@@ -360,7 +378,8 @@ public class GaussianProcessRegression<T> implements Regression<T> {
             boolean normalize = Boolean.parseBoolean(props.getProperty("smile.gaussian_process.normalize", "true"));
             double tol = Double.parseDouble(props.getProperty("smile.gaussian_process.tolerance", "1E-5"));
             int maxIter = Integer.parseInt(props.getProperty("smile.gaussian_process.iterations", "0"));
-            return new Options(noise, normalize, tol, maxIter);
+            boolean cg = Boolean.parseBoolean(props.getProperty("smile.gaussian_process.cg", "false"));
+            return new Options(noise, normalize, tol, maxIter, cg);
         }
     }
 
@@ -429,6 +448,16 @@ public class GaussianProcessRegression<T> implements Regression<T> {
             K.add(i, i, noise);
         }
 
+        if (options.cg) {
+            Vector w = K.vector(n);
+            double tol = 1E-8;
+            double error = ConjugateGradient.solve(K, Vector.column(y), w, Preconditioner.Jacobi(K), tol, 2 * n);
+            if (error > tol) {
+                logger.warn("Conjugate gradient doesn't converge: relative residual {} > {}. Consider Cholesky decomposition.", error, tol);
+            }
+            return new GaussianProcessRegression<>(kernel, x, w, noise, mean, std, null, Double.NaN);
+        }
+
         Cholesky cholesky = K.cholesky();
         Vector w = cholesky.solve(y);
 
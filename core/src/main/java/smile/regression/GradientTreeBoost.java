@@ -133,6 +133,11 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
      */
     private final double[] importance;
 
+    /**
+     * The trees compiled into flat arrays for batch inference, built on demand.
+     */
+    private transient FlatForest flat;
+
     /**
      * The shrinkage parameter in (0, 1] controls the learning rate of procedure.
      */
@@ -178,9 +183,14 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
      * @param subsample the sampling fraction for stochastic tree boosting.
      * @param test the optional test data for validation per epoch.
      * @param controller the optional training controller.
+     * @param bins the maximum number of quantile bins per numeric feature
+     *             for histogram-based split finding, which is much faster
+     *             and takes much less memory than the exact split finding
+     *             on large data. It should be at most 256. 0 means the
+     *             exact split finding.
      */
     public record Options(Loss loss, int ntrees, int maxDepth, int maxNodes, int nodeSize, double shrinkage, double subsample,
-                          DataFrame test, IterativeAlgorithmController<TrainingStatus> controller) {
+                          DataFrame test, IterativeAlgorithmController<TrainingStatus> controller, int bins) {
         /** Constructor. */
         public Options {
             if (ntrees < 1) {
@@ -206,6 +216,28 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
             if (subsample <= 0 || subsample > 1) {
                 throw new IllegalArgumentException("Invalid sampling fraction: " + subsample);
             }
+
+            if (bins != 0 && (bins < 2 || bins > Bins.MAX_BINS)) {
+                throw new IllegalArgumentException("Invalid number of bins: " + bins);
+            }
+        }
+
+        /**
+         * Constructor with the exact split finding.
+         * @param loss loss function for regression.
+         * @param ntrees the number of iterations (trees).
+         * @param maxDepth the maximum depth of the tree.
+         * @param maxNodes the maximum number of leaf nodes in the tree.
+         * @param nodeSize the minimum size of leaf nodes.
+         *                 Setting nodeSize = 5 generally gives good results.
+         * @param shrinkage the shrinkage parameter in (0, 1] controls the learning rate of procedure.
+         * @param subsample the sampling fraction for stochastic tree boosting.
+         * @param test the optional test data for validation per epoch.
+         * @param controller the optional training controller.
+         */
+        public Options(Loss loss, int ntrees, int maxDepth, int maxNodes, int nodeSize, double shrinkage, double subsample,
+                       DataFrame test, IterativeAlgorithmController<TrainingStatus> controller) {
+            this(loss, ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, test, controller, 0);
         }
 
         /**
@@ -238,6 +270,7 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
             props.setProperty("smile.gradient_boost.node_size", Integer.toString(nodeSize));
             props.setProperty("smile.gradient_boost.shrinkage", Double.toString(shrinkage));
             props.setProperty("smile.gradient_boost.sampling_rate", Double.toString(subsample));
+            props.setProperty("smile.gradient_boost.bins", Integer.toString(bins));
             return props;
         }
 
@@ -255,7 +288,8 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
             int nodeSize = Integer.parseInt(props.getProperty("smile.gradient_boost.node_size", "5"));
             double shrinkage = Double.parseDouble(props.getProperty("smile.gradient_boost.shrinkage", "0.05"));
             double subsample = Double.parseDouble(props.getProperty("smile.gradient_boost.sampling_rate", "0.7"));
-            return new Options(loss, ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, null, null);
+            int bins = Integer.parseInt(props.getProperty("smile.gradient_boost.bins", "0"));
+            return new Options(loss, ntrees, maxDepth, maxNodes, nodeSize, shrinkage, subsample, null, null, bins);
         }
     }
 
@@ -289,7 +323,8 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
         var shrinkage = options.shrinkage;
         final int n = x.size();
         final int N = (int) Math.round(n * options.subsample);
-        final int[][] order = CART.order(x);
+        final Bins bins = options.bins > 0 ? Bins.of(x, options.bins) : null;
+        final int[][] order = bins == null ? CART.order(x) : null;
 
         int[] permutation = IntStream.range(0, n).toArray();
         int[] samples = new int[n];
@@ -316,7 +351,7 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
                 samples[permutation[i]]++;
             }
 
-            trees[t] = new RegressionTree(x, loss, field, options.maxDepth, options.maxNodes, options.nodeSize, x.ncol(), samples, order);
+            trees[t] = new RegressionTree(x, loss, field, options.maxDepth, options.maxNodes, options.nodeSize, x.ncol(), samples, order, bins);
 
             for (int i = 0; i < n; i++) {
                 residual[i] -= shrinkage * trees[t].predict(x.get(i));
@@ -358,6 +393,49 @@ public class GradientTreeBoost implements DataFrameRegression, TreeSHAP {
         return new GradientTreeBoost(formula, trees, b, shrinkage, importance);
     }
 
+    /**
+     * Compiles the trees into flat primitive arrays for fast batch inference.
+     * The compiled forest outputs the same predictions as the model.
+     * @return the compiled forest.
+     */
+    public FlatForest compile() {
+        int ntrees = trees.length;
+        Node[] roots = Arrays.stream(trees).map(CART::root).toArray(Node[]::new);
+        double[] weight = new double[ntrees];
+        Arrays.fill(weight, shrinkage);
+        return new FlatForest(schema().length(), roots, weight, new int[ntrees], new double[]{b}, 1,
+                (leaf, y) -> y[0] = ((RegressionNode) leaf).output());
+    }
+
+    /**
+     * Returns the compiled forest, which is built on the first call.
+     * @return the compiled forest.
+     */
+    private FlatForest flat() {
+        // Benign race: concurrent callers may compile the same forest twice.
+        if (flat == null) {
+            flat = compile();
+        }
+        return flat;
+    }
+
+    /**
+     * Predicts the dependent variables of a batch of samples with
+     * the compiled trees.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @return the predicted values.
+     */
+    public double[] predict(double[][] x) {
+        return flat().score(x);
+    }
+
+    @Override
+    public double[] predict(DataFrame data) {
+        return flat().score(formula.x(data));
+    }
+
     @Override
     public Formula formula() {
         return formula;
@@ -29,8 +29,12 @@ import smile.data.type.StructType;
 import smile.data.vector.ValueVector;
 import smile.feature.importance.TreeSHAP;
 import smile.math.MathEx;
+import smile.model.cart.Bins;
 import smile.model.cart.CART;
+import smile.model.cart.FlatForest;
 import smile.model.cart.Loss;
+import smile.model.cart.Node;
+import smile.model.cart.RegressionNode;
 import smile.util.IterativeAlgorithmController;
 import smile.validation.RegressionMetrics;
 
@@ -117,6 +121,11 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
      */
     private final double[] importance;
 
+    /**
+     * The trees compiled into flat arrays for batch inference, built on demand.
+     */
+    private transient FlatForest flat;
+
     /**
      * Constructor.
      * @param formula a symbolic description of the model to be fitted.
@@ -154,9 +163,14 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
      *                  replacement. {@code < 1.0} means sampling without replacement.
      * @param seeds optional RNG seeds for each regression tree.
      * @param controller the optional training controller.
+     * @param bins the maximum number of quantile bins per numeric feature
+     *             for histogram-based split finding, which is much faster
+     *             and takes much less memory than the exact split finding
+     *             on large data. It should be at most 256. 0 means the
+     *             exact split finding.
      */
     public record Options(int ntrees, int mtry, int maxDepth, int maxNodes, int nodeSize, double subsample,
-                          long[] seeds, IterativeAlgorithmController<TrainingStatus> controller) {
+                          long[] seeds, IterativeAlgorithmController<TrainingStatus> controller, int bins) {
         /** Constructor. */
         public Options {
             if (ntrees < 1) {
@@ -178,6 +192,30 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
             if (seeds != null && seeds.length < ntrees) {
                 throw new IllegalArgumentException("The number of RNG seeds is fewer than that of trees: " + seeds.length);
             }
+
+            if (bins != 0 && (bins < 2 || bins > Bins.MAX_BINS)) {
+                throw new IllegalArgumentException("Invalid number of bins: " + bins);
+            }
+        }
+
+        /**
+         * Constructor with the exact split finding.
+         * @param ntrees the number of trees.
+         * @param mtry the number of input variables to be used to determine the
+         *             decision at a node of the tree. p/3 generally give good
+         *             performance, where p is the number of variables.
+         * @param maxDepth the maximum depth of the tree.
+         * @param maxNodes the maximum number of leaf nodes in the tree.
+         * @param nodeSize the minimum size of leaf nodes.
+         *                 Setting nodeSize = 5 generally gives good results.
+         * @param subsample the sampling rate for training tree. 1.0 means sampling with
+         *                  replacement. {@code < 1.0} means sampling without replacement.
+         * @param seeds optional RNG seeds for each regression tree.
+         * @param controller the optional training controller.
+         */
+        public Options(int ntrees, int mtry, int maxDepth, int maxNodes, int nodeSize, double subsample,
+                       long[] seeds, IterativeAlgorithmController<TrainingStatus> controller) {
+            this(ntrees, mtry, maxDepth, maxNodes, nodeSize, subsample, seeds, controller, 0);
         }
 
         /**
@@ -211,6 +249,7 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
             props.setProperty("smile.random_forest.max_nodes", Integer.toString(maxNodes));
             props.setProperty("smile.random_forest.node_size", Integer.toString(nodeSize));
             props.setProperty("smile.random_forest.sampling_rate", Double.toString(subsample));
+            props.setProperty("smile.random_forest.bins", Integer.toString(bins));
             return props;
         }
 
@@ -227,7 +266,8 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
             int maxNodes = Integer.parseInt(props.getProperty("smile.random_forest.max_nodes", "0"));
             int nodeSize = Integer.parseInt(props.getProperty("smile.random_forest.node_size", "5"));
             double subsample = Double.parseDouble(props.getProperty("smile.random_forest.sampling_rate", "1.0"));
-            return new Options(ntrees, mtry, maxDepth, maxNodes, nodeSize, subsample, null, null);
+            int bins = Integer.parseInt(props.getProperty("smile.random_forest.bins", "0"));
+            return new Options(ntrees, mtry, maxDepth, maxNodes, nodeSize, subsample, null, null, bins);
         }
     }
 
@@ -269,7 +309,8 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
         final int n = x.size();
         double[] prediction = new double[n];
         int[] oob = new int[n];
-        final int[][] order = CART.order(x);
+        final Bins bins = options.bins > 0 ? Bins.of(x, options.bins) : null;
+        final int[][] order = bins == null ? CART.order(x) : null;
 
         // train trees with parallel stream
         Model[] models = IntStream.range(0, ntrees).parallel().mapToObj(t -> {
@@ -292,7 +333,7 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
             }
 
             long start = System.nanoTime();
-            RegressionTree tree = new RegressionTree(x, Loss.ls(y), field, options.maxDepth, maxNodes, options.nodeSize, mtry, samples, order);
+            RegressionTree tree = new RegressionTree(x, Loss.ls(y), field, options.maxDepth, maxNodes, options.nodeSize, mtry, samples, order, bins);
             double fitTime = (System.nanoTime() - start) / 1E6;
 
             // estimate OOB metrics
@@ -356,6 +397,57 @@ public class RandomForest implements DataFrameRegression, TreeSHAP {
         return importance;
     }
 
+    /**
+     * Compiles the forest into flat primitive arrays for fast batch
+     * inference. The compiled forest outputs the sum of tree predictions.
+     * @return the compiled forest.
+     */
+    public FlatForest compile() {
+        int ntrees = models.length;
+        Node[] roots = Arrays.stream(models).map(model -> model.tree.root()).toArray(Node[]::new);
+        double[] weight = new double[ntrees];
+        Arrays.fill(weight, 1.0);
+        return new FlatForest(schema().length(), roots, weight, new int[ntrees], new double[1], 1,
+                (leaf, y) -> y[0] = ((RegressionNode) leaf).output());
+    }
+
+    /**
+     * Returns the compiled forest, which is built on the first call.
+     * @return the compiled forest.
+     */
+    private FlatForest flat() {
+        // Benign race: concurrent callers may compile the same forest twice.
+        if (flat == null) {
+            flat = compile();
+        }
+        return flat;
+    }
+
+    /**
+     * Predicts the dependent variables of a batch of samples with
+     * the compiled forest.
+     * @param x the predictors of samples, which must be in the order
+     *          of {@link #schema()} with nominal variables encoded by
+     *          their levels.
+     * @return the predicted values.
+     */
+    public double[] predict(double[][] x) {
+        double[] y = flat().score(x);
+        for (int i = 0; i < y.length; i++) {
+            y[i] /= models.length;
+        }
+        return y;
+    }
+
+    @Override
+    public double[] predict(DataFrame data) {
+        double[] y = flat().score(formula.x(data));
+        for (int i = 0; i < y.length; i++) {
+            y[i] /= models.length;
+        }
+        return y;
+    }
+
     @Override
     public Formula formula() {
         return formula;
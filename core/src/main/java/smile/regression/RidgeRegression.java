@@ -22,8 +22,13 @@ import smile.data.DataFrame;
 import smile.data.formula.Formula;
 import smile.data.type.StructType;
 import smile.math.MathEx;
+import smile.linalg.Transpose;
 import smile.tensor.Cholesky;
+import smile.tensor.ConjugateGradient;
 import smile.tensor.DenseMatrix;
+import smile.tensor.Matrix;
+import smile.tensor.Preconditioner;
+import smile.tensor.ScalarType;
 import smile.tensor.Vector;
 import smile.util.Strings;
 import static smile.linalg.UPLO.*;
@@ -72,6 +77,8 @@ import static smile.linalg.UPLO.*;
  * @author Haifeng Li
  */
 public class RidgeRegression {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RidgeRegression.class);
+
     /** Private constructor to prevent object creation. */
     private RidgeRegression() {
 
@@ -85,8 +92,12 @@ public class RidgeRegression {
      *               be 1 so that its value is applied to all variables.
      * @param beta0 the generalized ridge penalty target. Its length may
      *              be 1 so that its value is applied to all variables.
+     * @param cg the flag if solve the normal equations by the preconditioned
+     *           conjugate gradient method without forming {@code X'X}.
+     *           Each iteration takes O(np) time instead of O(np<sup>2</sup>
+     *           + p<sup>3</sup>) of Cholesky decomposition in total.
      */
-    public record Options(double[] lambda, double[] beta0) {
+    public record Options(double[] lambda, double[] beta0, boolean cg) {
         /** Constructor. */
         public Options {
             for (var value : lambda) {
@@ -96,6 +107,15 @@ public class RidgeRegression {
             }
         }
 
+        /**
+         * Constructor.
+         * @param lambda the shrinkage/regularization parameter.
+         * @param beta0 the generalized ridge penalty target.
+         */
+        public Options(double[] lambda, double[] beta0) {
+            this(lambda, beta0, false);
+        }
+
         /**
          * Constructor.
          * @param lambda the shrinkage/regularization parameter.
@@ -127,6 +147,7 @@ public class RidgeRegression {
             Properties props = new Properties();
             props.setProperty("smile.ridge.lambda", Arrays.toString(lambda));
             props.setProperty("smile.ridge.beta0", Arrays.toString(beta0));
+            props.setProperty("smile.ridge.cg", Boolean.toString(cg));
             return props;
         }
 
@@ -139,10 +160,11 @@ public class RidgeRegression {
         public static Options of(Properties props) {
             var lambda = props.getProperty("smile.ridge.lambda", "1");
             var beta0 = props.getProperty("smile.ridge.beta0", "0");
+            boolean cg = Boolean.parseBoolean(props.getProperty("smile.ridge.cg", "false"));
             try {
-                return new Options(Double.parseDouble(lambda), Double.parseDouble(beta0));
+                return new Options(new double[]{Double.parseDouble(lambda)}, new double[]{Double.parseDouble(beta0)}, cg);
             } catch (Exception e) {
-                return new Options(Strings.parseDoubleArray(lambda), Strings.parseDoubleArray(beta0));
+                return new Options(Strings.parseDoubleArray(lambda), Strings.parseDoubleArray(beta0), cg);
             }
         }
     }
@@ -243,14 +265,26 @@ public class RidgeRegression {
             w.add(i, lambda[i] * beta0[i]);
         }
 
-        DenseMatrix XtX = XtW.mm(scaledX);
-        XtX.withUplo(LOWER);
-        for (int i = 0; i < XtX.nrow(); i++) {
-            XtX.add(i, i, lambda[i]);
+        if (options.cg) {
+            NormalEquation A = new NormalEquation(XtW, scaledX, lambda);
+            Vector b = w;
+            w = b.zeros(p);
+            double tol = 1E-10;
+            double error = ConjugateGradient.solve(A, b, w, A, tol, 10 * p);
+            if (error > tol) {
+                logger.warn("Conjugate gradient doesn't converge: relative residual {} > {}. Consider Cholesky decomposition.", error, tol);
+            }
+        } else {
+            DenseMatrix XtX = XtW.mm(scaledX);
+            XtX.withUplo(LOWER);
+            for (int i = 0; i < XtX.nrow(); i++) {
+                XtX.add(i, i, lambda[i]);
+            }
+
+            Cholesky cholesky = XtX.cholesky();
+            cholesky.solve(w);
         }
 
-        Cholesky cholesky = XtX.cholesky();
-        cholesky.solve(w);
         for (int j = 0; j < p; j++) {
             w.div(j, scale.get(j));
         }
@@ -258,4 +292,128 @@ public class RidgeRegression {
         double b = MathEx.mean(y) - w.dot(center);
         return new LinearModel(formula, schema, X, y, w, b);
     }
+
+    /**
+     * The matrix-free operator {@code X'WX + diag(lambda)} of the normal
+     * equations with Jacobi preconditioner.
+     */
+    private static class NormalEquation implements Matrix, Preconditioner {
+        /** The weighted transpose of design matrix X'W. */
+        final DenseMatrix XtW;
+        /** The design matrix. */
+        final DenseMatrix X;
+        /** The shrinkage parameters. */
+        final double[] lambda;
+        /** The diagonal of X'WX + diag(lambda). */
+        final double[] diag;
+        /** X * x */
+        final Vector Xx;
+
+        /**
+         * Constructor.
+         */
+        NormalEquation(DenseMatrix XtW, DenseMatrix X, double[] lambda) {
+            this.XtW = XtW;
+            this.X = X;
+            this.lambda = lambda;
+            this.Xx = X.vector(X.nrow());
+
+            int n = X.nrow();
+            int p = X.ncol();
+            diag = new double[p];
+            for (int i = 0; i < p; i++) {
+                double d = lambda[i];
+                for (int j = 0; j < n; j++) {
+                    d += XtW.get(i, j) * X.get(j, i);
+                }
+                diag[i] = d;
+            }
+        }
+
+        @Override
+        public int nrow() {
+            return lambda.length;
+        }
+
+        @Override
+        public int ncol() {
+            return lambda.length;
+        }
+
+        @Override
+        public ScalarType scalarType() {
+            return X.scalarType();
+        }
+
+        @Override
+        public void mv(Vector x, Vector y) {
+            X.mv(x, Xx);
+            XtW.mv(Xx, y);
+            for (int i = 0; i < lambda.length; i++) {
+                y.add(i, lambda[i] * x.get(i));
+            }
+        }
+
+        @Override
+        public void tv(Vector x, Vector y) {
+            mv(x, y);
+        }
+
+        @Override
+        public void solve(Vector b, Vector x) {
+            for (int i = 0; i < diag.length; i++) {
+                x.set(i, b.get(i) / diag[i]);
+            }
+        }
+
+        @Override
+        public void mv(Transpose trans, double alpha, Vector x, double beta, Vector y) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double get(int i, int j) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(int i, int j, double x) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(int i, int j, double x) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sub(int i, int j, double x) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void mul(int i, int j, double x) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void div(int i, int j, double x) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Matrix scale(double alpha) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Matrix copy() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Matrix transpose() {
+            return this;
+        }
+    }
 }
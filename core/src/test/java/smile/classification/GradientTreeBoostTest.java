@@ -116,6 +116,27 @@ public class GradientTreeBoostTest {
         assertEquals(0.5000, result.accuracy(), 1E-4);
     }
 
+    @Test
+    public void testCompiledIris() throws Exception {
+        System.out.println("Compiled Iris");
+
+        var iris = new Iris();
+        var options = new Options(50, 20, 6, 5, 0.05, 0.7, null, null);
+        GradientTreeBoost model = GradientTreeBoost.fit(iris.formula(), iris.data(), options);
+
+        double[][] x = iris.x();
+        int n = x.length;
+        double[][] posteriori = new double[n][3];
+        int[] batch = model.predict(x, posteriori);
+        assertArrayEquals(batch, model.predict(iris.data()));
+
+        double[] prob = new double[3];
+        for (int i = 0; i < n; i++) {
+            assertEquals(model.predict(iris.data().get(i), prob), batch[i]);
+            assertArrayEquals(prob, posteriori[i], 1E-12);
+        }
+    }
+
     @Test
     public void testIris() throws Exception {
         System.out.println("Iris");
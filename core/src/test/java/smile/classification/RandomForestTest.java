@@ -174,6 +174,31 @@ public class RandomForestTest {
         assertEquals(0.9533, metrics.accuracy(), 1E-4);
     }
 
+    @Test
+    public void testCompiledIris() throws Exception {
+        System.out.println("Compiled Iris");
+
+        MathEx.setSeed(19650218); // to get repeatable results.
+        var iris = new Iris();
+        var options = new Options(50, 3, SplitRule.GINI, 20, 100, 5, 1.0, null, seeds, null);
+        RandomForest model = RandomForest.fit(iris.formula(), iris.data(), options);
+
+        double[][] x = iris.x();
+        int n = x.length;
+        double[][] posteriori = new double[n][3];
+        int[] soft = model.predict(x, posteriori);
+        int[] hard = model.predict(x);
+        assertArrayEquals(hard, model.predict(iris.data()));
+
+        double[] prob = new double[3];
+        for (int i = 0; i < n; i++) {
+            var xi = iris.data().get(i);
+            assertEquals(model.predict(xi), hard[i]);
+            assertEquals(model.predict(xi, prob), soft[i]);
+            assertArrayEquals(prob, posteriori[i], 1E-12);
+        }
+    }
+
     @Test
     public void testPenDigits() throws Exception {
         System.out.println("Pen Digits");
@@ -201,6 +226,21 @@ public class RandomForestTest {
         assertEquals(0.9541, result.avg().accuracy(), 1E-4);
     }
 
+    @Test
+    public void testBreastCancerHistogram() throws Exception {
+        System.out.println("Breast Cancer with histogram-based split");
+
+        MathEx.setSeed(19650218); // to get repeatable results for cross validation.
+        var cancer = new BreastCancer();
+        var options = new Options(100, 5, SplitRule.GINI, 20, 100, 5, 1.0, null, seeds, null, 64);
+        var result = CrossValidation.classification(10, cancer.formula(), cancer.data(),
+                (f, x) -> RandomForest.fit(f, x, options));
+
+        System.out.println(result);
+        // The approximate splits should be about as good as the exact ones.
+        assertEquals(0.9541, result.avg().accuracy(), 0.02);
+    }
+
     @Test
     public void testSegment() throws Exception {
         System.out.println("Segment");
@@ -19,6 +19,7 @@ package smile.clustering;
 import smile.io.Read;
 import smile.io.Write;
 import smile.datasets.GaussianMixture;
+import smile.neighbor.KDTree;
 import smile.validation.metric.*;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -76,6 +77,34 @@ public class DBSCANTest {
         Read.object(temp);
     }
 
+    @Test
+    public void testGrid() throws Exception {
+        System.out.println("Grid");
+        GaussianMixture mixture = GaussianMixture.generate();
+        double[][] x = mixture.x();
+
+        for (double radius : new double[]{0.3, 0.8}) {
+            DBSCAN<double[]> grid = DBSCAN.fit(x, 20, radius);
+            DBSCAN<double[]> model = DBSCAN.fit(x, new KDTree<>(x, x), 20, radius);
+            assertEquals(model.k(), grid.k());
+            assertArrayEquals(model.group(), grid.group());
+        }
+
+        // The neighbors at the exact radius on a lattice.
+        double[][] lattice = new double[400][];
+        for (int i = 0; i < lattice.length; i++) {
+            lattice[i] = new double[]{i / 20, i % 20};
+        }
+        lattice[0] = new double[]{-1.0, 0.0};
+        lattice[399] = new double[]{20.0, 20.0};
+
+        DBSCAN<double[]> grid = DBSCAN.fit(lattice, 4, 1.0);
+        DBSCAN<double[]> model = DBSCAN.fit(lattice, new KDTree<>(lattice, lattice), 4, 1.0);
+        assertEquals(1, grid.k());
+        assertArrayEquals(model.group(), grid.group());
+        assertEquals(Clustering.OUTLIER, grid.group(399));
+    }
+
     /** Two well-separated clusters of four points each. */
     private static final double[][] TWO_CLUSTERS = {
             {0.0, 0.0}, {0.0, 1.0}, {1.0, 0.0}, {1.0, 1.0},        // cluster A
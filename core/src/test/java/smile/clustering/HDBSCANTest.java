@@ -17,7 +17,13 @@
 package smile.clustering;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import smile.datasets.GaussianMixture;
+import smile.math.MathEx;
+import smile.math.distance.Distance;
+import smile.math.distance.EuclideanDistance;
+import smile.math.distance.MinkowskiDistance;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -99,4 +105,50 @@ public class HDBSCANTest {
         assertThrows(IllegalArgumentException.class,
                 () -> HDBSCAN.fit(x, (a, b) -> Double.POSITIVE_INFINITY, 2, 2));
     }
+
+    @Test
+    public void givenOverflowingMinkowskiDistance_whenFitting_thenThrowIllegalArgumentException() {
+        // Given
+        MathEx.setSeed(19650218);
+        double[][] x = new double[300][];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = new double[] {1E7 * MathEx.random(), 1E7 * MathEx.random()};
+        }
+        Distance<double[]> distance = new MinkowskiDistance(50);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> HDBSCAN.fit(x, distance, 5, 10));
+        assertThrows(IllegalArgumentException.class, () -> HDBSCAN.fit(x, distance, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> HDBSCAN.fit(x, (Distance<double[]>) distance::d, 5, 10));
+    }
+
+    @Test
+    public void testTreeMatchesPairwise() {
+        // Given
+        double[][] data = GaussianMixture.generate().x();
+        double[][] x = new double[1000][];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = data[10 * i];
+        }
+
+        for (Distance<double[]> distance : List.of(new EuclideanDistance(), new MinkowskiDistance(1))) {
+            // When
+            Distance<double[]> pairwise = distance::d;
+            HDBSCAN<double[]> tree = HDBSCAN.fit(x, distance, 5, 10);
+            HDBSCAN<double[]> model = HDBSCAN.fit(x, pairwise, 5, 10);
+
+            // Then
+            assertArrayEquals(model.coreDistance(), tree.coreDistance(), 1E-10);
+            assertEquals(model.k(), tree.k());
+            // The cluster labels may be permuted but not the partition.
+            int[] y1 = model.group();
+            int[] y2 = tree.group();
+            for (int i = 0; i < y1.length; i++) {
+                for (int j = 0; j < i; j++) {
+                    assertEquals(y1[i] == y1[j], y2[i] == y2[j]);
+                }
+                assertEquals(y1[i] == Clustering.OUTLIER, y2[i] == Clustering.OUTLIER);
+            }
+        }
+    }
 }
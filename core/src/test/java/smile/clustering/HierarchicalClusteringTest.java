@@ -19,6 +19,7 @@ package smile.clustering;
 import smile.clustering.linkage.*;
 import smile.io.Read;
 import smile.io.Write;
+import smile.datasets.GaussianMixture;
 import smile.datasets.USPS;
 import smile.validation.metric.*;
 import org.junit.jupiter.api.*;
@@ -261,4 +262,35 @@ public class HierarchicalClusteringTest {
         HierarchicalClustering ward = HierarchicalClustering.fit(WardLinkage.of(DATA));
         assertDoesNotThrow(() -> ward.partition(5.0));
     }
+
+    // ── O(n) memory algorithms ────────────────────────────────────────────────
+
+    /**
+     * Asserts that two cluster trees have the same heights and partitions.
+     */
+    private static void assertSameTree(HierarchicalClustering expected, HierarchicalClustering actual) {
+        assertEquals(expected.height().length, actual.height().length);
+        for (int i = 0; i < expected.height().length; i++) {
+            assertEquals(expected.height()[i], actual.height()[i], 1E-5 * Math.max(1.0, expected.height()[i]));
+        }
+
+        for (int k = 2; k <= 10; k++) {
+            assertEquals(1.0, AdjustedRandIndex.of(expected.partition(k), actual.partition(k)), 1E-10);
+        }
+    }
+
+    @Test
+    void givenGaussianMixture_whenFitWithoutProximityMatrix_thenSameAsLinkage() {
+        System.out.println("NN-chain and MST");
+        double[][] data = GaussianMixture.generate().x();
+        double[][] x = new double[500][];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = data[20 * i];
+        }
+
+        assertSameTree(HierarchicalClustering.fit(SingleLinkage.of(x)), HierarchicalClustering.single(x));
+        assertSameTree(HierarchicalClustering.fit(CompleteLinkage.of(x)), HierarchicalClustering.complete(x));
+        assertSameTree(HierarchicalClustering.fit(UPGMALinkage.of(x)), HierarchicalClustering.average(x));
+        assertSameTree(HierarchicalClustering.fit(WardLinkage.of(x)), HierarchicalClustering.ward(x));
+    }
 }
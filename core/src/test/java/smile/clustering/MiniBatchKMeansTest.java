@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.clustering;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import smile.datasets.GaussianMixture;
+import smile.math.MathEx;
+import smile.validation.metric.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Haifeng Li
+ */
+public class MiniBatchKMeansTest {
+    static GaussianMixture mixture = GaussianMixture.generate();
+    static double[][] x = mixture.x();
+    static int[] y = mixture.y();
+
+    public MiniBatchKMeansTest() {
+
+    }
+
+    @BeforeAll
+    public static void setUpClass() throws Exception {
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws Exception {
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MathEx.setSeed(19650218); // to get repeatable results.
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    @Test
+    public void testGaussianMixture() {
+        System.out.println("Gaussian mixture");
+        var model = MiniBatchKMeans.fit(x, 4, 100, 500);
+        var clustering = model.predict(x);
+        System.out.println(clustering);
+
+        var kmeans = KMeans.fit(x, 4, 100);
+        double r = RandIndex.of(y, clustering.group());
+        double r2 = AdjustedRandIndex.of(y, clustering.group());
+        System.out.format("Training rand index = %.2f%%, adjusted rand index = %.2f%%%n", 100.0 * r, 100.0 * r2);
+        assertTrue(r > 0.85);
+        assertTrue(clustering.distortion() < 1.1 * kmeans.distortion());
+    }
+
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        int n = x.length;
+        int batchSize = 250;
+        // The data are ordered by class, so shuffle it into batches.
+        int[] index = MathEx.permutate(n);
+        var batches = IntStream.range(0, n / batchSize)
+                .mapToObj(i -> IntStream.range(i * batchSize, (i + 1) * batchSize)
+                        .mapToObj(j -> x[index[j]])
+                        .toArray(double[][]::new))
+                .iterator();
+        var model = MiniBatchKMeans.fit(batches, new Clustering.Options(4, 1000, 0.0, null));
+
+        long count = 0;
+        for (int i = 0; i < model.k(); i++) {
+            count += model.size(i);
+        }
+        assertTrue(model.batches() <= n / batchSize);
+        assertEquals(model.batches() * batchSize, count);
+        assertTrue(RandIndex.of(y, model.predict(x).group()) > 0.85);
+    }
+
+    @Test
+    public void testUpdate() {
+        System.out.println("update");
+        var kmeans = KMeans.fit(x, 4, 100);
+        var model = new MiniBatchKMeans(kmeans);
+        double[][] centers = Arrays.stream(model.centers()).map(double[]::clone).toArray(double[][]::new);
+
+        // A shifted stream drags the centroids along.
+        double[][] shifted = Arrays.stream(x).map(xi -> {
+            double[] z = xi.clone();
+            z[0] += 1.0;
+            return z;
+        }).toArray(double[][]::new);
+
+        for (int iter = 0; iter < 10; iter++) {
+            model.update(shifted);
+        }
+
+        long count = 0;
+        for (int i = 0; i < model.k(); i++) {
+            assertTrue(model.centers()[i][0] > centers[i][0]);
+            count += model.size(i);
+        }
+        assertEquals(11L * x.length, count);
+
+        assertThrows(IllegalArgumentException.class, () -> model.update(new double[][]{{1.0}}));
+    }
+
+    @Test
+    public void testDrift() {
+        System.out.println("drift");
+        double[][] seeds = {{-5.0, 0.0}, {5.0, 0.0}};
+        var model = new MiniBatchKMeans(seeds);
+        var forgetful = new MiniBatchKMeans(seeds);
+        forgetful.setMinLearningRate(0.01);
+        assertThrows(IllegalArgumentException.class, () -> forgetful.setMinLearningRate(1.0));
+
+        // 100,000 samples of a stationary distribution.
+        for (int iter = 0; iter < 200; iter++) {
+            double[][] batch = batch(0.0);
+            model.update(batch);
+            forgetful.update(batch);
+        }
+
+        for (double[][] centers : new double[][][]{model.centers(), forgetful.centers()}) {
+            assertEquals(-5.0, centers[0][0], 0.3);
+            assertEquals(5.0, centers[1][0], 0.3);
+        }
+
+        // The distribution drifts by 3 along the first axis.
+        for (int iter = 0; iter < 20; iter++) {
+            double[][] batch = batch(3.0);
+            model.update(batch);
+            forgetful.update(batch);
+        }
+
+        // The running means barely move after so many samples.
+        assertEquals(-5.0, model.centers()[0][0], 0.5);
+        assertEquals(5.0, model.centers()[1][0], 0.5);
+        assertEquals(-2.0, forgetful.centers()[0][0], 0.3);
+        assertEquals(8.0, forgetful.centers()[1][0], 0.3);
+    }
+
+    /** Returns a batch of two Gaussian clusters centered at (+/-5 + shift, 0). */
+    private static double[][] batch(double shift) {
+        double[][] batch = new double[500][];
+        for (int i = 0; i < batch.length; i++) {
+            double center = (i % 2 == 0 ? -5.0 : 5.0) + shift;
+            batch[i] = new double[]{center + MathEx.randn(), MathEx.randn()};
+        }
+        return batch;
+    }
+}
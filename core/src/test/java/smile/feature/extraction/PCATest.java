@@ -210,4 +210,42 @@ public class PCATest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRandomized() {
+        System.out.println("randomized");
+        PCA pca = PCA.fit(x);
+        PCA rpca = PCA.randomized(x, 2);
+        assertEquals(2, rpca.projection.nrow());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(pca.variance().get(i), rpca.variance().get(i), 1E-6 * pca.variance().get(0));
+            for (int j = 0; j < 4; j++) {
+                assertEquals(Math.abs(pca.loadings().get(j, i)), Math.abs(rpca.loadings().get(j, i)), 1E-5);
+            }
+        }
+
+        double[][] p = pca.getProjection(2).apply(x);
+        double[][] q = rpca.apply(x);
+        for (int i = 0; i < p.length; i++) {
+            for (int j = 0; j < 2; j++) {
+                assertEquals(Math.abs(p[i][j]), Math.abs(q[i][j]), 1E-5);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomizedProportion() {
+        System.out.println("randomized variance proportion");
+        PCA pca = PCA.fit(x);
+        PCA rpca = PCA.randomized(x, 2);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(pca.varianceProportion().get(i), rpca.varianceProportion().get(i), 1E-6);
+            assertEquals(pca.cumulativeVarianceProportion().get(i), rpca.cumulativeVarianceProportion().get(i), 1E-6);
+        }
+        assertTrue(rpca.cumulativeVarianceProportion().get(1) < 1.0);
+
+        assertEquals(pca.getProjection(0.95).projection.nrow(), rpca.getProjection(0.95).projection.nrow());
+        assertEquals(2, rpca.getProjection(0.9999).projection.nrow());
+        assertEquals(rpca.varianceProportion().get(0), rpca.getProjection(1).varianceProportion().get(0), 1E-15);
+    }
+}
@@ -149,5 +149,33 @@ public class ProbabilisticPCATest {
             assertEquals(0.0, v, TOLERANCE);
         }
     }
-}
 
+    @Test
+    public void testGivenDataWhenFittingRandomizedProbabilisticPcaThenResultMatchesExactFit() {
+        // Given
+        double[][] data = new double[50][6];
+        for (int i = 0; i < 50; i++) {
+            double a = Math.sin(i * 0.7);
+            double b = Math.cos(i * 1.3);
+            for (int j = 0; j < 6; j++) {
+                data[i][j] = 3.0 * a * (j + 1) + b * (6 - j) + 0.05 * Math.sin(i * j + 0.5);
+            }
+        }
+
+        // When
+        ProbabilisticPCA exact = ProbabilisticPCA.fit(data, 2);
+        ProbabilisticPCA randomized = ProbabilisticPCA.randomized(data, 2);
+
+        // Then
+        assertEquals(2, randomized.projection.nrow());
+        assertEquals(6, randomized.projection.ncol());
+        assertEquals(exact.variance(), randomized.variance(), 1E-6);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(exact.center().get(i), randomized.center().get(i), TOLERANCE);
+            for (int j = 0; j < 2; j++) {
+                assertEquals(Math.abs(exact.loadings().get(i, j)), Math.abs(randomized.loadings().get(i, j)), 1E-6);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> ProbabilisticPCA.randomized(data, 6));
+    }
+}
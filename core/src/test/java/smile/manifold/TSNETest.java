@@ -66,10 +66,47 @@ public class TSNETest {
         assertEquals(1.4170, tsne.cost(), 1E-3);
     }
 
+    @Test
+    public void testBarnesHut() {
+        System.out.println("Barnes-Hut tSNE");
+        int n = 1000;
+        int p = 10;
+        double[][] centers = MathEx.randn(5, p);
+        double[][] X = new double[n][p];
+        int[] y = new int[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = i % centers.length;
+            for (int j = 0; j < p; j++) {
+                X[i][j] = 8 * centers[y[i]][j] + MathEx.randn();
+            }
+        }
+
+        TSNE tsne = TSNE.fit(X, new TSNE.Options(2, 30, 200, 12, 500, 0.5));
+        double[][] Y = tsne.coordinates();
+        assertEquals(n, Y.length);
+        assertTrue(Double.isFinite(tsne.cost()));
+
+        // The nearest neighbor in the embedding is of the same cluster.
+        int hits = 0;
+        for (int i = 0; i < n; i++) {
+            int nearest = -1;
+            double min = Double.MAX_VALUE;
+            for (int j = 0; j < n; j++) {
+                double dist = MathEx.squaredDistance(Y[i], Y[j]);
+                if (j != i && dist < min) {
+                    min = dist;
+                    nearest = j;
+                }
+            }
+            if (y[nearest] == y[i]) hits++;
+        }
+        assertTrue(hits > 0.98 * n);
+    }
+
     @Test
     public void givenOptions_whenRoundTripToProperties_thenValuesPreserved() {
         // Given
-        TSNE.Options options = new TSNE.Options(2, 25, 150, 10, 500);
+        TSNE.Options options = new TSNE.Options(2, 25, 150, 10, 500, 0.5);
 
         // When
         Properties props = options.toProperties();
@@ -87,6 +124,7 @@ public class TSNETest {
         assertEquals(options.finalMomentum(), restored.finalMomentum(), 1E-12);
         assertEquals(options.momentumSwitchIter(), restored.momentumSwitchIter());
         assertEquals(options.minGain(), restored.minGain(), 1E-12);
+        assertEquals(options.theta(), restored.theta(), 1E-12);
     }
 
     @Test
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2026 Haifeng Li. All rights reserved.
+ *
+ * SMILE is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMILE is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with SMILE. If not, see <https://www.gnu.org/licenses/>.
+ */
+package smile.model.cart;
+
+import org.junit.jupiter.api.Test;
+import smile.data.DataFrame;
+import smile.data.measure.NominalScale;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.IntVector;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for quantile binning of histogram-based split finding.
+ */
+public class BinsTest {
+    @Test
+    public void testGivenFewDistinctValuesWhenBinningThenEachValueHasItsOwnBin() {
+        // Given
+        DataFrame data = new DataFrame(
+                new DoubleVector("x", new double[] {3.0, 1.0, 2.0, 1.0, 3.0, Double.NaN}),
+                new IntVector(new StructField("cat", DataTypes.IntType, new NominalScale("red", "blue")), new int[] {0, 1, 0, 1, 0, 1})
+        );
+
+        // When
+        Bins bins = Bins.of(data, 256);
+
+        // Then
+        assertTrue(bins.isBinned(0));
+        assertFalse(bins.isBinned(1));
+        assertEquals(3, bins.size(0));
+        assertEquals(1.5, bins.cut(0, 0), 1E-12);
+        assertEquals(2.5, bins.cut(0, 1), 1E-12);
+        byte[] codes = bins.codes(0);
+        assertArrayEquals(new byte[] {2, 0, 1, 0, 2, 2}, codes);
+    }
+
+    @Test
+    public void testGivenManyDistinctValuesWhenBinningThenCodesAreConsistentWithCuts() {
+        // Given
+        int n = 10000;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(i) * 100;
+        }
+        DataFrame data = new DataFrame(new DoubleVector("x", x));
+
+        // When
+        Bins bins = Bins.of(data, 64);
+
+        // Then
+        assertTrue(bins.size(0) <= 64);
+        assertTrue(bins.size(0) > 32);
+        byte[] codes = bins.codes(0);
+        int[] count = new int[bins.size(0)];
+        for (int i = 0; i < n; i++) {
+            int b = codes[i] & 0xFF;
+            count[b]++;
+            for (int t = 0; t < bins.size(0) - 1; t++) {
+                assertEquals(x[i] <= bins.cut(0, t), b <= t);
+            }
+        }
+
+        // approximately equal frequency
+        for (int c : count) {
+            assertTrue(c < 3 * n / 64, "Bin is too large: " + c);
+        }
+    }
+
+    @Test
+    public void testGivenInvalidNumberOfBinsWhenBinningThenThrows() {
+        DataFrame data = new DataFrame(new DoubleVector("x", new double[] {1.0, 2.0}));
+        assertThrows(IllegalArgumentException.class, () -> Bins.of(data, 1));
+        assertThrows(IllegalArgumentException.class, () -> Bins.of(data, 257));
+    }
+}
@@ -141,6 +141,26 @@ public class GaussianProcessRegressionTest {
         Read.object(temp);
     }
 
+    @Test
+    public void testConjugateGradient() {
+        System.out.println("conjugate gradient longley");
+        var longley = new Longley();
+        double[][] x = longley.x();
+        double[] y = longley.y();
+        MathEx.standardize(x);
+
+        GaussianProcessRegression<double[]> model = GaussianProcessRegression.fit(x, y,
+                new GaussianKernel(8.0), new Options(0.2));
+        GaussianProcessRegression<double[]> cg = GaussianProcessRegression.fit(x, y,
+                new GaussianKernel(8.0), new Options(0.2, true, 1E-5, 0, true));
+        System.out.println(cg);
+
+        for (double[] xi : x) {
+            assertEquals(model.predict(xi), cg.predict(xi), 1E-5);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> cg.predict(x[0], new double[2]));
+    }
+
     @Test
     public void testHPO() {
         System.out.println("HPO longley");
@@ -219,6 +219,26 @@ public class GradientTreeBoostTest {
         assertEquals(1.108, test(Loss.huber(0.9), planes.formula(), planes.data(), null), 0.01);
     }
 
+    @Test
+    public void testCpuHistogram() {
+        System.out.println("CPU Least Squares with histogram-based split");
+        // The same options except the number of bins, 0 for exact splits.
+        double[] rmse = new double[2];
+        int[] bins = {0, 32};
+        for (int i = 0; i < bins.length; i++) {
+            MathEx.setSeed(19650218); // to get repeatable results for cross validation.
+            var options = new GradientTreeBoost.Options(Loss.ls(), 100, 20, 6, 5, 0.05, 0.7, null, null, bins[i]);
+            RegressionValidations<GradientTreeBoost> result = CrossValidation.regression(5, cpu.formula(), cpu.data(),
+                    (f, x) -> GradientTreeBoost.fit(f, x, options));
+
+            System.out.println(result);
+            rmse[i] = result.avg().rmse();
+        }
+
+        // The approximate splits should be about as good as the exact ones.
+        assertEquals(rmse[0], rmse[1], 0.05 * rmse[0]);
+    }
+
     @Test
     @Tag("integration")
     public void testAbaloneLS() {
@@ -181,6 +181,21 @@ public class RandomForestTest {
         return result.avg().rmse();
     }
 
+    @Test
+    public void testCompiledLongley() throws Exception {
+        System.out.println("Compiled longley");
+        MathEx.setSeed(19650218); // to get repeatable results.
+        var longley = new Longley();
+        var options = new RandomForest.Options(100, 3, 20, 10, 3, 1.0, seeds, null);
+        RandomForest model = RandomForest.fit(longley.formula(), longley.data(), options);
+
+        double[] batch = model.predict(longley.x());
+        assertArrayEquals(batch, model.predict(longley.data()), 1E-12);
+        for (int i = 0; i < batch.length; i++) {
+            assertEquals(model.predict(longley.data().get(i)), batch[i], 1E-12);
+        }
+    }
+
     @Test
     public void testCPU() throws Exception {
         System.out.println("CPU");
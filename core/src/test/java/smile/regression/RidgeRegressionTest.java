@@ -75,6 +75,24 @@ public class RidgeRegressionTest {
         Read.object(temp);
     }
 
+    @Test
+    public void testConjugateGradient() throws Exception {
+        System.out.println("conjugate gradient");
+        var longley = new Longley();
+        int n = longley.data().size();
+        double[] weights = new double[n];
+        java.util.Arrays.fill(weights, 1.0);
+        LinearModel model = RidgeRegression.fit(longley.formula(), longley.data(), 0.1);
+        LinearModel cg = RidgeRegression.fit(longley.formula(), longley.data(), weights,
+                new RidgeRegression.Options(new double[]{0.1}, new double[]{0.0}, true));
+        System.out.println(cg);
+
+        assertEquals(model.intercept(), cg.intercept(), 1E-4);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(model.coefficients().get(i), cg.coefficients().get(i), 1E-6);
+        }
+    }
+
     @Test
     public void testCPU() throws Exception {
         System.out.println("CPU");
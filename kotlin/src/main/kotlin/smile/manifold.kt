@@ -142,9 +142,11 @@ fun laplacian(data: Array<DoubleArray>, k: Int, d: Int = 2, t: Double = -1.0): A
  *                          initial optimization, the early exaggeration factor
  *                          or the learning rate might be too high.
  * @param maxIter the number of iterations.
+ * @param theta the accuracy of Barnes-Hut approximation. If 0, the exact
+ *              gradient is computed. 0.5 is a good choice for large datasets.
  */
-fun tsne(X: Array<DoubleArray>, d: Int = 2, perplexity: Double = 20.0, eta: Double = 200.0, earlyExaggeration: Double = 12.0, maxIter: Int = 1000): TSNE {
-    return TSNE.fit(X, TSNE.Options(d, perplexity, eta, earlyExaggeration, maxIter))
+fun tsne(X: Array<DoubleArray>, d: Int = 2, perplexity: Double = 20.0, eta: Double = 200.0, earlyExaggeration: Double = 12.0, maxIter: Int = 1000, theta: Double = 0.0): TSNE {
+    return TSNE.fit(X, TSNE.Options(d, perplexity, eta, earlyExaggeration, maxIter, theta))
 }
 
 /**
@@ -173,9 +173,11 @@ package object manifold {
     *                          initial optimization, the early exaggeration factor
     *                          or the learning rate might be too high.
     * @param maxIter the number of iterations.
+    * @param theta the accuracy of Barnes-Hut approximation. If 0, the exact
+    *              gradient is computed. 0.5 is a good choice for large datasets.
     */
-  def tsne(X: Array[Array[Double]], d: Int = 2, perplexity: Double = 20.0, eta: Double = 200.0, earlyExaggeration: Double = 12.0, maxIter: Int = 1000): TSNE = time("t-SNE") {
-    TSNE.fit(X, new TSNE.Options(d, perplexity, eta, earlyExaggeration, maxIter))
+  def tsne(X: Array[Array[Double]], d: Int = 2, perplexity: Double = 20.0, eta: Double = 200.0, earlyExaggeration: Double = 12.0, maxIter: Int = 1000, theta: Double = 0.0): TSNE = time("t-SNE") {
+    TSNE.fit(X, new TSNE.Options(d, perplexity, eta, earlyExaggeration, maxIter, theta))
   }
 
   /**